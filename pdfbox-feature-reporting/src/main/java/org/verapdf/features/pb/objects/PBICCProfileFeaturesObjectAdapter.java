@@ -25,6 +25,7 @@ import org.apache.pdfbox.cos.*;
 import org.apache.pdfbox.pdmodel.common.PDMetadata;
 import org.verapdf.features.objects.ICCProfileFeaturesObjectAdapter;
 import org.verapdf.features.pb.tools.PBAdapterHelper;
+import org.verapdf.features.pb.tools.PBStreamPrefixReader;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -73,6 +74,7 @@ public class PBICCProfileFeaturesObjectAdapter implements ICCProfileFeaturesObje
 	private static final int NUMBER_OF_RECORDS_IN_MULTILOCALIZEDUNICODETYPE_BEGIN = 8;
 	private static final int NUMBER_OF_RECORDS_IN_MULTILOCALIZEDUNICODETYPE_END = 12;
 	private static final int LENGTH_OF_RECORD_IN_MULTILOCALIZEDUNICODETYPE_END = 12;
+	private static final int MAX_PREFIX_LENGTH = Integer.MAX_VALUE - 8;
 
 	private COSStream profile;
 	private String id;
@@ -104,8 +106,8 @@ public class PBICCProfileFeaturesObjectAdapter implements ICCProfileFeaturesObje
 	private void init() {
 		if (profile != null) {
 			this.errors = new ArrayList<>();
-			try {
-				byte[] profileBytes = PBAdapterHelper.inputStreamToByteArray(profile.getUnfilteredStream());
+			try (PBStreamPrefixReader reader = new PBStreamPrefixReader(profile)) {
+				byte[] profileBytes = readUsedPrefix(reader);
 				if (profileBytes.length < HEADER_SIZE) {
 					this.errors.add("ICCProfile contains less than " + HEADER_SIZE + " bytes");
 				} else {
@@ -129,6 +131,35 @@ public class PBICCProfileFeaturesObjectAdapter implements ICCProfileFeaturesObje
 		}
 	}
 
+	/**
+	 * Decodes profile up to the end of the data used by this adapter: header,
+	 * tag table and copyright and description tags.
+	 */
+	private static byte[] readUsedPrefix(PBStreamPrefixReader reader) throws IOException {
+		int tableStart = HEADER_SIZE + REQUIRED_LENGTH;
+		if (reader.ensure(tableStart) < tableStart) {
+			return reader.getBytes();
+		}
+		byte[] header = reader.getBytes();
+		long tagsNumber = byteArrayToInt(Arrays.copyOfRange(header, HEADER_SIZE, tableStart)) & 0xFFFFFFFFL;
+		int tableEnd = (int) Math.min(tableStart + tagsNumber * TAGINFO_LENGTH, MAX_PREFIX_LENGTH);
+		reader.ensure(tableEnd);
+		byte[] table = reader.getBytes();
+		long end = table.length;
+		for (int offset = tableStart; offset + TAGINFO_LENGTH <= table.length; offset += TAGINFO_LENGTH) {
+			String tag = new String(Arrays.copyOfRange(table, offset, offset + REQUIRED_LENGTH));
+			if ("cprt".equals(tag) || "desc".equals(tag)) {
+				long tagOffset = byteArrayToInt(Arrays.copyOfRange(table, offset + REQUIRED_LENGTH,
+						offset + 2 * REQUIRED_LENGTH)) & 0xFFFFFFFFL;
+				long tagLength = byteArrayToInt(Arrays.copyOfRange(table, offset + 2 * REQUIRED_LENGTH,
+						offset + TAGINFO_LENGTH)) & 0xFFFFFFFFL;
+				end = Math.max(end, tagOffset + tagLength);
+			}
+		}
+		reader.ensure((int) Math.min(end, MAX_PREFIX_LENGTH));
+		return reader.getBytes();
+	}
+
 	@Override
 	public String getId() {
 		return id;
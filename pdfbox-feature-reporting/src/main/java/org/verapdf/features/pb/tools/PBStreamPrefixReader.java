@@ -0,0 +1,148 @@
+/**
+ * This file is part of veraPDF Library PDF Box Features Reporting, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Library PDF Box Features Reporting is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Library PDF Box Features Reporting as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Library PDF Box Features Reporting as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.features.pb.tools;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNull;
+import org.apache.pdfbox.cos.COSStream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decodes only the beginning of a stream. Streams compressed with a single
+ * FlateDecode filter without parameters, which is the usual case for
+ * embedded ICC profiles, are inflated on the fly and decoding stops as soon
+ * as the requested prefix is read. Other streams are decoded by pdfbox.
+ * <p>
+ * Decoded bytes are kept, so data at increasing offsets, like a table and the
+ * entries it points to, can be read without decoding the stream again.
+ */
+public final class PBStreamPrefixReader implements Closeable {
+
+	private static final int MIN_BUFFER_SIZE = 256;
+
+	private final InputStream stream;
+	private byte[] buffer = new byte[0];
+	private int length = 0;
+	private boolean isEOF = false;
+
+	public PBStreamPrefixReader(COSStream stream) throws IOException {
+		this.stream = openDecodedStream(stream);
+	}
+
+	/**
+	 * Reads at most {@code length} first bytes of decoded data of the stream.
+	 *
+	 * @param stream stream to decode
+	 * @param length number of bytes to read
+	 * @return decoded bytes, shorter than {@code length} if the stream ends
+	 * @throws IOException if stream can not be decoded
+	 */
+	public static byte[] readPrefix(COSStream stream, int length) throws IOException {
+		try (PBStreamPrefixReader reader = new PBStreamPrefixReader(stream)) {
+			reader.ensure(length);
+			return reader.getBytes();
+		}
+	}
+
+	/**
+	 * Opens decoded data of the stream, inflating it lazily when possible.
+	 *
+	 * @param stream stream to decode
+	 * @return decoded data
+	 * @throws IOException if stream can not be decoded
+	 */
+	public static InputStream openDecodedStream(COSStream stream) throws IOException {
+		if (isSingleFlateWithoutParameters(stream)) {
+			return new InflaterInputStream(stream.getFilteredStream());
+		}
+		return stream.getUnfilteredStream();
+	}
+
+	/**
+	 * Decodes the stream until first {@code length} bytes are available.
+	 *
+	 * @param length number of bytes required
+	 * @return number of decoded bytes, less than {@code length} if the
+	 *         stream ends before
+	 * @throws IOException if stream can not be decoded
+	 */
+	public int ensure(int length) throws IOException {
+		while (this.length < length && !this.isEOF) {
+			if (this.length == this.buffer.length) {
+				// grow with decoded data, not with requested length which may
+				// come from a broken table
+				this.buffer = Arrays.copyOf(this.buffer,
+						Math.min(length, Math.max(MIN_BUFFER_SIZE, this.buffer.length * 2)));
+			}
+			int read = this.stream.read(this.buffer, this.length,
+					Math.min(length, this.buffer.length) - this.length);
+			if (read < 0) {
+				this.isEOF = true;
+			} else {
+				this.length += read;
+			}
+		}
+		return Math.min(this.length, length);
+	}
+
+	/**
+	 * @return number of decoded bytes
+	 */
+	public int getLength() {
+		return this.length;
+	}
+
+	/**
+	 * @return copy of decoded bytes
+	 */
+	public byte[] getBytes() {
+		return Arrays.copyOf(this.buffer, this.length);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.stream.close();
+	}
+
+	private static boolean isSingleFlateWithoutParameters(COSStream stream) {
+		COSBase filters = stream.getFilters();
+		if (filters instanceof COSArray) {
+			COSArray array = (COSArray) filters;
+			filters = array.size() == 1 ? array.getObject(0) : null;
+		}
+		if (!COSName.FLATE_DECODE.equals(filters) && !COSName.FLATE_DECODE_ABBREVIATION.equals(filters)) {
+			return false;
+		}
+		COSBase parameters = stream.getDictionaryObject(COSName.DECODE_PARMS, COSName.DP);
+		if (parameters instanceof COSArray) {
+			COSArray array = (COSArray) parameters;
+			parameters = array.size() == 1 ? array.getObject(0) : array;
+		}
+		return parameters == null || parameters instanceof COSNull;
+	}
+}
@@ -0,0 +1,97 @@
+/**
+ * This file is part of veraPDF Library PDF Box Features Reporting, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Library PDF Box Features Reporting is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Library PDF Box Features Reporting as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Library PDF Box Features Reporting as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.features.test;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.features.pb.tools.PBStreamPrefixReader;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+public class PBStreamPrefixReaderTest {
+
+	private static final int DATA_LENGTH = 10000;
+
+	@Test
+	public void testFlatePrefix() throws IOException {
+		byte[] data = createData();
+		try (COSStream stream = createStream(data, COSName.FLATE_DECODE)) {
+			Assert.assertArrayEquals(Arrays.copyOf(data, 128), PBStreamPrefixReader.readPrefix(stream, 128));
+		}
+	}
+
+	@Test
+	public void testPrefixLongerThanStream() throws IOException {
+		byte[] data = createData();
+		try (COSStream stream = createStream(data, COSName.FLATE_DECODE)) {
+			Assert.assertArrayEquals(data, PBStreamPrefixReader.readPrefix(stream, DATA_LENGTH * 2));
+		}
+	}
+
+	@Test
+	public void testIncreasingReads() throws IOException {
+		byte[] data = createData();
+		try (COSStream stream = createStream(data, COSName.FLATE_DECODE);
+			 PBStreamPrefixReader reader = new PBStreamPrefixReader(stream)) {
+			Assert.assertEquals(132, reader.ensure(132));
+			Assert.assertEquals(132, reader.getLength());
+			Assert.assertEquals(5000, reader.ensure(5000));
+			Assert.assertArrayEquals(Arrays.copyOf(data, 5000), reader.getBytes());
+			Assert.assertEquals(DATA_LENGTH, reader.ensure(Integer.MAX_VALUE - 8));
+			Assert.assertArrayEquals(data, reader.getBytes());
+		}
+	}
+
+	@Test
+	public void testNotCompressedStream() throws IOException {
+		byte[] data = createData();
+		try (COSStream stream = createStream(data, null)) {
+			Assert.assertArrayEquals(Arrays.copyOf(data, 128), PBStreamPrefixReader.readPrefix(stream, 128));
+		}
+	}
+
+	private static byte[] createData() {
+		byte[] data = new byte[DATA_LENGTH];
+		Random random = new Random(DATA_LENGTH);
+		for (int i = 0; i < data.length; ++i) {
+			// compressible but not trivial data
+			data[i] = (byte) ('a' + random.nextInt(4));
+		}
+		return data;
+	}
+
+	private static COSStream createStream(byte[] data, COSName filter) throws IOException {
+		COSStream stream = new COSStream(new COSDictionary());
+		if (filter != null) {
+			stream.setItem(COSName.FILTER, filter);
+		}
+		try (OutputStream output = stream.createUnfilteredStream()) {
+			output.write(data);
+		}
+		return stream;
+	}
+}
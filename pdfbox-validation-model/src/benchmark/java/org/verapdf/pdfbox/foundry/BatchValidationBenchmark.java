@@ -0,0 +1,104 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pdfbox.foundry;
+
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compares throughput of batch validation on a pool of platform threads with
+ * validation on virtual threads. Not a unit test, it is compiled only with
+ * the {@code benchmark} profile and run manually:
+ * <pre>
+ * java ... org.verapdf.pdfbox.foundry.BatchValidationBenchmark &lt;folder with pdfs&gt; [workers] [rounds]
+ * </pre>
+ * Virtual threads are measured only on Java 21 or later.
+ */
+public final class BatchValidationBenchmark {
+
+	private BatchValidationBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1) {
+			System.err.println("Usage: BatchValidationBenchmark <folder with pdfs> [workers] [rounds]");
+			return;
+		}
+		List<File> files = listFiles(Paths.get(args[0]));
+		int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+		System.out.println(files.size() + " documents, " + workers + " workers, " + rounds + " rounds");
+
+		// warm up class loading and profiles
+		run(files, workers, false);
+		for (int round = 1; round <= rounds; ++round) {
+			report("platform threads", round, files.size(), run(files, workers, false));
+			if (BatchValidator.isVirtualThreadsSupported()) {
+				report("virtual threads", round, files.size(), run(files, workers, true));
+			}
+		}
+		if (!BatchValidator.isVirtualThreadsSupported()) {
+			System.out.println("Virtual threads are not supported by this Java runtime");
+		}
+	}
+
+	private static long run(List<File> files, int workers, boolean virtualThreads) throws InterruptedException {
+		BatchValidationConfig config = BatchValidationConfig.builder()
+				.setWorkers(workers).setVirtualThreads(virtualThreads)
+				.setFlavour(PDFAFlavour.NO_FLAVOUR).setDefaultFlavour(PDFAFlavour.PDFA_1_B).build();
+		AtomicInteger failed = new AtomicInteger();
+		long start = System.nanoTime();
+		try (BatchValidator validator = BatchValidator.create(config)) {
+			validator.validateFiles(files.stream(), result -> {
+				if (result.getStatus() != BatchValidationResult.Status.VALIDATED) {
+					failed.incrementAndGet();
+				}
+			});
+		}
+		long duration = System.nanoTime() - start;
+		if (failed.get() > 0) {
+			System.out.println(failed.get() + " documents were not validated");
+		}
+		return duration;
+	}
+
+	private static void report(String mode, int round, int documents, long nanos) {
+		double seconds = nanos / 1e9;
+		System.out.printf("%-16s round %d: %.2f s, %.1f documents/s%n", mode, round, seconds, documents / seconds);
+	}
+
+	private static List<File> listFiles(Path folder) throws IOException {
+		try (Stream<Path> paths = Files.walk(folder)) {
+			return paths.filter(path -> path.toString().toLowerCase().endsWith(".pdf"))
+					.map(Path::toFile)
+					.collect(Collectors.toList());
+		}
+	}
+}
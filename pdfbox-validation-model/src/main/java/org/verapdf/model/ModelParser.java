@@ -27,6 +27,12 @@ import org.verapdf.xmp.impl.VeraPDFMeta;
 
 import java.util.Collections;
 import java.util.logging.Logger;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessBufferedFileInputStream;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.ScratchFile;
+import org.apache.pdfbox.pdfparser.PDFParser;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.common.PDMetadata;
 import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
@@ -41,8 +47,9 @@ import org.verapdf.features.FeatureExtractorConfig;
 import org.verapdf.features.pb.PBFeatureParser;
 import org.verapdf.metadata.fixer.entity.PDFDocument;
 import org.verapdf.metadata.fixer.impl.pb.model.PDFDocumentImpl;
-import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosDocument;
+import org.verapdf.model.tools.MappedFileRandomAccessRead;
 import org.verapdf.pdfa.Foundries;
 import org.verapdf.pdfa.PDFAParser;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -55,6 +62,17 @@ import java.util.List;
 
 /**
  * Current class is entry point to model implementation.
+ * <p>
+ * State of the model is kept per document. Core containers of veraPDF
+ * (flavour and XMP containers) are bound to the thread by veraPDF core, so
+ * every entry point of a parser ({@link #getRoot()},
+ * {@link #getPDFDocument()} and {@code getFeatures}) sets them from the
+ * parser: the flavour of the parser is set and XMP containers are cleared
+ * of state left by other documents processed on the calling thread. Hence
+ * a parser may be handed over to another thread and parsers of several
+ * documents may be used in turns on one thread. The objects returned by an
+ * entry point should be walked by the calling thread before it enters
+ * another parser, as validators and feature extractors do.
  *
  * @author Evgeniy Muravitskiy
  */
@@ -67,22 +85,35 @@ public final class ModelParser implements PDFAParser {
 
 	private static final String PDFUA_PREFIX = "ua";
 
+	// loader options, the same for documents loaded by PDDocument and by
+	// the parser over a custom source
+	private static final boolean USE_SCRATCH_FILES = false;
+	private static final boolean LENIENT = true;
+
 	private static final Logger LOGGER = Logger.getLogger(ModelParser.class.getCanonicalName());
 
 	private PDDocument document;
 
 	private PDFAFlavour flavour;
 
-	private ModelParser(final InputStream docStream, PDFAFlavour flavour, PDFAFlavour defaultFlavour) throws IOException {
-		this.document = PDDocument.load(docStream, false, true);
+	private final ModelParserConfig config;
+
+	private ValidationContext context;
+
+	private ModelParser(final InputStream docStream, PDFAFlavour flavour, PDFAFlavour defaultFlavour,
+						ModelParserConfig config) throws IOException {
+		this.document = loadDocument(docStream, config);
 		this.flavour = detectFlavour(this.document, flavour, defaultFlavour);
-		StaticCoreContainers.setFlavour(this.flavour);
+		this.config = config;
+		bindCoreContainers();
 	}
 
-	private ModelParser(final File pdfFile, PDFAFlavour flavour, PDFAFlavour defaultFlavour) throws IOException {
-		this.document = PDDocument.load(pdfFile, false, true);
+	private ModelParser(final File pdfFile, PDFAFlavour flavour, PDFAFlavour defaultFlavour,
+						ModelParserConfig config) throws IOException {
+		this.document = loadDocument(pdfFile, config);
 		this.flavour = detectFlavour(this.document, flavour, defaultFlavour);
-		StaticCoreContainers.setFlavour(this.flavour);
+		this.config = config;
+		bindCoreContainers();
 	}
 
 	public static ModelParser createModelWithFlavour(InputStream toLoad, PDFAFlavour flavour)
@@ -92,9 +123,15 @@ public final class ModelParser implements PDFAParser {
 
 	public static ModelParser createModelWithFlavour(InputStream toLoad, PDFAFlavour flavour, PDFAFlavour defaultFlavour)
 			throws ModelParsingException, EncryptedPdfException {
+		return createModelWithFlavour(toLoad, flavour, defaultFlavour, ModelParserConfig.defaultConfig());
+	}
+
+	public static ModelParser createModelWithFlavour(InputStream toLoad, PDFAFlavour flavour, PDFAFlavour defaultFlavour,
+													 ModelParserConfig config)
+			throws ModelParsingException, EncryptedPdfException {
 		try {
-			cleanUp();
-			return new ModelParser(toLoad, flavour, defaultFlavour);
+			clearCoreContainers();
+			return new ModelParser(toLoad, flavour, defaultFlavour, config);
 		} catch (InvalidPasswordException excep) {
 			throw new EncryptedPdfException("The PDF stream appears to be encrypted.", excep);
 		} catch (IOException excep) {
@@ -109,9 +146,15 @@ public final class ModelParser implements PDFAParser {
 
 	public static ModelParser createModelWithFlavour(File pdfFile, PDFAFlavour flavour, PDFAFlavour defaultFlavour)
 			throws ModelParsingException, EncryptedPdfException {
+		return createModelWithFlavour(pdfFile, flavour, defaultFlavour, ModelParserConfig.defaultConfig());
+	}
+
+	public static ModelParser createModelWithFlavour(File pdfFile, PDFAFlavour flavour, PDFAFlavour defaultFlavour,
+													 ModelParserConfig config)
+			throws ModelParsingException, EncryptedPdfException {
 		try {
-			cleanUp();
-			return new ModelParser(pdfFile, flavour, defaultFlavour);
+			clearCoreContainers();
+			return new ModelParser(pdfFile, flavour, defaultFlavour, config);
 		} catch (InvalidPasswordException excep) {
 			throw new EncryptedPdfException("The PDF stream appears to be encrypted.", excep);
 		} catch (IOException excep) {
@@ -119,6 +162,62 @@ public final class ModelParser implements PDFAParser {
 		}
 	}
 
+	private static PDDocument loadDocument(InputStream docStream, ModelParserConfig config) throws IOException {
+		if (!config.isMemoryBudgetSet()) {
+			return PDDocument.load(docStream, USE_SCRATCH_FILES, LENIENT);
+		}
+		ScratchFile scratchFile = createScratchFile(config);
+		RandomAccessRead source = null;
+		try {
+			// stream content is kept in the scratch file, so it is spilled to
+			// disk together with decoded stream data when over the budget
+			source = scratchFile.createBuffer(docStream);
+			return parseDocument(source, scratchFile);
+		} catch (IOException | RuntimeException e) {
+			IOUtils.closeQuietly(source);
+			IOUtils.closeQuietly(scratchFile);
+			throw e;
+		}
+	}
+
+	private static PDDocument loadDocument(File pdfFile, ModelParserConfig config) throws IOException {
+		if (!config.isMemoryMappedFiles() && !config.isMemoryBudgetSet()) {
+			return PDDocument.load(pdfFile, USE_SCRATCH_FILES, LENIENT);
+		}
+		RandomAccessRead source = config.isMemoryMappedFiles() ?
+				new MappedFileRandomAccessRead(pdfFile) : new RandomAccessBufferedFileInputStream(pdfFile);
+		ScratchFile scratchFile = null;
+		try {
+			scratchFile = createScratchFile(config);
+			return parseDocument(source, scratchFile);
+		} catch (IOException | RuntimeException e) {
+			IOUtils.closeQuietly(scratchFile);
+			IOUtils.closeQuietly(source);
+			throw e;
+		}
+	}
+
+	private static ScratchFile createScratchFile(ModelParserConfig config) throws IOException {
+		if (!config.isMemoryBudgetSet()) {
+			return new ScratchFile(MemoryUsageSetting.setupMainMemoryOnly());
+		}
+		return new ScratchFile(MemoryUsageSetting.setupMixed(config.getMemoryBudget())
+				.setTempDir(config.getScratchDirectory()));
+	}
+
+	/**
+	 * Parses the document from the given source with the same options as
+	 * {@link PDDocument#load(File, boolean, boolean)}, scratch files being
+	 * given explicitly. Scratch file and source are closed together with the
+	 * document.
+	 */
+	private static PDDocument parseDocument(RandomAccessRead source, ScratchFile scratchFile) throws IOException {
+		PDFParser parser = new PDFParser(source, "", null, null, scratchFile);
+		parser.setLenient(LENIENT);
+		parser.parse();
+		return parser.getPDDocument();
+	}
+
 	private static PDFAFlavour detectFlavour(PDDocument document, PDFAFlavour flavour, PDFAFlavour defaultFlavour) {
 		if (flavour == PDFAFlavour.NO_FLAVOUR) {
 			return obtainFlavour(document, defaultFlavour == PDFAFlavour.NO_FLAVOUR ?
@@ -161,14 +260,27 @@ public final class ModelParser implements PDFAParser {
 		}
 	}
 
-	private static void cleanUp() {
-		StaticContainers.clearAllContainers();
+	/**
+	 * Clears core containers of the calling thread, so state left by other
+	 * documents is not seen while a document is loaded.
+	 */
+	private static void clearCoreContainers() {
 		StaticCoreContainers.clearAllContainers();
 		StaticXmpCoreContainers.clearAllContainers();
 	}
 
+	/**
+	 * Sets core containers of the calling thread to the state of this
+	 * parser, see the class description.
+	 */
+	private void bindCoreContainers() {
+		clearCoreContainers();
+		StaticCoreContainers.setFlavour(this.flavour);
+	}
+
 	@Override
 	public PDFDocument getPDFDocument() {
+		bindCoreContainers();
 		return new PDFDocumentImpl(this.document);
 	}
 
@@ -179,7 +291,9 @@ public final class ModelParser implements PDFAParser {
 
 	/**
 	 * Method return root object of model implementation from pdf box model
-	 * together with the hierarchy.
+	 * together with the hierarchy. Every call builds new model with new
+	 * validation context of the document, which is released when this
+	 * parser is closed.
 	 *
 	 * @return root object representing by
 	 *         {@link org.verapdf.model.coslayer.CosDocument}
@@ -189,7 +303,25 @@ public final class ModelParser implements PDFAParser {
 	 */
 	@Override
 	public org.verapdf.model.baselayer.Object getRoot() {
-		return new PBCosDocument(this.document, this.flavour);
+		bindCoreContainers();
+		if (this.context != null) {
+			this.context.release();
+		}
+		this.context = new ValidationContext(this.document, this.config);
+		return new PBCosDocument(this.document, this.flavour, this.context);
+	}
+
+	PDDocument getDocument() {
+		return this.document;
+	}
+
+	/**
+	 * @return validation context of the model built last by
+	 *         {@link #getRoot()}, {@code null} if there is no model or the
+	 *         parser is closed
+	 */
+	ValidationContext getValidationContext() {
+		return this.context;
 	}
 
 	@Override
@@ -209,12 +341,14 @@ public final class ModelParser implements PDFAParser {
 
 	@Override
 	public FeatureExtractionResult getFeatures(FeatureExtractorConfig config) {
+		bindCoreContainers();
 		return PBFeatureParser.getFeaturesCollection(this.document, config);
 	}
 
 	@Override
 	public FeatureExtractionResult getFeatures(FeatureExtractorConfig config,
 			List<AbstractFeaturesExtractor> extractors) {
+		bindCoreContainers();
 		return PBFeatureParser.getFeaturesCollection(this.document, extractors, config);
 	}
 
@@ -222,6 +356,10 @@ public final class ModelParser implements PDFAParser {
 	public void close() {
 		try {
 			if (this.document != null) {
+				if (this.context != null) {
+					this.context.release();
+					this.context = null;
+				}
 				this.document.close();
 			}
 		} catch (IOException e) {
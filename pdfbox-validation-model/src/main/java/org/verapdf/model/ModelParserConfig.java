@@ -0,0 +1,233 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model;
+
+import java.io.File;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Settings of {@link ModelParser}. Instances are immutable and created with
+ * {@link Builder}, {@link #defaultConfig()} keeps the behaviour of a parser
+ * created without configuration.
+ */
+public final class ModelParserConfig {
+
+	/** Default number of pages with content streams parsed ahead of validation */
+	public static final int DEFAULT_PAGES_PARSED_AHEAD = 0;
+
+	/** Default number of bytes of page content parsed ahead of validation */
+	public static final long DEFAULT_BYTES_PARSED_AHEAD = 64L * 1024 * 1024;
+
+	/** Value of memory budget meaning that document is kept in memory entirely */
+	public static final long UNLIMITED_MEMORY = -1;
+
+	private static final ModelParserConfig DEFAULT = new Builder().build();
+
+	private final int pagesParsedAhead;
+	private final long bytesParsedAhead;
+	private final ForkJoinPool contentStreamParsingPool;
+	private final boolean memoryMappedFiles;
+	private final long memoryBudget;
+	private final File scratchDirectory;
+
+	private ModelParserConfig(Builder builder) {
+		this.pagesParsedAhead = builder.pagesParsedAhead;
+		this.bytesParsedAhead = builder.bytesParsedAhead;
+		this.contentStreamParsingPool = builder.contentStreamParsingPool != null ?
+				builder.contentStreamParsingPool : ForkJoinPool.commonPool();
+		this.memoryMappedFiles = builder.memoryMappedFiles;
+		this.memoryBudget = builder.memoryBudget;
+		this.scratchDirectory = builder.scratchDirectory;
+	}
+
+	public static ModelParserConfig defaultConfig() {
+		return DEFAULT;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @return number of pages whose content streams may be parsed in
+	 *         background ahead of the page being validated, {@code 0} if
+	 *         content streams are parsed only on request
+	 */
+	public int getPagesParsedAhead() {
+		return this.pagesParsedAhead;
+	}
+
+	/**
+	 * @return number of bytes of page content parsed in background and
+	 *         waiting for validation after which no more pages are parsed
+	 *         ahead
+	 */
+	public long getBytesParsedAhead() {
+		return this.bytesParsedAhead;
+	}
+
+	/**
+	 * @return true if content streams of pages are parsed in background
+	 */
+	public boolean isContentStreamPreParsingEnabled() {
+		return this.pagesParsedAhead > 0;
+	}
+
+	/**
+	 * @return pool used for background parsing of page content streams
+	 */
+	public ForkJoinPool getContentStreamParsingPool() {
+		return this.contentStreamParsingPool;
+	}
+
+	/**
+	 * @return true if documents parsed from files are read through memory
+	 *         mapped buffers instead of buffered file reads
+	 */
+	public boolean isMemoryMappedFiles() {
+		return this.memoryMappedFiles;
+	}
+
+	/**
+	 * @return number of bytes of document source and decoded stream data
+	 *         kept in memory by a parser, the rest is stored in a temporary
+	 *         scratch file. {@link #UNLIMITED_MEMORY} if everything is kept in
+	 *         memory.
+	 */
+	public long getMemoryBudget() {
+		return this.memoryBudget;
+	}
+
+	public boolean isMemoryBudgetSet() {
+		return this.memoryBudget != UNLIMITED_MEMORY;
+	}
+
+	/**
+	 * @return directory of scratch files, {@code null} for default temporary
+	 *         directory
+	 */
+	public File getScratchDirectory() {
+		return this.scratchDirectory;
+	}
+
+	public static final class Builder {
+		private int pagesParsedAhead = DEFAULT_PAGES_PARSED_AHEAD;
+		private long bytesParsedAhead = DEFAULT_BYTES_PARSED_AHEAD;
+		private ForkJoinPool contentStreamParsingPool = null;
+		private boolean memoryMappedFiles = false;
+		private long memoryBudget = UNLIMITED_MEMORY;
+		private File scratchDirectory = null;
+
+		private Builder() {
+		}
+
+		public ModelParserConfig build() {
+			return new ModelParserConfig(this);
+		}
+
+		/**
+		 * Enables background parsing of page content streams. Encoded content
+		 * of at most {@code pagesParsedAhead} pages after the one being
+		 * validated is copied by the validating thread, then decoded and
+		 * tokenized in advance, which bounds the memory taken by tokens
+		 * waiting for validation. Operators are still built by the validating
+		 * thread, background tasks never access the document.
+		 *
+		 * @param pagesParsedAhead number of pages parsed ahead, {@code 0}
+		 *                         disables background parsing
+		 * @return this builder
+		 */
+		public Builder setPagesParsedAhead(int pagesParsedAhead) {
+			if (pagesParsedAhead < 0) {
+				throw new IllegalArgumentException("Number of pages parsed ahead can not be negative");
+			}
+			this.pagesParsedAhead = pagesParsedAhead;
+			return this;
+		}
+
+		/**
+		 * Limits memory taken by page content parsed in background and
+		 * waiting for validation, counted by decoded content size. Pages
+		 * are not parsed ahead while the limit is reached, though a page
+		 * requested by validation is parsed in background anyway.
+		 *
+		 * @param bytesParsedAhead number of bytes, should be positive
+		 * @return this builder
+		 */
+		public Builder setBytesParsedAhead(long bytesParsedAhead) {
+			if (bytesParsedAhead <= 0) {
+				throw new IllegalArgumentException("Number of bytes parsed ahead should be positive");
+			}
+			this.bytesParsedAhead = bytesParsedAhead;
+			return this;
+		}
+
+		/**
+		 * @param contentStreamParsingPool pool for background parsing of
+		 *                                 content streams, common pool is used
+		 *                                 if {@code null}
+		 * @return this builder
+		 */
+		public Builder setContentStreamParsingPool(ForkJoinPool contentStreamParsingPool) {
+			this.contentStreamParsingPool = contentStreamParsingPool;
+			return this;
+		}
+
+		/**
+		 * Reads documents parsed from files through memory mapped buffers,
+		 * which avoids copying for documents with many seeks, like xref
+		 * parsing, stream decoding and signature byte range checks.
+		 * <p>
+		 * Mappings are not released when the parser is closed but when they
+		 * are garbage collected. Until then the file stays locked on Windows,
+		 * so it can not be deleted or replaced right after validation.
+		 *
+		 * @param memoryMappedFiles true to map files into memory
+		 * @return this builder
+		 */
+		public Builder setMemoryMappedFiles(boolean memoryMappedFiles) {
+			this.memoryMappedFiles = memoryMappedFiles;
+			return this;
+		}
+
+		/**
+		 * Limits memory used by a parser for document source and decoded
+		 * stream data, the rest is spilled to a scratch file deleted when the
+		 * parser is closed.
+		 *
+		 * @param memoryBudget number of bytes kept in memory or
+		 *                     {@link #UNLIMITED_MEMORY}
+		 * @return this builder
+		 */
+		public Builder setMemoryBudget(long memoryBudget) {
+			if (memoryBudget < 0 && memoryBudget != UNLIMITED_MEMORY) {
+				throw new IllegalArgumentException("Memory budget can not be negative");
+			}
+			this.memoryBudget = memoryBudget;
+			return this;
+		}
+
+		public Builder setScratchDirectory(File scratchDirectory) {
+			this.scratchDirectory = scratchDirectory;
+			return this;
+		}
+	}
+}
@@ -25,7 +25,8 @@ import org.apache.pdfbox.pdmodel.graphics.color.*;
 import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
 import org.apache.pdfbox.pdmodel.graphics.pattern.PDShadingPattern;
 import org.apache.pdfbox.pdmodel.graphics.pattern.PDTilingPattern;
-import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.model.impl.pb.containers.ColorSpaceCache;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.colors.*;
 import org.verapdf.model.impl.pb.pd.pattern.PBoxPDShadingPattern;
 import org.verapdf.model.impl.pb.pd.pattern.PBoxPDTilingPattern;
@@ -69,9 +70,9 @@ public class ColorSpaceFactory {
 	 *         {@code colorSpace} argument {@code null} or unsupported type
 	 */
 	public static PDColorSpace getColorSpace(org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace colorSpace,
-			PDDocument document, PDFAFlavour flavour) {
+			PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		return getColorSpace(colorSpace, null, PDInheritableResources.EMPTY_EXTENDED_RESOURCES, 0, false, document,
-				flavour);
+				flavour, context);
 	}
 
 	/**
@@ -90,27 +91,11 @@ public class ColorSpaceFactory {
 	 */
 	public static PDColorSpace getColorSpace(org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace colorSpace,
 			PDAbstractPattern pattern, PDInheritableResources resources, int opm, boolean overprintingFlag,
-			PDDocument document, PDFAFlavour flavour) {
+			PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		if (colorSpace == null) {
 			return null;
 		}
-		if (StaticContainers.getCachedColorSpaces().containsKey(colorSpace)) {
-			return StaticContainers.getCachedColorSpaces().get(colorSpace);
-		}
-		PDColorSpace result;
 		switch (colorSpace.getName()) {
-		case CAL_GRAY:
-			result = new PBoxPDCalGray((PDCalGray) colorSpace);
-			StaticContainers.getCachedColorSpaces().put(colorSpace, result);
-			return result;
-		case CAL_RGB:
-			result = new PBoxPDCalRGB((PDCalRGB) colorSpace);
-			StaticContainers.getCachedColorSpaces().put(colorSpace, result);
-			return result;
-		case DEVICE_N:
-			result = new PBoxPDDeviceN((PDDeviceN) colorSpace, document, flavour);
-			StaticContainers.getCachedColorSpaces().put(colorSpace, result);
-			return result;
 		case DEVICE_CMYK:
 			if (colorSpace.isInherited()) {
 				return PBoxPDDeviceCMYK.getInheritedInstance();
@@ -126,30 +111,47 @@ public class ColorSpaceFactory {
 				return PBoxPDDeviceGray.getInheritedInstance();
 			}
 			return PBoxPDDeviceGray.getInstance();
+		case PATTERN:
+			return getPattern(pattern, resources, document, flavour, context);
+		default:
+			break;
+		}
+		// ICCBased CMYK color space can be used with different extgstates
+		boolean isICCBasedCMYK = ICC_BASED.equals(colorSpace.getName())
+				&& colorSpace.getNumberOfComponents() == 4;
+		int cachedOpm = isICCBasedCMYK ? opm : 0;
+		boolean cachedOverprintingFlag = isICCBasedCMYK && overprintingFlag;
+		ColorSpaceCache cache = context.getColorSpaceCache();
+		PDColorSpace result = cache.get(colorSpace, cachedOpm, cachedOverprintingFlag);
+		if (result == null) {
+			result = createColorSpace(colorSpace, opm, overprintingFlag, document, flavour, context);
+			if (result != null) {
+				result = cache.put(colorSpace, cachedOpm, cachedOverprintingFlag, result);
+			}
+		}
+		return result;
+	}
+
+	private static PDColorSpace createColorSpace(org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace colorSpace,
+			int opm, boolean overprintingFlag, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+		switch (colorSpace.getName()) {
+		case CAL_GRAY:
+			return new PBoxPDCalGray((PDCalGray) colorSpace);
+		case CAL_RGB:
+			return new PBoxPDCalRGB((PDCalRGB) colorSpace);
+		case DEVICE_N:
+			return new PBoxPDDeviceN((PDDeviceN) colorSpace, document, flavour, context);
 		case ICC_BASED:
 			if (colorSpace.getNumberOfComponents() != 4) {
-				result = new PBoxPDICCBased((PDICCBased) colorSpace);
-				StaticContainers.getCachedColorSpaces().put(colorSpace, result);
-				return result;
+				return new PBoxPDICCBased((PDICCBased) colorSpace);
 			}
-			// we don't want to cache ICCBasedCMYK color space because it can be
-			// used with different extgstates
-			result = new PBoxPDICCBasedCMYK((PDICCBased) colorSpace, opm, overprintingFlag);
-			return result;
+			return new PBoxPDICCBasedCMYK((PDICCBased) colorSpace, opm, overprintingFlag);
 		case LAB:
-			result = new PBoxPDLab((PDLab) colorSpace);
-			StaticContainers.getCachedColorSpaces().put(colorSpace, result);
-			return result;
+			return new PBoxPDLab((PDLab) colorSpace);
 		case SEPARATION:
-			result = new PBoxPDSeparation((PDSeparation) colorSpace, document, flavour);
-			StaticContainers.getCachedColorSpaces().put(colorSpace, result);
-			return result;
+			return new PBoxPDSeparation((PDSeparation) colorSpace, document, flavour, context);
 		case INDEXED:
-			result = new PBoxPDIndexed((PDIndexed) colorSpace, document, flavour);
-			StaticContainers.getCachedColorSpaces().put(colorSpace, result);
-			return result;
-		case PATTERN:
-			return getPattern(pattern, resources, document, flavour);
+			return new PBoxPDIndexed((PDIndexed) colorSpace, document, flavour, context);
 		default:
 			return null;
 		}
@@ -168,14 +170,14 @@ public class ColorSpaceFactory {
 	 *         {@code pattern} argument is {@code null}
 	 */
 	public static PDPattern getPattern(PDAbstractPattern pattern, PDInheritableResources resources, PDDocument document,
-			PDFAFlavour flavour) {
+			PDFAFlavour flavour, ValidationContext context) {
 		if (pattern != null) {
 			if (pattern.getPatternType() == PDAbstractPattern.TYPE_SHADING_PATTERN) {
-				return new PBoxPDShadingPattern((PDShadingPattern) pattern, document, flavour);
+				return new PBoxPDShadingPattern((PDShadingPattern) pattern, document, flavour, context);
 			} else if (pattern.getPatternType() == PDAbstractPattern.TYPE_TILING_PATTERN) {
 				PDTilingPattern tiling = (PDTilingPattern) pattern;
 				PDInheritableResources pdResources = resources.getExtendedResources(tiling.getResources());
-				return new PBoxPDTilingPattern(tiling, pdResources, document, flavour);
+				return new PBoxPDTilingPattern(tiling, pdResources, document, flavour, context);
 			}
 		}
 		return null;
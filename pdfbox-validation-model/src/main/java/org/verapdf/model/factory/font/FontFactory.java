@@ -27,6 +27,8 @@ import org.apache.pdfbox.pdmodel.font.PDType1CFont;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.PDType3Font;
 import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
+import org.verapdf.model.impl.pb.containers.ParsedFonts;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.font.PBoxPDTrueTypeFont;
 import org.verapdf.model.impl.pb.pd.font.PBoxPDType0Font;
 import org.verapdf.model.impl.pb.pd.font.PBoxPDType1Font;
@@ -63,17 +65,39 @@ public final class FontFactory {
 
 	/**
 	 * Transform Apache PDFBox font representation to
-	 * VeraPDF font representation
+	 * VeraPDF font representation. Fonts are cached per document, so all
+	 * uses of the font with the same rendering mode share one instance
 	 *
 	 * @param pdfboxFont Apache PDFBox font representation
 	 * @return VeraPDF font representation
 	 */
 	public static PDFont parseFont(
 			org.apache.pdfbox.pdmodel.font.PDFont pdfboxFont, RenderingMode renderingMode,
-			PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
+			PDInheritableResources resources, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		if (pdfboxFont == null) {
 			return null;
 		}
+		ParsedFonts parsedFonts = context.getParsedFonts();
+		PDInheritableResources resourcesContext = getResourcesContext(pdfboxFont, resources);
+		PDFont font = parsedFonts.get(pdfboxFont, renderingMode, resourcesContext, flavour);
+		if (font == null) {
+			font = createFont(pdfboxFont, renderingMode, resources, document, flavour, context);
+			if (font != null) {
+				font = parsedFonts.put(pdfboxFont, renderingMode, resourcesContext, flavour, font);
+			}
+		}
+		return font;
+	}
+
+	private static PDInheritableResources getResourcesContext(org.apache.pdfbox.pdmodel.font.PDFont pdfboxFont,
+			PDInheritableResources resources) {
+		// glyph descriptions of Type3 font inherit resources of the content stream
+		return TYPE_3.equals(pdfboxFont.getSubType()) ? resources : null;
+	}
+
+	private static PDFont createFont(
+			org.apache.pdfbox.pdmodel.font.PDFont pdfboxFont, RenderingMode renderingMode,
+			PDInheritableResources resources, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		switch (pdfboxFont.getSubType()) {
 			case TYPE_0:
 				return new PBoxPDType0Font(pdfboxFont, renderingMode, document, flavour);
@@ -87,7 +111,7 @@ public final class FontFactory {
 			case TYPE_3: {
 				PDResources fontResources = ((PDType3Font) pdfboxFont).getResources();
 				PDInheritableResources pdResources = resources.getExtendedResources(fontResources);
-				return new PBoxPDType3Font(pdfboxFont, renderingMode, pdResources, document, flavour);
+				return new PBoxPDType3Font(pdfboxFont, renderingMode, pdResources, document, flavour, context);
 			}
 			case TRUE_TYPE:
 				return new PBoxPDTrueTypeFont((PDTrueTypeFont) pdfboxFont, renderingMode);
@@ -99,8 +123,10 @@ public final class FontFactory {
 
 	// for testing purposes
 	public static PDFont parseFont(
-			org.apache.pdfbox.pdmodel.font.PDFont pdfboxFont, PDDocument document, PDFAFlavour flavour) {
-		return parseFont(pdfboxFont, RenderingMode.FILL, PDInheritableResources.EMPTY_EXTENDED_RESOURCES, document, flavour);
+			org.apache.pdfbox.pdmodel.font.PDFont pdfboxFont, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context) {
+		return parseFont(pdfboxFont, RenderingMode.FILL, PDInheritableResources.EMPTY_EXTENDED_RESOURCES, document, flavour,
+				context);
 	}
 
 }
@@ -40,7 +40,10 @@ import java.io.IOException;
 /**
  * Implementation of graphic state for content stream.
  * Contains follows settings: fill and stroke color spaces,
- * pattern, rendering mode and font
+ * pattern, rendering mode and font.
+ * States passed to operators are shared between all operators parsed
+ * until the next state change, {@link OperatorParser} copies the state
+ * before changing it, so such states must be treated as read only
  *
  * @author Timur Kamalov
  */
@@ -0,0 +1,182 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.factory.operator;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceCMYK;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
+import org.verapdf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.model.tools.constants.Operators;
+import org.verapdf.model.tools.resources.PDInheritableResources;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Graphic state of a content stream as it is changed by its operators. The
+ * transitions made here depend only on the operator and the resources, so
+ * {@link OperatorParser} and {@link TransparencyScanner} share them. Values
+ * taken from operators of the veraPDF model are set by the parser itself.
+ */
+final class GraphicStateTracker {
+
+	private final Deque<GraphicState> graphicStateStack = new ArrayDeque<>();
+	private GraphicState graphicState = new GraphicState();
+	// true while the current state may be referenced from outside of the
+	// tracker: by the q stack, by a text show operator or by a caller of
+	// getGraphicState(). Such state is copied before the next change
+	private boolean isGraphicStateShared = false;
+
+	/**
+	 * Returns snapshot of the current graphic state. The snapshot is shared
+	 * with all operators parsed since the last state change, so it must not be
+	 * modified
+	 *
+	 * @return current graphic state
+	 */
+	GraphicState getGraphicState() {
+		this.isGraphicStateShared = true;
+		return this.graphicState;
+	}
+
+	/**
+	 * @return current graphic state without sharing it. The result is valid
+	 *         only until the next operator is processed
+	 */
+	GraphicState getCurrentGraphicState() {
+		return this.graphicState;
+	}
+
+	/**
+	 * @return current graphic state that may be changed
+	 */
+	GraphicState getMutableGraphicState() throws CloneNotSupportedException {
+		if (this.isGraphicStateShared) {
+			this.graphicState = this.graphicState.clone();
+			this.isGraphicStateShared = false;
+		}
+		return this.graphicState;
+	}
+
+	/**
+	 * @return number of graphic states saved by q operators
+	 */
+	int getStackSize() {
+		return this.graphicStateStack.size();
+	}
+
+	/**
+	 * Applies changes of the graphic state made by the operator: saving and
+	 * restoring of the state, extended graphic states, color spaces, patterns,
+	 * text rendering mode and font name. Other operators leave the state as
+	 * it is.
+	 *
+	 * @param operatorName name of the operator
+	 * @param resources    resources of the content stream
+	 * @param arguments    arguments of the operator
+	 */
+	void processOperator(String operatorName, PDInheritableResources resources, List<COSBase> arguments)
+			throws CloneNotSupportedException, IOException {
+		switch (operatorName) {
+			case Operators.GS:
+				this.getMutableGraphicState().copyPropertiesFromExtGState(OperatorParser.getExtGStateFromResources(
+						resources, OperatorParser.getLastCOSName(arguments)));
+				break;
+			case Operators.Q_GSAVE:
+				this.graphicStateStack.push(this.getGraphicState());
+				break;
+			case Operators.Q_GRESTORE:
+				if (!this.graphicStateStack.isEmpty()) {
+					this.graphicState = this.graphicStateStack.pop();
+					this.isGraphicStateShared = true;
+				}
+				break;
+
+			case Operators.G_STROKE:
+				this.getMutableGraphicState().setStrokeColorSpace(
+						getDeviceColorSpace(resources, COSName.DEVICEGRAY, PDDeviceGray.INSTANCE));
+				break;
+			case Operators.G_FILL:
+				this.getMutableGraphicState().setFillColorSpace(
+						getDeviceColorSpace(resources, COSName.DEVICEGRAY, PDDeviceGray.INSTANCE));
+				break;
+			case Operators.RG_STROKE:
+				this.getMutableGraphicState().setStrokeColorSpace(
+						getDeviceColorSpace(resources, COSName.DEVICERGB, PDDeviceRGB.INSTANCE));
+				break;
+			case Operators.RG_FILL:
+				this.getMutableGraphicState().setFillColorSpace(
+						getDeviceColorSpace(resources, COSName.DEVICERGB, PDDeviceRGB.INSTANCE));
+				break;
+			case Operators.K_STROKE:
+				this.getMutableGraphicState().setStrokeColorSpace(
+						getDeviceColorSpace(resources, COSName.DEVICECMYK, PDDeviceCMYK.INSTANCE));
+				break;
+			case Operators.K_FILL:
+				this.getMutableGraphicState().setFillColorSpace(
+						getDeviceColorSpace(resources, COSName.DEVICECMYK, PDDeviceCMYK.INSTANCE));
+				break;
+			case Operators.CS_STROKE:
+				this.getMutableGraphicState().setStrokeColorSpace(OperatorParser.getColorSpaceFromResources(
+						resources, OperatorParser.getLastCOSName(arguments)));
+				break;
+			case Operators.CS_FILL:
+				this.getMutableGraphicState().setFillColorSpace(OperatorParser.getColorSpaceFromResources(
+						resources, OperatorParser.getLastCOSName(arguments)));
+				break;
+			case Operators.SCN_STROKE:
+				if (isPattern(this.graphicState.getStrokeColorSpace())) {
+					this.getMutableGraphicState().setStrokePattern(OperatorParser.getPatternFromResources(
+							resources, OperatorParser.getLastCOSName(arguments)));
+				}
+				break;
+			case Operators.SCN_FILL:
+				if (isPattern(this.graphicState.getFillColorSpace())) {
+					this.getMutableGraphicState().setFillPattern(OperatorParser.getPatternFromResources(
+							resources, OperatorParser.getLastCOSName(arguments)));
+				}
+				break;
+
+			case Operators.TR:
+				this.getMutableGraphicState().setRenderingMode(OperatorParser.getRenderingMode(arguments));
+				break;
+			case Operators.TF:
+				this.getMutableGraphicState().setFontName(OperatorParser.getFirstCOSName(arguments));
+				break;
+			default:
+				break;
+		}
+	}
+
+	private static PDColorSpace getDeviceColorSpace(PDInheritableResources resources, COSName name,
+													PDColorSpace defaultColorSpace) throws IOException {
+		return resources == null ? defaultColorSpace : resources.getColorSpace(name);
+	}
+
+	static boolean isPattern(PDColorSpace colorSpace) {
+		return colorSpace != null && ColorSpaceFactory.PATTERN.equals(colorSpace.getName());
+	}
+}
@@ -22,8 +22,10 @@ package org.verapdf.model.factory.operator;
 
 import java.util.logging.Logger;
 import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.operator.Operator;
 import org.verapdf.model.tools.constants.Operators;
 import org.verapdf.model.tools.resources.PDInheritableResources;
@@ -45,9 +47,12 @@ public final class OperatorFactory {
     private static final String MSG_UNEXPECTED_OBJECT_TYPE = "Unexpected type of object in tokens: ";
     private static final String GS_CLONE_MALFUNCTION = "GraphicsState clone function threw CloneNotSupportedException.";
 
+    /** {@code /StructParents} value of a content stream without marked content in the parent tree */
+    public static final int NO_STRUCT_PARENTS = -1;
+
     private boolean isLastParsedContainsTransparency = false;
 
-    private static final Map<String, TransparencyBehaviour> PAINT_OPERATORS_WITHOUT_TEXT;
+    static final Map<String, TransparencyBehaviour> PAINT_OPERATORS_WITHOUT_TEXT;
     static {
         Map<String, TransparencyBehaviour> aMap = new HashMap<>();
         TransparencyBehaviour fill = TransparencyBehaviour.createFillInstance();
@@ -70,14 +75,14 @@ public final class OperatorFactory {
         PAINT_OPERATORS_WITHOUT_TEXT = Collections.unmodifiableMap(aMap);
     }
 
-    private static final Set<String> PAINT_OPERATORS_TEXT = new HashSet<>(Arrays.asList(new String[]{
+    static final Set<String> PAINT_OPERATORS_TEXT = new HashSet<>(Arrays.asList(new String[]{
             Operators.TJ_SHOW,
             Operators.QUOTE,
             Operators.DOUBLE_QUOTE,
             Operators.TJ_SHOW_POS
     }));
 
-    private static final Map<RenderingMode, TransparencyBehaviour> RENDERING_MODE;
+    static final Map<RenderingMode, TransparencyBehaviour> RENDERING_MODE;
     static {
         Map<RenderingMode, TransparencyBehaviour> aMap = new HashMap<>();
         TransparencyBehaviour strokeCSFont = TransparencyBehaviour.createStrokeColorSpaceFontInstance();
@@ -110,23 +115,113 @@ public final class OperatorFactory {
      * @return list of {@link Operator} objects of veraPDF-library
      */
     public List<Operator> operatorsFromTokens(List<Object> pdfBoxTokens,
-                                              PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
-        List<Operator> result = new ArrayList<>();
-        List<COSBase> arguments = new ArrayList<>();
-        this.isLastParsedContainsTransparency = false;
-        OperatorParser parser = new OperatorParser(document, flavour);
+                                              PDInheritableResources resources, PDDocument document, PDFAFlavour flavour,
+                                              ValidationContext context) {
+        return operatorsFromTokens(pdfBoxTokens, resources, document, flavour, context, NO_STRUCT_PARENTS);
+    }
 
+    /**
+     * Converts pdfbox operators and arguments from content stream
+     * to the corresponding {@link Operator} objects of veraPDF-library
+     *
+     * @param pdfBoxTokens  list of {@link COSBase} or
+     *                      {@link org.apache.pdfbox.contentstream.operator.Operator}
+     *                      objects
+     * @param resources     resources for a given stream
+     * @param structParents {@code /StructParents} value of the page or form
+     *                      XObject of the stream, used to find structure
+     *                      elements of marked-content sequences
+     * @return list of {@link Operator} objects of veraPDF-library
+     */
+    public List<Operator> operatorsFromTokens(List<Object> pdfBoxTokens,
+                                              PDInheritableResources resources, PDDocument document, PDFAFlavour flavour,
+                                              ValidationContext context, int structParents) {
+        OperatorBuilder builder = new OperatorBuilder(resources, document, flavour, context, structParents);
         for (Object pdfBoxToken : pdfBoxTokens) {
+            builder.addToken(pdfBoxToken);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Converts content stream to the corresponding {@link Operator} objects of
+     * veraPDF-library while it is tokenized. Tokens are pulled from the parser
+     * one by one and only arguments of the current operator are held, so the
+     * memory used besides the resulting list does not depend on the size of
+     * the stream. Operators that depend on their arguments only are stored in
+     * packed form and are created each time they are requested from the list
+     *
+     * @param streamParser parser of content stream, that has not been parsed yet
+     * @param resources    resources for a given stream
+     * @return list of {@link Operator} objects of veraPDF-library
+     * @throws IOException if the stream can not be tokenized
+     */
+    public List<Operator> operatorsFromStream(PDFStreamParser streamParser,
+                                              PDInheritableResources resources, PDDocument document, PDFAFlavour flavour,
+                                              ValidationContext context)
+            throws IOException {
+        return operatorsFromStream(streamParser, resources, document, flavour, context, NO_STRUCT_PARENTS);
+    }
+
+    /**
+     * Converts content stream to the corresponding {@link Operator} objects of
+     * veraPDF-library while it is tokenized
+     *
+     * @param streamParser  parser of content stream, that has not been parsed yet
+     * @param resources     resources for a given stream
+     * @param structParents {@code /StructParents} value of the page or form
+     *                      XObject of the stream, used to find structure
+     *                      elements of marked-content sequences
+     * @return list of {@link Operator} objects of veraPDF-library
+     * @throws IOException if the stream can not be tokenized
+     * @see #operatorsFromStream(PDFStreamParser, PDInheritableResources, PDDocument, PDFAFlavour, ValidationContext)
+     */
+    public List<Operator> operatorsFromStream(PDFStreamParser streamParser,
+                                              PDInheritableResources resources, PDDocument document, PDFAFlavour flavour,
+                                              ValidationContext context, int structParents)
+            throws IOException {
+        OperatorBuilder builder = new OperatorBuilder(resources, document, flavour, context, structParents);
+        Object pdfBoxToken;
+        while ((pdfBoxToken = streamParser.parseNextToken()) != null) {
+            builder.addToken(pdfBoxToken);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds operators of a content stream from its tokens given one by one
+     */
+    private final class OperatorBuilder {
+        private final PackedOperatorList result = new PackedOperatorList();
+        private final PDInheritableResources resources;
+        private final OperatorParser parser;
+        private List<COSBase> arguments = new ArrayList<>();
+
+        private OperatorBuilder(PDInheritableResources resources, PDDocument document, PDFAFlavour flavour,
+                                ValidationContext context, int structParents) {
+            this.resources = resources;
+            this.parser = new OperatorParser(document, flavour, context, structParents);
+            isLastParsedContainsTransparency = false;
+        }
+
+        private void addToken(Object pdfBoxToken) {
             if (pdfBoxToken instanceof COSBase) {
-                arguments.add((COSBase) pdfBoxToken);
+                this.arguments.add((COSBase) pdfBoxToken);
             } else if (pdfBoxToken instanceof org.apache.pdfbox.contentstream.operator.Operator) {
+                // operators built from arguments only do not affect graphic state
+                // and are not painting, so they are stored in packed form
+                if (this.result.addPacked(((org.apache.pdfbox.contentstream.operator.Operator) pdfBoxToken).getName(),
+                        this.arguments)) {
+                    this.arguments.clear();
+                    return;
+                }
                 try {
-                    parser.parseOperator(result,
+                    this.parser.parseOperator(this.result,
                             (org.apache.pdfbox.contentstream.operator.Operator) pdfBoxToken,
-                            resources, arguments);
+                            this.resources, this.arguments);
 
                     String parsedOperatorType = ((org.apache.pdfbox.contentstream.operator.Operator) pdfBoxToken).getName();
-                    GraphicState graphicState = parser.getGraphicState();
+                    GraphicState graphicState = this.parser.getCurrentGraphicState();
                     if (PAINT_OPERATORS_WITHOUT_TEXT.containsKey(parsedOperatorType)) {
                         isLastParsedContainsTransparency |= PAINT_OPERATORS_WITHOUT_TEXT.get(parsedOperatorType).containsTransparency(graphicState);
                     } else {
@@ -141,12 +236,17 @@ public final class OperatorFactory {
                 } catch (IOException e) {
                     LOGGER.log(java.util.logging.Level.INFO, e.getMessage());
                 }
-                arguments = new ArrayList<>();
+                // operators keep their arguments, so the list is replaced instead of cleared
+                this.arguments = new ArrayList<>();
             } else {
                 LOGGER.log(java.util.logging.Level.INFO, MSG_UNEXPECTED_OBJECT_TYPE
                         + pdfBoxToken.getClass().getName());
             }
         }
-        return result;
+
+        private List<Operator> build() {
+            this.result.trimToSize();
+            return this.result;
+        }
     }
 }
@@ -30,14 +30,12 @@ import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.graphics.PDXObject;
 import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
-import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceCMYK;
-import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
-import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
 import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
 import org.apache.pdfbox.pdmodel.graphics.shading.PDShading;
 import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
 import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.operator.color.PBOpColor;
 import org.verapdf.model.impl.pb.operator.color.PBOpSetColor;
 import org.verapdf.model.impl.pb.operator.generalgs.*;
@@ -75,9 +73,7 @@ import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 
 /**
@@ -92,22 +88,42 @@ class OperatorParser {
 	private static final Logger LOGGER = Logger.getLogger(OperatorParser.class.getCanonicalName());
 	private static final String MSG_PROBLEM_OBTAINING_RESOURCE = "Problem encountered while obtaining resources for ";
 
-	private final Deque<GraphicState> graphicStateStack = new ArrayDeque<>();
-	private final GraphicState graphicState = new GraphicState();
+	private final GraphicStateTracker stateTracker = new GraphicStateTracker();
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
+	private final ValidationContext context;
+	private final int structParents;
 
-	OperatorParser(PDDocument document, PDFAFlavour flavour) {
+	OperatorParser(PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+		this(document, flavour, context, OperatorFactory.NO_STRUCT_PARENTS);
+	}
+
+	OperatorParser(PDDocument document, PDFAFlavour flavour, ValidationContext context, int structParents) {
 		// limit the scope
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
+		this.structParents = structParents;
 	}
 
+	/**
+	 * Returns snapshot of the current graphic state. The snapshot is shared
+	 * with all operators parsed since the last state change, so it must not be
+	 * modified
+	 *
+	 * @return current graphic state
+	 */
 	public GraphicState getGraphicState() {
-		GraphicState gs = new GraphicState();
-		gs.copyProperties(this.graphicState);
-		return gs;
+		return this.stateTracker.getGraphicState();
+	}
+
+	/**
+	 * @return current graphic state without sharing it. The result is valid
+	 *         only until the next operator is parsed
+	 */
+	GraphicState getCurrentGraphicState() {
+		return this.stateTracker.getCurrentGraphicState();
 	}
 
 	void parseOperator(List<Operator> operators,
@@ -115,14 +131,15 @@ class OperatorParser {
 					   PDInheritableResources resources, List<COSBase> arguments)
 			throws CloneNotSupportedException, IOException {
 		String operatorName = pdfBoxOperator.getName();
-		PDColorSpace cs;
+		this.stateTracker.processOperator(operatorName, resources, arguments);
 		switch (operatorName) {
 			// GENERAL GS
 			case Operators.D_SET_DASH:
-				operators.add(new PBOp_d(arguments, this.document, this.flavour));
+				operators.add(new PBOp_d(arguments, this.document, this.flavour, this.context));
 				break;
 			case Operators.GS:
-				this.addExtGState(operators, resources, arguments);
+				operators.add(new PBOp_gs(arguments, getExtGStateFromResources(resources,
+						getLastCOSName(arguments)), this.document, this.flavour));
 				break;
 			case Operators.I_SETFLAT:
 				operators.add(new PBOp_i(arguments));
@@ -145,19 +162,19 @@ class OperatorParser {
 
 			// MARKED CONTENT
 			case Operators.BMC:
-				operators.add(new PBOp_BMC(arguments, document, flavour));
+				operators.add(new PBOp_BMC(arguments, document, flavour, context));
 				break;
 			case Operators.BDC:
-				operators.add(new PBOp_BDC(arguments, document, flavour));
+				operators.add(new PBOp_BDC(arguments, document, flavour, context, this.structParents));
 				break;
 			case Operators.EMC:
-				operators.add(new PBOp_EMC(arguments, document, flavour));
+				operators.add(new PBOp_EMC(arguments, document, flavour, context));
 				break;
 			case Operators.MP:
-				operators.add(new PBOp_MP(arguments, document, flavour));
+				operators.add(new PBOp_MP(arguments, document, flavour, context));
 				break;
 			case Operators.DP:
-				operators.add(new PBOp_DP(arguments, document, flavour));
+				operators.add(new PBOp_DP(arguments, document, flavour, context));
 				break;
 
 			// CLIP
@@ -169,65 +186,19 @@ class OperatorParser {
 				break;
 
 			// COLOR
-			case Operators.G_STROKE: {
-				cs = resources == null ? PDDeviceGray.INSTANCE :
-						resources.getColorSpace(COSName.DEVICEGRAY);
-				this.graphicState.setStrokeColorSpace(cs);
-				operators.add(this.getStrokeColorOperator(arguments));
-				break;
-			}
-			case Operators.G_FILL: {
-				cs = resources == null ? PDDeviceGray.INSTANCE :
-						resources.getColorSpace(COSName.DEVICEGRAY);
-				this.graphicState.setFillColorSpace(cs);
-				operators.add(this.getFillColorOperator(arguments));
-				break;
-			}
-			case Operators.RG_STROKE: {
-				cs = resources == null ? PDDeviceRGB.INSTANCE :
-						resources.getColorSpace(COSName.DEVICERGB);
-				this.graphicState.setStrokeColorSpace(cs);
-				operators.add(this.getStrokeColorOperator(arguments));
-				break;
-			}
-			case Operators.RG_FILL: {
-				cs = resources == null ? PDDeviceRGB.INSTANCE :
-						resources.getColorSpace(COSName.DEVICERGB);
-				this.graphicState.setFillColorSpace(cs);
-				operators.add(this.getFillColorOperator(arguments));
-				break;
-			}
-			case Operators.K_STROKE: {
-				cs = resources == null ? PDDeviceCMYK.INSTANCE :
-						resources.getColorSpace(COSName.DEVICECMYK);
-				this.graphicState.setStrokeColorSpace(cs);
-				operators.add(this.getStrokeColorOperator(arguments));
-				break;
-			}
-			case Operators.K_FILL: {
-				cs = resources == null ? PDDeviceCMYK.INSTANCE :
-						resources.getColorSpace(COSName.DEVICECMYK);
-				this.graphicState.setFillColorSpace(cs);
-				operators.add(this.getFillColorOperator(arguments));
-				break;
-			}
+			case Operators.G_STROKE:
+			case Operators.RG_STROKE:
+			case Operators.K_STROKE:
 			case Operators.CS_STROKE:
-				this.graphicState.setStrokeColorSpace(getColorSpaceFromResources(
-						resources, getLastCOSName(arguments)));
+			case Operators.SCN_STROKE:
 				operators.add(this.getStrokeColorOperator(arguments));
 				break;
+			case Operators.G_FILL:
+			case Operators.RG_FILL:
+			case Operators.K_FILL:
 			case Operators.CS_FILL:
-				this.graphicState.setFillColorSpace(getColorSpaceFromResources(
-						resources, getLastCOSName(arguments)));
-				operators.add(this.getFillColorOperator(arguments));
-				break;
-			case Operators.SCN_STROKE:
-				this.setStrokePatternColorSpace(operators, graphicState.getStrokeColorSpace(),
-						resources, arguments);
-				break;
 			case Operators.SCN_FILL:
-				this.setFillPatternColorSpace(operators, graphicState.getFillColorSpace(),
-						resources, arguments);
+				operators.add(this.getFillColorOperator(arguments));
 				break;
 			case Operators.SC_STROKE:
 				operators.add(new PBOpSetColor(arguments));
@@ -258,22 +229,25 @@ class OperatorParser {
 
 			// TEXT SHOW
 			case Operators.TJ_SHOW:
-				PBOp_Tj tj = new PBOp_Tj(arguments, this.graphicState.clone(), resources, this.document, this.flavour);
+				PBOp_Tj tj = new PBOp_Tj(arguments, this.getGraphicState(), resources, this.document, this.flavour, this.context);
 				addFontAndColorSpace(tj);
 				operators.add(tj);
 				break;
 			case Operators.TJ_SHOW_POS:
-				PBOp_TJ_Big tj_big = new PBOp_TJ_Big(arguments, this.graphicState.clone(), resources, this.document, this.flavour);
+				PBOp_TJ_Big tj_big = new PBOp_TJ_Big(arguments, this.getGraphicState(), resources, this.document, this.flavour,
+						this.context);
 				addFontAndColorSpace(tj_big);
 				operators.add(tj_big);
 				break;
 			case Operators.QUOTE:
-				PBOp_Quote quote = new PBOp_Quote(arguments, this.graphicState.clone(), resources, this.document, this.flavour);
+				PBOp_Quote quote = new PBOp_Quote(arguments, this.getGraphicState(), resources, this.document, this.flavour,
+						this.context);
 				addFontAndColorSpace(quote);
 				operators.add(quote);
 				break;
 			case Operators.DOUBLE_QUOTE:
-				PBOp_DoubleQuote doubleQuote = new PBOp_DoubleQuote(arguments, this.graphicState.clone(), resources, this.document, this.flavour);
+				PBOp_DoubleQuote doubleQuote = new PBOp_DoubleQuote(arguments, this.getGraphicState(), resources,
+						this.document, this.flavour, this.context);
 				addFontAndColorSpace(doubleQuote);
 				operators.add(doubleQuote);
 				break;
@@ -283,11 +257,9 @@ class OperatorParser {
 				operators.add(new PBOp_Tz(arguments));
 				break;
 			case Operators.TR:
-				this.graphicState.setRenderingMode(getRenderingMode(arguments));
 				operators.add(new PBOp_Tr(arguments));
 				break;
 			case Operators.TF:
-				this.graphicState.setFontName(getFirstCOSName(arguments));
 				operators.add(new PBOp_Tf(arguments));
 				break;
 			case Operators.TC:
@@ -313,7 +285,7 @@ class OperatorParser {
 
 			// INLINE IMAGE
 			case Operators.BI:
-				addInlineImage(operators, pdfBoxOperator, resources, arguments, document, flavour);
+				addInlineImage(operators, pdfBoxOperator, resources, arguments, document, flavour, context);
 				break;
 
 			// COMPABILITY
@@ -350,60 +322,60 @@ class OperatorParser {
 			// PATH PAINT
 			case Operators.B_CLOSEPATH_FILL_STROKE:
 				PBOp_b_closepath_fill_stroke b_closepath_fill_stroke = new PBOp_b_closepath_fill_stroke(arguments,
-						this.graphicState, resources, document, flavour);
+						this.getCurrentGraphicState(), resources, document, flavour, context);
 				addColorSpace(b_closepath_fill_stroke);
 				operators.add(b_closepath_fill_stroke);
 				break;
 			case Operators.B_FILL_STROKE:
 				PBOp_B_fill_stroke b_fill_stroke = new PBOp_B_fill_stroke(arguments,
-						this.graphicState, resources, document, flavour);
+						this.getCurrentGraphicState(), resources, document, flavour, context);
 				addColorSpace(b_fill_stroke);
 				operators.add(b_fill_stroke);
 				break;
 			case Operators.B_STAR_CLOSEPATH_EOFILL_STROKE:
 				PBOp_bstar_closepath_eofill_stroke bstar_closepath_eofill_stroke = new PBOp_bstar_closepath_eofill_stroke(arguments,
-						this.graphicState, resources, document, flavour);
+						this.getCurrentGraphicState(), resources, document, flavour, context);
 				addColorSpace(bstar_closepath_eofill_stroke);
 				operators.add(bstar_closepath_eofill_stroke);
 				break;
 			case Operators.B_STAR_EOFILL_STROKE:
 				PBOp_BStar_eofill_stroke bStar_eofill_stroke = new PBOp_BStar_eofill_stroke(arguments,
-						this.graphicState, resources, document, flavour);
+						this.getCurrentGraphicState(), resources, document, flavour, context);
 				addColorSpace(bStar_eofill_stroke);
 				operators.add(bStar_eofill_stroke);
 				break;
 			case Operators.F_FILL:
 				PBOp_f_fill f_fill = new PBOp_f_fill(arguments,
-						this.graphicState, resources, document, flavour);
+						this.getCurrentGraphicState(), resources, document, flavour, context);
 				addColorSpace(f_fill);
 				operators.add(f_fill);
 				break;
 			case Operators.F_FILL_OBSOLETE:
 				PBOp_F_fill_obsolete f_fill_obsolete = new PBOp_F_fill_obsolete(arguments,
-						this.graphicState, resources, document, flavour);
+						this.getCurrentGraphicState(), resources, document, flavour, context);
 				addColorSpace(f_fill_obsolete);
 				operators.add(f_fill_obsolete);
 				break;
 			case Operators.F_STAR_FILL:
 				PBOp_FStar fStar = new PBOp_FStar(arguments,
-						this.graphicState, resources, document, flavour);
+						this.getCurrentGraphicState(), resources, document, flavour, context);
 				addColorSpace(fStar);
 				operators.add(fStar);
 				break;
 			case Operators.N:
-				PBOp_n op_n = new PBOp_n(arguments, document, flavour);
+				PBOp_n op_n = new PBOp_n(arguments, document, flavour, context);
 				addColorSpace(op_n);
 				operators.add(op_n);
 				break;
 			case Operators.S_CLOSE_STROKE:
 				PBOp_s_close_stroke s_close_stroke = new PBOp_s_close_stroke(arguments,
-						this.graphicState, resources, document, flavour);
+						this.getCurrentGraphicState(), resources, document, flavour, context);
 				addColorSpace(s_close_stroke);
 				operators.add(s_close_stroke);
 				break;
 			case Operators.S_STROKE:
 				PBOp_S_stroke s_stroke = new PBOp_S_stroke(arguments,
-						this.graphicState, resources, document, flavour);
+						this.getCurrentGraphicState(), resources, document, flavour, context);
 				addColorSpace(s_stroke);
 				operators.add(s_stroke);
 				break;
@@ -411,7 +383,7 @@ class OperatorParser {
 			// SHADING
 			case Operators.SH:
 				operators.add(new PBOp_sh(arguments, getShadingFromResources(resources,
-						getLastCOSName(arguments)), document, flavour));
+						getLastCOSName(arguments)), document, flavour, context));
 				break;
 
 			// SPECIAL GS
@@ -419,24 +391,20 @@ class OperatorParser {
 				operators.add(new PBOp_cm(arguments));
 				break;
 			case Operators.Q_GRESTORE:
-				if (!graphicStateStack.isEmpty()) {
-					this.graphicState.copyProperties(this.graphicStateStack.pop());
-				}
 				operators.add(new PBOp_Q_grestore(arguments));
 				break;
 			case Operators.Q_GSAVE:
-				this.graphicStateStack.push(this.graphicState.clone());
-				operators.add(new PBOp_q_gsave(arguments, this.graphicStateStack.size()));
+				operators.add(new PBOp_q_gsave(arguments, this.stateTracker.getStackSize()));
 				break;
 
 			// XOBJECT
 			case Operators.DO:
 				PBOp_Do op = new PBOp_Do(arguments, getXObjectFromResources(resources,
-						getLastCOSName(arguments)), resources, document, flavour);
+						getLastCOSName(arguments)), resources, document, flavour, context);
 				List<org.verapdf.model.pdlayer.PDXObject> pdxObjects = op.getXObject();
 				if (!pdxObjects.isEmpty()) {
 					PBoxPDXObject xobj = (PBoxPDXObject) pdxObjects.get(0);
-					this.graphicState.setVeraXObject(xobj);
+					this.stateTracker.getMutableGraphicState().setVeraXObject(xobj);
 				}
 				operators.add(op);
 				break;
@@ -448,65 +416,33 @@ class OperatorParser {
 
 	private PBOpColor getStrokeColorOperator(List<COSBase> arguments) {
 		org.verapdf.model.pdlayer.PDColorSpace colorSpace = ColorSpaceFactory.getColorSpace(
-				graphicState.getStrokeColorSpace(), document, flavour);
+				this.getCurrentGraphicState().getStrokeColorSpace(), document, flavour, context);
 		return new PBOpColor(arguments, colorSpace);
 	}
 
 	private PBOpColor getFillColorOperator(List<COSBase> arguments) {
 		org.verapdf.model.pdlayer.PDColorSpace colorSpace = ColorSpaceFactory.getColorSpace(
-				graphicState.getFillColorSpace(), document, flavour);
+				this.getCurrentGraphicState().getFillColorSpace(), document, flavour, context);
 		return new PBOpColor(arguments, colorSpace);
 	}
 
-	private void setFillPatternColorSpace(List<Operator> operators, PDColorSpace colorSpace,
-										  PDInheritableResources resources, List<COSBase> arguments) {
-		if (colorSpace != null &&
-				ColorSpaceFactory.PATTERN.equals(colorSpace.getName())) {
-			graphicState.setFillPattern(getPatternFromResources(resources,
-					getLastCOSName(arguments)));
-		}
-		org.verapdf.model.pdlayer.PDColorSpace modelColorSpace = ColorSpaceFactory.getColorSpace(
-				graphicState.getFillColorSpace(), document, flavour);
-		operators.add(new PBOpColor(arguments, modelColorSpace));
-	}
-
-	private void setStrokePatternColorSpace(List<Operator> operators, PDColorSpace colorSpace,
-											PDInheritableResources resources, List<COSBase> arguments) {
-		if (colorSpace != null &&
-				ColorSpaceFactory.PATTERN.equals(colorSpace.getName())) {
-			graphicState.setStrokePattern(getPatternFromResources(resources,
-					getLastCOSName(arguments)));
-		}
-		org.verapdf.model.pdlayer.PDColorSpace modelColorSpace = ColorSpaceFactory.getColorSpace(
-				graphicState.getStrokeColorSpace(), document, flavour);
-		operators.add(new PBOpColor(arguments, modelColorSpace));
-	}
-
-	private void addExtGState(List<Operator> operators,
-							  PDInheritableResources resources, List<COSBase> arguments) {
-		PDExtendedGraphicsState extGState = getExtGStateFromResources(resources,
-				getLastCOSName(arguments));
-		graphicState.copyPropertiesFromExtGState(extGState);
-		operators.add(new PBOp_gs(arguments, extGState, this.document, this.flavour));
-	}
-
 	private static void addInlineImage(List<Operator> operators,
 									   org.apache.pdfbox.contentstream.operator.Operator pdfBoxOperator,
 									   PDInheritableResources resources,
 									   List<COSBase> arguments,
 									   PDDocument document,
-									   PDFAFlavour flavour) {
+									   PDFAFlavour flavour, ValidationContext context) {
 		if (pdfBoxOperator.getImageParameters() != null &&
 				pdfBoxOperator.getImageData() != null) {
 			arguments.add(pdfBoxOperator.getImageParameters());
 			operators.add(new PBOp_BI(new ArrayList<COSBase>()));
-			operators.add(new PBOp_ID(arguments, document, flavour));
+			operators.add(new PBOp_ID(arguments, document, flavour, context));
 			operators.add(new PBOp_EI(arguments,
-					pdfBoxOperator.getImageData(), resources, document, flavour));
+					pdfBoxOperator.getImageData(), resources, document, flavour, context));
 		}
 	}
 
-	private static COSName getFirstCOSName(List<COSBase> arguments) {
+	static COSName getFirstCOSName(List<COSBase> arguments) {
 		COSBase lastElement = arguments.isEmpty() ? null : arguments.get(0);
 		if (lastElement instanceof COSName) {
 			return (COSName) lastElement;
@@ -514,7 +450,7 @@ class OperatorParser {
 		return null;
 	}
 
-	private static COSName getLastCOSName(List<COSBase> arguments) {
+	static COSName getLastCOSName(List<COSBase> arguments) {
 		COSBase lastElement = arguments.isEmpty() ? null : arguments.get(arguments
 				.size() - 1);
 		if (lastElement instanceof COSName) {
@@ -523,7 +459,7 @@ class OperatorParser {
 		return null;
 	}
 
-	private static PDXObject getXObjectFromResources(PDInheritableResources resources,
+	static PDXObject getXObjectFromResources(PDInheritableResources resources,
 													 COSName xobject) {
 		if (resources == null) {
 			return null;
@@ -538,7 +474,7 @@ class OperatorParser {
 		}
 	}
 
-	private static PDColorSpace getColorSpaceFromResources(
+	static PDColorSpace getColorSpaceFromResources(
 			PDInheritableResources resources, COSName colorSpace) {
 		if (resources == null) {
 			return null;
@@ -568,12 +504,12 @@ class OperatorParser {
 		}
 	}
 
-	private static PDExtendedGraphicsState getExtGStateFromResources(
+	static PDExtendedGraphicsState getExtGStateFromResources(
 			PDInheritableResources resources, COSName extGState) {
 		return resources == null ? null : resources.getExtGState(extGState);
 	}
 
-	private static RenderingMode getRenderingMode(List<COSBase> arguments) {
+	static RenderingMode getRenderingMode(List<COSBase> arguments) {
 		if (!arguments.isEmpty()) {
 			COSBase renderingMode = arguments.get(0);
 			if (renderingMode instanceof COSInteger) {
@@ -587,7 +523,7 @@ class OperatorParser {
 		return RenderingMode.FILL;
 	}
 
-	private static PDAbstractPattern getPatternFromResources(
+	static PDAbstractPattern getPatternFromResources(
 			PDInheritableResources resources, COSName pattern) {
 		if (resources == null) {
 			return null;
@@ -602,21 +538,26 @@ class OperatorParser {
 		}
 	}
 
-	private void addFontAndColorSpace(PBOpTextShow op) {
+	private void addFontAndColorSpace(PBOpTextShow op) throws CloneNotSupportedException {
+		GraphicState state = this.stateTracker.getMutableGraphicState();
 		PBoxPDFont font = (PBoxPDFont) op.getVeraModelFont();
-		this.graphicState.setVeraFont(font);
+		state.setVeraFont(font);
 		byte[] charCodes = op.getCharCodes();
-		this.graphicState.setCharCodes(charCodes);
+		state.setCharCodes(charCodes);
 		PBoxPDColorSpace fillCS = (PBoxPDColorSpace) op.getVeraModelFillColorSpace();
-		this.graphicState.setVeraFillColorSpace(fillCS);
+		state.setVeraFillColorSpace(fillCS);
 		PBoxPDColorSpace strokeCS = (PBoxPDColorSpace) op.getVeraModelStrokeColorSpace();
-		this.graphicState.setVeraStrokeColorSpace(strokeCS);
+		state.setVeraStrokeColorSpace(strokeCS);
 	}
 
-	private void addColorSpace(PBOpPathPaint op) {
+	private void addColorSpace(PBOpPathPaint op) throws CloneNotSupportedException {
 		PBoxPDColorSpace fillCS = (PBoxPDColorSpace) op.getVeraModelFillCS();
-		this.graphicState.setVeraFillColorSpace(fillCS);
 		PBoxPDColorSpace strokeCS = (PBoxPDColorSpace) op.getVeraModelStrokeCS();
-		this.graphicState.setVeraStrokeColorSpace(strokeCS);
+		GraphicState current = this.getCurrentGraphicState();
+		if (fillCS != current.getVeraFillColorSpace() || strokeCS != current.getVeraStrokeColorSpace()) {
+			GraphicState state = this.stateTracker.getMutableGraphicState();
+			state.setVeraFillColorSpace(fillCS);
+			state.setVeraStrokeColorSpace(strokeCS);
+		}
 	}
 }
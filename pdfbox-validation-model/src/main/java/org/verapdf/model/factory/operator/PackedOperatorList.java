@@ -0,0 +1,344 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.factory.operator;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSFloat;
+import org.apache.pdfbox.cos.COSInteger;
+import org.verapdf.model.impl.pb.operator.color.PBOpSetColor;
+import org.verapdf.model.impl.pb.operator.generalgs.*;
+import org.verapdf.model.impl.pb.operator.opclip.PBOp_WStar;
+import org.verapdf.model.impl.pb.operator.opclip.PBOp_W_clip;
+import org.verapdf.model.impl.pb.operator.opcompability.PBOp_BX;
+import org.verapdf.model.impl.pb.operator.opcompability.PBOp_EX;
+import org.verapdf.model.impl.pb.operator.pathconstruction.*;
+import org.verapdf.model.impl.pb.operator.specialgs.PBOp_cm;
+import org.verapdf.model.impl.pb.operator.textobject.PBOpTextObject;
+import org.verapdf.model.impl.pb.operator.textposition.PBOpTextPosition;
+import org.verapdf.model.impl.pb.operator.textposition.PBOp_TD_Big;
+import org.verapdf.model.impl.pb.operator.textposition.PBOp_Td;
+import org.verapdf.model.impl.pb.operator.textposition.PBOp_Tm;
+import org.verapdf.model.impl.pb.operator.textstate.*;
+import org.verapdf.model.impl.pb.operator.type3font.PBOp_d0;
+import org.verapdf.model.impl.pb.operator.type3font.PBOp_d1;
+import org.verapdf.model.operator.Operator;
+import org.verapdf.model.tools.constants.Operators;
+
+import java.util.*;
+
+/**
+ * List of operators of a content stream stored in columns. Operators that are
+ * built from their arguments only (path construction, text positioning, line
+ * state and so on) are kept as an operator code and packed arguments: numbers
+ * are stored in a primitive column and other arguments in a side table. Such
+ * operators are built by {@link #get(int)} each time they are requested and
+ * are not retained by the list. All other operators are stored as objects.
+ * <p>
+ * The list is filled by {@link OperatorFactory} and is not modified after
+ * that, so it can be read from several threads.
+ */
+final class PackedOperatorList extends AbstractList<Operator> implements RandomAccess {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private static final byte OBJECT = 0;
+	private static final Map<String, Byte> CODES;
+	static {
+		String[] names = {
+				Operators.M_MOVE_TO, Operators.L_LINE_TO, Operators.C_CURVE_TO,
+				Operators.V, Operators.Y, Operators.RE, Operators.H_CLOSEPATH,
+				Operators.W_CLIP, Operators.W_STAR_EOCLIP,
+				Operators.W_LINE_WIDTH, Operators.J_LINE_CAP, Operators.J_LINE_JOIN,
+				Operators.M_MITER_LIMIT, Operators.I_SETFLAT, Operators.RI,
+				Operators.CM_CONCAT, Operators.BT, Operators.ET,
+				Operators.TD_MOVE, Operators.TD_MOVE_SET_LEADING, Operators.TM,
+				Operators.T_STAR, Operators.TZ, Operators.TC, Operators.TW,
+				Operators.TL, Operators.TS, Operators.BX, Operators.EX,
+				Operators.D0, Operators.D1, Operators.SC_STROKE, Operators.SC_FILL
+		};
+		Map<String, Byte> aMap = new HashMap<>();
+		for (int i = 0; i < names.length; ++i) {
+			aMap.put(names[i], Byte.valueOf((byte) (i + 1)));
+		}
+		CODES = Collections.unmodifiableMap(aMap);
+	}
+	private static final String[] NAMES = new String[CODES.size() + 1];
+	static {
+		for (Map.Entry<String, Byte> entry : CODES.entrySet()) {
+			NAMES[entry.getValue().intValue()] = entry.getKey();
+		}
+	}
+
+	private static final byte INTEGER = 0;
+	private static final byte REAL = 1;
+	private static final byte OTHER = 2;
+
+	private int size = 0;
+	private byte[] codes = new byte[INITIAL_CAPACITY];
+	// number of arguments of packed operator
+	private byte[] argumentCounts = new byte[INITIAL_CAPACITY];
+	// index of first argument of packed operator or index of stored operator
+	private int[] references = new int[INITIAL_CAPACITY];
+
+	private int argumentsSize = 0;
+	private byte[] argumentTypes = new byte[INITIAL_CAPACITY];
+	// value of integer, float bits of real or index in the side table
+	private long[] argumentValues = new long[INITIAL_CAPACITY];
+
+	private final ArrayList<COSBase> otherArguments = new ArrayList<>();
+	private final ArrayList<Operator> objects = new ArrayList<>();
+
+	/**
+	 * Stores operator in packed form if it is built from its arguments only.
+	 *
+	 * @param operatorName name of pdf operator
+	 * @param arguments    arguments of the operator. The list is not retained,
+	 *                     so it can be reused by the caller
+	 * @return true if the operator has been stored, false if it has to be
+	 *         created by the caller
+	 */
+	boolean addPacked(String operatorName, List<COSBase> arguments) {
+		Byte code = CODES.get(operatorName);
+		if (code == null || arguments.size() > Byte.MAX_VALUE) {
+			return false;
+		}
+		ensureCapacity(this.size + 1);
+		ensureArgumentsCapacity(this.argumentsSize + arguments.size());
+		this.codes[this.size] = code.byteValue();
+		this.argumentCounts[this.size] = (byte) arguments.size();
+		this.references[this.size] = this.argumentsSize;
+		for (COSBase argument : arguments) {
+			packArgument(argument);
+		}
+		++this.size;
+		++this.modCount;
+		return true;
+	}
+
+	@Override
+	public boolean add(Operator operator) {
+		ensureCapacity(this.size + 1);
+		this.codes[this.size] = OBJECT;
+		this.argumentCounts[this.size] = 0;
+		this.references[this.size] = this.objects.size();
+		this.objects.add(operator);
+		++this.size;
+		++this.modCount;
+		return true;
+	}
+
+	@Override
+	public Operator get(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		}
+		byte code = this.codes[index];
+		if (code == OBJECT) {
+			return this.objects.get(this.references[index]);
+		}
+		return createOperator(NAMES[code], unpackArguments(index));
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public void clear() {
+		this.size = 0;
+		this.argumentsSize = 0;
+		this.otherArguments.clear();
+		this.objects.clear();
+		++this.modCount;
+	}
+
+	/**
+	 * Releases unused capacity of the columns once the list is filled
+	 */
+	void trimToSize() {
+		this.codes = Arrays.copyOf(this.codes, this.size);
+		this.argumentCounts = Arrays.copyOf(this.argumentCounts, this.size);
+		this.references = Arrays.copyOf(this.references, this.size);
+		this.argumentTypes = Arrays.copyOf(this.argumentTypes, this.argumentsSize);
+		this.argumentValues = Arrays.copyOf(this.argumentValues, this.argumentsSize);
+		this.otherArguments.trimToSize();
+		this.objects.trimToSize();
+	}
+
+	private void packArgument(COSBase argument) {
+		int index = this.argumentsSize++;
+		if (argument instanceof COSInteger) {
+			this.argumentTypes[index] = INTEGER;
+			this.argumentValues[index] = ((COSInteger) argument).longValue();
+		} else if (argument instanceof COSFloat && isRestorable((COSFloat) argument)) {
+			this.argumentTypes[index] = REAL;
+			this.argumentValues[index] = Float.floatToIntBits(((COSFloat) argument).floatValue());
+		} else {
+			this.argumentTypes[index] = OTHER;
+			this.argumentValues[index] = this.otherArguments.size();
+			this.otherArguments.add(argument);
+		}
+	}
+
+	private List<COSBase> unpackArguments(int index) {
+		int count = this.argumentCounts[index];
+		int start = this.references[index];
+		List<COSBase> arguments = new ArrayList<>(count);
+		for (int i = start; i < start + count; ++i) {
+			long value = this.argumentValues[i];
+			switch (this.argumentTypes[i]) {
+				case INTEGER:
+					arguments.add(COSInteger.get(value));
+					break;
+				case REAL:
+					arguments.add(new COSFloat(Float.intBitsToFloat((int) value)));
+					break;
+				default:
+					arguments.add(this.otherArguments.get((int) value));
+					break;
+			}
+		}
+		return arguments;
+	}
+
+	/**
+	 * Real is packed as float bits only if the real restored from them has
+	 * the same value. Reals with more digits than a float holds are kept
+	 * as they are in the side table.
+	 */
+	private static boolean isRestorable(COSFloat real) {
+		float value = real.floatValue();
+		if (Float.isInfinite(value) || Float.isNaN(value)) {
+			return false;
+		}
+		COSFloat restored = new COSFloat(value);
+		return restored.doubleValue() == real.doubleValue() && restored.floatValue() == value;
+	}
+
+	private static Operator createOperator(String operatorName, List<COSBase> arguments) {
+		switch (operatorName) {
+			// PATH CONSTRUCTION
+			case Operators.M_MOVE_TO:
+				return new PBOp_m_moveto(arguments);
+			case Operators.L_LINE_TO:
+				return new PBOp_l(arguments);
+			case Operators.C_CURVE_TO:
+				return new PBOp_c(arguments);
+			case Operators.V:
+				return new PBOp_v(arguments);
+			case Operators.Y:
+				return new PBOp_y(arguments);
+			case Operators.RE:
+				return new PBOp_re(arguments);
+			case Operators.H_CLOSEPATH:
+				return new PBOp_h(arguments);
+
+			// CLIP
+			case Operators.W_CLIP:
+				return new PBOp_W_clip(arguments);
+			case Operators.W_STAR_EOCLIP:
+				return new PBOp_WStar(arguments);
+
+			// GENERAL GS
+			case Operators.W_LINE_WIDTH:
+				return new PBOp_w_line_width(arguments);
+			case Operators.J_LINE_CAP:
+				return new PBOp_J_line_cap(arguments);
+			case Operators.J_LINE_JOIN:
+				return new PBOp_j_line_join(arguments);
+			case Operators.M_MITER_LIMIT:
+				return new PBOp_M_miter_limit(arguments);
+			case Operators.I_SETFLAT:
+				return new PBOp_i(arguments);
+			case Operators.RI:
+				return new PBOp_ri(arguments);
+
+			// SPECIAL GS
+			case Operators.CM_CONCAT:
+				return new PBOp_cm(arguments);
+
+			// TEXT OBJECT
+			case Operators.BT:
+			case Operators.ET:
+				return new PBOpTextObject(arguments);
+
+			// TEXT POSITION
+			case Operators.TD_MOVE:
+				return new PBOp_Td(arguments);
+			case Operators.TD_MOVE_SET_LEADING:
+				return new PBOp_TD_Big(arguments);
+			case Operators.TM:
+				return new PBOp_Tm(arguments);
+			case Operators.T_STAR:
+				return new PBOpTextPosition(arguments);
+
+			// TEXT STATE
+			case Operators.TZ:
+				return new PBOp_Tz(arguments);
+			case Operators.TC:
+				return new PBOp_Tc(arguments);
+			case Operators.TW:
+				return new PBOp_Tw(arguments);
+			case Operators.TL:
+				return new PBOp_Tl(arguments);
+			case Operators.TS:
+				return new PBOp_Ts(arguments);
+
+			// COMPABILITY
+			case Operators.BX:
+				return new PBOp_BX(arguments);
+			case Operators.EX:
+				return new PBOp_EX(arguments);
+
+			// TYPE 3 FONTS
+			case Operators.D0:
+				return new PBOp_d0(arguments);
+			case Operators.D1:
+				return new PBOp_d1(arguments);
+
+			// COLOR
+			case Operators.SC_STROKE:
+			case Operators.SC_FILL:
+				return new PBOpSetColor(arguments);
+
+			default:
+				throw new IllegalStateException("Unexpected packed operator " + operatorName);
+		}
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > this.codes.length) {
+			int newCapacity = Math.max(capacity, this.codes.length * 2);
+			this.codes = Arrays.copyOf(this.codes, newCapacity);
+			this.argumentCounts = Arrays.copyOf(this.argumentCounts, newCapacity);
+			this.references = Arrays.copyOf(this.references, newCapacity);
+		}
+	}
+
+	private void ensureArgumentsCapacity(int capacity) {
+		if (capacity > this.argumentTypes.length) {
+			int newCapacity = Math.max(capacity, this.argumentTypes.length * 2);
+			this.argumentTypes = Arrays.copyOf(this.argumentTypes, newCapacity);
+			this.argumentValues = Arrays.copyOf(this.argumentValues, newCapacity);
+		}
+	}
+}
@@ -0,0 +1,314 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.factory.operator;
+
+import java.util.logging.Logger;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObjectKey;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType3Font;
+import org.apache.pdfbox.pdmodel.font.encoding.Encoding;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.graphics.form.PDGroup;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObjectProxy;
+import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
+import org.apache.pdfbox.pdmodel.graphics.pattern.PDTilingPattern;
+import org.verapdf.model.factory.font.FontFactory;
+import org.verapdf.model.impl.pb.containers.ParsedContentStreams;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
+import org.verapdf.model.impl.pb.operator.textshow.PBOpTextShow;
+import org.verapdf.model.impl.pb.pd.images.PBoxPDXImage;
+import org.verapdf.model.tools.constants.Operators;
+import org.verapdf.model.tools.resources.PDInheritableResources;
+import org.verapdf.model.tools.transparency.TransparencyBehaviour;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds out whether a content stream contains transparency without building
+ * operators of the veraPDF model. The graphic state is followed by the same
+ * {@link GraphicStateTracker} as {@link OperatorParser} uses, and the same
+ * {@link TransparencyBehaviour} checks are applied to the painting operators
+ * as {@link OperatorFactory} does. XObjects, tiling patterns and glyphs of
+ * type 3 fonts are checked on the pdfbox objects, their content streams are
+ * scanned in turn. Scanning stops at the first painting operator that uses
+ * transparency.
+ */
+public final class TransparencyScanner {
+
+	private static final Logger LOGGER = Logger.getLogger(TransparencyScanner.class.getCanonicalName());
+
+	private final PDInheritableResources resources;
+	private final ValidationContext context;
+	private final ScanState state;
+
+	private final GraphicStateTracker stateTracker = new GraphicStateTracker();
+	private final TransparencyBehaviour.ContentChecker contentChecker = new ScannedContentChecker();
+	private final List<COSBase> arguments = new ArrayList<>();
+	private PDXObject xObject = null;
+
+	private TransparencyScanner(PDInheritableResources resources, ValidationContext context, ScanState state) {
+		this.resources = resources;
+		this.context = context;
+		this.state = state;
+	}
+
+	/**
+	 * Checks the given content stream for transparency. The result is the
+	 * same as {@link OperatorFactory#isLastParsedContainsTransparency()} after
+	 * parsing of the stream.
+	 *
+	 * @param stream     content stream to scan
+	 * @param resources  resources of the stream
+	 * @param context    validation context of the document of the stream
+	 * @param isReusable true if the stream may be drawn many times, the result
+	 *                   is shared through {@link ParsedContentStreams} cache
+	 *                   of the context then
+	 * @return true if any painting operator of the stream uses transparency
+	 * @throws IOException if the stream can not be tokenized
+	 */
+	public static boolean containsTransparency(COSStream stream, PDInheritableResources resources,
+											   ValidationContext context, boolean isReusable) throws IOException {
+		return containsTransparency(stream, resources, context, isReusable, new ScanState());
+	}
+
+	/**
+	 * Checks tokens of a content stream for transparency, like
+	 * {@link #containsTransparency(COSStream, PDInheritableResources, ValidationContext, boolean)}
+	 * does for a stream. Used for page content streams tokenized in
+	 * background, which are not parsed again.
+	 *
+	 * @param tokens    tokens of the content stream
+	 * @param resources resources of the stream
+	 * @param context   validation context of the document of the stream
+	 * @return true if any painting operator of the stream uses transparency
+	 */
+	public static boolean containsTransparency(List<Object> tokens, PDInheritableResources resources,
+											   ValidationContext context) {
+		TransparencyScanner scanner = new TransparencyScanner(resources, context, new ScanState());
+		for (Object token : tokens) {
+			if (scanner.scanToken(token)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean containsTransparency(COSStream stream, PDInheritableResources resources,
+												ValidationContext context, boolean isReusable,
+												ScanState state) throws IOException {
+		COSObjectKey key = isReusable ? stream.getKey() : null;
+		if (key == null) {
+			return scan(stream, resources, context, state);
+		}
+		ParsedContentStreams cache = context.getParsedContentStreams();
+		Boolean result = cache.getTransparency(key, resources);
+		if (result == null) {
+			int cutCycles = state.cutCycles;
+			boolean scanned = scan(stream, resources, context, state);
+			// a negative result is not final if a cycle was cut meanwhile, as
+			// the cut stream is not scanned to the end yet
+			if (!scanned && state.cutCycles != cutCycles) {
+				return false;
+			}
+			result = cache.putTransparency(key, resources, Boolean.valueOf(scanned));
+		}
+		return result.booleanValue();
+	}
+
+	private static boolean scan(COSStream stream, PDInheritableResources resources, ValidationContext context,
+								ScanState state) throws IOException {
+		if (!state.scannedStreams.add(stream)) {
+			state.cutCycles++;
+			return false;
+		}
+		try {
+			return new TransparencyScanner(resources, context, state)
+					.scan(new PDFStreamParser(stream, true));
+		} finally {
+			state.scannedStreams.remove(stream);
+		}
+	}
+
+	private boolean scan(PDFStreamParser parser) throws IOException {
+		Object token;
+		while ((token = parser.parseNextToken()) != null) {
+			if (scanToken(token)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if the token is a painting operator that uses transparency
+	 */
+	private boolean scanToken(Object token) {
+		if (token instanceof COSBase) {
+			this.arguments.add((COSBase) token);
+		} else if (token instanceof org.apache.pdfbox.contentstream.operator.Operator) {
+			try {
+				if (scanOperator(((org.apache.pdfbox.contentstream.operator.Operator) token).getName(),
+						this.arguments)) {
+					return true;
+				}
+			} catch (CloneNotSupportedException e) {
+				throw new IllegalStateException(e);
+			} catch (IOException e) {
+				// the operator is skipped, as it is done by OperatorFactory
+				LOGGER.log(java.util.logging.Level.INFO, e.getMessage());
+			}
+			// arguments are not kept by the scanner, so the list is reused
+			this.arguments.clear();
+		}
+		return false;
+	}
+
+	private boolean scanOperator(String operatorName, List<COSBase> arguments)
+			throws CloneNotSupportedException, IOException {
+		this.stateTracker.processOperator(operatorName, this.resources, arguments);
+		TransparencyBehaviour behaviour;
+		if (OperatorFactory.PAINT_OPERATORS_TEXT.contains(operatorName)) {
+			GraphicState state = this.stateTracker.getMutableGraphicState();
+			state.setCharCodes(PBOpTextShow.getCharCodes(arguments));
+			behaviour = OperatorFactory.RENDERING_MODE.get(state.getRenderingMode());
+		} else {
+			if (Operators.DO.equals(operatorName)) {
+				this.xObject = OperatorParser.getXObjectFromResources(this.resources,
+						OperatorParser.getLastCOSName(arguments));
+			}
+			behaviour = OperatorFactory.PAINT_OPERATORS_WITHOUT_TEXT.get(operatorName);
+		}
+		return behaviour != null
+				&& behaviour.containsTransparency(this.stateTracker.getCurrentGraphicState(), this.contentChecker);
+	}
+
+	private boolean nestedContainsTransparency(COSStream stream, PDInheritableResources streamResources,
+											   boolean isReusable) {
+		if (stream == null) {
+			return false;
+		}
+		try {
+			return containsTransparency(stream, streamResources, this.context, isReusable, this.state);
+		} catch (IOException e) {
+			LOGGER.log(java.util.logging.Level.INFO,
+					"Error while scanning content stream for transparency. " + e.getMessage());
+			return false;
+		}
+	}
+
+	private PDFont getFont(COSName fontName) {
+		if (this.resources == null || fontName == null) {
+			return null;
+		}
+		try {
+			return this.resources.getFont(fontName);
+		} catch (IOException e) {
+			LOGGER.log(java.util.logging.Level.INFO,
+					"Problem encountered while obtaining resources for " + fontName + ". " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * State shared by the scanners of a stream and of the streams it draws
+	 */
+	private static final class ScanState {
+		// streams which are scanned at the moment, a form or a pattern that
+		// draws itself is not followed again
+		private final Set<COSStream> scannedStreams = Collections.newSetFromMap(new IdentityHashMap<>());
+		// number of times a stream was not followed for that reason
+		private int cutCycles = 0;
+	}
+
+	/**
+	 * Checks content drawn by the scanned operators on the pdfbox objects
+	 */
+	private final class ScannedContentChecker implements TransparencyBehaviour.ContentChecker {
+
+		@Override
+		public boolean xObjectContainsTransparency(GraphicState graphicState) {
+			PDXObject drawn = TransparencyScanner.this.xObject;
+			if (drawn instanceof PDFormXObject) {
+				PDFormXObject form = (PDFormXObject) drawn;
+				PDGroup group = form.getGroup();
+				if (group != null && COSName.TRANSPARENCY.equals(group.getSubType())) {
+					return true;
+				}
+				return nestedContainsTransparency(form.getContentStream(),
+						TransparencyScanner.this.resources.getExtendedResources(form.getResources()), true);
+			} else if (drawn instanceof PDImageXObjectProxy) {
+				return PBoxPDXImage.containsTransparency(drawn.getCOSStream());
+			}
+			return false;
+		}
+
+		@Override
+		public boolean patternContainsTransparency(GraphicState graphicState, boolean isFill) {
+			PDColorSpace colorSpace = isFill ? graphicState.getFillColorSpace() : graphicState.getStrokeColorSpace();
+			PDAbstractPattern pattern = isFill ? graphicState.getFillPattern() : graphicState.getStrokePattern();
+			if (TransparencyScanner.this.resources == null || !GraphicStateTracker.isPattern(colorSpace)
+					|| !(pattern instanceof PDTilingPattern)) {
+				return false;
+			}
+			PDTilingPattern tiling = (PDTilingPattern) pattern;
+			return nestedContainsTransparency(tiling.getContentStream(),
+					TransparencyScanner.this.resources.getExtendedResources(tiling.getResources()), true);
+		}
+
+		@Override
+		public boolean fontContainsTransparency(GraphicState graphicState) {
+			// only type 3 fonts may bring transparency from their glyphs
+			PDFont font = getFont(graphicState.getFontName());
+			if (font == null || !FontFactory.TYPE_3.equals(font.getSubType())) {
+				return false;
+			}
+			PDType3Font type3Font = (PDType3Font) font;
+			Encoding encoding = type3Font.getEncoding();
+			COSDictionary charProcs = type3Font.getCharProcs();
+			if (encoding == null || charProcs == null) {
+				return false;
+			}
+			PDInheritableResources fontResources = TransparencyScanner.this.resources
+					.getExtendedResources(type3Font.getResources());
+			for (byte glyphCode : graphicState.getCharCodes()) {
+				String glyphName = encoding.getName(glyphCode);
+				COSBase charProc = glyphName == null ? null : charProcs.getDictionaryObject(COSName.getPDFName(glyphName));
+				if (charProc instanceof COSStream
+						&& nestedContainsTransparency((COSStream) charProc, fontResources, false)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
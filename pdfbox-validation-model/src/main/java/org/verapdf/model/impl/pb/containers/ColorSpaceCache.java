@@ -0,0 +1,186 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.containers;
+
+import org.apache.pdfbox.cos.*;
+import org.verapdf.model.pdlayer.PDColorSpace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of veraPDF model color spaces of a single document. Color spaces are
+ * identified by their place in the file rather than by pdfbox objects, so
+ * lookups of the same color space through different resource dictionaries
+ * share one model object:
+ * <ul>
+ * <li>indirect color space array is identified by its object key;</li>
+ * <li>direct array that consists of names, numbers and references, such as
+ * {@code [/ICCBased 12 0 R]}, is identified by its content;</li>
+ * <li>any other color space is identified by its pdfbox object.</li>
+ * </ul>
+ * ICCBased CMYK color spaces are also keyed by the overprint mode and the
+ * overprint flag they are used with.
+ */
+public final class ColorSpaceCache {
+
+	private final Map<Key, PDColorSpace> colorSpaces = new ConcurrentHashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * @param colorSpace       pdfbox color space
+	 * @param opm              overprint mode, taken into account only for
+	 *                         ICCBased CMYK color space
+	 * @param overprintingFlag overprint flag, taken into account only for
+	 *                         ICCBased CMYK color space
+	 * @return model color space or null if it has not been stored yet
+	 */
+	public PDColorSpace get(org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace colorSpace,
+			int opm, boolean overprintingFlag) {
+		PDColorSpace result = this.colorSpaces.get(new Key(colorSpace, opm, overprintingFlag));
+		if (result != null) {
+			this.hits.incrementAndGet();
+		} else {
+			this.misses.incrementAndGet();
+		}
+		return result;
+	}
+
+	/**
+	 * Stores model color space unless another thread has stored the same
+	 * color space before.
+	 *
+	 * @return the color space stored in the cache
+	 */
+	public PDColorSpace put(org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace colorSpace,
+			int opm, boolean overprintingFlag, PDColorSpace modelColorSpace) {
+		PDColorSpace previous = this.colorSpaces.putIfAbsent(
+				new Key(colorSpace, opm, overprintingFlag), modelColorSpace);
+		return previous != null ? previous : modelColorSpace;
+	}
+
+	/**
+	 * @return number of lookups that found a stored color space
+	 */
+	public long getHits() {
+		return this.hits.get();
+	}
+
+	/**
+	 * @return number of lookups that did not find a stored color space
+	 */
+	public long getMisses() {
+		return this.misses.get();
+	}
+
+	private static final class Key {
+		private final Object id;
+		private final boolean isInherited;
+		private final int opm;
+		private final boolean overprintingFlag;
+
+		Key(org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace colorSpace, int opm, boolean overprintingFlag) {
+			COSBase object = colorSpace.getCOSObject();
+			this.id = object != null ? getId(object) : new Identity(colorSpace);
+			this.isInherited = colorSpace.isInherited();
+			this.opm = opm;
+			this.overprintingFlag = overprintingFlag;
+		}
+
+		private static Object getId(COSBase object) {
+			COSObjectKey key = object.getKey();
+			if (key != null) {
+				return key;
+			}
+			if (object instanceof COSArray) {
+				List<Object> content = new ArrayList<>(((COSArray) object).size());
+				for (COSBase element : (COSArray) object) {
+					Object elementId = getElementId(element);
+					if (elementId == null) {
+						return new Identity(object);
+					}
+					content.add(elementId);
+				}
+				return content;
+			}
+			return new Identity(object);
+		}
+
+		private static Object getElementId(COSBase element) {
+			if (element instanceof COSName || element instanceof COSInteger
+					|| element instanceof COSFloat) {
+				return element;
+			} else if (element instanceof COSObject) {
+				COSBase object = ((COSObject) element).getObject();
+				if (object == null) {
+					return null;
+				}
+				COSObjectKey key = object.getKey();
+				return key != null ? key : new Identity(object);
+			}
+			return null;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key that = (Key) o;
+			return this.isInherited == that.isInherited && this.opm == that.opm
+					&& this.overprintingFlag == that.overprintingFlag && this.id.equals(that.id);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = this.id.hashCode();
+			result = 31 * result + (this.isInherited ? 1 : 0);
+			result = 31 * result + this.opm;
+			return 31 * result + (this.overprintingFlag ? 1 : 0);
+		}
+	}
+
+	private static final class Identity {
+		private final Object object;
+
+		Identity(Object object) {
+			this.object = object;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Identity && ((Identity) o).object == this.object;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this.object);
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.containers;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDFontLike;
+import org.apache.pdfbox.preflight.font.container.FontContainer;
+import org.verapdf.model.tools.FontHelper;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Preflight font containers of the fonts of a single document. A container is
+ * built once per font dictionary and remembers which character codes have
+ * already been resolved, so presence of a glyph in the font program is
+ * checked once per code.
+ */
+public final class FontContainers {
+
+	// font dictionaries are compared by identity
+	private final Map<COSBase, Entry> entries = new IdentityHashMap<>();
+
+	/**
+	 * @param font pdfbox font
+	 * @return container of the font or null if the font is null or there is
+	 *         no container for fonts of such type
+	 */
+	public synchronized Entry get(PDFont font) {
+		if (font == null) {
+			return null;
+		}
+		COSBase key = font.getCOSObject();
+		Entry entry = this.entries.get(key);
+		if (entry == null) {
+			FontContainer<? extends PDFontLike> fontContainer = FontHelper.getFontContainer(font);
+			if (fontContainer == null) {
+				return null;
+			}
+			entry = new Entry(fontContainer);
+			this.entries.put(key, entry);
+		}
+		return entry;
+	}
+
+	/**
+	 * Font container with memo of the glyph presence checks
+	 */
+	public static final class Entry {
+		// codes above the limit are checked every time to bound the memo size
+		private static final int MAX_REMEMBERED_CODE = 0xFFFF;
+
+		private final FontContainer<? extends PDFontLike> fontContainer;
+		private final BitSet resolvedCodes = new BitSet();
+		private final BitSet presentCodes = new BitSet();
+
+		Entry(FontContainer<? extends PDFontLike> fontContainer) {
+			this.fontContainer = fontContainer;
+		}
+
+		public FontContainer<? extends PDFontLike> getFontContainer() {
+			return this.fontContainer;
+		}
+
+		/**
+		 * @param code character code
+		 * @return true if the font program contains glyph for the code
+		 * @throws IOException if the font program can not be read
+		 */
+		public synchronized boolean hasGlyph(int code) throws IOException {
+			if (code < 0 || code > MAX_REMEMBERED_CODE) {
+				return this.fontContainer.hasGlyph(code);
+			}
+			if (!this.resolvedCodes.get(code)) {
+				this.presentCodes.set(code, this.fontContainer.hasGlyph(code));
+				this.resolvedCodes.set(code);
+			}
+			return this.presentCodes.get(code);
+		}
+	}
+}
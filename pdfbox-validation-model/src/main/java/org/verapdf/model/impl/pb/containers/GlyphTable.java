@@ -0,0 +1,99 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.containers;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.verapdf.model.impl.pb.operator.textshow.PBGlyph;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Glyphs used by text show operators of a single document. Properties of a
+ * glyph depend only on the font, the character code and the rendering mode,
+ * so every distinct glyph is built once and all text show operators that use
+ * it link to the same instance. Fonts are identified by their dictionary, as
+ * the same font may be loaded several times from different resources.
+ */
+public final class GlyphTable {
+
+	private final Map<Key, PBGlyph> glyphs = new ConcurrentHashMap<>();
+
+	/**
+	 * @param font          pdfbox font of the glyph
+	 * @param code          character code of the glyph
+	 * @param renderingMode text rendering mode the glyph is shown with
+	 * @return glyph or null if it has not been stored yet
+	 */
+	public PBGlyph get(PDFont font, int code, int renderingMode) {
+		return this.glyphs.get(new Key(font, code, renderingMode));
+	}
+
+	/**
+	 * Stores glyph unless another thread has stored the same glyph before.
+	 *
+	 * @return the glyph stored in the table
+	 */
+	public PBGlyph put(PDFont font, int code, int renderingMode, PBGlyph glyph) {
+		PBGlyph previous = this.glyphs.putIfAbsent(new Key(font, code, renderingMode), glyph);
+		return previous != null ? previous : glyph;
+	}
+
+	/**
+	 * @return number of distinct glyphs in the table
+	 */
+	public int size() {
+		return this.glyphs.size();
+	}
+
+	private static final class Key {
+		private final COSBase font;
+		private final int code;
+		private final int renderingMode;
+
+		Key(PDFont font, int code, int renderingMode) {
+			this.font = font.getCOSObject();
+			this.code = code;
+			this.renderingMode = renderingMode;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key that = (Key) o;
+			return this.font == that.font && this.code == that.code
+					&& this.renderingMode == that.renderingMode;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = System.identityHashCode(this.font);
+			result = 31 * result + this.code;
+			return 31 * result + this.renderingMode;
+		}
+	}
+}
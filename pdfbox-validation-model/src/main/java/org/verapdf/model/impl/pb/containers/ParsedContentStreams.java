@@ -0,0 +1,153 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.containers;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSObjectKey;
+import org.verapdf.model.operator.Operator;
+import org.verapdf.model.tools.resources.PDInheritableResources;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of parsed content streams of form XObjects, tiling patterns and
+ * annotation appearances of a single document. The operators of such stream
+ * depend only on the stream itself and on the resources it inherits, so an
+ * entry is keyed by the object key of the stream and by the identity of the
+ * inherited resource dictionary. Every use of a form that is drawn on many
+ * pages from the same resources shares one parse. Results of transparency
+ * scans are kept separately, as a scan does not build the operators.
+ */
+public final class ParsedContentStreams {
+
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+	private final Map<Key, Boolean> transparency = new ConcurrentHashMap<>();
+
+	/**
+	 * @param key       object key of the content stream
+	 * @param resources resources the stream is parsed with
+	 * @return parsed content or null if the stream has not been parsed with the
+	 *         same inherited resources yet
+	 */
+	public Entry get(COSObjectKey key, PDInheritableResources resources) {
+		return this.entries.get(new Key(key, resources));
+	}
+
+	/**
+	 * Stores parsed content unless another thread has stored it before.
+	 *
+	 * @param key       object key of the content stream
+	 * @param resources resources the stream has been parsed with
+	 * @param entry     parsed content
+	 * @return the entry stored in the cache
+	 */
+	public Entry put(COSObjectKey key, PDInheritableResources resources, Entry entry) {
+		Entry previous = this.entries.putIfAbsent(new Key(key, resources), entry);
+		return previous != null ? previous : entry;
+	}
+
+	/**
+	 * @param key       object key of the content stream
+	 * @param resources resources the stream is scanned with
+	 * @return true if the stream contains transparency or null if it has not
+	 *         been scanned or parsed with the same inherited resources yet
+	 */
+	public Boolean getTransparency(COSObjectKey key, PDInheritableResources resources) {
+		Key entryKey = new Key(key, resources);
+		Boolean result = this.transparency.get(entryKey);
+		if (result == null) {
+			Entry entry = this.entries.get(entryKey);
+			if (entry != null) {
+				result = Boolean.valueOf(entry.isContainsTransparency());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Stores result of transparency scan unless another thread has stored it
+	 * before.
+	 *
+	 * @return the value stored in the cache
+	 */
+	public Boolean putTransparency(COSObjectKey key, PDInheritableResources resources, Boolean containsTransparency) {
+		Boolean previous = this.transparency.putIfAbsent(new Key(key, resources), containsTransparency);
+		return previous != null ? previous : containsTransparency;
+	}
+
+	/**
+	 * Result of a content stream parse. The resources are the ones the
+	 * operators have been built with, they collect names of the undefined and
+	 * inherited resources used by the stream.
+	 */
+	public static final class Entry {
+		private final List<Operator> operators;
+		private final boolean containsTransparency;
+		private final PDInheritableResources resources;
+
+		public Entry(List<Operator> operators, boolean containsTransparency, PDInheritableResources resources) {
+			this.operators = operators;
+			this.containsTransparency = containsTransparency;
+			this.resources = resources;
+		}
+
+		public List<Operator> getOperators() {
+			return this.operators;
+		}
+
+		public boolean isContainsTransparency() {
+			return this.containsTransparency;
+		}
+
+		public PDInheritableResources getResources() {
+			return this.resources;
+		}
+	}
+
+	private static final class Key {
+		private final COSObjectKey key;
+		private final COSBase inheritedResources;
+
+		Key(COSObjectKey key, PDInheritableResources resources) {
+			this.key = key;
+			this.inheritedResources = resources.getInheritedResources().getCOSObject();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key that = (Key) o;
+			return this.key.equals(that.key) && this.inheritedResources == that.inheritedResources;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.key.hashCode() + System.identityHashCode(this.inheritedResources);
+		}
+	}
+}
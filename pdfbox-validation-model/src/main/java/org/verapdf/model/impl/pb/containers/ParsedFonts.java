@@ -0,0 +1,121 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.containers;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
+import org.verapdf.model.tools.resources.PDInheritableResources;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of veraPDF model fonts of a single document. A model font depends on
+ * the font dictionary and on the rendering mode it is used with, so all text
+ * show operators that use the same font share one model font together with
+ * its font program and the checks computed for it. Type3 fonts also depend
+ * on the resources their glyph descriptions inherit, which are the resources
+ * of the content stream the font is used in, so they are also keyed by the
+ * identities of the current and the inherited resource dictionaries of that
+ * stream.
+ */
+public final class ParsedFonts {
+
+	private final Map<Key, org.verapdf.model.pdlayer.PDFont> fonts = new ConcurrentHashMap<>();
+
+	/**
+	 * @param font              pdfbox font
+	 * @param renderingMode     rendering mode the font is used with
+	 * @param resourcesContext  resources of the content stream the font is
+	 *                          used in or null if the font does not depend on
+	 *                          resources
+	 * @param flavour           flavour the font is validated against
+	 * @return model font or null if it has not been stored yet
+	 */
+	public org.verapdf.model.pdlayer.PDFont get(PDFont font, RenderingMode renderingMode,
+			PDInheritableResources resourcesContext, PDFAFlavour flavour) {
+		return this.fonts.get(new Key(font, renderingMode, resourcesContext, flavour));
+	}
+
+	/**
+	 * Stores model font unless another thread has stored the same font
+	 * before.
+	 *
+	 * @return the font stored in the cache
+	 */
+	public org.verapdf.model.pdlayer.PDFont put(PDFont font, RenderingMode renderingMode,
+			PDInheritableResources resourcesContext, PDFAFlavour flavour, org.verapdf.model.pdlayer.PDFont modelFont) {
+		org.verapdf.model.pdlayer.PDFont previous =
+				this.fonts.putIfAbsent(new Key(font, renderingMode, resourcesContext, flavour), modelFont);
+		return previous != null ? previous : modelFont;
+	}
+
+	private static final class Key {
+		private final COSBase font;
+		private final RenderingMode renderingMode;
+		private final COSBase currentResources;
+		private final COSBase inheritedResources;
+		private final PDFAFlavour flavour;
+
+		Key(PDFont font, RenderingMode renderingMode, PDInheritableResources resourcesContext, PDFAFlavour flavour) {
+			this.font = font.getCOSObject();
+			this.renderingMode = renderingMode;
+			if (resourcesContext != null) {
+				this.currentResources = getCOSObject(resourcesContext.getCurrentResources());
+				this.inheritedResources = getCOSObject(resourcesContext.getInheritedResources());
+			} else {
+				this.currentResources = null;
+				this.inheritedResources = null;
+			}
+			this.flavour = flavour;
+		}
+
+		private static COSBase getCOSObject(PDResources resources) {
+			return resources != null ? resources.getCOSObject() : null;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key that = (Key) o;
+			return this.font == that.font && this.renderingMode == that.renderingMode
+					&& this.currentResources == that.currentResources
+					&& this.inheritedResources == that.inheritedResources && this.flavour == that.flavour;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = System.identityHashCode(this.font);
+			result = 31 * result + (this.renderingMode != null ? this.renderingMode.hashCode() : 0);
+			result = 31 * result + System.identityHashCode(this.currentResources);
+			result = 31 * result + System.identityHashCode(this.inheritedResources);
+			return 31 * result + (this.flavour != null ? this.flavour.hashCode() : 0);
+		}
+	}
+}
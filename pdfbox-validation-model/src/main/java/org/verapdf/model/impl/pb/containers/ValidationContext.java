@@ -0,0 +1,225 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.containers;
+
+import org.apache.pdfbox.cos.COSObjectKey;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.verapdf.model.ModelParserConfig;
+import org.verapdf.model.impl.pb.pd.colors.PBoxPDSeparation;
+import org.verapdf.model.tools.ContentStreamPreParser;
+import org.verapdf.model.tools.ParentTreeIndex;
+import org.verapdf.model.tools.StructureTreeIndex;
+import org.verapdf.model.tools.resources.ResolvedResources;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Container for the state shared by all model objects of a single document.
+ * A new context is created by {@link org.verapdf.model.ModelParser} for every
+ * validated document and passed explicitly to the model objects built for it,
+ * so several documents may be processed at the same time, on one or on many
+ * threads.
+ */
+public class ValidationContext {
+
+	private final PDDocument document;
+	private final ModelParserConfig config;
+
+	//PDDocument
+	private ContentStreamPreParser contentStreamPreParser;
+
+	//PBoxPDSeparation
+	private final Map<String, List<PBoxPDSeparation>> separations = Collections.synchronizedMap(new HashMap<String, List<PBoxPDSeparation>>());
+	private final List<String> inconsistentSeparations = new CopyOnWriteArrayList<>();
+
+	//ColorSpaceFactory
+	private final ColorSpaceCache colorSpaceCache = new ColorSpaceCache();
+
+	private final Set<COSObjectKey> fileSpecificationKeys = ConcurrentHashMap.newKeySet();
+
+	//SENote
+	private final Set<String> noteIDSet = ConcurrentHashMap.newKeySet();
+
+	//SEHn
+	private volatile int lastHeadingNestingLevel = 0;
+
+	//PDXForm
+	private final Set<COSObjectKey> xFormKeysSet = ConcurrentHashMap.newKeySet();
+
+	//PDContentStream of forms, tiling patterns and annotation appearances
+	private final ParsedContentStreams parsedContentStreams = new ParsedContentStreams();
+
+	//PBOpTextShow
+	private final GlyphTable glyphTable = new GlyphTable();
+
+	//FontFactory
+	private final ParsedFonts parsedFonts = new ParsedFonts();
+
+	//PBOpTextShow
+	private final FontContainers fontContainers = new FontContainers();
+
+	//PDInheritableResources of pages and annotation appearances
+	private final ResolvedResources resolvedResources = new ResolvedResources();
+
+	//PDStructTreeRoot
+	private volatile StructureTreeIndex structureTreeIndex;
+
+	//PDAnnot
+	private volatile ParentTreeIndex parentTreeIndex;
+
+	/**
+	 * Creates new empty context with default configuration for the given
+	 * document.
+	 *
+	 * @param document pdfbox document
+	 */
+	public ValidationContext(PDDocument document) {
+		this(document, ModelParserConfig.defaultConfig());
+	}
+
+	/**
+	 * Creates new empty context for the given document.
+	 *
+	 * @param document pdfbox document
+	 * @param config   configuration of the parser processing the document
+	 */
+	public ValidationContext(PDDocument document, ModelParserConfig config) {
+		this.document = document;
+		this.config = config;
+	}
+
+	/**
+	 * Stops background work started for the document of this context. Should
+	 * be called before the document is closed.
+	 */
+	public void release() {
+		setContentStreamPreParser(null);
+	}
+
+	public PDDocument getDocument() {
+		return this.document;
+	}
+
+	public ModelParserConfig getConfig() {
+		return this.config;
+	}
+
+	/**
+	 * Sets the content stream pre-parser of the document, the previous one is
+	 * stopped.
+	 *
+	 * @param contentStreamPreParser new pre-parser or {@code null}
+	 */
+	public void setContentStreamPreParser(ContentStreamPreParser contentStreamPreParser) {
+		ContentStreamPreParser previous;
+		synchronized (this) {
+			previous = this.contentStreamPreParser;
+			this.contentStreamPreParser = contentStreamPreParser;
+		}
+		if (previous != null) {
+			previous.stop();
+		}
+	}
+
+	public Set<String> getNoteIDSet() {
+		return this.noteIDSet;
+	}
+
+	public Integer getLastHeadingNestingLevel() {
+		return this.lastHeadingNestingLevel;
+	}
+
+	public void setLastHeadingNestingLevel(Integer lastHeadingNestingLevel) {
+		this.lastHeadingNestingLevel = lastHeadingNestingLevel;
+	}
+
+	public Map<String, List<PBoxPDSeparation>> getSeparations() {
+		return this.separations;
+	}
+
+	public List<String> getInconsistentSeparations() {
+		return this.inconsistentSeparations;
+	}
+
+	public ColorSpaceCache getColorSpaceCache() {
+		return this.colorSpaceCache;
+	}
+
+	public Set<COSObjectKey> getFileSpecificationKeys() {
+		return this.fileSpecificationKeys;
+	}
+
+	public Set<COSObjectKey> getXFormKeysSet() {
+		return this.xFormKeysSet;
+	}
+
+	public ParsedContentStreams getParsedContentStreams() {
+		return this.parsedContentStreams;
+	}
+
+	public GlyphTable getGlyphTable() {
+		return this.glyphTable;
+	}
+
+	public ParsedFonts getParsedFonts() {
+		return this.parsedFonts;
+	}
+
+	public FontContainers getFontContainers() {
+		return this.fontContainers;
+	}
+
+	public ResolvedResources getResolvedResources() {
+		return this.resolvedResources;
+	}
+
+	public StructureTreeIndex getStructureTreeIndex() {
+		return this.structureTreeIndex;
+	}
+
+	public void setStructureTreeIndex(StructureTreeIndex structureTreeIndex) {
+		this.structureTreeIndex = structureTreeIndex;
+	}
+
+	/**
+	 * Obtains index of the parent tree of the document of this context. The
+	 * index is built from the document on the first call and shared by all
+	 * later calls
+	 *
+	 * @return index of the parent tree, empty if the document has no parent
+	 *         tree
+	 */
+	public ParentTreeIndex getParentTreeIndex() {
+		ParentTreeIndex index = this.parentTreeIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = this.parentTreeIndex;
+				if (index == null) {
+					index = ParentTreeIndex.build(this.document);
+					this.parentTreeIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+}
@@ -26,6 +26,7 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosArray;
 import org.verapdf.model.coslayer.CosObject;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.util.ArrayList;
@@ -48,13 +49,14 @@ public class PBCosArray extends PBCosObject implements CosArray {
 
     private final PDDocument document;
     private final PDFAFlavour flavour;
+    private final ValidationContext context;
 
     /**
      * Default constructor
      * @param array pdfbox COSArray
      */
-    public PBCosArray(COSArray array, PDDocument document, PDFAFlavour flavour) {
-        this(array, COS_ARRAY_TYPE, document, flavour);
+    public PBCosArray(COSArray array, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+        this(array, COS_ARRAY_TYPE, document, flavour, context);
     }
 
 	/**
@@ -63,11 +65,12 @@ public class PBCosArray extends PBCosObject implements CosArray {
 	 * @param array pdfbox COSArray
 	 * @param type type of object
 	 */
-	public PBCosArray(COSArray array, String type, PDDocument document, PDFAFlavour flavour) {
+	public PBCosArray(COSArray array, String type, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		super(array, type);
 		this.size = array.size();
         this.document = document;
         this.flavour = flavour;
+        this.context = context;
 	}
 
     /**
@@ -97,7 +100,7 @@ public class PBCosArray extends PBCosObject implements CosArray {
         List<CosObject> list = new ArrayList<>(this.getsize().intValue());
         for (COSBase base : (COSArray) this.baseObject) {
             if (base != null) {
-                list.add(getFromValue(base, this.document, this.flavour));
+                list.add(getFromValue(base, this.document, this.flavour, this.context));
             }
         }
         return Collections.unmodifiableList(list);
@@ -29,6 +29,7 @@ import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosDict;
 import org.verapdf.model.coslayer.CosName;
 import org.verapdf.model.coslayer.CosObject;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDMetadata;
 import org.verapdf.model.pdlayer.PDMetadata;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -56,14 +57,15 @@ public class PBCosDict extends PBCosObject implements CosDict {
 
     protected final PDDocument document;
     protected final PDFAFlavour flavour;
+    protected final ValidationContext context;
 
     /**
      * Default constructor
      *
      * @param dictionary pdfbox COSDictionary
      */
-    public PBCosDict(COSDictionary dictionary, PDDocument document, PDFAFlavour flavour) {
-        this(dictionary, COS_DICT_TYPE, document, flavour);
+    public PBCosDict(COSDictionary dictionary, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+        this(dictionary, COS_DICT_TYPE, document, flavour, context);
     }
 
     /**
@@ -72,11 +74,13 @@ public class PBCosDict extends PBCosObject implements CosDict {
      * @param dictionary pdfbox COSDictionary
      * @param type       type of child class
      */
-    protected PBCosDict(COSDictionary dictionary, final String type, final PDDocument document, final PDFAFlavour flavour) {
+    protected PBCosDict(COSDictionary dictionary, final String type,
+            final PDDocument document, final PDFAFlavour flavour, final ValidationContext context) {
         super(dictionary, type);
         this.size = dictionary.size();
         this.document = document;
         this.flavour = flavour;
+        this.context = context;
     }
 
     /**
@@ -117,7 +121,7 @@ public class PBCosDict extends PBCosObject implements CosDict {
         List<CosName> list = new ArrayList<>(dictionary.size());
         for (COSName key : dictionary.keySet()) {
             if (key != null) {
-                list.add((CosName) getFromValue(key, this.document, this.flavour));
+                list.add((CosName) getFromValue(key, this.document, this.flavour, this.context));
             }
         }
         return Collections.unmodifiableList(list);
@@ -131,7 +135,7 @@ public class PBCosDict extends PBCosObject implements CosDict {
         List<CosObject> list = new ArrayList<>(dictionary.size());
         for (COSBase value : dictionary.getValues()) {
             if (value != null) {
-                list.add(getFromValue(value, this.document, this.flavour));
+                list.add(getFromValue(value, this.document, this.flavour, this.context));
             }
         }
         return Collections.unmodifiableList(list);
@@ -150,7 +154,7 @@ public class PBCosDict extends PBCosObject implements CosDict {
             ArrayList<PDMetadata> pdMetadatas = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
             org.apache.pdfbox.pdmodel.common.PDMetadata md = new org.apache.pdfbox.pdmodel.common.PDMetadata(
                     (COSStream) meta);
-            pdMetadatas.add(new PBoxPDMetadata(md, Boolean.FALSE, document, flavour));
+            pdMetadatas.add(new PBoxPDMetadata(md, Boolean.FALSE, document, flavour, context));
             return pdMetadatas;
         }
 
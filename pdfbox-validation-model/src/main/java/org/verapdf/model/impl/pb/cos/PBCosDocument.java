@@ -31,6 +31,7 @@ import org.verapdf.model.coslayer.CosDocument;
 import org.verapdf.model.coslayer.CosIndirect;
 import org.verapdf.model.coslayer.CosTrailer;
 import org.verapdf.model.coslayer.CosXRef;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDDocument;
 import org.verapdf.model.tools.FileSpecificationKeysHelper;
 import org.verapdf.model.tools.XMPChecker;
@@ -64,6 +65,7 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 	private final PDFAFlavour flavour;
 
 	private PDDocument pdDocument;
+	private final ValidationContext context;
 
 	private final long indirectObjectCount;
 	private final float headerVersion;
@@ -83,16 +85,30 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 	private final COSDictionary catalog;
 
 	/**
-	 * Default constructor
+	 * Default constructor. The document gets a context with default
+	 * configuration, which starts no background work and does not need to
+	 * be released.
 	 * 
 	 * @param pdDocument
 	 *            pdfbox PDDocument
 	 */
 	public PBCosDocument(PDDocument pdDocument, PDFAFlavour flavour) {
-		this(pdDocument.getDocument(), flavour);
+		this(pdDocument, flavour, new ValidationContext(pdDocument));
+	}
+
+	/**
+	 * Constructor using pdfbox PDDocument and its validation context
+	 *
+	 * @param pdDocument
+	 *            pdfbox PDDocument
+	 * @param context
+	 *            context of the document, created and released by the caller
+	 */
+	public PBCosDocument(PDDocument pdDocument, PDFAFlavour flavour, ValidationContext context) {
+		this(pdDocument.getDocument(), flavour, context);
 		this.pdDocument = pdDocument;
 		if (flavour.getPart() == PDFAFlavour.Specification.ISO_19005_3) {
-			FileSpecificationKeysHelper.registerFileSpecificationKeys(pdDocument);
+			FileSpecificationKeysHelper.registerFileSpecificationKeys(pdDocument, context);
 		}
 	}
 
@@ -101,11 +117,14 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 	 * 
 	 * @param cosDocument
 	 *            pdfbox COSDocument
+	 * @param context
+	 *            context of the document, created and released by the caller
 	 */
-	public PBCosDocument(COSDocument cosDocument, PDFAFlavour flavour) {
+	public PBCosDocument(COSDocument cosDocument, PDFAFlavour flavour, ValidationContext context) {
 		super(cosDocument, COS_DOCUMENT_TYPE);
 		this.catalog = this.getCatalog();
 		this.flavour = flavour;
+		this.context = context;
 
 		this.indirectObjectCount = cosDocument.getObjects().size();
 		this.headerVersion = cosDocument.getVersion();
@@ -417,7 +436,8 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 				final Set<Map.Entry<String, PDComplexFileSpecification>> entries = names.entrySet();
 				for (Map.Entry<String, PDComplexFileSpecification> entry : entries) {
 					files.add(
-							new PBCosFileSpecification(entry.getValue().getCOSObject(), this.pdDocument, this.flavour));
+							new PBCosFileSpecification(entry.getValue().getCOSObject(), this.pdDocument, this.flavour,
+							this.context));
 				}
 			}
 			if (node.getKids() != null) {
@@ -436,7 +456,7 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 	private List<CosTrailer> getTrailer() {
 		COSDocument cosDocument = (COSDocument) this.baseObject;
 		List<CosTrailer> list = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-		list.add(new PBCosTrailer(cosDocument.getTrailer(), this.pdDocument, this.flavour));
+		list.add(new PBCosTrailer(cosDocument.getTrailer(), this.pdDocument, this.flavour, this.context));
 		return Collections.unmodifiableList(list);
 	}
 
@@ -444,12 +464,7 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 	 * all indirect objects referred from the xref table
 	 */
 	private List<CosIndirect> getIndirectObjects() {
-		List<COSObject> objects = ((COSDocument) this.baseObject).getObjects();
-		List<CosIndirect> list = new ArrayList<>(objects.size());
-		for (COSObject object : objects) {
-			list.add(new PBCosIndirect(object, this.pdDocument, this.flavour));
-		}
-		return Collections.unmodifiableList(list);
+		return new PBCosIndirectObjects((COSDocument) this.baseObject, this.pdDocument, this.flavour, this.context);
 	}
 
 	/**
@@ -458,7 +473,7 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 	private List<org.verapdf.model.pdlayer.PDDocument> getDocument() {
 		if (pdDocument != null) {
 			List<org.verapdf.model.pdlayer.PDDocument> document = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-			document.add(new PBoxPDDocument(pdDocument, flavour));
+			document.add(new PBoxPDDocument(pdDocument, flavour, context));
 			return Collections.unmodifiableList(document);
 		}
 		return Collections.emptyList();
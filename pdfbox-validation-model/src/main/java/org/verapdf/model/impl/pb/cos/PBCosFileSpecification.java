@@ -28,7 +28,7 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosFileSpecification;
 import org.verapdf.model.external.EmbeddedFile;
-import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.external.PBoxEmbeddedFile;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -58,8 +58,8 @@ public class PBCosFileSpecification extends PBCosDict implements CosFileSpecific
 	 * @param dictionary
 	 *            pdfbox COSDictionary
 	 */
-	public PBCosFileSpecification(COSDictionary dictionary, PDDocument document, PDFAFlavour flavour) {
-		super(dictionary, COS_FILE_SPECIFICATION_TYPE, document, flavour);
+	public PBCosFileSpecification(COSDictionary dictionary, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+		super(dictionary, COS_FILE_SPECIFICATION_TYPE, document, flavour, context);
 		this.f = this.getStringValue(COSName.F);
 		this.uf = this.getStringValue(COSName.UF);
 		this.afrelationship = this.getNameValue(COSName.getPDFName("AFRelationship"));
@@ -83,7 +83,7 @@ public class PBCosFileSpecification extends PBCosDict implements CosFileSpecific
 	@Override
 	public Boolean getisAssociatedFile() {
 		return Boolean.valueOf(this.baseObject != null
-				&& StaticContainers.getFileSpecificationKeys().contains(this.baseObject.getKey()));
+				&& this.context.getFileSpecificationKeys().contains(this.baseObject.getKey()));
 	}
 
 	@Override
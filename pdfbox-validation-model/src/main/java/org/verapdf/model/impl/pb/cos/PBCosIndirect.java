@@ -26,6 +26,7 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosIndirect;
 import org.verapdf.model.coslayer.CosObject;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.tools.IDGenerator;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -51,17 +52,19 @@ public class PBCosIndirect extends PBCosObject implements CosIndirect {
 
     private final PDDocument document;
     private final PDFAFlavour flavour;
+    private final ValidationContext context;
 
     /**
      * Default constructor
      * @param indirectObject pdfbox COSObject
      */
-    public PBCosIndirect(COSObject indirectObject, PDDocument document, PDFAFlavour flavour) {
+    public PBCosIndirect(COSObject indirectObject, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
         super(indirectObject, COS_INDIRECT_TYPE);
         this.isSpacingPDFACompliant = getspacingCompliesPDFA(indirectObject);
 		this.id = IDGenerator.generateID(indirectObject);
         this.document = document;
         this.flavour = flavour;
+        this.context = context;
     }
 
 	@Override
@@ -85,7 +88,7 @@ public class PBCosIndirect extends PBCosObject implements CosIndirect {
     private List<CosObject> parseDirectObject() {
         List<CosObject> list = new ArrayList<>();
         COSBase base = ((COSObject) baseObject).getObject();
-        list.add(base != null ? getFromValue(base, this.document, this.flavour) : PBCosNull.getInstance());
+        list.add(base != null ? getFromValue(base, this.document, this.flavour, this.context) : PBCosNull.getInstance());
         return Collections.unmodifiableList(list);
     }
 
@@ -0,0 +1,84 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.cos;
+
+import org.apache.pdfbox.cos.COSDocument;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.verapdf.model.coslayer.CosIndirect;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read only list of indirect objects of the document, in the order of
+ * {@link COSDocument#getObjects()}, so positions of objects in validation
+ * reports are the same as before. Wrappers are created on access and only
+ * the last one is kept, as it is asked for again while the object is
+ * validated, so wrappers can be collected as soon as validation of an
+ * object is finished. Objects are not dereferenced by the list, an object
+ * stream is decoded when the first object stored in it is validated.
+ */
+final class PBCosIndirectObjects extends AbstractList<CosIndirect> implements RandomAccess {
+
+	private final List<COSObject> objects;
+	private final PDDocument document;
+	private final PDFAFlavour flavour;
+	private final ValidationContext context;
+
+	private volatile Wrapper last = null;
+
+	PBCosIndirectObjects(COSDocument cosDocument, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+		this.objects = cosDocument.getObjects();
+		this.document = document;
+		this.flavour = flavour;
+		this.context = context;
+	}
+
+	@Override
+	public CosIndirect get(int index) {
+		Wrapper wrapper = this.last;
+		if (wrapper == null || wrapper.index != index) {
+			wrapper = new Wrapper(index, new PBCosIndirect(this.objects.get(index), this.document,
+					this.flavour, this.context));
+			this.last = wrapper;
+		}
+		return wrapper.indirect;
+	}
+
+	@Override
+	public int size() {
+		return this.objects.size();
+	}
+
+	private static final class Wrapper {
+		private final int index;
+		private final CosIndirect indirect;
+
+		private Wrapper(int index, CosIndirect indirect) {
+			this.index = index;
+			this.indirect = indirect;
+		}
+	}
+}
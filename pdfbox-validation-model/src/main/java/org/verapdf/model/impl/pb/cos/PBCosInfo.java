@@ -23,6 +23,7 @@ package org.verapdf.model.impl.pb.cos;
 import org.apache.pdfbox.cos.*;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.coslayer.CosInfo;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.tools.XMPChecker;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 import org.verapdf.xmp.XMPException;
@@ -43,8 +44,8 @@ public class PBCosInfo extends PBCosDict implements CosInfo {
 
     private VeraPDFMeta meta;
 
-    public PBCosInfo(COSDictionary dictionary, PDDocument document, PDFAFlavour flavour) {
-        super(dictionary, INFORMATION_TYPE, document, flavour);
+    public PBCosInfo(COSDictionary dictionary, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+        super(dictionary, INFORMATION_TYPE, document, flavour, context);
         this.meta = parseMetadata(document.getDocument());
     }
 
@@ -37,7 +37,7 @@ public final class PBCosNull extends PBCosObject implements CosNull {
     /**
      * PDF null object
      */
-    private static CosNull NULL;
+    private static final CosNull NULL = new PBCosNull(COSNull.NULL);
 
     private PBCosNull(COSNull nil) {
         super(nil, COS_NULL_TYPE);
@@ -48,6 +48,6 @@ public final class PBCosNull extends PBCosObject implements CosNull {
      * @return PBCosNull object
      */
 	public static CosNull getInstance() {
-        return NULL == null ? NULL = new PBCosNull(COSNull.NULL) : NULL;
+        return NULL;
 	}
 }
\ No newline at end of file
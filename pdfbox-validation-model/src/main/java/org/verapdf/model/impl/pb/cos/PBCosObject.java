@@ -26,6 +26,7 @@ import org.apache.pdfbox.cos.COSObject;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.GenericModelObject;
 import org.verapdf.model.coslayer.CosObject;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.visitor.cos.pb.PBCosVisitor;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -61,13 +62,13 @@ public class PBCosObject extends GenericModelObject implements CosObject {
      * @return object of abstract model implementation, transformed from
      *         {@code base}
      */
-    public static CosObject getFromValue(COSBase base, PDDocument document, PDFAFlavour flavour) {
+    public static CosObject getFromValue(COSBase base, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
         try {
             if (base != null) {
-                PBCosVisitor visitor = PBCosVisitor.getInstance(document, flavour);
+                PBCosVisitor visitor = PBCosVisitor.getInstance(document, flavour, context);
                 if (base instanceof COSObject) {
                     return (CosObject) PBCosVisitor
-                            .visitFromObject((COSObject) base, document, flavour);
+                            .visitFromObject((COSObject) base, document, flavour, context);
                 }
                 return (CosObject) base.accept(visitor);
             }
@@ -26,6 +26,7 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosFilter;
 import org.verapdf.model.coslayer.CosStream;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.util.ArrayList;
@@ -61,8 +62,8 @@ public class PBCosStream extends PBCosDict implements CosStream {
 	 * @param stream
 	 *            pdfbox COSStream
 	 */
-	public PBCosStream(COSStream stream, PDDocument document, PDFAFlavour flavour) {
-		super(stream, COS_STREAM_TYPE, document, flavour);
+	public PBCosStream(COSStream stream, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+		super(stream, COS_STREAM_TYPE, document, flavour, context);
 		this.length = parseLength(stream);
 		this.fileSpec = stream.getItem("F") != null ? stream.getItem("F").toString() : null;
 		this.fFilter = parseFilters(stream.getDictionaryObject(COSName.F_FILTER));
@@ -27,6 +27,7 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosInfo;
 import org.verapdf.model.coslayer.CosTrailer;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDEncryption;
 import org.verapdf.model.pdlayer.PDEncryption;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -55,8 +56,8 @@ public class PBCosTrailer extends PBCosDict implements CosTrailer {
      * Default constructor
      * @param dictionary pdfbox COSDictionary
      */
-    public PBCosTrailer(COSDictionary dictionary, PDDocument document, PDFAFlavour flavour) {
-        super(dictionary, COS_TRAILER_TYPE, document, flavour);
+    public PBCosTrailer(COSDictionary dictionary, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+        super(dictionary, COS_TRAILER_TYPE, document, flavour, context);
         this.isEncrypted = dictionary.getItem(COSName.ENCRYPT) != null;
     }
 
@@ -94,7 +95,7 @@ public class PBCosTrailer extends PBCosDict implements CosTrailer {
         COSBase base = ((COSDictionary)this.baseObject).getDictionaryObject(COSName.INFO);
         if (base != null && base instanceof COSDictionary) {
             List<CosInfo> list = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-            list.add(new PBCosInfo((COSDictionary)base, document, flavour));
+            list.add(new PBCosInfo((COSDictionary)base, document, flavour, context));
             return Collections.unmodifiableList(list);
         }
         return Collections.emptyList();
@@ -0,0 +1,202 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.external;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Sequential reader of JPEG 2000 (ISO/IEC 15444-1 Annex I) boxes. Box headers
+ * are decoded from a single reusable big-endian buffer and box contents are
+ * read only on request, every box that is not read is skipped with
+ * {@link InputStream#skip(long)}, so the codestream of the image is never
+ * copied when the underlying stream supports seeking.
+ */
+final class JP2BoxReader {
+
+	static final int SIGNATURE = 0x6A502020;
+	static final int HEADER = 0x6A703268;
+	static final int IHDR = 0x69686472;
+	static final int BPCC = 0x62706363;
+	static final int COLR = 0x636F6C72;
+
+	/**
+	 * Content length of the box that extends to the end of the stream
+	 */
+	static final long TO_END = -1L;
+
+	private static final int SIGNATURE_CONTENT = 0x0D0A870A;
+
+	private final InputStream stream;
+	private final ByteBuffer header = ByteBuffer.allocate(16);
+
+	private int type;
+	private long length;
+	private long contentLength;
+	private long contentLeft;
+
+	JP2BoxReader(InputStream stream) {
+		this.stream = stream;
+	}
+
+	/**
+	 * Checks that the stream starts with the JPEG 2000 signature box
+	 *
+	 * @return true if the signature box has been read and is valid
+	 * @throws IOException
+	 */
+	boolean readSignature() throws IOException {
+		this.header.clear().limit(12);
+		if (!readFully(this.header)) {
+			return false;
+		}
+		this.header.flip();
+		return this.header.getInt() == 12 && this.header.getInt() == SIGNATURE
+				&& this.header.getInt() == SIGNATURE_CONTENT;
+	}
+
+	/**
+	 * Skips the rest of the current box and reads the header of the next one
+	 *
+	 * @return false if there are no more well formed boxes in the stream
+	 * @throws IOException
+	 */
+	boolean nextBox() throws IOException {
+		if (!skipContent()) {
+			return false;
+		}
+		this.header.clear().limit(8);
+		if (!readFully(this.header)) {
+			return false;
+		}
+		this.header.flip();
+		long boxLength = this.header.getInt() & 0xFFFFFFFFL;
+		this.type = this.header.getInt();
+		int headerLength = 8;
+		if (boxLength == 1) {
+			this.header.clear().limit(8);
+			if (!readFully(this.header)) {
+				return false;
+			}
+			this.header.flip();
+			boxLength = this.header.getLong();
+			headerLength = 16;
+		}
+		if (boxLength == 0) {
+			this.contentLength = TO_END;
+		} else if (boxLength < headerLength) {
+			return false;
+		} else {
+			this.contentLength = boxLength - headerLength;
+		}
+		this.length = boxLength;
+		this.contentLeft = this.contentLength;
+		return true;
+	}
+
+	/**
+	 * @return type of the current box
+	 */
+	int getType() {
+		return this.type;
+	}
+
+	/**
+	 * @return full length of the current box including its header or 0 if the
+	 *         box extends to the end of the stream
+	 */
+	long getLength() {
+		return this.length;
+	}
+
+	/**
+	 * @return length of the current box content or {@link #TO_END} if the box
+	 *         extends to the end of the stream
+	 */
+	long getContentLength() {
+		return this.contentLength;
+	}
+
+	/**
+	 * Treats the content of the current superbox as a sequence of boxes, so
+	 * that the next call of {@link #nextBox()} reads its first child box
+	 * instead of skipping it
+	 */
+	void enterSuperBox() {
+		this.contentLeft = 0;
+	}
+
+	/**
+	 * Reads next bytes of the current box content
+	 *
+	 * @param size
+	 *            number of bytes to read
+	 * @return big-endian buffer with exactly {@code size} bytes or null if the
+	 *         box or the stream ends earlier
+	 * @throws IOException
+	 */
+	ByteBuffer readContent(int size) throws IOException {
+		if (size < 0 || (this.contentLeft != TO_END && size > this.contentLeft)) {
+			return null;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		if (!readFully(buffer)) {
+			return null;
+		}
+		if (this.contentLeft != TO_END) {
+			this.contentLeft -= size;
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	private boolean skipContent() throws IOException {
+		if (this.contentLeft == TO_END) {
+			return false;
+		}
+		long left = this.contentLeft;
+		while (left > 0) {
+			long skipped = this.stream.skip(left);
+			if (skipped <= 0) {
+				if (this.stream.read() == -1) {
+					return false;
+				}
+				skipped = 1;
+			}
+			left -= skipped;
+		}
+		this.contentLeft = 0;
+		return true;
+	}
+
+	private boolean readFully(ByteBuffer buffer) throws IOException {
+		byte[] array = buffer.array();
+		while (buffer.hasRemaining()) {
+			int read = this.stream.read(array, buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			if (read < 0) {
+				return false;
+			}
+			buffer.position(buffer.position() + read);
+		}
+		return true;
+	}
+}
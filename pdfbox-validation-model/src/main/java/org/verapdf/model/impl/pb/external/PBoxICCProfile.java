@@ -23,10 +23,10 @@ package org.verapdf.model.impl.pb.external;
 import java.util.logging.Logger;
 import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.cos.COSStream;
+import org.verapdf.features.pb.tools.PBStreamPrefixReader;
 import org.verapdf.model.external.ICCProfile;
 
 import java.io.IOException;
-import java.io.InputStream;
 
 /**
  * Embedded ICC profile
@@ -53,7 +53,6 @@ public class PBoxICCProfile extends PBoxExternal implements ICCProfile {
     public static final int SUBVERSION_BYTE = 9;
 
     private byte[] profileHeader;
-    private InputStream profileStream;
     private Long dictionaryNumberOfColors;
     private boolean isValid = true;
 
@@ -62,13 +61,12 @@ public class PBoxICCProfile extends PBoxExternal implements ICCProfile {
         super(type);
 
         try {
-            this.profileStream = profileStream.getUnfilteredStream();
             this.dictionaryNumberOfColors = profileStream.getLong(COSName.N);
             if (this.dictionaryNumberOfColors == -1) {
                 this.dictionaryNumberOfColors = null;
             }
 
-            initializeProfileHeader();
+            initializeProfileHeader(profileStream);
         } catch (IOException e) {
             this.isValid = false;
             if (this.profileHeader == null) {
@@ -77,19 +75,12 @@ public class PBoxICCProfile extends PBoxExternal implements ICCProfile {
         }
     }
 
-    private void initializeProfileHeader() throws IOException {
-        int available = this.profileStream.available();
-        int size = available > HEADER_LENGTH ? HEADER_LENGTH : available;
-        if (size != HEADER_LENGTH) {
+    private void initializeProfileHeader(COSStream profileStream) throws IOException {
+        // only header is decoded, profiles may take megabytes
+        this.profileHeader = PBStreamPrefixReader.readPrefix(profileStream, HEADER_LENGTH);
+        if (this.profileHeader.length != HEADER_LENGTH) {
             this.isValid = false;
         }
-
-        this.profileHeader = new byte[size];
-        this.profileStream.mark(size);
-        this.profileStream.read(this.profileHeader, 0, size);
-        this.profileStream.reset();
-		// TODO : finalize it correct, when object will destroy
-		this.profileStream.close();
     }
 
     /**
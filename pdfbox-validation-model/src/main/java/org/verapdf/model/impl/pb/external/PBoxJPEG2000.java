@@ -30,12 +30,14 @@ import org.apache.pdfbox.pdmodel.graphics.color.PDICCBased;
 import org.apache.pdfbox.pdmodel.graphics.color.PDLab;
 import org.verapdf.model.external.JPEG2000;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * @author Maksim Bezrukov
@@ -54,12 +56,6 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 	protected static final Long DEFAULT_BIT_DEPTH = Long.valueOf(0);
 	protected static final Boolean DEFAULT_BPCC_BOX_PRESENT = Boolean.FALSE;
 	protected static final PDColorSpace DEFAULT_COLOR_SPACE = null;
-	private static final byte[] sign = { 0x00, 0x00, 0x00, 0x0C, 0x6A, 0x50, 0x20, 0x20, 0x0D, 0x0A, -0x79, 0x0A };
-
-	private static final byte[] header = { 0x6A, 0x70, 0x32, 0x68 };
-	private static final byte[] ihdr = { 0x69, 0x68, 0x64, 0x72 };
-	private static final byte[] bpcc = { 0x62, 0x70, 0x63, 0x63 };
-	private static final byte[] colr = { 0x63, 0x6F, 0x6C, 0x72 };
 
 	private final Long nrColorChannels;
 	private final Long nrColorSpaceSpecs;
@@ -85,27 +81,30 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 
 	/**
 	 * Creates new PBoxJPEG2000 object that implements JPEG2000 object from the
-	 * model from the given jp2 image stream
+	 * model from the given jp2 image stream. Only the boxes of the jp2 header
+	 * are read, the codestream is never reached, so the raw (still encoded)
+	 * image data may be passed directly
 	 *
 	 * @param stream
 	 *            image stream to parse
 	 * @return created PBoxJPEG2000 object
 	 */
-	public static PBoxJPEG2000 fromStream(InputStream stream, PDDocument document, PDFAFlavour flavour) {
+	public static PBoxJPEG2000 fromStream(InputStream stream, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context) {
 		Builder builder = new Builder();
 
-		byte[] signArray = new byte[12];
+		JP2BoxReader reader = new JP2BoxReader(stream);
 		try {
 			// Check if the stream starts with valid jp2 signature
-			if (stream.read(signArray) != 12 || !isValidSignature(signArray)) {
+			if (!reader.readSignature()) {
 				LOGGER.log(java.util.logging.Level.INFO, "File contains wrong signature");
 				return builder.build();
 			}
 			// Finding the beginning of the header box content
-			long headerLeft = findHeader(stream);
+			long headerLeft = findHeader(reader);
 
 			if (headerLeft >= 0) {
-				parseHeader(stream, headerLeft, builder, document, flavour);
+				parseHeader(reader, headerLeft, builder, document, flavour, context);
 			}
 
 		} catch (IOException e) {
@@ -114,8 +113,8 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 		return builder.build();
 	}
 
-	private static void parseHeader(final InputStream stream, final long headerLeft, final Builder builder,
-			PDDocument document, PDFAFlavour flavour) throws IOException {
+	private static void parseHeader(final JP2BoxReader reader, final long headerLeft, final Builder builder,
+			PDDocument document, PDFAFlavour flavour, ValidationContext context) throws IOException {
 		long leftInHeader = headerLeft;
 		boolean isHeaderReachEnd = leftInHeader == 0;
 		Long nrColorSpaceSpecs = null;
@@ -128,52 +127,31 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 		org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace firstColorSpace = null;
 		org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace colorSpace = null;
 
-		while (true) {
-			byte[] lbox = new byte[4];
-			byte[] tbox = new byte[4];
-			if (stream.read(lbox) != 4 || stream.read(tbox) != 4) {
+		reader.enterSuperBox();
+		while (reader.nextBox()) {
+			long length = reader.getLength();
+			if (!isHeaderReachEnd && (length == 0 || length > leftInHeader)) {
 				break;
 			}
-			int skipped = 8;
-			long length = convertArrayToLong(lbox);
-			if (length == 1) {
-				byte[] xlbox = new byte[8];
-				if (stream.read(xlbox) != 8) {
-					break;
-				}
-				length = convertArrayToLong(xlbox);
-				skipped = 16;
-			}
-			if (length < 0 || (!isHeaderReachEnd && (length == 0 || length > leftInHeader))) {
-				break;
-			}
-			long leftInBox = length - skipped;
+			long leftInBox = reader.getContentLength();
+			int type = reader.getType();
 
-			if (matches(tbox, ihdr)) {
-				if (leftInBox != 14 && length != 0) {
+			if (type == JP2BoxReader.IHDR) {
+				if (leftInBox != 14 && leftInBox != JP2BoxReader.TO_END) {
 					LOGGER.log(java.util.logging.Level.INFO, "Image header content does not contain 14 bytes");
 					break;
 				}
-				skipBytes(stream, 8);
-				byte[] nc = new byte[2];
-				if (stream.read(nc) != 2) {
+				ByteBuffer content = reader.readContent(14);
+				if (content == null) {
 					LOGGER.log(java.util.logging.Level.INFO, "Can not read number of components");
 					break;
 				}
-				long ncColorChannels = convertArrayToLong(nc);
-				builder.setNrColorChannels(Long.valueOf(ncColorChannels));
-				byte[] bpc = new byte[1];
-				if (stream.read(bpc) != 1) {
-					LOGGER.log(java.util.logging.Level.INFO, "Can not read bitDepth");
-					break;
-				}
-				long bitDepth = bpc[0] + 1;
-				builder.setBitDepth(Long.valueOf(bitDepth));
-				skipBytes(stream, 3);
-			} else if (matches(tbox, bpcc)) {
+				// HEIGHT and WIDTH are not used
+				builder.setNrColorChannels(Long.valueOf(content.getShort(8) & 0xFFFF));
+				builder.setBitDepth(Long.valueOf(content.get(10) + 1));
+			} else if (type == JP2BoxReader.BPCC) {
 				builder.setBpccBoxPresent(Boolean.TRUE);
-				skipBytes(stream, leftInBox);
-			} else if (matches(tbox, colr)) {
+			} else if (type == JP2BoxReader.COLR) {
 				if (leftInBox < 3) {
 					LOGGER.log(java.util.logging.Level.INFO, "Founded 'colr' box with length less than 3");
 					break;
@@ -183,22 +161,16 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 				} else {
 					++nrColorSpaceSpecs;
 				}
-				byte[] meth = new byte[1];
-				if (stream.read(meth) != 1) {
-					LOGGER.log(java.util.logging.Level.INFO, "Can not read METH");
+				ByteBuffer content = reader.readContent(3);
+				if (content == null) {
+					LOGGER.log(java.util.logging.Level.INFO, "Can not read METH and APPROX");
 					break;
 				}
-				long methValue = convertArrayToLong(meth);
+				long methValue = content.get(0) & 0xFF;
 				if (firstColrMethod == null) {
 					firstColrMethod = Long.valueOf(methValue);
 				}
-				skipBytes(stream, 1);
-				byte[] approx = new byte[1];
-				if (stream.read(approx) != 1) {
-					LOGGER.log(java.util.logging.Level.INFO, "Can not read APPROX");
-					break;
-				}
-				long approxValue = convertArrayToLong(approx);
+				long approxValue = content.get(2) & 0xFF;
 				if (approxValue == 1) {
 					if (nrColorSpacesWithApproxField == null) {
 						nrColorSpacesWithApproxField = Long.valueOf(1L);
@@ -209,19 +181,17 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 						colrMethod = Long.valueOf(methValue);
 					}
 				}
-				long read = 3;
 				if (methValue == 1) {
 					if (leftInBox < 7) {
 						LOGGER.log(java.util.logging.Level.INFO, "Founded 'colr' box with meth value 1 and length less than 7");
 						break;
 					}
-					byte[] enumCS = new byte[4];
-					if (stream.read(enumCS) != 4) {
+					ByteBuffer enumCS = reader.readContent(4);
+					if (enumCS == null) {
 						LOGGER.log(java.util.logging.Level.INFO, "Can not read EnumCS");
 						break;
 					}
-					read += 4;
-					long enumCSValue = convertArrayToLong(enumCS);
+					long enumCSValue = enumCS.getInt() & 0xFFFFFFFFL;
 					if (firstColrEnumCS == null) {
 						firstColrEnumCS = Long.valueOf(enumCSValue);
 						firstColorSpace = createColorSpaceFromEnumValue(firstColrEnumCS.longValue(), document);
@@ -231,25 +201,24 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 						colrEnumCS = Long.valueOf(enumCSValue);
 						colorSpace = createColorSpaceFromEnumValue(colrEnumCS.longValue(), document);
 					}
-				} else if (methValue == 2) {
-					int profileLength = (int) (leftInBox - read);
-					byte[] profile = new byte[profileLength];
-					if (stream.read(profile) != profileLength) {
+				} else if (methValue == 2 && (doesFirstContainsColorSpace == null
+						|| (approxValue == 1 && colorSpace == null))) {
+					// the profile is copied only if it is going to be used
+					long profileLength = leftInBox - 3;
+					ByteBuffer profile = profileLength > Integer.MAX_VALUE ? null
+							: reader.readContent((int) profileLength);
+					if (profile == null) {
 						LOGGER.log(java.util.logging.Level.INFO, "Can not read Profile");
 						break;
 					}
-					read += profileLength;
 					if (doesFirstContainsColorSpace == null) {
-						firstColorSpace = createColorSpaceFromProfile(profile, document);
+						firstColorSpace = createColorSpaceFromProfile(profile.array(), document);
 						doesFirstContainsColorSpace = Boolean.valueOf(firstColorSpace != null);
 					}
 					if (approxValue == 1 && colorSpace == null) {
-						colorSpace = createColorSpaceFromProfile(profile, document);
+						colorSpace = createColorSpaceFromProfile(profile.array(), document);
 					}
 				}
-				skipBytes(stream, leftInBox - read);
-			} else {
-				skipBytes(stream, leftInBox);
 			}
 
 			leftInHeader -= length;
@@ -273,7 +242,7 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 				builder.setColrEnumCS(colrEnumCS);
 			}
 			if (colorSpace != null) {
-				builder.setColorSpace(ColorSpaceFactory.getColorSpace(colorSpace, document, flavour));
+				builder.setColorSpace(ColorSpaceFactory.getColorSpace(colorSpace, document, flavour, context));
 			}
 		} else if (Long.valueOf(1L).equals(nrColorSpaceSpecs)) {
 			if (firstColrMethod != null) {
@@ -283,7 +252,7 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 				builder.setColrEnumCS(firstColrEnumCS);
 			}
 			if (firstColorSpace != null) {
-				builder.setColorSpace(ColorSpaceFactory.getColorSpace(firstColorSpace, document, flavour));
+				builder.setColorSpace(ColorSpaceFactory.getColorSpace(firstColorSpace, document, flavour, context));
 			}
 		}
 	}
@@ -394,77 +363,24 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 	/**
 	 * Finds the beginning of the header box content and returns its left length
 	 *
-	 * @param stream
-	 *            image stream
+	 * @param reader
+	 *            box reader positioned after the signature box
 	 * @return left length of the header box or -1 if it has not been found and
 	 *         0 if it ends at the end of the stream
 	 * @throws IOException
 	 */
-	private static long findHeader(InputStream stream) throws IOException {
-		while (true) {
-			byte[] lbox = new byte[4];
-			byte[] tbox = new byte[4];
-			if (stream.read(lbox) != 4 || stream.read(tbox) != 4) {
-				return -1L;
-			}
-			int skipped = 8;
-			long length = convertArrayToLong(lbox);
-			if (length == 1) {
-				byte[] xlbox = new byte[8];
-				if (stream.read(xlbox) != 8) {
-					return -1L;
-				}
-				length = convertArrayToLong(xlbox);
-				skipped = 16;
-			}
-			long left = length - skipped;
+	private static long findHeader(JP2BoxReader reader) throws IOException {
+		while (reader.nextBox()) {
 			// Check is current box a header
-			if (matches(tbox, header)) {
-				if (length == 0) {
+			if (reader.getType() == JP2BoxReader.HEADER) {
+				long left = reader.getContentLength();
+				if (left == JP2BoxReader.TO_END) {
 					return 0;
 				}
-				return left <= 0 ? -1L : left;
-			} else if (length == 0 || left < 0) {
-				return -1L;
-			} else {
-				skipBytes(stream, left);
-			}
-		}
-	}
-
-	private static void skipBytes(InputStream stream, long skipNumber) throws IOException {
-		long skippedBytes = stream.skip(skipNumber);
-		if (skippedBytes != skipNumber && stream.available() != 0) {
-			throw new IllegalStateException("Skipped less bytes that needed.");
-		}
-	}
-
-	private static long convertArrayToLong(byte[] toConvert) {
-		if (toConvert.length < 1 || toConvert.length > 8) {
-			throw new IllegalArgumentException("Length of the converting byte array can not be greater than 8");
-		}
-		long res = 0;
-		for (byte aToConvert : toConvert) {
-			res <<= 8;
-			res += aToConvert & 0xff;
-		}
-		return res;
-	}
-
-	private static boolean isValidSignature(byte[] signature) {
-		return matches(signature, sign);
-	}
-
-	private static boolean matches(byte[] source, byte[] match) {
-		if (match.length != source.length) {
-			return false;
-		}
-		for (int i = 0; i < match.length; ++i) {
-			if (source[i] != match[i]) {
-				return false;
+				return left == 0 ? -1L : left;
 			}
 		}
-		return true;
+		return -1L;
 	}
 
 	public PDColorSpace getImageColorSpace() {
@@ -30,6 +30,7 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosArray;
 import org.verapdf.model.coslayer.CosNumber;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosArray;
 import org.verapdf.model.operator.Op_d;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -51,11 +52,13 @@ public class PBOp_d extends PBOpGeneralGS implements Op_d {
 
     private final PDDocument document;
     private final PDFAFlavour flavour;
+    private final ValidationContext context;
 
-    public PBOp_d(List<COSBase> arguments, PDDocument document, PDFAFlavour flavour) {
+    public PBOp_d(List<COSBase> arguments, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
         super(arguments, OP_D_TYPE);
         this.document = document;
         this.flavour = flavour;
+        this.context = context;
     }
 
     @Override
@@ -77,7 +80,7 @@ public class PBOp_d extends PBOpGeneralGS implements Op_d {
 					.get(this.arguments.size() - 2);
 			if (array instanceof COSArray) {
 				List<CosArray> list = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-				list.add(new PBCosArray((COSArray) array, this.document, this.flavour));
+				list.add(new PBCosArray((COSArray) array, this.document, this.flavour, this.context));
 				return Collections.unmodifiableList(list);
 			}
         }
@@ -27,6 +27,7 @@ import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDResources;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.images.PBoxPDInlineImage;
 import org.verapdf.model.operator.Op_EI;
 import org.verapdf.model.pdlayer.PDInlineImage;
@@ -54,14 +55,16 @@ public class PBOp_EI extends PBOpInlineImage implements Op_EI {
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
+	private final ValidationContext context;
 
 	public PBOp_EI(List<COSBase> arguments, byte[] imageData,
-				   PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
+				   PDInheritableResources resources, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		super(arguments, OP_EI_TYPE);
 		this.imageData = imageData;
 		this.resources = PBOp_EI.getResources(resources);
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
 	}
 
 	@Override
@@ -83,7 +86,7 @@ public class PBOp_EI extends PBOpInlineImage implements Op_EI {
 							this.resources);
 
 			List<PDInlineImage> inlineImages = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-			inlineImages.add(new PBoxPDInlineImage(inlineImage, this.document, this.flavour));
+			inlineImages.add(new PBoxPDInlineImage(inlineImage, this.document, this.flavour, this.context));
 			return Collections.unmodifiableList(inlineImages);
 		} catch (IOException e) {
 			LOGGER.log(java.util.logging.Level.INFO, e.getMessage());
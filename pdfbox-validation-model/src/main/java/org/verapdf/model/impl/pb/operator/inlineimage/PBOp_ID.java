@@ -25,6 +25,7 @@ import org.apache.pdfbox.cos.COSDictionary;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosDict;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosDict;
 import org.verapdf.model.operator.Op_ID;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -43,6 +44,7 @@ public class PBOp_ID extends PBOpInlineImage implements Op_ID {
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
+	private final ValidationContext context;
 
 	/** Type name for {@code PBOp_ID} operator */
 	public static final String OP_ID_TYPE = "Op_ID";
@@ -51,10 +53,11 @@ public class PBOp_ID extends PBOpInlineImage implements Op_ID {
 	public static final String INLINE_IMAGE_DICTIONARY =
 			"inlineImageDictionary";
 
-	public PBOp_ID(List<COSBase> arguments, PDDocument document, PDFAFlavour flavour) {
+	public PBOp_ID(List<COSBase> arguments, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		super(arguments, OP_ID_TYPE);
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
 	}
 
 	@Override
@@ -72,7 +75,7 @@ public class PBOp_ID extends PBOpInlineImage implements Op_ID {
 					.get(this.arguments.size() - 1);
 			if (dict instanceof COSDictionary) {
 				List<CosDict> list = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-				list.add(new PBCosDict((COSDictionary) dict, this.document, this.flavour));
+				list.add(new PBCosDict((COSDictionary) dict, this.document, this.flavour, this.context));
 				return Collections.unmodifiableList(list);
 			}
 		}
@@ -30,6 +30,7 @@ import org.verapdf.model.coslayer.CosActualText;
 import org.verapdf.model.coslayer.CosDict;
 import org.verapdf.model.coslayer.CosLang;
 import org.verapdf.model.coslayer.CosName;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosActualText;
 import org.verapdf.model.impl.pb.cos.PBCosDict;
 import org.verapdf.model.impl.pb.cos.PBCosLang;
@@ -52,6 +53,7 @@ public abstract class PBOpMarkedContent extends PBOperator implements
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
+	protected final ValidationContext context;
 
 	/** Name of link to the tag name */
     public static final String TAG = "tag";
@@ -63,10 +65,12 @@ public abstract class PBOpMarkedContent extends PBOperator implements
 	public static final String ACTUAL_TEXT = "actualText";
 	public static final String ALT = "alt";
 
-	public PBOpMarkedContent(List<COSBase> arguments, final String opType, PDDocument document, PDFAFlavour flavour) {
+	public PBOpMarkedContent(List<COSBase> arguments, final String opType, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context) {
         super(arguments, opType);
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
     }
 
     protected List<CosName> getTag() {
@@ -103,7 +107,7 @@ public abstract class PBOpMarkedContent extends PBOperator implements
 			if (dict instanceof COSDictionary) {
 				List<CosDict> list =
 						new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-				list.add(new PBCosDict((COSDictionary) dict, document, flavour));
+				list.add(new PBCosDict((COSDictionary) dict, document, flavour, context));
 				return Collections.unmodifiableList(list);
 			}
         }
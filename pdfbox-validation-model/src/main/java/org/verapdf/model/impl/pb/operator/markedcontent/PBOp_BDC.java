@@ -21,8 +21,13 @@
 package org.verapdf.model.impl.pb.operator.markedcontent;
 
 import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNumber;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.factory.operator.OperatorFactory;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.operator.Op_BDC;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -39,10 +44,53 @@ public class PBOp_BDC extends PBOpMarkedContent implements Op_BDC {
 	/** Type name for {@code PBOp_BDC} */
     public static final String OP_BDC_TYPE = "Op_BDC";
 
-    public PBOp_BDC(List<COSBase> arguments, PDDocument document, PDFAFlavour flavour) {
-        super(arguments, OP_BDC_TYPE, document, flavour);
+	private static final COSName MCID = COSName.getPDFName("MCID");
+
+	private final int structParents;
+
+    public PBOp_BDC(List<COSBase> arguments, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+        this(arguments, document, flavour, context, OperatorFactory.NO_STRUCT_PARENTS);
     }
 
+	/**
+	 * @param structParents {@code /StructParents} value of the page or form
+	 *                      XObject containing the operator
+	 */
+	public PBOp_BDC(List<COSBase> arguments, PDDocument document, PDFAFlavour flavour, ValidationContext context,
+					int structParents) {
+		super(arguments, OP_BDC_TYPE, document, flavour, context);
+		this.structParents = structParents;
+	}
+
+	/**
+	 * @return marked-content identifier from the properties dictionary or
+	 *         {@code null} if there is none
+	 */
+	public Integer getMCID() {
+		if (!this.arguments.isEmpty()) {
+			COSBase dict = this.arguments.get(this.arguments.size() - 1);
+			if (dict instanceof COSDictionary) {
+				COSBase mcid = ((COSDictionary) dict).getDictionaryObject(MCID);
+				if (mcid instanceof COSNumber) {
+					return Integer.valueOf(((COSNumber) mcid).intValue());
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return structure element of the marked-content sequence from the
+	 *         parent tree of the document or {@code null} if there is none
+	 */
+	public COSDictionary getStructParent() {
+		Integer mcid = getMCID();
+		if (mcid == null || this.structParents == OperatorFactory.NO_STRUCT_PARENTS) {
+			return null;
+		}
+		return this.context.getParentTreeIndex().getMarkedContentParent(this.structParents, mcid.intValue());
+	}
+
 	@Override
 	public List<? extends Object> getLinkedObjects(
 			String link) {
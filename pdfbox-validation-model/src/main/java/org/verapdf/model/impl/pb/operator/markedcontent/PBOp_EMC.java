@@ -22,6 +22,7 @@ package org.verapdf.model.impl.pb.operator.markedcontent;
 
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.operator.Op_EMC;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -37,8 +38,8 @@ public class PBOp_EMC extends PBOpMarkedContent implements Op_EMC {
 	/** Type name for {@code PBOp_EMC} */
     public static final String OP_EMC_TYPE = "Op_EMC";
 
-    public PBOp_EMC(List<COSBase> arguments, PDDocument document, PDFAFlavour flavour) {
-        super(arguments, OP_EMC_TYPE, document, flavour);
+    public PBOp_EMC(List<COSBase> arguments, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+        super(arguments, OP_EMC_TYPE, document, flavour, context);
     }
 
 }
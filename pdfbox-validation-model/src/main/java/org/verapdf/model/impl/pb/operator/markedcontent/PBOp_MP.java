@@ -25,6 +25,7 @@ import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosName;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosName;
 import org.verapdf.model.operator.Op_MP;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -43,8 +44,8 @@ public class PBOp_MP extends PBOpMarkedContent implements Op_MP {
 	/** Type name for {@code PBOp_MP} */
     public static final String OP_MP_TYPE = "Op_MP";
 
-    public PBOp_MP(List<COSBase> arguments, PDDocument document, PDFAFlavour flavour) {
-        super(arguments, OP_MP_TYPE, document, flavour);
+    public PBOp_MP(List<COSBase> arguments, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+        super(arguments, OP_MP_TYPE, document, flavour, context);
     }
 
     @Override
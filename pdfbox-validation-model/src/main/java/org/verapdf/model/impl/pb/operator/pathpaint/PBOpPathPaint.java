@@ -26,6 +26,7 @@ import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
 import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
 import org.verapdf.model.factory.operator.GraphicState;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.operator.base.PBOperator;
 import org.verapdf.model.operator.OpPathPaint;
 import org.verapdf.model.tools.resources.PDInheritableResources;
@@ -59,6 +60,7 @@ public abstract class PBOpPathPaint extends PBOperator implements OpPathPaint {
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
+	private final ValidationContext context;
 
 	private List<org.verapdf.model.pdlayer.PDColorSpace> fillCS = null;
 	private List<org.verapdf.model.pdlayer.PDColorSpace> strokeCS = null;
@@ -71,16 +73,17 @@ public abstract class PBOpPathPaint extends PBOperator implements OpPathPaint {
 	 * @param resources resources for tilling pattern if it`s used
 	 */
     protected PBOpPathPaint(List<COSBase> arguments, final GraphicState state,
-			final PDInheritableResources resources, final String opType, PDDocument document, PDFAFlavour flavour) {
+			final PDInheritableResources resources, final String opType, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context) {
 		this(arguments, state.getFillPattern(), state.getStrokePattern(), state.getStrokeColorSpace(),
-				state.getFillColorSpace(), resources, opType, state.getOpm(), state.isOverprintingFlagStroke(), state.isOverprintingFlagNonStroke(), document, flavour);
+				state.getFillColorSpace(), resources, opType, state.getOpm(), state.isOverprintingFlagStroke(), state.isOverprintingFlagNonStroke(), document, flavour, context);
     }
 
 	protected PBOpPathPaint(List<COSBase> arguments, PDAbstractPattern fillPattern, PDAbstractPattern strokePattern,
 							PDColorSpace pbStrokeColorSpace, PDColorSpace pbFillColorSpace,
 							PDInheritableResources resources, final String type,
 							int op, boolean overprintingFlagStroke, boolean overprintingFlagNonStroke,
-							PDDocument document, PDFAFlavour flavour) {
+							PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		super(arguments, type);
 		this.pbStrokeColorSpace = pbStrokeColorSpace;
 		this.pbFillColorSpace = pbFillColorSpace;
@@ -92,6 +95,7 @@ public abstract class PBOpPathPaint extends PBOperator implements OpPathPaint {
 		this.overprintingFlagNonStroke = overprintingFlagNonStroke;
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
 	}
 
 	protected List<org.verapdf.model.pdlayer.PDColorSpace> getFillCS() {
@@ -131,7 +135,7 @@ public abstract class PBOpPathPaint extends PBOperator implements OpPathPaint {
 			PDColorSpace colorSpace, PDAbstractPattern pattern, boolean op) {
 		org.verapdf.model.pdlayer.PDColorSpace veraColorSpace =
 				ColorSpaceFactory.getColorSpace(colorSpace,
-						pattern, this.resources, this.op, op, this.document, this.flavour);
+						pattern, this.resources, this.op, op, this.document, this.flavour, this.context);
 		if (veraColorSpace != null) {
 			List<org.verapdf.model.pdlayer.PDColorSpace> list =
 					new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
@@ -24,6 +24,7 @@ import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.factory.operator.GraphicState;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -37,8 +38,9 @@ import java.util.List;
 public abstract class PBOpStrokePaint extends PBOpPathPaint {
 
 	protected PBOpStrokePaint(List<COSBase> arguments, final GraphicState state,
-							  final PDInheritableResources resources, final String opType, PDDocument document, PDFAFlavour flavour) {
-		super(arguments, state, resources, opType, document, flavour);
+							  final PDInheritableResources resources, final String opType,
+							  PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+		super(arguments, state, resources, opType, document, flavour, context);
 	}
 
 	@Override
@@ -23,6 +23,7 @@ package org.verapdf.model.impl.pb.operator.pathpaint;
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.factory.operator.GraphicState;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.operator.Op_S_stroke;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -48,8 +49,9 @@ public class PBOp_S_stroke extends PBOpStrokePaint implements Op_S_stroke {
 	 */
 	public PBOp_S_stroke(List<COSBase> arguments,
 						 final GraphicState state,
-						 final PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
-		super(arguments, state, resources, OP_S_STROKE_TYPE, document, flavour);
+						 final PDInheritableResources resources, PDDocument document, PDFAFlavour flavour,
+						 ValidationContext context) {
+		super(arguments, state, resources, OP_S_STROKE_TYPE, document, flavour, context);
 	}
 
 }
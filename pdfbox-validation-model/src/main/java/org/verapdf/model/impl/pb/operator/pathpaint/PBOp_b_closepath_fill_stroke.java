@@ -23,6 +23,7 @@ package org.verapdf.model.impl.pb.operator.pathpaint;
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.factory.operator.GraphicState;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.operator.Op_b_closepath_fill_stroke;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -50,8 +51,9 @@ public class PBOp_b_closepath_fill_stroke extends PBOpFillAndStroke implements
 	 */
 	public PBOp_b_closepath_fill_stroke(List<COSBase> arguments,
 										final GraphicState state,
-										final PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
-		super(arguments, state, resources, OP_B_CLOSEPATH_FILL_STROKE_TYPE, document, flavour);
+										final PDInheritableResources resources, PDDocument document, PDFAFlavour flavour,
+										ValidationContext context) {
+		super(arguments, state, resources, OP_B_CLOSEPATH_FILL_STROKE_TYPE, document, flavour, context);
 	}
 
 }
@@ -22,6 +22,7 @@ package org.verapdf.model.impl.pb.operator.pathpaint;
 
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.operator.Op_n;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -45,8 +46,8 @@ public class PBOp_n extends PBOpPathPaint implements Op_n {
 	 *
 	 * @param arguments arguments for current operator, must be empty.
 	 */
-	public PBOp_n(List<COSBase> arguments, PDDocument document, PDFAFlavour flavour) {
-		super(arguments, null, null, null, null, null, OP_N_TYPE, 0, false, false, document, flavour);
+	public PBOp_n(List<COSBase> arguments, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+		super(arguments, null, null, null, null, null, OP_N_TYPE, 0, false, false, document, flavour, context);
 	}
 
 }
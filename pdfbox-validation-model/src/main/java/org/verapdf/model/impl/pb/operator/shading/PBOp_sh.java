@@ -23,6 +23,7 @@ package org.verapdf.model.impl.pb.operator.shading;
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.operator.base.PBOperator;
 import org.verapdf.model.impl.pb.pd.pattern.PBoxPDShading;
 import org.verapdf.model.operator.Op_sh;
@@ -51,13 +52,16 @@ public class PBOp_sh extends PBOperator implements Op_sh {
 
     private final PDDocument document;
     private final PDFAFlavour flavour;
+    private final ValidationContext context;
 
     public PBOp_sh(List<COSBase> arguments,
-            org.apache.pdfbox.pdmodel.graphics.shading.PDShading shading, PDDocument document, PDFAFlavour flavour) {
+            org.apache.pdfbox.pdmodel.graphics.shading.PDShading shading, PDDocument document, PDFAFlavour flavour,
+            ValidationContext context) {
         super(arguments, OP_SH_TYPE);
         this.shading = shading;
         this.document = document;
         this.flavour = flavour;
+        this.context = context;
     }
 
     @Override
@@ -73,7 +77,7 @@ public class PBOp_sh extends PBOperator implements Op_sh {
         if (this.shading != null) {
 			List<PDShading> list =
 					new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-			list.add(new PBoxPDShading(this.shading, this.document, this.flavour));
+			list.add(new PBoxPDShading(this.shading, this.document, this.flavour, this.context));
 			return Collections.unmodifiableList(list);
         }
         return Collections.emptyList();
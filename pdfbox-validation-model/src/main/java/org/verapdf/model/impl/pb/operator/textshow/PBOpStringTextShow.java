@@ -26,6 +26,7 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosString;
 import org.verapdf.model.factory.operator.GraphicState;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosString;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -45,8 +46,9 @@ public abstract class PBOpStringTextShow extends PBOpTextShow {
     public static final String SHOW_STRING = "showString";
 
     protected PBOpStringTextShow(List<COSBase> arguments, GraphicState state,
-                                 PDInheritableResources resources, final String opType, PDDocument document, PDFAFlavour flavour) {
-        super(arguments, state, resources, opType, document, flavour);
+                                 PDInheritableResources resources, final String opType, PDDocument document, PDFAFlavour flavour,
+                                 ValidationContext context) {
+        super(arguments, state, resources, opType, document, flavour, context);
     }
 
     @Override
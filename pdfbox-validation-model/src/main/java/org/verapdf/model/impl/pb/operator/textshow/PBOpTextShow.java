@@ -36,21 +36,21 @@ import org.apache.pdfbox.cos.COSString;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.common.PDStream;
 import org.apache.pdfbox.pdmodel.font.PDCIDFontType2;
-import org.apache.pdfbox.pdmodel.font.PDFontLike;
 import org.apache.pdfbox.pdmodel.font.PDType0Font;
 import org.apache.pdfbox.pdmodel.font.PDType1CFont;
 import org.apache.pdfbox.pdmodel.font.PDType3Font;
 import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
-import org.apache.pdfbox.preflight.font.container.FontContainer;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
 import org.verapdf.model.factory.font.FontFactory;
 import org.verapdf.model.factory.operator.GraphicState;
+import org.verapdf.model.impl.pb.containers.FontContainers;
+import org.verapdf.model.impl.pb.containers.GlyphTable;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.operator.base.PBOperator;
 import org.verapdf.model.operator.OpTextShow;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.model.pdlayer.PDFont;
-import org.verapdf.model.tools.FontHelper;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -79,18 +79,20 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 
 	protected final PDDocument document;
 	protected final PDFAFlavour flavour;
+	protected final ValidationContext context;
 
 	private List<PDFont> fonts = null;
 	private List<PDColorSpace> fillCS = null;
 	private List<PDColorSpace> strokeCS = null;
 
 	protected PBOpTextShow(List<COSBase> arguments, GraphicState state, PDInheritableResources resources,
-			final String opType, PDDocument document, PDFAFlavour flavour) {
+			final String opType, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		super(arguments, opType);
 		this.state = state;
 		this.resources = resources;
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
 	}
 
 	@Override
@@ -125,7 +127,7 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 
 	private List<PDFont> parseFont() {
 		PDFont font = FontFactory.parseFont(getFontFromResources(), this.state.getRenderingMode(), this.resources,
-				this.document, this.flavour);
+				this.document, this.flavour, this.context);
 		if (font != null) {
 			List<PDFont> result = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 			result.add(font);
@@ -136,32 +138,26 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 
 	private List<PBGlyph> getUsedGlyphs() {
 		org.apache.pdfbox.pdmodel.font.PDFont font = getFontFromResources();
-		FontContainer<? extends PDFontLike> fontContainer = FontHelper.getFontContainer(font);
+		FontContainers.Entry fontContainer = this.context.getFontContainers().get(font);
 
 		if (fontContainer == null) {
 			return Collections.emptyList();
 		}
         boolean fontProgramIsInvalid = font.isDamaged() || fontProgramIsNull(font);
 
+		// glyphs are shared by all text show operators of the document
+		GlyphTable glyphTable = this.context.getGlyphTable();
+		int renderingMode = this.state.getRenderingMode().intValue();
 		List<PBGlyph> res = new ArrayList<>();
 		List<byte[]> strings = getStrings(this.arguments);
 		for (byte[] string : strings) {
 			try (InputStream inputStream = new ByteArrayInputStream(string)) {
 				while (inputStream.available() > 0) {
 					int code = font.readCode(inputStream);
-					Boolean glyphPresent = null;
-					if (!fontProgramIsInvalid) {
-						// every font contains notdef glyph. But if we call method
-						// of font container we can't distinguish case of code 0
-						// and glyph that is not present indeed.
-						glyphPresent = code == 0 || fontContainer.hasGlyph(code);
-					}
-					PBGlyph glyph;
-					if (font.getSubType().equals(FontFactory.TYPE_0)) {
-						int CID = ((PDType0Font) font).codeToCID(code);
-						glyph = new PBCIDGlyph(glyphPresent, font, code, CID, this.state.getRenderingMode().intValue());
-					} else {
-						glyph = new PBGlyph(glyphPresent, font, code, this.state.getRenderingMode().intValue());
+					PBGlyph glyph = glyphTable.get(font, code, renderingMode);
+					if (glyph == null) {
+						glyph = glyphTable.put(font, code, renderingMode,
+								createGlyph(font, fontContainer, fontProgramIsInvalid, code, renderingMode));
 					}
 					res.add(glyph);
 				}
@@ -173,6 +169,23 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 		return res;
 	}
 
+	private static PBGlyph createGlyph(org.apache.pdfbox.pdmodel.font.PDFont font,
+			FontContainers.Entry fontContainer, boolean fontProgramIsInvalid,
+			int code, int renderingMode) throws IOException {
+		Boolean glyphPresent = null;
+		if (!fontProgramIsInvalid) {
+			// every font contains notdef glyph. But if we call method
+			// of font container we can't distinguish case of code 0
+			// and glyph that is not present indeed.
+			glyphPresent = code == 0 || fontContainer.hasGlyph(code);
+		}
+		if (font.getSubType().equals(FontFactory.TYPE_0)) {
+			int CID = ((PDType0Font) font).codeToCID(code);
+			return new PBCIDGlyph(glyphPresent, font, code, CID, renderingMode);
+		}
+		return new PBGlyph(glyphPresent, font, code, renderingMode);
+	}
+
 	private List<PDColorSpace> getFillColorSpace() {
 		if (this.fillCS == null) {
 			this.fillCS = parseFillColorSpace();
@@ -184,7 +197,15 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 	 * @return char codes that has been used by this operator
 	 */
 	public byte[] getCharCodes() {
-		List<byte[]> strings = PBOpTextShow.getStrings(this.arguments);
+		return getCharCodes(this.arguments);
+	}
+
+	/**
+	 * @param arguments arguments of a text show operator
+	 * @return char codes that are used by the operator with given arguments
+	 */
+	public static byte[] getCharCodes(List<COSBase> arguments) {
+		List<byte[]> strings = PBOpTextShow.getStrings(arguments);
 		Set<Byte> resSet = new HashSet<>();
 		for (byte[] string : strings) {
 			for (byte b : string) {
@@ -245,7 +266,7 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 	private List<PDColorSpace> getColorSpace(org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace usedColorSpace,
 			PDAbstractPattern pattern, boolean op) {
 		PDColorSpace colorSpace = ColorSpaceFactory.getColorSpace(usedColorSpace, pattern, this.resources,
-				this.state.getOpm(), op, this.document, this.flavour);
+				this.state.getOpm(), op, this.document, this.flavour, this.context);
 		if (colorSpace != null) {
 			List<PDColorSpace> colorSpaces = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 			colorSpaces.add(colorSpace);
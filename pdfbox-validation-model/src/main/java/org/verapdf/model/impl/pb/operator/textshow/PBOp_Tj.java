@@ -23,6 +23,7 @@ package org.verapdf.model.impl.pb.operator.textshow;
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.factory.operator.GraphicState;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.operator.Op_Tj;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -41,7 +42,7 @@ public class PBOp_Tj extends PBOpStringTextShow implements Op_Tj {
 
     public PBOp_Tj(List<COSBase> arguments,
                    GraphicState state,
-                   PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
-        super(arguments, state, resources, OP_TJ_TYPE, document, flavour);
+                   PDInheritableResources resources, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+        super(arguments, state, resources, OP_TJ_TYPE, document, flavour, context);
     }
 }
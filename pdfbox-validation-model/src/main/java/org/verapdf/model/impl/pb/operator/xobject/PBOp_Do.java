@@ -23,6 +23,7 @@ package org.verapdf.model.impl.pb.operator.xobject;
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.operator.base.PBOperator;
 import org.verapdf.model.impl.pb.pd.images.PBoxPDXObject;
 import org.verapdf.model.operator.Op_Do;
@@ -51,6 +52,7 @@ public class PBOp_Do extends PBOperator implements Op_Do {
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
+	private final ValidationContext context;
 
     private final org.apache.pdfbox.pdmodel.graphics.PDXObject pbXObject;
 	private final PDInheritableResources resources;
@@ -59,12 +61,13 @@ public class PBOp_Do extends PBOperator implements Op_Do {
             org.apache.pdfbox.pdmodel.graphics.PDXObject pbXObject,
 			PDInheritableResources resources,
 				   PDDocument document,
-				   PDFAFlavour flavour) {
+				   PDFAFlavour flavour, ValidationContext context) {
         super(arguments, OP_DO_TYPE);
         this.pbXObject = pbXObject;
 		this.resources = resources;
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
     }
 
     @Override
@@ -81,7 +84,7 @@ public class PBOp_Do extends PBOperator implements Op_Do {
 	public List<PDXObject> getXObject() {
 		if (this.xObjects == null) {
 			PDXObject typedPDXObject = PBoxPDXObject.getTypedPDXObject(
-					this.pbXObject, this.resources, this.document, this.flavour);
+					this.pbXObject, this.resources, this.document, this.flavour, this.context);
 			if (typedPDXObject != null) {
 				List<PDXObject> list = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 				list.add(typedPDXObject);
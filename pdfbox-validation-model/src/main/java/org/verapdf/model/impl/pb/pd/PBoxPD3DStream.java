@@ -24,6 +24,7 @@ import org.apache.pdfbox.cos.*;
 import org.apache.pdfbox.pdmodel.PDResources;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.pdlayer.PD3DStream;
 import org.verapdf.model.pdlayer.PDColorSpace;
 
@@ -46,10 +47,12 @@ public class PBoxPD3DStream extends PBoxPDObject implements PD3DStream {
 	private static final Logger LOGGER = Logger.getLogger(PBoxPD3DStream.class.getCanonicalName());
 
 	private final PDResources resources;
+	private final ValidationContext context;
 
-	public PBoxPD3DStream(COSStream stream, PDResources resources) {
+	public PBoxPD3DStream(COSStream stream, PDResources resources, ValidationContext context) {
 		super(stream, STREAM_3D_TYPE);
 		this.resources = resources;
+		this.context = context;
 	}
 
 	@Override
@@ -94,11 +97,11 @@ public class PBoxPD3DStream extends PBoxPDObject implements PD3DStream {
 				colorSpace = resources.getColorSpace(colorSpaceName);
 
 				if (colorSpace != null) {
-					colorSpaces.add(ColorSpaceFactory.getColorSpace(colorSpace, this.document, null));
+					colorSpaces.add(ColorSpaceFactory.getColorSpace(colorSpace, this.document, null, this.context));
 					return Collections.unmodifiableList(colorSpaces);
 				}
 			} else if (colorSpace != null) {
-				colorSpaces.add(ColorSpaceFactory.getColorSpace(colorSpace, this.document, null));
+				colorSpaces.add(ColorSpaceFactory.getColorSpace(colorSpace, this.document, null, this.context));
 				return Collections.unmodifiableList(colorSpaces);
 			}
 		} catch (IOException e) {
@@ -24,10 +24,7 @@ import org.apache.pdfbox.cos.*;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDResources;
-import org.apache.pdfbox.pdmodel.common.PDNumberTreeNode;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.documentinterchange.logicalstructure.PDParentTreeValue;
-import org.apache.pdfbox.pdmodel.documentinterchange.logicalstructure.PDStructureTreeRoot;
 import org.apache.pdfbox.pdmodel.interactive.action.PDActionFactory;
 import org.apache.pdfbox.pdmodel.interactive.action.PDAnnotationAdditionalActions;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
@@ -37,6 +34,7 @@ import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceStream;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosBM;
 import org.verapdf.model.coslayer.CosLang;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosBM;
 import org.verapdf.model.impl.pb.cos.PBCosLang;
 import org.verapdf.model.impl.pb.pd.actions.PBoxPDAction;
@@ -51,7 +49,6 @@ import org.verapdf.model.pdlayer.*;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
-import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -96,13 +93,15 @@ public class PBoxPDAnnot extends PBoxPDObject implements PDAnnot {
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
+	private final ValidationContext context;
 	private final PDPage pdPage;
 
 	private List<PDXForm> appearance = null;
 	private List<CosBM> blendMode = null;
 	private boolean containsTransparency = false;
 
-	public PBoxPDAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour, String type, PDPage pdPage) {
+	public PBoxPDAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context, String type, PDPage pdPage) {
 		super(annot, type);
 		this.pageResources = pageResources;
 		this.subtype = annot.getSubtype();
@@ -119,11 +118,13 @@ public class PBoxPDAnnot extends PBoxPDObject implements PDAnnot {
 		this.height = PBoxPDAnnot.getHeight(annot);
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
 		this.pdPage = pdPage;
 	}
 
-	public PBoxPDAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour, PDPage pdPage) {
-		this(annot, pageResources, document, flavour, ANNOTATION_TYPE, pdPage);
+	public PBoxPDAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context, PDPage pdPage) {
+		this(annot, pageResources, document, flavour, context, ANNOTATION_TYPE, pdPage);
 	}
 
 	private static String getAP(PDAnnotation annot) {
@@ -201,6 +202,10 @@ public class PBoxPDAnnot extends PBoxPDObject implements PDAnnot {
 		return pageResources;
 	}
 
+	public ValidationContext getContext() {
+		return context;
+	}
+
 	@Override
 	public String getSubtype() {
 		return this.subtype;
@@ -270,24 +275,13 @@ public class PBoxPDAnnot extends PBoxPDObject implements PDAnnot {
 
 	@Override
 	public String getstructParentType() {
-		PDStructureTreeRoot structTreeRoot = this.document.getDocumentCatalog().getStructureTreeRoot();
 		int structParent = ((PDAnnotation)this.simplePDObject).getStructParent();
-		if (structTreeRoot != null) {
-			PDNumberTreeNode parentTreeRoot = structTreeRoot.getParentTree();
-			COSBase structureElement = null;
-			try {
-				PDParentTreeValue treeValue = parentTreeRoot != null ? (PDParentTreeValue)parentTreeRoot.getValue(structParent) : null;
-				if (treeValue != null) {
-					structureElement = treeValue.getCOSObject();
-				}
-			} catch (IOException var6) {
-				return null;
-			}
-			if (structureElement != null && structureElement instanceof COSDictionary) {
-				return ((COSDictionary)structureElement).getNameAsString(COSName.S);
-			}
-		}
-		return null;
+		COSDictionary structureElement = getStructParent(structParent);
+		return structureElement != null ? structureElement.getNameAsString(COSName.S) : null;
+	}
+
+	private COSDictionary getStructParent(int structParent) {
+		return this.context.getParentTreeIndex().getStructParent(structParent);
 	}
 
 	@Override
@@ -316,19 +310,11 @@ public class PBoxPDAnnot extends PBoxPDObject implements PDAnnot {
 	}
 
 	private String getLang() {
-		PDStructureTreeRoot structTreeRoot = this.document.getDocumentCatalog().getStructureTreeRoot();
 		int structParent = ((PDAnnotation) this.simplePDObject).getStructParent();
-		if (structTreeRoot != null && structParent != 0) {
-			PDNumberTreeNode parentTreeRoot = structTreeRoot.getParentTree();
-			COSBase structureElement;
-			try {
-				PDParentTreeValue treeValue = parentTreeRoot == null ? null : (PDParentTreeValue) parentTreeRoot.getValue(structParent);
-				structureElement = treeValue == null ? null : treeValue.getCOSObject();
-			} catch (IOException e) {
-				return null;
-			}
-			if (structureElement instanceof COSDictionary) {
-				return ((COSDictionary) structureElement).getNameAsString(COSName.LANG);
+		if (structParent != 0) {
+			COSDictionary structureElement = getStructParent(structParent);
+			if (structureElement != null) {
+				return structureElement.getNameAsString(COSName.LANG);
 			}
 		}
 		return null;
@@ -341,19 +327,11 @@ public class PBoxPDAnnot extends PBoxPDObject implements PDAnnot {
 
 	@Override
 	public String getAlt() {
-		PDStructureTreeRoot structTreeRoot = this.document.getDocumentCatalog().getStructureTreeRoot();
 		int structParent = ((PDAnnotation) this.simplePDObject).getStructParent();
-		if (structTreeRoot != null && structParent != 0) {
-			PDNumberTreeNode parentTreeRoot = structTreeRoot.getParentTree();
-			COSBase structureElement;
-			try {
-				PDParentTreeValue treeValue = parentTreeRoot == null ? null : (PDParentTreeValue) parentTreeRoot.getValue(structParent);
-				structureElement = treeValue == null ? null : treeValue.getCOSObject();
-			} catch (IOException e) {
-				return null;
-			}
-			if (structureElement instanceof COSDictionary) {
-				return ((COSDictionary) structureElement).getNameAsString(COSName.ALT);
+		if (structParent != 0) {
+			COSDictionary structureElement = getStructParent(structParent);
+			if (structureElement != null) {
+				return structureElement.getNameAsString(COSName.ALT);
 			}
 		}
 		return null;
@@ -506,31 +484,32 @@ public class PBoxPDAnnot extends PBoxPDObject implements PDAnnot {
 	private void addAppearance(List<PDXForm> list, PDAppearanceStream toAdd) {
 		if (toAdd != null) {
 			PDInheritableResources resources = PDInheritableResources.getInstance(this.pageResources,
-					toAdd.getResources());
-			PBoxPDXForm xForm = new PBoxPDXForm(toAdd, resources, this.document, this.flavour);
+					toAdd.getResources(), this.context.getResolvedResources());
+			PBoxPDXForm xForm = new PBoxPDXForm(toAdd, resources, this.document, this.flavour, this.context);
 			this.containsTransparency |= xForm.containsTransparency();
 			list.add(xForm);
 		}
 	}
 
-	public static PBoxPDAnnot createAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour, PDPage pdPage) {
+	public static PBoxPDAnnot createAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context, PDPage pdPage) {
 		String subtype = annot.getSubtype();
 		if (subtype == null) {
-			return new PBoxPDAnnot(annot, pageResources, document, flavour, pdPage);
+			return new PBoxPDAnnot(annot, pageResources, document, flavour, context, pdPage);
 		}
 		switch (subtype) {
 			case WIDGET:
-				return new PBoxPDWidgetAnnot(annot, pageResources, document, flavour, pdPage);
+				return new PBoxPDWidgetAnnot(annot, pageResources, document, flavour, context, pdPage);
 			case TYPE_3D:
-				return new PBoxPD3DAnnot(annot, pageResources, document, flavour, pdPage);
+				return new PBoxPD3DAnnot(annot, pageResources, document, flavour, context, pdPage);
 			case TRAP_NET:
-				return new PBoxPDTrapNetAnnot(annot, pageResources, document, flavour, pdPage);
+				return new PBoxPDTrapNetAnnot(annot, pageResources, document, flavour, context, pdPage);
 			case LINK:
-				return new PBoxPDLinkAnnot(annot, pageResources, document, flavour, pdPage);
+				return new PBoxPDLinkAnnot(annot, pageResources, document, flavour, context, pdPage);
 			case PRINTER_MARK:
-				return new PBoxPDPrinterMarkAnnot(annot, pageResources, document, flavour, pdPage);
+				return new PBoxPDPrinterMarkAnnot(annot, pageResources, document, flavour, context, pdPage);
 			default:
-				return new PBoxPDAnnot(annot, pageResources, document, flavour, pdPage);
+				return new PBoxPDAnnot(annot, pageResources, document, flavour, context, pdPage);
 		}
 	}
 }
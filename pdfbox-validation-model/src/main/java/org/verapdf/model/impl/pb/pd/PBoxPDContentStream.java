@@ -21,13 +21,20 @@
 package org.verapdf.model.impl.pb.pd;
 
 import java.util.logging.Logger;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
 import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObjectKey;
 import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.pdfparser.PDFStreamParser;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.COSObjectable;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.factory.operator.OperatorFactory;
+import org.verapdf.model.factory.operator.TransparencyScanner;
+import org.verapdf.model.impl.pb.containers.ParsedContentStreams;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.operator.Operator;
 import org.verapdf.model.pdlayer.PDContentStream;
 import org.verapdf.model.tools.resources.PDInheritableResources;
@@ -37,6 +44,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -53,20 +61,56 @@ public class PBoxPDContentStream extends PBoxPDObject implements
 	public static final String OPERATORS = "operators";
 	private static final String RESOURCES = "resources";
 
-	private final PDInheritableResources resources;
-	private List<Operator> operators = null;
-	private boolean containsTransparency = false;
+	// replaced by resources of the cached parse, which collect the names of
+	// used undefined and inherited resources
+	private volatile PDInheritableResources resources;
+	private final boolean isReusable;
+	private final int structParents;
+	private volatile List<Operator> operators = null;
+	private volatile Boolean containsTransparency = null;
+	private Supplier<List<Object>> preParsedTokens = null;
+	// tokens taken from the pre-parser, held until operators are built
+	private List<Object> tokens = null;
 
     private final PDDocument document;
     private final PDFAFlavour flavour;
+    private final ValidationContext context;
 
 	public PBoxPDContentStream(
 			org.apache.pdfbox.contentstream.PDContentStream contentStream,
-			PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
+			PDInheritableResources resources, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+		this(contentStream, resources, document, flavour, context, false);
+	}
+
+	/**
+	 * @param isReusable true if the stream may be drawn many times, like form
+	 *                   XObjects, tiling patterns and annotation appearances.
+	 *                   Operators of such stream are shared through the
+	 *                   {@link ParsedContentStreams} cache of the document
+	 */
+	public PBoxPDContentStream(
+			org.apache.pdfbox.contentstream.PDContentStream contentStream,
+			PDInheritableResources resources, PDDocument document, PDFAFlavour flavour, ValidationContext context,
+			boolean isReusable) {
 		super(contentStream, CONTENT_STREAM_TYPE);
 		this.resources = resources;
+		this.isReusable = isReusable;
+		this.structParents = getStructParents(contentStream);
         this.document = document;
         this.flavour = flavour;
+        this.context = context;
+	}
+
+	/**
+	 * Sets source of tokens of this stream tokenized in background. Operators
+	 * are built from these tokens instead of parsing the stream again, tokens
+	 * are taken once.
+	 *
+	 * @param preParsedTokens source of tokens, giving {@code null} if the
+	 *                        stream was not tokenized
+	 */
+	void setPreParsedTokens(Supplier<List<Object>> preParsedTokens) {
+		this.preParsedTokens = preParsedTokens;
 	}
 
     @Override
@@ -92,26 +136,67 @@ public class PBoxPDContentStream extends PBoxPDObject implements
 	 * @return true if this content stream contains transparency
 	 */
 	public boolean isContainsTransparency() {
-		if (this.operators == null) {
-			parseOperators();
+		Boolean result = this.containsTransparency;
+		if (result == null) {
+			result = scanTransparency();
+		}
+		return result.booleanValue();
+	}
+
+	/**
+	 * Finds out if the stream contains transparency with
+	 * {@link TransparencyScanner}, without building the operators
+	 */
+	private synchronized Boolean scanTransparency() {
+		if (this.containsTransparency != null) {
+			return this.containsTransparency;
+		}
+		Boolean result = Boolean.FALSE;
+		try {
+			// tokens of a stream tokenized in background are kept for
+			// building of its operators
+			List<Object> preParsed = getPreParsedTokens();
+			COSStream cStream = preParsed == null ? this.contentStream.getContentStream() : null;
+			if (preParsed != null) {
+				result = Boolean.valueOf(TransparencyScanner.containsTransparency(
+						preParsed, this.resources, this.context));
+			} else if (cStream != null) {
+				result = Boolean.valueOf(TransparencyScanner.containsTransparency(
+						cStream, this.resources, this.context, this.isReusable));
+			}
+		} catch (IOException e) {
+			LOGGER.log(java.util.logging.Level.INFO,
+					"Error while scanning content stream for transparency. " + e.getMessage());
 		}
-		return containsTransparency;
+		this.containsTransparency = result;
+		return result;
 	}
 
-	private void parseOperators() {
+	private synchronized void parseOperators() {
+		if (this.operators != null) {
+			return;
+		}
 		try {
 			COSStream cStream = this.contentStream.getContentStream();
-			if (cStream != null) {
-				PDFStreamParser streamParser = new PDFStreamParser(
-						cStream, true);
-				streamParser.parse();
-				OperatorFactory operatorFactory = new OperatorFactory();
-				List<Operator> result = operatorFactory.operatorsFromTokens(
-						streamParser.getTokens(),
-						this.resources, this.document, this.flavour);
-
-				this.containsTransparency = operatorFactory.isLastParsedContainsTransparency();
-				this.operators = Collections.unmodifiableList(result);
+			COSObjectKey key = cStream == null || !this.isReusable ? null : cStream.getKey();
+			ParsedContentStreams.Entry parsed;
+			if (key != null) {
+				ParsedContentStreams cache = this.context.getParsedContentStreams();
+				parsed = cache.get(key, this.resources);
+				if (parsed == null) {
+					parsed = cache.put(key, this.resources, parseOperators(cStream));
+				}
+			} else if (cStream != null) {
+				parsed = parseOperators(cStream);
+			} else {
+				parsed = null;
+			}
+			if (parsed != null) {
+				this.resources = parsed.getResources();
+				if (this.containsTransparency == null) {
+					this.containsTransparency = Boolean.valueOf(parsed.isContainsTransparency());
+				}
+				this.operators = parsed.getOperators();
 			} else {
 				this.operators = Collections.emptyList();
 			}
@@ -122,16 +207,61 @@ public class PBoxPDContentStream extends PBoxPDObject implements
 		}
 	}
 
+	private ParsedContentStreams.Entry parseOperators(COSStream cStream) throws IOException {
+		OperatorFactory operatorFactory = new OperatorFactory();
+		List<Object> tokens = getPreParsedTokens();
+		List<Operator> result;
+		if (tokens != null) {
+			this.tokens = null;
+			result = operatorFactory.operatorsFromTokens(tokens, this.resources, this.document, this.flavour,
+					this.context, this.structParents);
+		} else {
+			PDFStreamParser streamParser = new PDFStreamParser(cStream, true);
+			result = operatorFactory.operatorsFromStream(
+					streamParser, this.resources, this.document, this.flavour, this.context, this.structParents);
+		}
+		return new ParsedContentStreams.Entry(Collections.unmodifiableList(result),
+				operatorFactory.isLastParsedContainsTransparency(), this.resources);
+	}
+
+	/**
+	 * @return {@code /StructParents} value of the page or form XObject, which
+	 *         marked-content sequences of the stream belong to
+	 */
+	private static int getStructParents(org.apache.pdfbox.contentstream.PDContentStream contentStream) {
+		COSBase object = contentStream instanceof COSObjectable ?
+				((COSObjectable) contentStream).getCOSObject() : null;
+		return object instanceof COSDictionary && ((COSDictionary) object).containsKey(COSName.STRUCT_PARENTS) ?
+				((COSDictionary) object).getInt(COSName.STRUCT_PARENTS) : OperatorFactory.NO_STRUCT_PARENTS;
+	}
+
+	/**
+	 * @return tokens of this stream tokenized in background, taken from the
+	 *         pre-parser on first call, or {@code null} if the stream was not
+	 *         tokenized
+	 */
+	private List<Object> getPreParsedTokens() {
+		Supplier<List<Object>> source = this.preParsedTokens;
+		if (source != null) {
+			this.preParsedTokens = null;
+			this.tokens = source.get();
+		}
+		return this.tokens;
+	}
+
 	@Override
 	public String getundefinedResourceNames() {
-		return resources.getUndefinedResourceNames().stream()
+		// names are collected while the operators are built
+		getOperators();
+		return this.resources.getUndefinedResourceNames().stream()
 				.map(COSName::getName)
 				.collect(Collectors.joining(","));
 	}
 
 	@Override
 	public String getinheritedResourceNames() {
-		return resources.getInheritedResourceNames().stream()
+		getOperators();
+		return this.resources.getInheritedResourceNames().stream()
 				.map(COSName::getName)
 				.collect(Collectors.joining(","));
 	}
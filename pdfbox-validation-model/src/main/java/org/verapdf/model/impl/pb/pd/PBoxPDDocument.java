@@ -32,12 +32,15 @@ import org.apache.pdfbox.pdmodel.documentinterchange.logicalstructure.PDStructur
 import org.apache.pdfbox.pdmodel.graphics.optionalcontent.PDOptionalContentProperties;
 import org.apache.pdfbox.pdmodel.interactive.action.PDDocumentCatalogAdditionalActions;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.ModelParserConfig;
 import org.verapdf.model.coslayer.CosLang;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosLang;
 import org.verapdf.model.impl.pb.pd.actions.PBoxPDAction;
 import org.verapdf.model.impl.pb.pd.actions.PBoxPDCatalogAdditionalActions;
 import org.verapdf.model.impl.pb.pd.signatures.PBoxPDPerms;
 import org.verapdf.model.pdlayer.*;
+import org.verapdf.model.tools.ContentStreamPreParser;
 import org.verapdf.model.tools.OutlinesHelper;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -117,6 +120,7 @@ public class PBoxPDDocument extends PBoxPDObject implements PDDocument {
 
 	private final PDDocumentCatalog catalog;
 	private final PDFAFlavour flavour;
+	private final ValidationContext context;
 	private OutputIntents outputIntents = null;
 
 	/**
@@ -124,10 +128,11 @@ public class PBoxPDDocument extends PBoxPDObject implements PDDocument {
 	 *
 	 * @param document high level document representation
 	 */
-	public PBoxPDDocument(org.apache.pdfbox.pdmodel.PDDocument document, PDFAFlavour flavour) {
+	public PBoxPDDocument(org.apache.pdfbox.pdmodel.PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		super(document, PD_DOCUMENT_TYPE);
 		this.catalog = this.document.getDocumentCatalog();
 		this.flavour = flavour;
+		this.context = context;
 	}
 
 	@Override
@@ -172,7 +177,7 @@ public class PBoxPDDocument extends PBoxPDObject implements PDDocument {
 			case ACTIONS:
 				return this.getActions();
 			case PAGES:
-				return this.getPages();
+				return this.getPagesForValidation();
 			case METADATA:
 				return this.getMetadata();
 			case OUTPUT_INTENTS:
@@ -272,17 +277,36 @@ public class PBoxPDDocument extends PBoxPDObject implements PDDocument {
 		PDPageTree pageTree = this.document.getPages();
 		List<PDPage> pages = new ArrayList<>(pageTree.getCount());
 		for (org.apache.pdfbox.pdmodel.PDPage page : pageTree) {
-			pages.add(new PBoxPDPage(page, this.document, this.flavour));
+			pages.add(new PBoxPDPage(page, this.document, this.flavour, this.context));
 		}
 		return Collections.unmodifiableList(pages);
 	}
 
+	private List<PDPage> getPagesForValidation() {
+		List<PDPage> pages = getPages();
+		ModelParserConfig config = this.context.getConfig();
+		if (config.isContentStreamPreParsingEnabled() && !pages.isEmpty()) {
+			List<ContentStreamPreParser.PageContent> contents = new ArrayList<>(pages.size());
+			for (PDPage page : pages) {
+				contents.add(((PBoxPDPage) page)::readContentStream);
+			}
+			ContentStreamPreParser preParser = new ContentStreamPreParser(contents,
+					config.getPagesParsedAhead(), config.getBytesParsedAhead(), config.getContentStreamParsingPool());
+			for (int i = 0; i < pages.size(); i++) {
+				((PBoxPDPage) pages.get(i)).setContentStreamPreParser(preParser, i);
+			}
+			this.context.setContentStreamPreParser(preParser);
+			preParser.start();
+		}
+		return pages;
+	}
+
 	private List<PDMetadata> getMetadata() {
 		if (this.catalog != null) {
 			org.apache.pdfbox.pdmodel.common.PDMetadata meta = this.catalog.getMetadata();
 			if (meta != null && PBoxPDMetadata.isMetadataObject(meta.getCOSObject())) {
 				List<PDMetadata> metadata = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-				metadata.add(new PBoxPDMetadata(meta, Boolean.TRUE, this.document, this.flavour));
+				metadata.add(new PBoxPDMetadata(meta, Boolean.TRUE, this.document, this.flavour, this.context));
 				return Collections.unmodifiableList(metadata);
 			}
 		}
@@ -307,7 +331,7 @@ public class PBoxPDDocument extends PBoxPDObject implements PDDocument {
 			PDStructureTreeRoot root = this.catalog.getStructureTreeRoot();
 			if (root != null) {
 				List<PDStructTreeRoot> treeRoot = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-				treeRoot.add(new PBoxPDStructTreeRoot(root, this.flavour));
+				treeRoot.add(new PBoxPDStructTreeRoot(root, this.document, this.flavour, this.context));
 				return Collections.unmodifiableList(treeRoot);
 			}
 		}
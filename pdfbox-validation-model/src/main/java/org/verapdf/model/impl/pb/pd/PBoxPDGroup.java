@@ -24,6 +24,7 @@ import java.util.logging.Logger;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.model.pdlayer.PDGroup;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -46,12 +47,15 @@ public class PBoxPDGroup extends PBoxPDObject implements PDGroup {
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
+	private final ValidationContext context;
 
 	public PBoxPDGroup(
-			org.apache.pdfbox.pdmodel.graphics.form.PDGroup simplePDObject, PDDocument document, PDFAFlavour flavour) {
+			org.apache.pdfbox.pdmodel.graphics.form.PDGroup simplePDObject, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context) {
 		super(simplePDObject, GROUP_TYPE);
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
 	}
 
 	@Override
@@ -73,7 +77,7 @@ public class PBoxPDGroup extends PBoxPDObject implements PDGroup {
 		try {
 			org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace pbColorSpace =
 					((org.apache.pdfbox.pdmodel.graphics.form.PDGroup) this.simplePDObject).getColorSpace();
-			PDColorSpace colorSpace = ColorSpaceFactory.getColorSpace(pbColorSpace, this.document, this.flavour);
+			PDColorSpace colorSpace = ColorSpaceFactory.getColorSpace(pbColorSpace, this.document, this.flavour, this.context);
 			if (colorSpace != null) {
 				List<PDColorSpace> colorSpaces = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 				colorSpaces.add(colorSpace);
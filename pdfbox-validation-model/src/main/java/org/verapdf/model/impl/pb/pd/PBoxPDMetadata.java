@@ -20,6 +20,7 @@
  */
 package org.verapdf.model.impl.pb.pd;
 
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.xmp.XMPException;
 import org.verapdf.xmp.impl.VeraPDFMeta;
 import org.verapdf.xmp.impl.VeraPDFXMPNode;
@@ -57,9 +58,10 @@ public class PBoxPDMetadata extends PBoxPDObject implements PDMetadata {
 	private boolean isMainMetadata;
 	private org.apache.pdfbox.pdmodel.common.PDMetadata mainMetadata;
 	private PDFAFlavour flavour;
+	private ValidationContext context;
 
 	public PBoxPDMetadata(org.apache.pdfbox.pdmodel.common.PDMetadata simplePDObject, Boolean isMainMetadata,
-			PDDocument document, PDFAFlavour flavour) {
+			PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		super(simplePDObject, METADATA_TYPE);
 		this.isMainMetadata = isMainMetadata.booleanValue();
 		if (document != null && document.getDocumentCatalog() != null
@@ -69,6 +71,7 @@ public class PBoxPDMetadata extends PBoxPDObject implements PDMetadata {
 			this.mainMetadata = null;
 		}
 		this.flavour = flavour;
+		this.context = context;
 	}
 
 	@Override
@@ -131,7 +134,7 @@ public class PBoxPDMetadata extends PBoxPDObject implements PDMetadata {
 		COSStream stream = ((org.apache.pdfbox.pdmodel.common.PDMetadata) this.simplePDObject).getStream();
 		if (stream != null) {
 			List<CosStream> streams = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-			streams.add(new PBCosStream(stream, this.document, this.flavour));
+			streams.add(new PBCosStream(stream, this.document, this.flavour, this.context));
 			return Collections.unmodifiableList(streams);
 		}
 		return Collections.emptyList();
@@ -22,6 +22,7 @@ package org.verapdf.model.impl.pb.pd;
 
 import java.util.logging.Logger;
 import org.apache.pdfbox.cos.*;
+import org.apache.pdfbox.io.IOUtils;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPageTree;
 import org.apache.pdfbox.pdmodel.PDResources;
@@ -32,14 +33,17 @@ import org.apache.pdfbox.pdmodel.interactive.action.PDPageAdditionalActions;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosBBox;
-import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosBBox;
 import org.verapdf.model.impl.pb.pd.actions.PBoxPDPageAdditionalActions;
 import org.verapdf.model.pdlayer.*;
+import org.verapdf.model.tools.ContentStreamPreParser;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -89,23 +93,29 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 	public static final String PARENT_TRANSPARENCY_COLOR_SPACE = "parentTransparencyColorSpace";
 
 	private boolean containsTransparency = false;
-	private List<PDContentStream> contentStreams = null;
+	private volatile List<PDContentStream> contentStreams = null;
 	private OutputIntents outputIntents = null;
 	private List<PDAnnot> annotations = null;
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
+	private final ValidationContext context;
 	private final PDColorSpace blendingColorSpace;
 
+	private ContentStreamPreParser contentStreamPreParser = null;
+	private int pageIndex;
+
 	/**
 	 * Default constructor.
 	 *
 	 * @param simplePDObject Apache PDFBox page representation
 	 */
-	public PBoxPDPage(org.apache.pdfbox.pdmodel.PDPage simplePDObject, PDDocument document, PDFAFlavour flavour) {
+	public PBoxPDPage(org.apache.pdfbox.pdmodel.PDPage simplePDObject, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context) {
 		super((COSObjectable) simplePDObject, PAGE_TYPE);
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
 		this.blendingColorSpace = getBlendingColorSpace();
 	}
 
@@ -121,7 +131,7 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 
 	@Override
 	public Boolean getcontainsTransparency() {
-		StaticContainers.setCurrentTransparencyColorSpace(blendingColorSpace);
+		notifyContentStreamPreParser();
 		if (this.contentStreams == null) {
 			parseContentStream();
 		}
@@ -268,28 +278,84 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 			org.apache.pdfbox.pdmodel.graphics.form.PDGroup group =
 					new org.apache.pdfbox.pdmodel.graphics.form.PDGroup(
 							(COSDictionary) groupDictionary);
-			groups.add(new PBoxPDGroup(group, this.document, this.flavour));
+			groups.add(new PBoxPDGroup(group, this.document, this.flavour, this.context));
 			return Collections.unmodifiableList(groups);
 		}
 		return Collections.emptyList();
 	}
 
 	private List<PDContentStream> getContentStream() {
+		notifyContentStreamPreParser();
 		if (this.contentStreams == null) {
 			parseContentStream();
 		}
 		return this.contentStreams;
 	}
 
-	private void parseContentStream() {
-		this.contentStreams = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
+	/**
+	 * Sets pre-parser which tokenizes content stream of this page in
+	 * background.
+	 *
+	 * @param contentStreamPreParser pre-parser of document pages
+	 * @param pageIndex              index of this page in the document
+	 */
+	void setContentStreamPreParser(ContentStreamPreParser contentStreamPreParser, int pageIndex) {
+		this.contentStreamPreParser = contentStreamPreParser;
+		this.pageIndex = pageIndex;
+	}
+
+	/**
+	 * Copies encoded content of this page for the pre-parser. Called on the
+	 * thread validating the document, as reading resolves objects of the
+	 * document, while the copy is decoded by the pre-parser.
+	 *
+	 * @return stream detached from the document with encoded content of the
+	 *         page and its filters or {@code null} if the page has no content
+	 * @throws IOException if the content can not be read
+	 */
+	COSStream readContentStream() throws IOException {
+		COSStream stream = ((org.apache.pdfbox.pdmodel.PDPage) this.simplePDObject).getContentStream();
+		if (stream == null) {
+			return null;
+		}
+		COSStream copy = new COSStream(new COSDictionary());
+		copy.setItem(COSName.FILTER, stream.getDictionaryObject(COSName.FILTER));
+		copy.setItem(COSName.DECODE_PARMS, stream.getDictionaryObject(COSName.DECODE_PARMS, COSName.DP));
+		try (InputStream content = stream.getFilteredStream();
+			 OutputStream encoded = copy.createFilteredStream()) {
+			copy.setLong(COSName.LENGTH, IOUtils.copy(content, encoded));
+		} catch (IOException | RuntimeException e) {
+			copy.close();
+			throw e;
+		}
+		return copy;
+	}
+
+	private void notifyContentStreamPreParser() {
+		if (this.contentStreamPreParser != null) {
+			this.contentStreamPreParser.pageRequested(this.pageIndex);
+		}
+	}
+
+	private synchronized void parseContentStream() {
+		if (this.contentStreams != null) {
+			return;
+		}
+		List<PDContentStream> contentStreams = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 		org.apache.pdfbox.pdmodel.PDPage page =
 				(org.apache.pdfbox.pdmodel.PDPage) this.simplePDObject;
 		PDInheritableResources resources = PDInheritableResources
-				.getInstance(page.getInheritedResources(), page.getPageResources());
-		PBoxPDContentStream contentStream = new PBoxPDContentStream(page, resources, this.document, this.flavour);
+				.getInstance(page.getInheritedResources(), page.getPageResources(),
+						this.context.getResolvedResources());
+		PBoxPDContentStream contentStream = new PBoxPDContentStream(page, resources, this.document, this.flavour, this.context);
+		if (this.contentStreamPreParser != null) {
+			ContentStreamPreParser preParser = this.contentStreamPreParser;
+			int index = this.pageIndex;
+			contentStream.setPreParsedTokens(() -> preParser.getTokens(index));
+		}
 		contentStreams.add(contentStream);
-		this.containsTransparency = contentStream.isContainsTransparency();
+		this.containsTransparency |= contentStream.isContainsTransparency();
+		this.contentStreams = contentStreams;
 	}
 
 	private List<PDAdditionalActions> getActions() {
@@ -342,9 +408,13 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 				this.simplePDObject).getResources();
 		for (PDAnnotation annotation : pdfboxAnnotations) {
 			if (annotation != null) {
-				PBoxPDAnnot annot = PBoxPDAnnot.createAnnot(annotation, pageResources, this.document, this.flavour,
+				PBoxPDAnnot annot = PBoxPDAnnot.createAnnot(annotation, pageResources, this.document, this.flavour, this.context,
 				                                            (org.apache.pdfbox.pdmodel.PDPage) this.simplePDObject);
-				this.containsTransparency |= annot.isContainsTransparency();
+				if (annot.isContainsTransparency()) {
+					synchronized (this) {
+						this.containsTransparency = true;
+					}
+				}
 				annotations.add(annot);
 			}
 		}
@@ -374,7 +444,7 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 		COSBase array = PDPageTree.getInheritableAttribute((COSDictionary) this.simplePDObject.getCOSObject(), key);
 		if (array instanceof COSArray) {
 			ArrayList<CosBBox> list = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-			list.add(new PBCosBBox((COSArray) array, this.document, this.flavour));
+			list.add(new PBCosBBox((COSArray) array, this.document, this.flavour, this.context));
 			return Collections.unmodifiableList(list);
 		}
 		return Collections.emptyList();
@@ -412,7 +482,6 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 		if (blendingColorSpace != null) {
 			List<TransparencyColorSpace> parentXFormTransparencyGroup = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 			parentXFormTransparencyGroup.add(new PBoxTransparencyColorSpace(null));
-			StaticContainers.setCurrentTransparencyColorSpace(blendingColorSpace);
 			return Collections.unmodifiableList(parentXFormTransparencyGroup);
 		}
 		return Collections.emptyList();
@@ -39,6 +39,7 @@ import org.verapdf.model.impl.pb.cos.PBCosLang;
 import org.verapdf.model.impl.pb.cos.PBCosUnicodeName;
 import org.verapdf.model.pdlayer.PDStructElem;
 import org.verapdf.model.impl.pb.exceptions.LoopedException;
+import org.verapdf.model.tools.StructureTreeIndex;
 import org.verapdf.model.tools.TaggedPDFHelper;
 import org.verapdf.model.tools.TaggedPDFRoleMapHelper;
 
@@ -83,7 +84,7 @@ public class PBoxPDStructElem extends PBoxPDObject implements PDStructElem {
 	public static final String ACTUAL_TEXT = "actualText";
 	public static final String ALT = "alt";
 
-	private TaggedPDFRoleMapHelper roleMapHelper;
+	protected final TaggedPDFRoleMapHelper roleMapHelper;
 
 	/**
 	 * Default constructor
@@ -98,6 +99,11 @@ public class PBoxPDStructElem extends PBoxPDObject implements PDStructElem {
 
 	@Override
 	public String getkidsStandardTypes() {
+		StructureTreeIndex index = TaggedPDFHelper.getStructureTreeIndex(this.roleMapHelper);
+		int node = index != null ? index.getNode((COSDictionary) this.simplePDObject) : StructureTreeIndex.NONE;
+		if (node != StructureTreeIndex.NONE) {
+			return index.getKidsStandardTypes(node);
+		}
 		return this.getChildrenStandardTypes()
 		           .stream()
 		           .filter(Objects::nonNull)
@@ -171,6 +177,11 @@ public class PBoxPDStructElem extends PBoxPDObject implements PDStructElem {
 
 	@Override
 	public String getparentLang() {
+		StructureTreeIndex index = TaggedPDFHelper.getStructureTreeIndex(this.roleMapHelper);
+		int node = index != null ? index.getNode((COSDictionary) this.simplePDObject) : StructureTreeIndex.NONE;
+		if (node != StructureTreeIndex.NONE && index.isParentLangResolved(node)) {
+			return index.getParentLang(node);
+		}
 		COSDictionary parentDict = (COSDictionary)((COSDictionary) this.simplePDObject).getDictionaryObject(COSName.P);
 		if (parentDict == null) {
 			return null;
@@ -24,12 +24,15 @@ import org.apache.pdfbox.cos.COSArray;
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.cos.COSDictionary;
 import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.documentinterchange.logicalstructure.PDStructureTreeRoot;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosUnicodeName;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosUnicodeName;
 import org.verapdf.model.pdlayer.PDStructElem;
 import org.verapdf.model.pdlayer.PDStructTreeRoot;
+import org.verapdf.model.tools.StructureTreeIndex;
 import org.verapdf.model.tools.TaggedPDFHelper;
 import org.verapdf.model.tools.TaggedPDFRoleMapHelper;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -57,6 +60,7 @@ public class PBoxPDStructTreeRoot extends PBoxPDObject implements PDStructTreeRo
 	private List<PDStructElem> children = null;
 
 	private PDFAFlavour flavour;
+	private ValidationContext context;
 
 	/**
 	 * Default constructor
@@ -64,9 +68,12 @@ public class PBoxPDStructTreeRoot extends PBoxPDObject implements PDStructTreeRo
 	 * @param treeRoot
 	 *            structure tree root implementation
 	 */
-	public PBoxPDStructTreeRoot(PDStructureTreeRoot treeRoot, PDFAFlavour flavour) {
+	public PBoxPDStructTreeRoot(PDStructureTreeRoot treeRoot, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context) {
 		super(treeRoot, STRUCT_TREE_ROOT_TYPE);
+		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
 	}
 
 	@Override
@@ -117,8 +124,9 @@ public class PBoxPDStructTreeRoot extends PBoxPDObject implements PDStructTreeRo
 
 	private List<PDStructElem> parseChildren() {
 		COSDictionary parent = ((PDStructureTreeRoot) this.simplePDObject).getCOSObject();
-		return TaggedPDFHelper.getStructTreeRootChildren(parent,
-		                                                 new TaggedPDFRoleMapHelper(getRoleMap(), this.flavour));
+		TaggedPDFRoleMapHelper roleMapHelper = new TaggedPDFRoleMapHelper(getRoleMap(), this.flavour, this.context);
+		this.context.setStructureTreeIndex(StructureTreeIndex.build(parent, roleMapHelper));
+		return TaggedPDFHelper.getStructTreeRootChildren(parent, roleMapHelper);
 	}
 
 	private Map<String, String> getRoleMap() {
@@ -2,7 +2,6 @@ package org.verapdf.model.impl.pb.pd;
 
 import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
 import org.verapdf.model.GenericModelObject;
-import org.verapdf.model.impl.pb.containers.StaticContainers;
 import org.verapdf.model.pdlayer.TransparencyColorSpace;
 
 public class PBoxTransparencyColorSpace extends GenericModelObject implements TransparencyColorSpace {
@@ -22,7 +21,6 @@ public class PBoxTransparencyColorSpace extends GenericModelObject implements Tr
 
     @Override
     public String getcolorSpaceType() {
-        StaticContainers.setCurrentTransparencyColorSpace(colorSpace);
         if (colorSpace == null) {
             return null;
         }
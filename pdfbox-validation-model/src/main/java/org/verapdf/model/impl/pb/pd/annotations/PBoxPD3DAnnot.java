@@ -29,6 +29,7 @@ import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPD3DStream;
 import org.verapdf.model.impl.pb.pd.PBoxPDAnnot;
 import org.verapdf.model.pdlayer.PD3DAnnot;
@@ -52,8 +53,9 @@ public class PBoxPD3DAnnot extends PBoxPDAnnot implements PD3DAnnot {
 	public static final COSName key3DD = COSName.getPDFName("3DD");
 	public static final COSName key3D = COSName.getPDFName("3D");
 
-	public PBoxPD3DAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour, PDPage pdPage) {
-		super(annot, pageResources, document, flavour, ANNOTATION_3D_TYPE, pdPage);
+	public PBoxPD3DAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context, PDPage pdPage) {
+		super(annot, pageResources, document, flavour, context, ANNOTATION_3D_TYPE, pdPage);
 	}
 
 	private List<PD3DStream> get3DStream() {
@@ -73,7 +75,7 @@ public class PBoxPD3DAnnot extends PBoxPDAnnot implements PD3DAnnot {
 			}
 		if (stream != null) {
 			List<PD3DStream> streams = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-			streams.add(new PBoxPD3DStream(stream, this.getPageResources()));
+			streams.add(new PBoxPD3DStream(stream, this.getPageResources(), this.getContext()));
 			return streams;
 		}
 		return Collections.emptyList();
@@ -25,6 +25,7 @@ import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDAnnot;
 import org.verapdf.model.pdlayer.PDLinkAnnot;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -41,8 +42,9 @@ public class PBoxPDLinkAnnot extends PBoxPDAnnot implements PDLinkAnnot {
 
 	public static final String DEST = "Dest";
 
-	public PBoxPDLinkAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour, PDPage pdPage) {
-		super(annot, pageResources, document, flavour, LINK_ANNOTATION_TYPE, pdPage);
+	public PBoxPDLinkAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context, PDPage pdPage) {
+		super(annot, pageResources, document, flavour, context, LINK_ANNOTATION_TYPE, pdPage);
 	}
 
 	@Override
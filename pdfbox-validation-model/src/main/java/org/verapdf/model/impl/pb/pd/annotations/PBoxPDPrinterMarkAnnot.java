@@ -24,6 +24,7 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDAnnot;
 import org.verapdf.model.pdlayer.PDPrinterMarkAnnot;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -35,8 +36,9 @@ public class PBoxPDPrinterMarkAnnot extends PBoxPDAnnot implements PDPrinterMark
 
 	public static final String PRINTER_MARK_ANNOTATION_TYPE = "PDPrinterMarkAnnot";
 
-	public PBoxPDPrinterMarkAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour, PDPage pdPage) {
-		super(annot, pageResources, document, flavour, PRINTER_MARK_ANNOTATION_TYPE, pdPage);
+	public PBoxPDPrinterMarkAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context, PDPage pdPage) {
+		super(annot, pageResources, document, flavour, context, PRINTER_MARK_ANNOTATION_TYPE, pdPage);
 	}
 
 }
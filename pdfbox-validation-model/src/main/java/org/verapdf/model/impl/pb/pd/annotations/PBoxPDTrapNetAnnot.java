@@ -24,6 +24,7 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDAnnot;
 import org.verapdf.model.pdlayer.PDTrapNetAnnot;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -35,8 +36,9 @@ public class PBoxPDTrapNetAnnot extends PBoxPDAnnot implements PDTrapNetAnnot {
 
 	public static final String TRAP_NET_ANNOTATION_TYPE = "PDTrapNetAnnot";
 
-	public PBoxPDTrapNetAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour, PDPage pdPage) {
-		super(annot, pageResources, document, flavour, TRAP_NET_ANNOTATION_TYPE, pdPage);
+	public PBoxPDTrapNetAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context, PDPage pdPage) {
+		super(annot, pageResources, document, flavour, context, TRAP_NET_ANNOTATION_TYPE, pdPage);
 	}
 
 }
@@ -28,6 +28,7 @@ import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.interactive.action.PDAnnotationAdditionalActions;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDAnnot;
 import org.verapdf.model.impl.pb.pd.actions.PBoxPDWidgetAdditionalActions;
 import org.verapdf.model.pdlayer.PDAdditionalActions;
@@ -45,8 +46,9 @@ public class PBoxPDWidgetAnnot extends PBoxPDAnnot implements PDWidgetAnnot {
 
 	public static final String WIDGET_ANNOTATION_TYPE = "PDWidgetAnnot";
 
-	public PBoxPDWidgetAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour, PDPage pdPage) {
-		super(annot, pageResources, document, flavour, WIDGET_ANNOTATION_TYPE, pdPage);
+	public PBoxPDWidgetAnnot(PDAnnotation annot, PDResources pageResources, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context, PDPage pdPage) {
+		super(annot, pageResources, document, flavour, context, WIDGET_ANNOTATION_TYPE, pdPage);
 	}
 
 	@Override
@@ -31,6 +31,7 @@ import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceNProcess;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosUnicodeName;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosUnicodeName;
 import org.verapdf.model.impl.pb.pd.functions.PBoxPDFunction;
 import org.verapdf.model.pdlayer.PDColorSpace;
@@ -75,13 +76,16 @@ public class PBoxPDDeviceN extends PBoxPDColorSpace implements PDDeviceN {
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
+	private final ValidationContext context;
 
 	public PBoxPDDeviceN(
-			org.apache.pdfbox.pdmodel.graphics.color.PDDeviceN simplePDObject, PDDocument document, PDFAFlavour flavour) {
+			org.apache.pdfbox.pdmodel.graphics.color.PDDeviceN simplePDObject, PDDocument document, PDFAFlavour flavour,
+			ValidationContext context) {
 		super(simplePDObject, DEVICE_N_TYPE);
 		this.areColorantsPresent = PBoxPDDeviceN.areColorantsPresent(simplePDObject);
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
 	}
 
 	private static boolean areColorantsPresent(
@@ -152,7 +156,7 @@ public class PBoxPDDeviceN extends PBoxPDColorSpace implements PDDeviceN {
 			org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace colorSpace = process.getColorSpace();
 			if (colorSpace != null) {
 				return Collections.singletonList(
-						ColorSpaceFactory.getColorSpace(colorSpace, this.document, this.flavour));
+						ColorSpaceFactory.getColorSpace(colorSpace, this.document, this.flavour, this.context));
 			}
 		} catch (IOException e) {
 			LOGGER.log(java.util.logging.Level.INFO, "Problems with process color space obtain in PDDeviceN. " + e.getMessage());
@@ -166,7 +170,7 @@ public class PBoxPDDeviceN extends PBoxPDColorSpace implements PDDeviceN {
 			org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace alternateColorSpace =
 					((org.apache.pdfbox.pdmodel.graphics.color.PDDeviceN) this.simplePDObject)
 							.getAlternateColorSpace();
-			PDColorSpace space = ColorSpaceFactory.getColorSpace(alternateColorSpace, this.document, this.flavour);
+			PDColorSpace space = ColorSpaceFactory.getColorSpace(alternateColorSpace, this.document, this.flavour, this.context);
 			if (space != null) {
 				List<PDColorSpace> colorSpace = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 				colorSpace.add(space);
@@ -213,7 +217,8 @@ public class PBoxPDDeviceN extends PBoxPDColorSpace implements PDDeviceN {
 				org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace colorSpace =
 						org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace.create(value);
 				if (colorSpace instanceof org.apache.pdfbox.pdmodel.graphics.color.PDSeparation) {
-					list.add((PBoxPDSeparation) ColorSpaceFactory.getColorSpace(colorSpace, this.document, this.flavour));
+					list.add((PBoxPDSeparation) ColorSpaceFactory.getColorSpace(colorSpace, this.document, this.flavour,
+							this.context));
 				}
 			} catch (IOException e) {
 				LOGGER.log(java.util.logging.Level.INFO, "Problems with color space obtain. " + e.getMessage());
@@ -23,6 +23,7 @@ package org.verapdf.model.impl.pb.pd.colors;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.model.pdlayer.PDIndexed;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -42,12 +43,15 @@ public class PBoxPDIndexed extends PBoxPDColorSpace implements PDIndexed {
 
     private final PDDocument document;
     private final PDFAFlavour flavour;
+    private final ValidationContext context;
 
     public PBoxPDIndexed(
-            org.apache.pdfbox.pdmodel.graphics.color.PDIndexed simplePDObject, PDDocument document, PDFAFlavour flavour) {
+            org.apache.pdfbox.pdmodel.graphics.color.PDIndexed simplePDObject, PDDocument document, PDFAFlavour flavour,
+            ValidationContext context) {
         super(simplePDObject, INDEXED_TYPE);
         this.document = document;
         this.flavour = flavour;
+        this.context = context;
     }
 
     @Override
@@ -62,7 +66,7 @@ public class PBoxPDIndexed extends PBoxPDColorSpace implements PDIndexed {
         org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace baseColorSpace =
 				((org.apache.pdfbox.pdmodel.graphics.color.PDIndexed) this.simplePDObject)
                 .getBaseColorSpace();
-        PDColorSpace colorSpace = ColorSpaceFactory.getColorSpace(baseColorSpace, this.document, this.flavour);
+        PDColorSpace colorSpace = ColorSpaceFactory.getColorSpace(baseColorSpace, this.document, this.flavour, this.context);
         if (colorSpace != null) {
 			List<PDColorSpace> base = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 			base.add(colorSpace);
@@ -29,7 +29,7 @@ import org.apache.pdfbox.pdmodel.graphics.color.PDSeparation;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosUnicodeName;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
-import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosUnicodeName;
 import org.verapdf.model.impl.pb.pd.functions.PBoxPDFunction;
 import org.verapdf.model.pdlayer.PDColorSpace;
@@ -38,6 +38,7 @@ import org.verapdf.pdfa.flavours.PDFAFlavour;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Separation color space
@@ -56,24 +57,21 @@ public class PBoxPDSeparation extends PBoxPDColorSpace implements org.verapdf.mo
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
+	private final ValidationContext context;
 
 	private COSArray colorSpace;
 
 	public PBoxPDSeparation(
-			PDSeparation simplePDObject, PDDocument document, PDFAFlavour flavour) {
+			PDSeparation simplePDObject, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		super(simplePDObject, SEPARATION_TYPE);
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
 
 		this.colorSpace = (COSArray) simplePDObject.getCOSObject();
 
-		if (StaticContainers.getSeparations().containsKey(simplePDObject.getColorantName())) {
-			StaticContainers.getSeparations().get(simplePDObject.getColorantName()).add(this);
-		} else {
-			final List<PBoxPDSeparation> separationList = new ArrayList<>();
-			separationList.add(this);
-			StaticContainers.getSeparations().put(simplePDObject.getColorantName(), separationList);
-		}
+		this.context.getSeparations().computeIfAbsent(simplePDObject.getColorantName(),
+				name -> new CopyOnWriteArrayList<>()).add(this);
 	}
 
 	@Override
@@ -92,12 +90,12 @@ public class PBoxPDSeparation extends PBoxPDColorSpace implements org.verapdf.mo
 	public Boolean getareTintAndAlternateConsistent() {
 		String name = ((PDSeparation) simplePDObject).getColorantName();
 
-		if (StaticContainers.getInconsistentSeparations().contains(name)) {
+		if (this.context.getInconsistentSeparations().contains(name)) {
 			return Boolean.FALSE;
 		}
 
-		if (StaticContainers.getSeparations().get(name).size() > 1) {
-			for (PBoxPDSeparation pBoxPDSeparation : StaticContainers.getSeparations().get(name)) {
+		if (this.context.getSeparations().get(name).size() > 1) {
+			for (PBoxPDSeparation pBoxPDSeparation : this.context.getSeparations().get(name)) {
 				if (pBoxPDSeparation.equals(this)) {
 					continue;
 				}
@@ -110,7 +108,7 @@ public class PBoxPDSeparation extends PBoxPDColorSpace implements org.verapdf.mo
 				COSBase tintTransformCurrent = unwrapObject(colorSpace.get(3));
 
 				if (!alternateSpaceToCompare.equals(alternateSpaceCurrent) || !tintTransformToCompare.equals(tintTransformCurrent)) {
-					StaticContainers.getInconsistentSeparations().add(name);
+					this.context.getInconsistentSeparations().add(name);
 					return Boolean.FALSE;
 				}
 			}
@@ -147,7 +145,7 @@ public class PBoxPDSeparation extends PBoxPDColorSpace implements org.verapdf.mo
 		org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace space =
 				((org.apache.pdfbox.pdmodel.graphics.color.PDSeparation) this.simplePDObject)
 						.getAlternateColorSpace();
-		PDColorSpace currentSpace = ColorSpaceFactory.getColorSpace(space, this.document, this.flavour);
+		PDColorSpace currentSpace = ColorSpaceFactory.getColorSpace(space, this.document, this.flavour, this.context);
 		if (currentSpace != null) {
 			List<PDColorSpace> colorSpace = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 			colorSpace.add(currentSpace);
@@ -53,6 +53,8 @@ public class PBoxPDCIDFont extends PBoxPDFont implements PDCIDFont {
 	private final PDDocument pdDocument;
 	private final PDFAFlavour flavour;
 
+	private volatile Boolean cidSetListsAllGlyphs = null;
+
 	public static final String CID_FONT_TYPE = "PDCIDFont";
 
 	public static final String IDENTITY = "Identity";
@@ -84,6 +86,13 @@ public class PBoxPDCIDFont extends PBoxPDFont implements PDCIDFont {
 
 	@Override
 	public Boolean getcidSetListsAllGlyphs() {
+		if (this.cidSetListsAllGlyphs == null) {
+			this.cidSetListsAllGlyphs = checkCIDSet();
+		}
+		return this.cidSetListsAllGlyphs;
+	}
+
+	private Boolean checkCIDSet() {
 			PDStream cidSet = getCIDSetStream();
 			if (cidSet == null) {
 				return Boolean.TRUE;
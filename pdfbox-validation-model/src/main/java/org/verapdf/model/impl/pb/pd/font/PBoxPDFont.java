@@ -51,6 +51,8 @@ public abstract class PBoxPDFont extends PBoxPDResource implements PDFont {
 
 	protected final RenderingMode renderingMode;
 	private final String id;
+	// font program is shared by all users of the font, see FontFactory
+	private volatile List<FontProgram> fontFile = null;
 
 	protected PBoxPDFont(PDFontLike font, RenderingMode renderingMode, final String type) {
 		super(font, type);
@@ -133,16 +135,17 @@ public abstract class PBoxPDFont extends PBoxPDResource implements PDFont {
 	}
 
 	private List<FontProgram> getFontFile() {
-		FontProgram fontProgram = getFontProgram();
-		if (fontProgram != null) {
-			return PBoxPDFont.getFontProgramList(fontProgram);
+		if (this.fontFile == null) {
+			FontProgram fontProgram = getFontProgram();
+			this.fontFile = fontProgram != null ?
+					PBoxPDFont.getFontProgramList(fontProgram) : Collections.<FontProgram>emptyList();
 		}
-		return Collections.emptyList();
+		return this.fontFile;
 	}
 
 	@Override
 	public Boolean getcontainsFontFile() {
-		return getFontProgram() != null;
+		return Boolean.valueOf(!getFontFile().isEmpty());
 	}
 	
 	private FontProgram getFontProgram() {
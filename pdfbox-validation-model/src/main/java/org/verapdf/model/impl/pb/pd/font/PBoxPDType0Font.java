@@ -52,6 +52,8 @@ public class PBoxPDType0Font extends PBoxPDFont implements PDType0Font {
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
 
+	private volatile List<PDCIDFont> descendantFonts = null;
+
 	public PBoxPDType0Font(PDFontLike font, RenderingMode renderingMode, PDDocument document, PDFAFlavour flavour) {
 	    super(font, renderingMode, TYPE_0_FONT_TYPE);
 		this.document = document;
@@ -128,6 +130,13 @@ public class PBoxPDType0Font extends PBoxPDFont implements PDType0Font {
 	}
 
     private List<PDCIDFont> getDescendantFonts() {
+		if (this.descendantFonts == null) {
+			this.descendantFonts = parseDescendantFonts();
+		}
+		return this.descendantFonts;
+	}
+
+    private List<PDCIDFont> parseDescendantFonts() {
         org.apache.pdfbox.pdmodel.font.PDCIDFont pdcidFont =
 				((org.apache.pdfbox.pdmodel.font.PDType0Font) this.pdFontLike)
                 .getDescendantFont();
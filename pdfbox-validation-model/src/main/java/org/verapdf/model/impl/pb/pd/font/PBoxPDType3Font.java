@@ -29,6 +29,7 @@ import org.apache.pdfbox.pdmodel.font.PDType3CharProc;
 import org.apache.pdfbox.pdmodel.font.encoding.Encoding;
 import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDContentStream;
 import org.verapdf.model.pdlayer.PDContentStream;
 import org.verapdf.model.pdlayer.PDType3Font;
@@ -50,15 +51,17 @@ public class PBoxPDType3Font extends PBoxPDSimpleFont implements PDType3Font {
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
+	private final ValidationContext context;
 
-	private Map<String, PDContentStream> charStrings = null;
+	private volatile Map<String, PDContentStream> charStrings = null;
 
 	public PBoxPDType3Font(PDFontLike font, RenderingMode renderingMode, PDInheritableResources resources,
-			PDDocument document, PDFAFlavour flavour) {
+			PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		super(font, renderingMode, TYPE3_FONT_TYPE);
 		this.resources = resources;
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
 	}
 
 	@Override
@@ -101,7 +104,7 @@ public class PBoxPDType3Font extends PBoxPDSimpleFont implements PDType3Font {
 				PDType3CharProc charProc = ((org.apache.pdfbox.pdmodel.font.PDType3Font) this.pdFontLike)
 						.getCharProc(cosName);
 				PBoxPDContentStream pdContentStream = new PBoxPDContentStream(charProc, this.resources, this.document,
-						this.flavour);
+						this.flavour, this.context);
 				map.put(cosName.getName(), pdContentStream);
 			}
 			this.charStrings = Collections.unmodifiableMap(map);
@@ -30,6 +30,7 @@ import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosIIFilter;
 import org.verapdf.model.coslayer.CosRenderingIntent;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosIIFilter;
 import org.verapdf.model.impl.pb.cos.PBCosRenderingIntent;
 import org.verapdf.model.impl.pb.pd.PBoxPDObject;
@@ -55,11 +56,14 @@ public class PBoxPDInlineImage extends PBoxPDObject implements PDInlineImage {
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
+	private final ValidationContext context;
 
-	public PBoxPDInlineImage(org.apache.pdfbox.pdmodel.graphics.image.PDInlineImage simplePDObject, PDDocument document, PDFAFlavour flavour) {
+	public PBoxPDInlineImage(org.apache.pdfbox.pdmodel.graphics.image.PDInlineImage simplePDObject,
+			PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		super(simplePDObject, INLINE_IMAGE_TYPE);
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
 	}
 
 	@Override
@@ -145,7 +149,7 @@ public class PBoxPDInlineImage extends PBoxPDObject implements PDInlineImage {
 		try {
 			PDColorSpace buffer = ColorSpaceFactory
 					.getColorSpace(((PDImage) this.simplePDObject)
-							.getColorSpace(), this.document, this.flavour);
+							.getColorSpace(), this.document, this.flavour, this.context);
 			if (buffer != null) {
 				List<PDColorSpace> colorSpaces =
 						new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
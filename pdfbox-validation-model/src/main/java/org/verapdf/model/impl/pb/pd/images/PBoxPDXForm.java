@@ -28,7 +28,7 @@ import org.apache.pdfbox.cos.COSObjectKey;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.verapdf.model.baselayer.Object;
-import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDContentStream;
 import org.verapdf.model.impl.pb.pd.PBoxPDGroup;
 import org.verapdf.model.pdlayer.PDContentStream;
@@ -54,14 +54,16 @@ public class PBoxPDXForm extends PBoxPDXObject implements PDXForm {
 	public static final String TRANSPARENCY_COLOR_SPACE = "transparencyColorSpace";
 	public static final String PARENT_TRANSPARENCY_COLOR_SPACE = "parentTransparencyColorSpace";
 
+	private static final COSName STRUCT_PARENT = COSName.getPDFName("StructParent");
+
 	private List<PDContentStream> contentStreams = null;
 	private List<PDGroup> groups = null;
 	private boolean groupContainsTransparency = false;
 	private boolean contentStreamContainsTransparency = false;
 
 	public PBoxPDXForm(PDFormXObject simplePDObject, PDInheritableResources resources, PDDocument document,
-			PDFAFlavour flavour) {
-		super(simplePDObject, resources, X_FORM_TYPE, document, flavour);
+			PDFAFlavour flavour, ValidationContext context) {
+		super(simplePDObject, resources, X_FORM_TYPE, document, flavour, context);
 	}
 
 	@Override
@@ -107,14 +109,24 @@ public class PBoxPDXForm extends PBoxPDXObject implements PDXForm {
 		if (key == null) {
 			return true;
 		}
-		if (StaticContainers.getXFormKeysSet().contains(key)) {
-			return false;
-		}
-		StaticContainers.getXFormKeysSet().add(key);
-		return true;
+		return this.context.getXFormKeysSet().add(key);
 
 	}
 
+	/**
+	 * @return structure element of the form XObject, found in the parent tree
+	 *         of the document by its {@code /StructParent} entry, or
+	 *         {@code null} if there is none
+	 */
+	public COSDictionary getStructParent() {
+		COSBase pageObject = this.simplePDObject.getCOSObject();
+		if (pageObject instanceof COSDictionary && ((COSDictionary) pageObject).containsKey(STRUCT_PARENT)) {
+			return this.context.getParentTreeIndex().getStructParent(
+					((COSDictionary) pageObject).getInt(STRUCT_PARENT));
+		}
+		return null;
+	}
+
 	@Override
 	public List<? extends Object> getLinkedObjects(String link) {
 		switch (link) {
@@ -150,7 +162,7 @@ public class PBoxPDXForm extends PBoxPDXObject implements PDXForm {
 		if (group != null) {
 			this.groupContainsTransparency = COSName.TRANSPARENCY.equals(group.getSubType());
 			List<PDGroup> groupsToAdd = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-			groupsToAdd.add(new PBoxPDGroup(group, this.document, this.flavour));
+			groupsToAdd.add(new PBoxPDGroup(group, this.document, this.flavour, this.context));
 			this.groups = Collections.unmodifiableList(groupsToAdd);
 		} else {
 			this.groups = Collections.emptyList();
@@ -160,7 +172,7 @@ public class PBoxPDXForm extends PBoxPDXObject implements PDXForm {
 	private void parseContentStream() {
 		List<PDContentStream> streams = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 		PBoxPDContentStream pdContentStream = new PBoxPDContentStream((PDFormXObject) this.simplePDObject,
-				this.resources, this.document, this.flavour);
+				this.resources, this.document, this.flavour, this.context, true);
 		this.contentStreamContainsTransparency = pdContentStream.isContainsTransparency();
 		streams.add(pdContentStream);
 		this.contentStreams = streams;
@@ -31,6 +31,7 @@ import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosRenderingIntent;
 import org.verapdf.model.external.JPEG2000;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosRenderingIntent;
 import org.verapdf.model.impl.pb.external.PBoxJPEG2000;
 import org.verapdf.model.pdlayer.PDColorSpace;
@@ -66,13 +67,13 @@ public class PBoxPDXImage extends PBoxPDXObject implements PDXImage {
 	private PDColorSpace colorSpaceFromImage = null;
 
 	public PBoxPDXImage(PDImageXObjectProxy simplePDObject, PDInheritableResources resources,
-						PDDocument document, PDFAFlavour flavour) {
-		this(simplePDObject, resources, X_IMAGE_TYPE, document, flavour);
+						PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+		this(simplePDObject, resources, X_IMAGE_TYPE, document, flavour, context);
 	}
 
 	protected PBoxPDXImage(PDImageXObjectProxy simplePDObject, PDInheritableResources resources,
-						   String type, PDDocument document, PDFAFlavour flavour) {
-		super(simplePDObject, resources, type, document, flavour);
+						   String type, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+		super(simplePDObject, resources, type, document, flavour, context);
 		this.interpolate = simplePDObject.getInterpolate();
 	}
 
@@ -146,7 +147,7 @@ public class PBoxPDXImage extends PBoxPDXObject implements PDXImage {
 		org.apache.pdfbox.pdmodel.graphics.PDXObject pbObject = org.apache.pdfbox.pdmodel.graphics.PDXObject
 				.createXObject(smaskDictionary, nameAsString, resourcesLocal);
 		if (pbObject instanceof PDImageXObjectProxy) {
-			return new PBoxPDSMaskImage((PDImageXObjectProxy) pbObject, resources, document, flavour);
+			return new PBoxPDSMaskImage((PDImageXObjectProxy) pbObject, resources, document, flavour, context);
 		}
 		LOGGER.log(java.util.logging.Level.INFO, "SMask object is not an Image XObject");
 		return null;
@@ -171,7 +172,7 @@ public class PBoxPDXImage extends PBoxPDXObject implements PDXImage {
 		if (!image.isStencil()) {
 			try {
 				PDColorSpace buffer = ColorSpaceFactory.getColorSpace(image.getColorSpace(),
-						null, resources, 0, false, this.document, this.flavour);
+						null, resources, 0, false, this.document, this.flavour, this.context);
 				if (buffer == null) {
 					buffer = this.colorSpaceFromImage;
 				}
@@ -218,7 +219,7 @@ public class PBoxPDXImage extends PBoxPDXObject implements PDXImage {
 
 			final PDStream stream = new PDStream((COSStream) alternatesImages);
 			PDImageXObjectProxy imageXObject = new PDImageXObjectProxy(stream, resourcesToAdd);
-			alternates.add(new PBoxPDXImage(imageXObject, resources, this.document, this.flavour));
+			alternates.add(new PBoxPDXImage(imageXObject, resources, this.document, this.flavour, this.context));
 		}
 	}
 
@@ -238,7 +239,7 @@ public class PBoxPDXImage extends PBoxPDXObject implements PDXImage {
 				// encoded
 				try (InputStream image = stream.getStream().getFilteredStream()) {
 					ArrayList<JPEG2000> list = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-					PBoxJPEG2000 jpeg2000 = PBoxJPEG2000.fromStream(image, this.document, this.flavour);
+					PBoxJPEG2000 jpeg2000 = PBoxJPEG2000.fromStream(image, this.document, this.flavour, this.context);
 					this.colorSpaceFromImage = jpeg2000.getImageColorSpace();
 					list.add(jpeg2000);
 					return Collections.unmodifiableList(list);
@@ -262,14 +263,7 @@ public class PBoxPDXImage extends PBoxPDXObject implements PDXImage {
 		COSBase base = this.simplePDObject.getCOSObject();
 		if (base instanceof COSStream) {
 			try (COSStream stream = (COSStream) base) {
-				if (stream.getDictionaryObject(COSName.SMASK) instanceof COSStream) {
-					return true;
-				}
-
-				COSBase sMaskInData = stream.getDictionaryObject(COSName.getPDFName("SMaskInData"));
-				if (sMaskInData instanceof COSNumber) {
-					return ((COSNumber) sMaskInData).doubleValue() > 0;
-				}
+				return containsTransparency(stream);
 			} catch (IOException excep) {
 				// TODO Auto-generated catch block
 				excep.printStackTrace();
@@ -278,4 +272,21 @@ public class PBoxPDXImage extends PBoxPDXObject implements PDXImage {
 
 		return false;
 	}
+
+	/**
+	 * @param image stream of an image XObject
+	 * @return true if the image contains SMask value of type stream or
+	 *         SMaskInData value greater then 0
+	 */
+	public static boolean containsTransparency(COSStream image) {
+		if (image.getDictionaryObject(COSName.SMASK) instanceof COSStream) {
+			return true;
+		}
+
+		COSBase sMaskInData = image.getDictionaryObject(COSName.getPDFName("SMaskInData"));
+		if (sMaskInData instanceof COSNumber) {
+			return ((COSNumber) sMaskInData).doubleValue() > 0;
+		}
+		return false;
+	}
 }
@@ -29,6 +29,7 @@ import org.apache.pdfbox.pdmodel.graphics.PDPostScriptXObject;
 import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObjectProxy;
 import org.verapdf.model.coslayer.CosDict;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosDict;
 import org.verapdf.model.impl.pb.pd.PBoxPDResource;
 import org.verapdf.model.pdlayer.PDXObject;
@@ -46,6 +47,7 @@ public class PBoxPDXObject extends PBoxPDResource implements PDXObject {
 
 	protected final PDDocument document;
 	protected final PDFAFlavour flavour;
+	protected final ValidationContext context;
 
 	public static final String X_OBJECT_TYPE = "PDXObject";
 
@@ -55,17 +57,18 @@ public class PBoxPDXObject extends PBoxPDResource implements PDXObject {
 	private final String subtype;
 
 	public PBoxPDXObject(org.apache.pdfbox.pdmodel.graphics.PDXObject simplePDObject, PDDocument document,
-			PDFAFlavour flavour) {
-		this(simplePDObject, PDInheritableResources.EMPTY_EXTENDED_RESOURCES, X_OBJECT_TYPE, document, flavour);
+			PDFAFlavour flavour, ValidationContext context) {
+		this(simplePDObject, PDInheritableResources.EMPTY_EXTENDED_RESOURCES, X_OBJECT_TYPE, document, flavour, context);
 	}
 
 	protected PBoxPDXObject(COSObjectable simplePDObject, PDInheritableResources resources, final String type,
-			PDDocument document, PDFAFlavour flavour) {
+			PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		super(simplePDObject, type);
 		this.resources = resources;
 		this.subtype = PBoxPDXObject.getSubtype((org.apache.pdfbox.pdmodel.graphics.PDXObject) this.simplePDObject);
 		this.document = document;
 		this.flavour = flavour;
+		this.context = context;
 	}
 
 	private static String getSubtype(org.apache.pdfbox.pdmodel.graphics.PDXObject object) {
@@ -93,16 +96,16 @@ public class PBoxPDXObject extends PBoxPDResource implements PDXObject {
 	}
 
 	public static PDXObject getTypedPDXObject(org.apache.pdfbox.pdmodel.graphics.PDXObject pbObject,
-			PDInheritableResources extendedResources, PDDocument document, PDFAFlavour flavour) {
+			PDInheritableResources extendedResources, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		if (pbObject instanceof PDFormXObject) {
 			PDFormXObject object = (PDFormXObject) pbObject;
 			PDInheritableResources resources = extendedResources.getExtendedResources(object.getResources());
-			return new PBoxPDXForm(object, resources, document, flavour);
+			return new PBoxPDXForm(object, resources, document, flavour, context);
 		} else if (pbObject instanceof PDImageXObjectProxy) {
 			return new PBoxPDXImage((PDImageXObjectProxy) pbObject, extendedResources,
-					document, flavour);
+					document, flavour, context);
 		} else if (pbObject instanceof PDPostScriptXObject) {
-			return new PBoxPDXObject(pbObject, document, flavour);
+			return new PBoxPDXObject(pbObject, document, flavour, context);
 		} else {
 			return null;
 		}
@@ -113,7 +116,7 @@ public class PBoxPDXObject extends PBoxPDResource implements PDXObject {
 		COSBase item = object.getDictionaryObject(COSName.getPDFName(key));
 		if (item instanceof COSDictionary) {
 			List<CosDict> list = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-			list.add(new PBCosDict((COSDictionary) item, this.document, this.flavour));
+			list.add(new PBCosDict((COSDictionary) item, this.document, this.flavour, this.context));
 			return Collections.unmodifiableList(list);
 		}
 		return Collections.emptyList();
@@ -24,6 +24,7 @@ import java.util.logging.Logger;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDResource;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.model.pdlayer.PDShading;
@@ -47,12 +48,15 @@ public class PBoxPDShading extends PBoxPDResource implements PDShading {
 
     private final PDDocument document;
     private final PDFAFlavour flavour;
+    private final ValidationContext context;
 
     public PBoxPDShading(
-            org.apache.pdfbox.pdmodel.graphics.shading.PDShading simplePDObject, PDDocument document, PDFAFlavour flavour) {
+            org.apache.pdfbox.pdmodel.graphics.shading.PDShading simplePDObject, PDDocument document, PDFAFlavour flavour,
+            ValidationContext context) {
         super(simplePDObject, SHADING_TYPE);
         this.document = document;
         this.flavour = flavour;
+        this.context = context;
     }
 
     @Override
@@ -71,7 +75,7 @@ public class PBoxPDShading extends PBoxPDResource implements PDShading {
             if (cs != null) {
 				List<PDColorSpace> colorSpaces =
 						new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-				colorSpaces.add(ColorSpaceFactory.getColorSpace(cs, this.document, this.flavour));
+				colorSpaces.add(ColorSpaceFactory.getColorSpace(cs, this.document, this.flavour, this.context));
 				return Collections.unmodifiableList(colorSpaces);
             }
         } catch (IOException e) {
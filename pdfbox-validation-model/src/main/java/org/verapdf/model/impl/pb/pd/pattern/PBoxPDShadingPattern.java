@@ -23,6 +23,7 @@ package org.verapdf.model.impl.pb.pd.pattern;
 import java.util.logging.Logger;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.pdlayer.PDShading;
 import org.verapdf.model.pdlayer.PDShadingPattern;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -47,12 +48,15 @@ public class PBoxPDShadingPattern extends PBoxPDPattern implements
 
     private final PDDocument document;
     private final PDFAFlavour flavour;
+    private final ValidationContext context;
 
 	public PBoxPDShadingPattern(
-            org.apache.pdfbox.pdmodel.graphics.pattern.PDShadingPattern simplePDObject, PDDocument document, PDFAFlavour flavour) {
+            org.apache.pdfbox.pdmodel.graphics.pattern.PDShadingPattern simplePDObject, PDDocument document, PDFAFlavour flavour,
+            ValidationContext context) {
         super(simplePDObject, SHADING_PATTERN_TYPE);
         this.document = document;
         this.flavour = flavour;
+        this.context = context;
     }
 
     @Override
@@ -71,7 +75,7 @@ public class PBoxPDShadingPattern extends PBoxPDPattern implements
             if (shading != null) {
 				List<PDShading> shadings =
 						new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-				shadings.add(new PBoxPDShading(shading, this.document, this.flavour));
+				shadings.add(new PBoxPDShading(shading, this.document, this.flavour, this.context));
 				return Collections.unmodifiableList(shadings);
             }
         } catch (IOException e) {
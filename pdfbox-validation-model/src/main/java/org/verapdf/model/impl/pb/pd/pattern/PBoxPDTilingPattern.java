@@ -22,6 +22,7 @@ package org.verapdf.model.impl.pb.pd.pattern;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDContentStream;
 import org.verapdf.model.pdlayer.PDContentStream;
 import org.verapdf.model.pdlayer.PDTilingPattern;
@@ -44,17 +45,19 @@ public class PBoxPDTilingPattern extends PBoxPDPattern implements
 
     private final PDDocument document;
     private final PDFAFlavour flavour;
+    private final ValidationContext context;
 
 	private List<PDContentStream> contentStreams = null;
 	private boolean containsTransparency = false;
 
 	public PBoxPDTilingPattern(
 			org.apache.pdfbox.pdmodel.graphics.pattern.PDTilingPattern simplePDObject,
-			PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
+			PDInheritableResources resources, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
 		super(simplePDObject, TILING_PATTERN_TYPE);
 		this.resources = resources;
         this.document = document;
         this.flavour = flavour;
+        this.context = context;
 	}
 
 	@Override
@@ -86,7 +89,8 @@ public class PBoxPDTilingPattern extends PBoxPDPattern implements
 	private void parseContentStream() {
 		List<PDContentStream> contentStreams = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 		PBoxPDContentStream contentStream = new PBoxPDContentStream(
-				(org.apache.pdfbox.contentstream.PDContentStream) this.simplePDObject, this.resources, this.document, this.flavour);
+				(org.apache.pdfbox.contentstream.PDContentStream) this.simplePDObject, this.resources,
+				this.document, this.flavour, this.context, true);
 		this.containsTransparency |= contentStream.isContainsTransparency();
 		contentStreams.add(contentStream);
 		this.contentStreams = contentStreams;
@@ -34,6 +34,10 @@ public abstract class PBoxSEGeneral extends PBoxPDStructElem {
         this.standardType = standardType;
     }
 
+    COSDictionary getStructElemDictionary() {
+        return (COSDictionary) this.simplePDObject;
+    }
+
     public static PBoxSEGeneral createTypedStructElem(COSDictionary structElemDictionary, TaggedPDFRoleMapHelper roleMapHelper){
         String standardType = PBoxPDStructElem.getStructureElementStandardType(structElemDictionary, roleMapHelper);
 
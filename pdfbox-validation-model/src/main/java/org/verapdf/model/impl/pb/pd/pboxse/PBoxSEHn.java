@@ -21,7 +21,7 @@
 package org.verapdf.model.impl.pb.pd.pboxse;
 
 import org.apache.pdfbox.cos.COSDictionary;
-import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.selayer.SEHn;
 import org.verapdf.model.tools.TaggedPDFRoleMapHelper;
 
@@ -36,11 +36,12 @@ public class PBoxSEHn extends PBoxSEGeneral implements SEHn {
     @Override
     public Boolean gethasCorrectNestingLevel() {
         int nestingLevel = Integer.parseInt(getstandardType().substring(1));
-        if (nestingLevel > StaticContainers.getLastHeadingNestingLevel() + 1) {
-            StaticContainers.setLastHeadingNestingLevel(nestingLevel);
+        ValidationContext context = this.roleMapHelper.getContext();
+        if (nestingLevel > context.getLastHeadingNestingLevel() + 1) {
+            context.setLastHeadingNestingLevel(nestingLevel);
             return false;
         }
-        StaticContainers.setLastHeadingNestingLevel(nestingLevel);
+        context.setLastHeadingNestingLevel(nestingLevel);
         return true;
     }
 
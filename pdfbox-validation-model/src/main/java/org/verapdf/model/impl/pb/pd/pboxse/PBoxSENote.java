@@ -22,7 +22,6 @@ package org.verapdf.model.impl.pb.pd.pboxse;
 
 import org.apache.pdfbox.cos.COSDictionary;
 import org.apache.pdfbox.cos.COSName;
-import org.verapdf.model.impl.pb.containers.StaticContainers;
 import org.verapdf.model.impl.pb.pd.TaggedPDFConstants;
 import org.verapdf.model.selayer.SENote;
 import org.verapdf.model.tools.TaggedPDFRoleMapHelper;
@@ -39,7 +38,7 @@ public class PBoxSENote extends PBoxSEGeneral implements SENote {
         super(structElemDictionary, roleMapHelper, TaggedPDFConstants.NOTE, NOTE_STRUCTURE_ELEMENT_TYPE);
         noteID = this.simplePDObject == null ? null : ((COSDictionary)simplePDObject.getCOSObject()).getString(COSName.ID);
         if (noteID != null) {
-            hasDuplicateNoteID = !StaticContainers.getNoteIDSet().add(noteID);
+            hasDuplicateNoteID = !roleMapHelper.getContext().getNoteIDSet().add(noteID);
         }
     }
 
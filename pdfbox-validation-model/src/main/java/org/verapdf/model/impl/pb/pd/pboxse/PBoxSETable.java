@@ -21,22 +21,16 @@
 package org.verapdf.model.impl.pb.pd.pboxse;
 
 import org.apache.pdfbox.cos.COSDictionary;
-import org.verapdf.model.impl.pb.pd.PBoxPDStructElem;
 import org.verapdf.model.impl.pb.pd.TaggedPDFConstants;
-import org.verapdf.model.pdlayer.PDStructElem;
 import org.verapdf.model.selayer.SETable;
 import org.verapdf.model.tools.TaggedPDFRoleMapHelper;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.Stack;
-import java.util.LinkedList;
-
 public class PBoxSETable extends PBoxSEGeneral implements SETable {
 
     public static final String TABLE_STRUCTURE_ELEMENT_TYPE = "SETable";
 
+    private TableAnalyzer analyzer = null;
+
     public PBoxSETable(COSDictionary structElemDictionary, TaggedPDFRoleMapHelper roleMapHelper) {
         super(structElemDictionary, roleMapHelper, TaggedPDFConstants.TABLE, TABLE_STRUCTURE_ELEMENT_TYPE);
     }
@@ -44,169 +38,42 @@ public class PBoxSETable extends PBoxSEGeneral implements SETable {
     // This logic checks that all TH have Scope attribute or TD reference to TH ID using Headers
     @Override
     public Boolean getuseHeadersAndIdOrScope() {
-        Stack<PDStructElem> stack = new Stack<>();
-        boolean hasScope = true;
-        boolean hasID = true;
-        boolean hasHeaders = true;
-        Set<String> idSet = new HashSet<>();
-        Set<String> headersSet = new HashSet<>();
-        stack.push(this);
-        while (!stack.empty()) {
-            org.verapdf.model.pdlayer.PDStructElem elem = stack.pop();
-            String type = elem.getstandardType();
-            if (TaggedPDFConstants.TD.equals(type)) {
-                List<String> list = ((PBoxSETD)elem).getHeaders();
-                if (list != null && !list.isEmpty()) {
-                    headersSet.addAll(list);
-                } else {
-                    hasHeaders = false;
-                }
-            } else if (TaggedPDFConstants.TH.equals(type)) {
-                String id = ((PBoxSETH)elem).getTHID();
-                if (id == null || id.isEmpty()) {
-                    hasID = false;
-                } else {
-                    idSet.add(id);
-                }
-                if (((PBoxSETH)elem).getScope() == null) {
-                    hasScope = false;
-                }
-            }
-            List<org.verapdf.model.pdlayer.PDStructElem> list = ((PBoxPDStructElem)elem).getChildren();
-            for (org.verapdf.model.pdlayer.PDStructElem  el : list) {
-                stack.push(el);
-            }
-        }
-        if (hasScope) {
-            return true;
-        }
-        if (!hasID || !hasHeaders) {
-            return false;
-        }
-        for (String headers : headersSet) {
-            if (!idSet.contains(headers)) {
-                return false;
-            }
-        }
-        return true;
+        return getAnalyzer().useHeadersAndIdOrScope();
     }
 
     public Boolean getisRegular() {
-        List<org.verapdf.model.pdlayer.PDStructElem> listTR = getTR();
-        int rowNum = listTR.size();
-        int columnNum = getColumnNum((PBoxPDStructElem)listTR.get(0));
-        boolean[][] cells = new boolean[rowNum][columnNum];
-        for (int i = 0; i < rowNum; i++) {
-            int j = 0;
-            for (org.verapdf.model.pdlayer.PDStructElem elem : ((PBoxPDStructElem)listTR.get(i)).getChildren()) {
-                String type = elem.getstandardType();
-                long colSpan;
-                long rowSpan;
-                if (TaggedPDFConstants.TH.equals(type)) {
-                    colSpan = ((PBoxSETH)elem).getColSpan();
-                    rowSpan = ((PBoxSETH)elem).getRowSpan();
-                } else if (TaggedPDFConstants.TD.equals(type)) {
-                    colSpan = ((PBoxSETD)elem).getColSpan();
-                    rowSpan = ((PBoxSETD)elem).getRowSpan();
-                } else {
-                    continue;
-                }
-
-                while (j < columnNum && cells[i][j]) {
-                    ++j;
-                }
-                if (j >= columnNum) {
-                    return false;
-                }
-                if (i + rowSpan > rowNum || j + colSpan > columnNum) {
-                    return false;
-                }
-                if (!checkRegular(cells, rowSpan, colSpan, i, j)) {
-                    return false;
-                }
-                j += colSpan;
-            }
-        }
-        for (int i = 0; i < rowNum; i++) {
-            for (int j = 0; j < columnNum; j++) {
-                if (!cells[i][j]) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return getAnalyzer().isRegular();
     }
 
     @Override
     public Long getcolumnSpan() {
-        return null;
+        return getAnalyzer().getColumnSpan();
     }
 
     @Override
     public Long getrowSpan() {
-        return null;
+        return getAnalyzer().getRowSpan();
     }
 
     @Override
     public Long getnumberOfRowWithWrongColumnSpan() {
-        return null;
+        return getAnalyzer().getNumberOfRowWithWrongColumnSpan();
     }
 
     @Override
     public Long getnumberOfColumnWithWrongRowSpan() {
-        return null;
+        return getAnalyzer().getNumberOfColumnWithWrongRowSpan();
     }
 
     @Override
     public Long getwrongColumnSpan() {
-        return null;
-    }
-
-    private List<org.verapdf.model.pdlayer.PDStructElem> getTR() {
-        List<org.verapdf.model.pdlayer.PDStructElem> listTR = new LinkedList<>();
-        for (org.verapdf.model.pdlayer.PDStructElem elem : getChildren()) {
-            String type = elem.getstandardType();
-            if (!addTRtoList(listTR, elem) && TaggedPDFConstants.THEAD.equals(type) ||
-                    TaggedPDFConstants.TBODY.equals(type) || TaggedPDFConstants.TFOOT.equals(type)) {
-                for (org.verapdf.model.pdlayer.PDStructElem child : ((PBoxPDStructElem)elem).getChildren()) {
-                    addTRtoList(listTR, child);
-                }
-            }
-        }
-        return listTR;
-    }
-
-    private boolean addTRtoList(List<org.verapdf.model.pdlayer.PDStructElem> listTR, org.verapdf.model.pdlayer.PDStructElem elem) {
-        if (TaggedPDFConstants.TR.equals(elem.getstandardType())) {
-            listTR.add(elem);
-            return true;
-        }
-        return false;
-    }
-
-    private int getColumnNum(PBoxPDStructElem firstTR) {
-        int columnNum = 0;
-        for (org.verapdf.model.pdlayer.PDStructElem elem : firstTR.getChildren()) {
-            String type = elem.getstandardType();
-            if (TaggedPDFConstants.TH.equals(type)) {
-                columnNum += ((PBoxSETH)elem).getColSpan();
-            }
-            if (TaggedPDFConstants.TD.equals(type)) {
-                columnNum += ((PBoxSETD)elem).getColSpan();
-            }
-        }
-        return columnNum;
+        return getAnalyzer().getWrongColumnSpan();
     }
 
-    private Boolean checkRegular(boolean[][] cells, long rowSpan, long colSpan, int i, int j) {
-        for (int k = 0; k < rowSpan; k++) {
-            for (int l = 0; l < colSpan; l++) {
-                if (cells[i + k][j + l]) {
-                    return false;
-                }
-                cells[i + k][j + l] = true;
-            }
+    private TableAnalyzer getAnalyzer() {
+        if (this.analyzer == null) {
+            this.analyzer = TableAnalyzer.analyze(this);
         }
-        return true;
+        return this.analyzer;
     }
 }
@@ -0,0 +1,344 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.pd.pboxse;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.verapdf.model.impl.pb.pd.TaggedPDFConstants;
+import org.verapdf.model.pdlayer.PDStructElem;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Result of a single walk over the subtree of a table structure element.
+ * Cells of the table rows (TR kids of the table or of its THead, TBody and
+ * TFoot kids) are laid out on an occupancy bitmap, one {@link BitSet} per
+ * grid row, and all grid metrics are computed from it. Headers, IDs and
+ * scopes of all TH and TD descendants are collected during the same walk.
+ * Spans reaching below the last row or beyond {@link #MAX_COLUMNS} are cut
+ * and reported as wrong, so broken spans do not blow up the grid.
+ */
+final class TableAnalyzer {
+
+    private static final int TABLE_KID = 0;
+    private static final int GROUP_KID = 1;
+    private static final int ROW_KID = 2;
+    private static final int OTHER = 3;
+
+    // far more than any real table has, bounds the grid of broken spans
+    private static final int MAX_COLUMNS = 1 << 16;
+
+    private final List<BitSet> grid = new ArrayList<>();
+    private final int rowCount;
+    private int rowNum = 0;
+    private boolean hasOverlaps = false;
+    private boolean hasWrongSpans = false;
+
+    private boolean hasScope = true;
+    private boolean hasID = true;
+    private boolean hasHeaders = true;
+    private final Set<String> idSet = new HashSet<>();
+    private final Set<String> headersSet = new HashSet<>();
+
+    private TableAnalyzer(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    static TableAnalyzer analyze(PBoxSETable table) {
+        TableAnalyzer analyzer = new TableAnalyzer(countRows(table));
+        analyzer.walk(table);
+        analyzer.fitGridToRows();
+        return analyzer;
+    }
+
+    /**
+     * @return number of table rows, kids of the table or of its row groups,
+     *         which bounds row spans of cells while walking the table. Rows
+     *         referenced more than once are counted each time here, but laid
+     *         out once, see {@link #fitGridToRows()}.
+     */
+    private static int countRows(PBoxSETable table) {
+        int rows = 0;
+        for (PDStructElem kid : table.getChildren()) {
+            String type = ((PBoxSEGeneral) kid).getstandardType();
+            if (TaggedPDFConstants.TR.equals(type)) {
+                ++rows;
+            } else if (TaggedPDFConstants.THEAD.equals(type) || TaggedPDFConstants.TBODY.equals(type)
+                    || TaggedPDFConstants.TFOOT.equals(type)) {
+                for (PDStructElem groupKid : ((PBoxSEGeneral) kid).getChildren()) {
+                    if (TaggedPDFConstants.TR.equals(((PBoxSEGeneral) groupKid).getstandardType())) {
+                        ++rows;
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    private void walk(PBoxSETable table) {
+        Deque<PBoxSEGeneral> elements = new ArrayDeque<>();
+        Deque<Integer> positions = new ArrayDeque<>();
+        Set<COSDictionary> visited = Collections.newSetFromMap(new IdentityHashMap<COSDictionary, Boolean>());
+        visited.add(table.getStructElemDictionary());
+        pushChildren(table, TABLE_KID, elements, positions);
+        int column = 0;
+        while (!elements.isEmpty()) {
+            PBoxSEGeneral elem = elements.pop();
+            int position = positions.pop();
+            if (!visited.add(elem.getStructElemDictionary())) {
+                continue;
+            }
+            String type = elem.getstandardType();
+            int childrenPosition = OTHER;
+            if (TaggedPDFConstants.TR.equals(type)) {
+                if (position == TABLE_KID || position == GROUP_KID) {
+                    ++this.rowNum;
+                    column = 0;
+                    childrenPosition = ROW_KID;
+                }
+            } else if (TaggedPDFConstants.THEAD.equals(type) || TaggedPDFConstants.TBODY.equals(type)
+                    || TaggedPDFConstants.TFOOT.equals(type)) {
+                if (position == TABLE_KID) {
+                    childrenPosition = GROUP_KID;
+                }
+            } else if (TaggedPDFConstants.TD.equals(type)) {
+                PBoxSETD cell = (PBoxSETD) elem;
+                List<String> list = cell.getHeaders();
+                if (list != null && !list.isEmpty()) {
+                    this.headersSet.addAll(list);
+                } else {
+                    this.hasHeaders = false;
+                }
+                if (position == ROW_KID) {
+                    column = place(column, cell.getRowSpan(), cell.getColSpan());
+                }
+            } else if (TaggedPDFConstants.TH.equals(type)) {
+                PBoxSETH cell = (PBoxSETH) elem;
+                String id = cell.getTHID();
+                if (id == null || id.isEmpty()) {
+                    this.hasID = false;
+                } else {
+                    this.idSet.add(id);
+                }
+                if (cell.getScope() == null) {
+                    this.hasScope = false;
+                }
+                if (position == ROW_KID) {
+                    column = place(column, cell.getRowSpan(), cell.getColSpan());
+                }
+            }
+            pushChildren(elem, childrenPosition, elements, positions);
+        }
+    }
+
+    /**
+     * Makes the grid have exactly one row per row laid out by the walk. Parts
+     * of cells spanning below the last row, which is the case if a row is
+     * referenced more than once, are cut. Rows without cells at the end of
+     * the table, which never reach {@link #place(int, long, long)}, are
+     * added empty.
+     */
+    private void fitGridToRows() {
+        while (this.grid.size() > this.rowNum) {
+            BitSet row = this.grid.remove(this.grid.size() - 1);
+            if (!row.isEmpty()) {
+                this.hasWrongSpans = true;
+            }
+        }
+        if (this.rowNum > 0) {
+            getRow(this.rowNum - 1);
+        }
+    }
+
+    private static void pushChildren(PBoxSEGeneral elem, int position, Deque<PBoxSEGeneral> elements,
+                                     Deque<Integer> positions) {
+        List<PDStructElem> children = elem.getChildren();
+        for (int i = children.size() - 1; i >= 0; --i) {
+            elements.push((PBoxSEGeneral) children.get(i));
+            positions.push(position);
+        }
+    }
+
+    /**
+     * Places cell on the first free column of the current row starting from
+     * {@code column}. Parts of the cell below the last row or beyond
+     * {@link #MAX_COLUMNS} are cut off.
+     *
+     * @return column following the cell
+     */
+    private int place(int column, long rowSpan, long colSpan) {
+        int row = this.rowNum - 1;
+        int first = getRow(row).nextClearBit(column);
+        if (rowSpan < 1 || colSpan < 1 || first >= MAX_COLUMNS) {
+            this.hasWrongSpans = true;
+            return column;
+        }
+        int lastRow = this.rowCount;
+        if (rowSpan <= this.rowCount - row) {
+            lastRow = (int) (row + rowSpan);
+        } else {
+            this.hasWrongSpans = true;
+        }
+        int last = MAX_COLUMNS;
+        if (colSpan <= MAX_COLUMNS - first) {
+            last = (int) (first + colSpan);
+        } else {
+            this.hasWrongSpans = true;
+        }
+        for (int i = row; i < lastRow; ++i) {
+            BitSet occupied = getRow(i);
+            int next = occupied.nextSetBit(first);
+            if (next != -1 && next < last) {
+                this.hasOverlaps = true;
+            }
+            occupied.set(first, last);
+        }
+        return last;
+    }
+
+    private BitSet getRow(int row) {
+        while (this.grid.size() <= row) {
+            this.grid.add(new BitSet());
+        }
+        return this.grid.get(row);
+    }
+
+    /**
+     * @return {@code true} if every row covers exactly the columns of the
+     *         first row, no cells overlap and no cell spans below the last row
+     */
+    boolean isRegular() {
+        if (this.rowNum == 0) {
+            return true;
+        }
+        if (this.hasOverlaps || this.hasWrongSpans) {
+            return false;
+        }
+        int columnNum = this.grid.get(0).cardinality();
+        for (int i = 0; i < this.rowNum; ++i) {
+            BitSet row = this.grid.get(i);
+            if (row.cardinality() != columnNum || row.length() != columnNum) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of grid columns covered by the first row or {@code null}
+     *         if the table has no rows
+     */
+    Long getColumnSpan() {
+        return this.rowNum > 0 ? Long.valueOf(getRowColumnSpan(0)) : null;
+    }
+
+    /**
+     * @return number of grid rows covered by the first column or {@code null}
+     *         if the table has no rows
+     */
+    Long getRowSpan() {
+        return this.rowNum > 0 ? Long.valueOf(getColumnRowSpan(0)) : null;
+    }
+
+    /**
+     * @return one-based number of the first row covering another number of
+     *         columns than the first row or {@code null} if there is none
+     */
+    Long getNumberOfRowWithWrongColumnSpan() {
+        int row = getRowWithWrongColumnSpan();
+        return row != -1 ? Long.valueOf(row + 1) : null;
+    }
+
+    /**
+     * @return number of columns covered by the row reported by
+     *         {@link #getNumberOfRowWithWrongColumnSpan()} or {@code null}
+     */
+    Long getWrongColumnSpan() {
+        int row = getRowWithWrongColumnSpan();
+        return row != -1 ? Long.valueOf(getRowColumnSpan(row)) : null;
+    }
+
+    /**
+     * @return one-based number of the first column covering another number of
+     *         rows than the first column or {@code null} if there is none
+     */
+    Long getNumberOfColumnWithWrongRowSpan() {
+        if (this.rowNum == 0) {
+            return null;
+        }
+        int columnNum = 0;
+        for (BitSet row : this.grid) {
+            columnNum = Math.max(columnNum, row.length());
+        }
+        int rowSpan = getColumnRowSpan(0);
+        for (int j = 1; j < columnNum; ++j) {
+            if (getColumnRowSpan(j) != rowSpan) {
+                return Long.valueOf(j + 1);
+            }
+        }
+        return null;
+    }
+
+    private int getRowWithWrongColumnSpan() {
+        if (this.rowNum == 0) {
+            return -1;
+        }
+        int columnSpan = getRowColumnSpan(0);
+        for (int i = 1; i < this.rowNum; ++i) {
+            if (getRowColumnSpan(i) != columnSpan) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int getRowColumnSpan(int row) {
+        return row < this.grid.size() ? this.grid.get(row).cardinality() : 0;
+    }
+
+    private int getColumnRowSpan(int column) {
+        int rowSpan = 0;
+        for (BitSet row : this.grid) {
+            if (row.get(column)) {
+                ++rowSpan;
+            }
+        }
+        return rowSpan;
+    }
+
+    // All TH have Scope attribute or TD reference to TH ID using Headers
+    boolean useHeadersAndIdOrScope() {
+        if (this.hasScope) {
+            return true;
+        }
+        if (!this.hasID || !this.hasHeaders) {
+            return false;
+        }
+        return this.idSet.containsAll(this.headersSet);
+    }
+}
@@ -0,0 +1,229 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decodes and tokenizes page content streams in background ahead of
+ * validation.
+ * <p>
+ * Background tasks never touch the document: encoded content of a page is
+ * copied into a detached stream by the thread requesting pages, which is the
+ * thread walking the document, and only the copy is handed to the pool to be
+ * decoded and tokenized. Building of operators, including all resource
+ * lookups, stays on the requesting thread and consumes the tokens with
+ * {@link #getTokens(int)}.
+ * <p>
+ * No more than configured number of pages are read ahead of the last page
+ * requested by validation, and no more pages are read while content of pages
+ * waiting for validation exceeds the configured number of bytes, so memory
+ * taken by pre-parsed content stays bounded for large documents and for
+ * pages with huge content. Held content is counted by its encoded size until
+ * it is decoded and by its decoded size afterwards.
+ */
+public final class ContentStreamPreParser {
+
+	private static final Logger LOGGER = Logger.getLogger(ContentStreamPreParser.class.getCanonicalName());
+
+	// size of a page whose content is taken or dropped
+	private static final long RELEASED = -1;
+
+	/**
+	 * Source of content of a page
+	 */
+	public interface PageContent {
+		/**
+		 * @return stream detached from the document, holding encoded content
+		 *         of the page along with its filters and length, or
+		 *         {@code null} if the page has no content
+		 * @throws IOException if the content can not be read
+		 */
+		COSStream read() throws IOException;
+	}
+
+	private final List<PageContent> pages;
+	private final List<ForkJoinTask<List<Object>>> tasks;
+	private final long[] sizes;
+	private final int pagesAhead;
+	private final long bytesAhead;
+	private final ForkJoinPool pool;
+
+	private int submitted = 0;
+	private long heldBytes = 0;
+	private boolean stopped = false;
+
+	/**
+	 * @param pages      contents of the pages in page order
+	 * @param pagesAhead number of pages parsed ahead of requested one
+	 * @param bytesAhead number of bytes of content parsed ahead after which
+	 *                   no more pages are read until some are requested
+	 * @param pool       pool executing decoding and tokenizing tasks
+	 */
+	public ContentStreamPreParser(List<PageContent> pages, int pagesAhead, long bytesAhead, ForkJoinPool pool) {
+		this.pages = pages;
+		this.tasks = new ArrayList<>(pages.size());
+		this.sizes = new long[pages.size()];
+		this.pagesAhead = pagesAhead;
+		this.bytesAhead = bytesAhead;
+		this.pool = pool;
+	}
+
+	/**
+	 * Reads the first pages and submits their parsing. Should be called by
+	 * the thread walking the document.
+	 */
+	public synchronized void start() {
+		submitUpTo(0, this.pagesAhead);
+	}
+
+	/**
+	 * Notifies that content of the page with the given index is requested by
+	 * validation, so following pages are read and submitted. Should be called
+	 * by the thread walking the document.
+	 *
+	 * @param pageIndex index of the requested page
+	 */
+	public synchronized void pageRequested(int pageIndex) {
+		submitUpTo(pageIndex + 1, pageIndex + 1 + this.pagesAhead);
+	}
+
+	/**
+	 * Takes tokens of the page, waiting for its parsing if it is still
+	 * running. Tokens of a page are given out once.
+	 *
+	 * @param pageIndex index of the page
+	 * @return tokens of the page content or {@code null} if the page was not
+	 *         parsed in background, then the page is parsed on request
+	 */
+	public List<Object> getTokens(int pageIndex) {
+		ForkJoinTask<List<Object>> task;
+		synchronized (this) {
+			if (this.stopped || pageIndex >= this.tasks.size()) {
+				return null;
+			}
+			task = this.tasks.set(pageIndex, null);
+		}
+		if (task == null) {
+			return null;
+		}
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			task.cancel(false);
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException | CancellationException e) {
+			// page will be parsed again on request and report the problem there
+			LOGGER.log(Level.FINE, "Background parsing of content stream failed. " + e.getMessage());
+			return null;
+		} finally {
+			release(pageIndex);
+		}
+	}
+
+	/**
+	 * Cancels parsing of pages and drops tokens not taken yet.
+	 */
+	public synchronized void stop() {
+		this.stopped = true;
+		for (ForkJoinTask<List<Object>> task : this.tasks) {
+			if (task != null) {
+				task.cancel(false);
+			}
+		}
+		this.tasks.clear();
+	}
+
+	/**
+	 * Submits pages before {@code end} while the limit of held bytes is not
+	 * reached, pages before {@code required} are submitted regardless of the
+	 * limit as they are requested by validation already.
+	 */
+	private void submitUpTo(int required, int end) {
+		int last = Math.min(end, this.pages.size());
+		while (!this.stopped && this.submitted < last
+				&& (this.submitted < required || this.heldBytes < this.bytesAhead)) {
+			int index = this.submitted++;
+			COSStream content = read(this.pages.get(index));
+			if (content == null) {
+				this.tasks.add(null);
+				continue;
+			}
+			this.sizes[index] = content.getLong(COSName.LENGTH, 0);
+			this.heldBytes += this.sizes[index];
+			this.tasks.add(this.pool.submit(() -> parse(index, content)));
+		}
+	}
+
+	private List<Object> parse(int index, COSStream content) throws IOException {
+		try (COSStream decoded = new COSStream(new COSDictionary())) {
+			try (COSStream stream = content;
+				 InputStream input = stream.getUnfilteredStream();
+				 OutputStream output = decoded.createUnfilteredStream()) {
+				resize(index, IOUtils.copy(input, output));
+			}
+			// same parser configuration as for content streams parsed on demand
+			PDFStreamParser parser = new PDFStreamParser(decoded, true);
+			parser.parse();
+			return parser.getTokens();
+		}
+	}
+
+	private synchronized void resize(int index, long size) {
+		if (this.sizes[index] != RELEASED) {
+			this.heldBytes += size - this.sizes[index];
+			this.sizes[index] = size;
+		}
+	}
+
+	private synchronized void release(int index) {
+		if (this.sizes[index] != RELEASED) {
+			this.heldBytes -= this.sizes[index];
+			this.sizes[index] = RELEASED;
+		}
+	}
+
+	private static COSStream read(PageContent page) {
+		try {
+			return page.read();
+		} catch (IOException | RuntimeException e) {
+			LOGGER.log(Level.FINE, "Reading of content stream failed. " + e.getMessage());
+			return null;
+		}
+	}
+}
@@ -0,0 +1,201 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.apache.pdfbox.io.RandomAccessRead;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read only access to a file through memory mapped buffers. Files bigger than
+ * a single mapping allows are mapped by chunks, which are created when first
+ * accessed. Mappings are released by the garbage collector after the source
+ * is closed, as Java 8 has no public API to unmap a buffer. Until then the
+ * file stays locked on Windows.
+ */
+public final class MappedFileRandomAccessRead implements RandomAccessRead {
+
+	/** Size of a single mapped chunk, 1 GB */
+	static final int DEFAULT_CHUNK_SIZE = 1 << 30;
+
+	private final FileChannel channel;
+	private final long length;
+	private final int chunkSize;
+	private final MappedByteBuffer[] chunks;
+
+	private long position = 0;
+	private boolean closed = false;
+
+	public MappedFileRandomAccessRead(File file) throws IOException {
+		this(file, DEFAULT_CHUNK_SIZE);
+	}
+
+	MappedFileRandomAccessRead(File file, int chunkSize) throws IOException {
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		this.length = this.channel.size();
+		this.chunkSize = chunkSize;
+		this.chunks = new MappedByteBuffer[(int) ((this.length + chunkSize - 1) / chunkSize)];
+	}
+
+	@Override
+	public int read() throws IOException {
+		checkClosed();
+		if (this.position >= this.length) {
+			return -1;
+		}
+		int result = chunk(this.position).get(offsetInChunk(this.position)) & 0xFF;
+		this.position++;
+		return result;
+	}
+
+	@Override
+	public int read(byte[] b) throws IOException {
+		return read(b, 0, b.length);
+	}
+
+	@Override
+	public int read(byte[] b, int offset, int length) throws IOException {
+		checkClosed();
+		if (length == 0) {
+			return 0;
+		}
+		if (this.position >= this.length) {
+			return -1;
+		}
+		int toRead = (int) Math.min(length, this.length - this.position);
+		int read = 0;
+		while (read < toRead) {
+			MappedByteBuffer chunk = chunk(this.position);
+			int chunkOffset = offsetInChunk(this.position);
+			int count = Math.min(toRead - read, chunk.limit() - chunkOffset);
+			// chunks are used by this reader only, which is single threaded
+			// like every RandomAccessRead, so their position is moved freely
+			chunk.position(chunkOffset);
+			chunk.get(b, offset + read, count);
+			read += count;
+			this.position += count;
+		}
+		return read;
+	}
+
+	@Override
+	public long getPosition() throws IOException {
+		checkClosed();
+		return this.position;
+	}
+
+	@Override
+	public void seek(long position) throws IOException {
+		checkClosed();
+		if (position < 0) {
+			throw new IOException("Invalid position " + position);
+		}
+		this.position = Math.min(position, this.length);
+	}
+
+	@Override
+	public long length() throws IOException {
+		checkClosed();
+		return this.length;
+	}
+
+	@Override
+	public boolean isClosed() {
+		return this.closed;
+	}
+
+	@Override
+	public int peek() throws IOException {
+		int result = read();
+		if (result != -1) {
+			rewind(1);
+		}
+		return result;
+	}
+
+	@Override
+	public void rewind(int bytes) throws IOException {
+		checkClosed();
+		seek(this.position - bytes);
+	}
+
+	@Override
+	public byte[] readFully(int length) throws IOException {
+		byte[] result = new byte[length];
+		int read = 0;
+		while (read < length) {
+			int count = read(result, read, length - read);
+			if (count < 0) {
+				throw new EOFException();
+			}
+			read += count;
+		}
+		return result;
+	}
+
+	@Override
+	public boolean isEOF() throws IOException {
+		checkClosed();
+		return this.position >= this.length;
+	}
+
+	@Override
+	public int available() throws IOException {
+		checkClosed();
+		return (int) Math.min(this.length - this.position, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.closed = true;
+		for (int i = 0; i < this.chunks.length; ++i) {
+			this.chunks[i] = null;
+		}
+		this.channel.close();
+	}
+
+	private MappedByteBuffer chunk(long position) throws IOException {
+		int index = (int) (position / this.chunkSize);
+		MappedByteBuffer chunk = this.chunks[index];
+		if (chunk == null) {
+			long start = (long) index * this.chunkSize;
+			chunk = this.channel.map(FileChannel.MapMode.READ_ONLY, start,
+					Math.min(this.chunkSize, this.length - start));
+			this.chunks[index] = chunk;
+		}
+		return chunk;
+	}
+
+	private int offsetInChunk(long position) {
+		return (int) (position % this.chunkSize);
+	}
+
+	private void checkClosed() throws IOException {
+		if (this.closed) {
+			throw new IOException("Memory mapped file is already closed");
+		}
+	}
+}
@@ -0,0 +1,173 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentCatalog;
+import org.apache.pdfbox.pdmodel.documentinterchange.logicalstructure.PDStructureTreeRoot;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Flattened {@code /ParentTree} number tree of the structure tree root. The
+ * number tree is walked once and its keys are kept in a sorted int array, so
+ * {@code /StructParent} and {@code /StructParents} lookups are binary
+ * searches instead of number tree descents. When a key occurs more than once
+ * the first value in the tree order is used.
+ */
+public final class ParentTreeIndex {
+
+	private static final ParentTreeIndex EMPTY = new ParentTreeIndex(new int[0], new COSBase[0]);
+
+	private final int[] keys;
+	private final COSBase[] values;
+
+	private ParentTreeIndex(int[] keys, COSBase[] values) {
+		this.keys = keys;
+		this.values = values;
+	}
+
+	/**
+	 * Builds index of the parent tree of the given document
+	 *
+	 * @param document pdfbox document
+	 * @return index of the parent tree, empty if the document has no
+	 *         structure tree root or parent tree
+	 */
+	public static ParentTreeIndex build(PDDocument document) {
+		PDDocumentCatalog catalog = document == null ? null : document.getDocumentCatalog();
+		PDStructureTreeRoot structTreeRoot = catalog == null ? null : catalog.getStructureTreeRoot();
+		if (structTreeRoot == null) {
+			return EMPTY;
+		}
+		COSBase parentTree = structTreeRoot.getCOSObject().getDictionaryObject(COSName.PARENT_TREE);
+		return parentTree instanceof COSDictionary ? build((COSDictionary) parentTree) : EMPTY;
+	}
+
+	/**
+	 * Builds index of the given parent tree
+	 *
+	 * @param parentTree root node of the parent tree number tree
+	 * @return index of the parent tree
+	 */
+	public static ParentTreeIndex build(COSDictionary parentTree) {
+		int size = 0;
+		long[] entries = new long[16];
+		COSBase[] found = new COSBase[16];
+		Deque<COSDictionary> nodes = new ArrayDeque<>();
+		Set<COSDictionary> visited = Collections.newSetFromMap(new IdentityHashMap<COSDictionary, Boolean>());
+		nodes.push(parentTree);
+		while (!nodes.isEmpty()) {
+			COSDictionary node = nodes.pop();
+			if (!visited.add(node)) {
+				continue;
+			}
+			COSBase nums = node.getDictionaryObject(COSName.NUMS);
+			if (nums instanceof COSArray) {
+				COSArray array = (COSArray) nums;
+				for (int i = 0; i + 1 < array.size(); i += 2) {
+					COSBase key = array.getObject(i);
+					if (!(key instanceof COSNumber)) {
+						continue;
+					}
+					if (size == entries.length) {
+						entries = Arrays.copyOf(entries, size * 2);
+						found = Arrays.copyOf(found, size * 2);
+					}
+					// key in the high half keeps the sort by key, position in the low half keeps the tree order
+					entries[size] = ((long) ((COSNumber) key).intValue() << 32) | size;
+					found[size] = array.getObject(i + 1);
+					++size;
+				}
+			}
+			COSBase kids = node.getDictionaryObject(COSName.KIDS);
+			if (kids instanceof COSArray) {
+				COSArray array = (COSArray) kids;
+				for (int i = array.size() - 1; i >= 0; --i) {
+					COSBase kid = array.getObject(i);
+					if (kid instanceof COSDictionary) {
+						nodes.push((COSDictionary) kid);
+					}
+				}
+			}
+		}
+		Arrays.sort(entries, 0, size);
+		int[] keys = new int[size];
+		COSBase[] values = new COSBase[size];
+		int count = 0;
+		for (int i = 0; i < size; ++i) {
+			int key = (int) (entries[i] >> 32);
+			if (count > 0 && keys[count - 1] == key) {
+				continue;
+			}
+			keys[count] = key;
+			values[count] = found[(int) entries[i]];
+			++count;
+		}
+		return new ParentTreeIndex(Arrays.copyOf(keys, count), Arrays.copyOf(values, count));
+	}
+
+	/**
+	 * @return number of distinct keys in the parent tree
+	 */
+	public int size() {
+		return this.keys.length;
+	}
+
+	/**
+	 * @param structParent value of the {@code /StructParent} entry of an annotation or XObject
+	 * @return parent structure element or {@code null} if there is none
+	 */
+	public COSDictionary getStructParent(int structParent) {
+		COSBase value = getValue(structParent);
+		return value instanceof COSDictionary ? (COSDictionary) value : null;
+	}
+
+	/**
+	 * @param structParents value of the {@code /StructParents} entry of a page or form XObject
+	 * @param mcid          marked-content identifier inside the content stream
+	 * @return structure element of the marked-content sequence or {@code null} if there is none
+	 */
+	public COSDictionary getMarkedContentParent(int structParents, int mcid) {
+		COSBase value = getValue(structParents);
+		if (value instanceof COSArray && mcid >= 0 && mcid < ((COSArray) value).size()) {
+			COSBase parent = ((COSArray) value).getObject(mcid);
+			return parent instanceof COSDictionary ? (COSDictionary) parent : null;
+		}
+		return null;
+	}
+
+	private COSBase getValue(int key) {
+		int index = Arrays.binarySearch(this.keys, key);
+		return index >= 0 ? this.values[index] : null;
+	}
+}
@@ -0,0 +1,341 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSObjectKey;
+import org.apache.pdfbox.cos.COSString;
+import org.verapdf.model.impl.pb.pd.PBoxPDStructElem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flattened structure tree of a document. The tree is walked once, starting
+ * from the structure tree root, and every structure element found in the
+ * {@code /K} entries becomes a node identified by an int. Links between the
+ * nodes are kept in int arrays and standard types are interned, so child and
+ * standard type queries are array walks instead of new passes over
+ * {@code /K}.
+ * <p>
+ * Node {@link #ROOT} is the structure tree root itself. A dictionary met more
+ * than once (shared or looped kids) gets a node for every occurrence, but its
+ * kids are only indexed for the first one and the other occurrences share
+ * them, so the index stays finite for looped trees.
+ * <p>
+ * Language inherited from the ancestors is resolved top-down during the same
+ * pass for every element whose {@code /P} chain follows the tree up to the
+ * root. For the other elements it stays unresolved and has to be looked up
+ * along {@code /P}.
+ */
+public final class StructureTreeIndex {
+
+	/**
+	 * Node of the structure tree root
+	 */
+	public static final int ROOT = 0;
+	/**
+	 * Missing node
+	 */
+	public static final int NONE = -1;
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final int size;
+	private final int[] parents;
+	private final int[] firstChildren;
+	private final int[] nextSiblings;
+	private final int[] origins;
+	private final int[] standardTypeIds;
+	private final String[] standardTypes;
+	private final COSDictionary[] dictionaries;
+	private final COSObjectKey[] keys;
+	private final Map<COSDictionary, Integer> nodes;
+	private final String[] kidsStandardTypes;
+	private final String[] parentLangs;
+	private final BitSet resolvedParentLangs;
+
+	private StructureTreeIndex(Builder builder) {
+		this.size = builder.size;
+		this.parents = Arrays.copyOf(builder.parents, this.size);
+		this.firstChildren = Arrays.copyOf(builder.firstChildren, this.size);
+		this.nextSiblings = Arrays.copyOf(builder.nextSiblings, this.size);
+		this.origins = Arrays.copyOf(builder.origins, this.size);
+		this.standardTypeIds = Arrays.copyOf(builder.standardTypeIds, this.size);
+		this.standardTypes = builder.standardTypes.toArray(new String[builder.standardTypes.size()]);
+		this.dictionaries = Arrays.copyOf(builder.dictionaries, this.size);
+		this.keys = Arrays.copyOf(builder.keys, this.size);
+		this.nodes = builder.nodes;
+		this.kidsStandardTypes = new String[this.size];
+		this.parentLangs = Arrays.copyOf(builder.parentLangs, this.size);
+		this.resolvedParentLangs = builder.resolvedParentLangs;
+	}
+
+	/**
+	 * Builds index of the structure tree with the given root
+	 *
+	 * @param structTreeRoot dictionary of the structure tree root
+	 * @param roleMapHelper  role map helper used to obtain standard types
+	 * @return index of the structure tree
+	 */
+	public static StructureTreeIndex build(COSDictionary structTreeRoot, TaggedPDFRoleMapHelper roleMapHelper) {
+		Builder builder = new Builder(roleMapHelper);
+		builder.addNode(structTreeRoot, NONE);
+		for (int node = ROOT; node < builder.size; ++node) {
+			if (builder.origins[node] == node) {
+				builder.addChildren(node, node != ROOT);
+			}
+		}
+		return new StructureTreeIndex(builder);
+	}
+
+	/**
+	 * @return number of nodes, including the structure tree root
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @param dictionary dictionary of the structure tree root or of a structure element
+	 * @return node of the first occurrence of the dictionary in the tree or
+	 *         {@link #NONE} if the dictionary is not part of the tree
+	 */
+	public int getNode(COSDictionary dictionary) {
+		Integer node = this.nodes.get(dictionary);
+		return node != null ? node : NONE;
+	}
+
+	public COSDictionary getDictionary(int node) {
+		return this.dictionaries[node];
+	}
+
+	/**
+	 * @return object key of the node dictionary or {@code null} for direct dictionaries
+	 */
+	public COSObjectKey getKey(int node) {
+		return this.keys[node];
+	}
+
+	/**
+	 * @return parent node in the tree or {@link #NONE} for the root
+	 */
+	public int getParent(int node) {
+		return this.parents[node];
+	}
+
+	/**
+	 * @return first child node or {@link #NONE} if the node has no structure element kids
+	 */
+	public int getFirstChild(int node) {
+		return this.firstChildren[this.origins[node]];
+	}
+
+	/**
+	 * @return next sibling node or {@link #NONE} if the node is the last kid of its parent
+	 */
+	public int getNextSibling(int node) {
+		return this.nextSiblings[node];
+	}
+
+	/**
+	 * @return standard type of the node or {@code null} if it has none
+	 */
+	public String getStandardType(int node) {
+		int id = this.standardTypeIds[node];
+		return id != NONE ? this.standardTypes[id] : null;
+	}
+
+	/**
+	 * @return {@code true} if the language inherited by the node is known,
+	 *         see {@link #getParentLang(int)}
+	 */
+	public boolean isParentLangResolved(int node) {
+		return this.resolvedParentLangs.get(node);
+	}
+
+	/**
+	 * @return the first {@code /Lang} string found among the node ancestors or
+	 *         {@code null} if there is none or it is not resolved
+	 */
+	public String getParentLang(int node) {
+		return this.parentLangs[node];
+	}
+
+	/**
+	 * @return standard types of the node kids joined with {@code &}, kids
+	 *         without standard type are skipped
+	 */
+	public String getKidsStandardTypes(int node) {
+		int origin = this.origins[node];
+		String result = this.kidsStandardTypes[origin];
+		if (result == null) {
+			StringBuilder builder = new StringBuilder();
+			for (int child = this.firstChildren[origin]; child != NONE; child = this.nextSiblings[child]) {
+				int id = this.standardTypeIds[child];
+				if (id != NONE) {
+					if (builder.length() > 0) {
+						builder.append('&');
+					}
+					builder.append(this.standardTypes[id]);
+				}
+			}
+			result = builder.toString();
+			this.kidsStandardTypes[origin] = result;
+		}
+		return result;
+	}
+
+	private static class Builder {
+
+		private final TaggedPDFRoleMapHelper roleMapHelper;
+		private final Map<COSDictionary, Integer> nodes = new IdentityHashMap<>();
+		private final Map<String, Integer> typeIds = new HashMap<>();
+		private final List<String> standardTypes = new ArrayList<>();
+
+		private int size = 0;
+		private int[] parents = new int[INITIAL_CAPACITY];
+		private int[] firstChildren = new int[INITIAL_CAPACITY];
+		private int[] nextSiblings = new int[INITIAL_CAPACITY];
+		private int[] origins = new int[INITIAL_CAPACITY];
+		private int[] standardTypeIds = new int[INITIAL_CAPACITY];
+		private COSDictionary[] dictionaries = new COSDictionary[INITIAL_CAPACITY];
+		private COSObjectKey[] keys = new COSObjectKey[INITIAL_CAPACITY];
+		private String[] parentLangs = new String[INITIAL_CAPACITY];
+		private final BitSet resolvedParentLangs = new BitSet();
+
+		private Builder(TaggedPDFRoleMapHelper roleMapHelper) {
+			this.roleMapHelper = roleMapHelper;
+		}
+
+		private void addChildren(int node, boolean checkType) {
+			COSBase children = this.dictionaries[node].getDictionaryObject(COSName.K);
+			int last = NONE;
+			if (children instanceof COSDictionary) {
+				addChild(node, last, (COSDictionary) children, checkType);
+			} else if (children instanceof COSArray) {
+				for (COSBase element : (COSArray) children) {
+					COSBase directElem = element;
+					if (directElem instanceof COSObject) {
+						directElem = ((COSObject) directElem).getObject();
+					}
+					if (directElem instanceof COSDictionary) {
+						last = addChild(node, last, (COSDictionary) directElem, checkType);
+					}
+				}
+			}
+		}
+
+		private int addChild(int parent, int last, COSDictionary child, boolean checkType) {
+			if (!TaggedPDFHelper.isStructElem(child, checkType)) {
+				return last;
+			}
+			int node = addNode(child, parent);
+			if (last == NONE) {
+				this.firstChildren[parent] = node;
+			} else {
+				this.nextSiblings[last] = node;
+			}
+			return node;
+		}
+
+		private int addNode(COSDictionary dictionary, int parent) {
+			if (this.size == this.parents.length) {
+				int capacity = this.size * 2;
+				this.parents = Arrays.copyOf(this.parents, capacity);
+				this.firstChildren = Arrays.copyOf(this.firstChildren, capacity);
+				this.nextSiblings = Arrays.copyOf(this.nextSiblings, capacity);
+				this.origins = Arrays.copyOf(this.origins, capacity);
+				this.standardTypeIds = Arrays.copyOf(this.standardTypeIds, capacity);
+				this.dictionaries = Arrays.copyOf(this.dictionaries, capacity);
+				this.keys = Arrays.copyOf(this.keys, capacity);
+				this.parentLangs = Arrays.copyOf(this.parentLangs, capacity);
+			}
+			int node = this.size++;
+			Integer origin = this.nodes.get(dictionary);
+			if (origin == null) {
+				this.nodes.put(dictionary, node);
+				this.origins[node] = node;
+				this.standardTypeIds[node] = parent == NONE ? NONE : getStandardTypeId(dictionary);
+				if (parent != NONE) {
+					resolveParentLang(node, dictionary, parent);
+				}
+			} else {
+				this.origins[node] = origin;
+				this.standardTypeIds[node] = this.standardTypeIds[origin];
+			}
+			this.parents[node] = parent;
+			this.firstChildren[node] = NONE;
+			this.nextSiblings[node] = NONE;
+			this.dictionaries[node] = dictionary;
+			this.keys[node] = dictionary.getKey();
+			return node;
+		}
+
+		/**
+		 * Parent is always indexed before its kids, so its own inherited
+		 * language is already known here when the /P entries agree with the tree
+		 */
+		private void resolveParentLang(int node, COSDictionary dictionary, int parent) {
+			COSDictionary parentDictionary = this.dictionaries[parent];
+			if (dictionary.getDictionaryObject(COSName.P) != parentDictionary) {
+				return;
+			}
+			if (parent == ROOT) {
+				if (COSName.getPDFName("StructTreeRoot").equals(parentDictionary.getCOSName(COSName.TYPE))) {
+					this.resolvedParentLangs.set(node);
+				}
+				return;
+			}
+			COSBase lang = parentDictionary.getDictionaryObject(COSName.LANG);
+			if (lang instanceof COSString) {
+				this.parentLangs[node] = ((COSString) lang).getString();
+				this.resolvedParentLangs.set(node);
+			} else if (lang == null && this.resolvedParentLangs.get(parent)) {
+				this.parentLangs[node] = this.parentLangs[parent];
+				this.resolvedParentLangs.set(node);
+			}
+		}
+
+		private int getStandardTypeId(COSDictionary dictionary) {
+			String standardType = PBoxPDStructElem.getStructureElementStandardType(dictionary, this.roleMapHelper);
+			if (standardType == null) {
+				return NONE;
+			}
+			Integer id = this.typeIds.get(standardType);
+			if (id == null) {
+				id = this.standardTypes.size();
+				this.standardTypes.add(standardType);
+				this.typeIds.put(standardType, id);
+			}
+			return id;
+		}
+	}
+}
@@ -21,6 +21,7 @@
 package org.verapdf.model.tools;
 
 import org.apache.pdfbox.cos.*;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDStructElem;
 import org.verapdf.model.impl.pb.pd.pboxse.PBoxSEGeneral;
 import org.verapdf.model.pdlayer.PDStructElem;
@@ -57,6 +58,18 @@ public class TaggedPDFHelper {
 		return getChildrenStandardTypes(parent, roleMapHelper, true);
 	}
 
+	/**
+	 * Obtains structure tree index of the document the role map helper
+	 * belongs to
+	 *
+	 * @param roleMapHelper role map helper of the structure tree
+	 * @return index of the structure tree or {@code null} if it is not built
+	 */
+	public static StructureTreeIndex getStructureTreeIndex(TaggedPDFRoleMapHelper roleMapHelper) {
+		ValidationContext context = roleMapHelper.getContext();
+		return context != null ? context.getStructureTreeIndex() : null;
+	}
+
 	/**
 	 * Get all structure elements for current dictionary
 	 *
@@ -64,6 +77,11 @@ public class TaggedPDFHelper {
 	 * @return list of structure elements
 	 */
 	private static List<PDStructElem> getChildren(COSDictionary parent, TaggedPDFRoleMapHelper roleMapHelper, boolean checkType) {
+		StructureTreeIndex index = getStructureTreeIndex(roleMapHelper);
+		int node = index != null ? index.getNode(parent) : StructureTreeIndex.NONE;
+		if (node != StructureTreeIndex.NONE) {
+			return getChildrenFromIndex(index, node, roleMapHelper);
+		}
 		COSBase children = parent.getDictionaryObject(COSName.K);
 		if (children != null) {
 			if (children instanceof COSDictionary && isStructElem((COSDictionary) children, checkType)) {
@@ -78,6 +96,11 @@ public class TaggedPDFHelper {
 	}
 
 	private static List<String> getChildrenStandardTypes(COSDictionary parent, TaggedPDFRoleMapHelper roleMapHelper, boolean checkType) {
+		StructureTreeIndex index = getStructureTreeIndex(roleMapHelper);
+		int node = index != null ? index.getNode(parent) : StructureTreeIndex.NONE;
+		if (node != StructureTreeIndex.NONE) {
+			return getChildrenStandardTypesFromIndex(index, node);
+		}
 		COSBase children = parent.getDictionaryObject(COSName.K);
 		if (children != null) {
 			if (children instanceof COSDictionary && isStructElem((COSDictionary) children, checkType)) {
@@ -90,6 +113,31 @@ public class TaggedPDFHelper {
 		}
 		return Collections.emptyList();
 	}
+	private static List<PDStructElem> getChildrenFromIndex(StructureTreeIndex index, int node,
+														   TaggedPDFRoleMapHelper roleMapHelper) {
+		int child = index.getFirstChild(node);
+		if (child == StructureTreeIndex.NONE) {
+			return Collections.emptyList();
+		}
+		List<PDStructElem> list = new ArrayList<>();
+		for (; child != StructureTreeIndex.NONE; child = index.getNextSibling(child)) {
+			list.add(PBoxSEGeneral.createTypedStructElem(index.getDictionary(child), roleMapHelper));
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+	private static List<String> getChildrenStandardTypesFromIndex(StructureTreeIndex index, int node) {
+		int child = index.getFirstChild(node);
+		if (child == StructureTreeIndex.NONE) {
+			return Collections.emptyList();
+		}
+		List<String> list = new ArrayList<>();
+		for (; child != StructureTreeIndex.NONE; child = index.getNextSibling(child)) {
+			list.add(index.getStandardType(child));
+		}
+		return Collections.unmodifiableList(list);
+	}
+
 	/**
 	 * Transform array of dictionaries to list of structure elements
 	 *
@@ -130,7 +178,7 @@ public class TaggedPDFHelper {
 		return Collections.emptyList();
 	}
 
-	private static boolean isStructElem(COSDictionary dictionary, boolean checkType) {
+	static boolean isStructElem(COSDictionary dictionary, boolean checkType) {
 		if (dictionary == null) {
 			return false;
 		}
@@ -20,6 +20,7 @@
  */
 package org.verapdf.model.tools;
 
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.util.*;
@@ -29,8 +30,8 @@ import java.util.*;
  */
 public class TaggedPDFRoleMapHelper {
 
-	private static Set<String> PDF_1_4_STANDARD_ROLE_TYPES;
-	private static Set<String> PDF_1_7_STANDARD_ROLE_TYPES;
+	private static final Set<String> PDF_1_4_STANDARD_ROLE_TYPES;
+	private static final Set<String> PDF_1_7_STANDARD_ROLE_TYPES;
 
 	static {
 		Set<String> tempSet = new HashSet<>();
@@ -87,7 +88,7 @@ public class TaggedPDFRoleMapHelper {
 		tempSet.add("Formula");
 		tempSet.add("Form");
 
-		PDF_1_4_STANDARD_ROLE_TYPES = new HashSet<>(tempSet);
+		PDF_1_4_STANDARD_ROLE_TYPES = Collections.unmodifiableSet(new HashSet<>(tempSet));
 
 		// Standard structure types for table elements PDF 1.7
 		tempSet.add("THead");
@@ -108,23 +109,47 @@ public class TaggedPDFRoleMapHelper {
 		tempSet.add("WT");
 		tempSet.add("WP");
 
-		PDF_1_7_STANDARD_ROLE_TYPES = new HashSet<>(tempSet);
+		PDF_1_7_STANDARD_ROLE_TYPES = Collections.unmodifiableSet(new HashSet<>(tempSet));
 	}
 
-	private Map<String, String> roleMap;
-	private PDFAFlavour flavour;
+	private final ValidationContext context;
+
+	private final Set<String> currentStandardTypes;
+	// resolved role map: every custom or remapped type to result of its
+	// resolution. Types that are not mapped resolve to themselves if they are
+	// standard
+	private final Map<String, Resolution> resolutions;
 
 	/**
-	 * Creates new TaggedPDFRoleMapHelper
+	 * Creates new TaggedPDFRoleMapHelper. The whole role map is resolved
+	 * here, so the queries are answered by a single lookup
 	 * 
 	 * @param roleMap
 	 *            role map from PDF
 	 * @param flavour
 	 *            current pdfa flavour
+	 * @param context
+	 *            validation context of the document
+	 */
+	public TaggedPDFRoleMapHelper(Map<String, String> roleMap, PDFAFlavour flavour, ValidationContext context) {
+		this.context = context;
+		boolean isFastStop;
+		if (flavour != null && flavour.getPart() == PDFAFlavour.Specification.ISO_19005_1) {
+			this.currentStandardTypes = PDF_1_4_STANDARD_ROLE_TYPES;
+			isFastStop = true;
+		} else {
+			this.currentStandardTypes = PDF_1_7_STANDARD_ROLE_TYPES;
+			isFastStop = false;
+		}
+		this.resolutions = resolve(roleMap == null ? Collections.<String, String>emptyMap() : roleMap,
+				this.currentStandardTypes, isFastStop);
+	}
+
+	/**
+	 * @return validation context of the document the structure tree belongs to
 	 */
-	public TaggedPDFRoleMapHelper(Map<String, String> roleMap, PDFAFlavour flavour) {
-		this.roleMap = roleMap == null ? Collections.<String, String>emptyMap() : new HashMap<>(roleMap);
-		this.flavour = flavour;
+	public ValidationContext getContext() {
+		return this.context;
 	}
 
 	/**
@@ -139,33 +164,45 @@ public class TaggedPDFRoleMapHelper {
 		if (type == null) {
 			return null;
 		}
-		Set<String> currentStandardTypes;
-		boolean isFastStop;
-		if (flavour != null && flavour.getPart() == PDFAFlavour.Specification.ISO_19005_1) {
-			currentStandardTypes = PDF_1_4_STANDARD_ROLE_TYPES;
-			isFastStop = true;
-		} else {
-			currentStandardTypes = PDF_1_7_STANDARD_ROLE_TYPES;
-			isFastStop = false;
+		Resolution resolution = this.resolutions.get(type);
+		if (resolution != null) {
+			return resolution.standardType;
 		}
-		return getStandardType(type, currentStandardTypes, isFastStop);
+		return this.currentStandardTypes.contains(type) ? type : null;
 	}
 
 	public Boolean isRemappedStandardType(String type) {
 		if (type == null) {
 			return false;
 		}
-		Set<String> currentStandardTypes;
-		if (flavour != null && flavour.getPart() == PDFAFlavour.Specification.ISO_19005_1) {
-			currentStandardTypes = PDF_1_4_STANDARD_ROLE_TYPES;
-		} else {
-			currentStandardTypes = PDF_1_7_STANDARD_ROLE_TYPES;
+		Resolution resolution = this.resolutions.get(type);
+		return resolution != null && resolution.isRemappedStandardType;
+	}
+
+	public Boolean circularMappingExist(String type) {
+		if (type == null) {
+			return null;
 		}
-		String res = roleMap.get(type);
-		return currentStandardTypes.contains(type) && res != null;
+		Resolution resolution = this.resolutions.get(type);
+		return resolution != null && resolution.isCircular;
+	}
+
+	private static Map<String, Resolution> resolve(Map<String, String> roleMap,
+			Set<String> currentStandardTypes, boolean isFastStop) {
+		Map<String, Resolution> result = new HashMap<>();
+		for (String type : roleMap.keySet()) {
+			if (type != null) {
+				result.put(type, new Resolution(
+						getStandardType(roleMap, type, currentStandardTypes, isFastStop),
+						isCircular(roleMap, type),
+						currentStandardTypes.contains(type) && roleMap.get(type) != null));
+			}
+		}
+		return result;
 	}
 
-	private String getStandardType(String type, Set<String> currentStandardTypes, boolean isFastStop) {
+	private static String getStandardType(Map<String, String> roleMap, String type,
+			Set<String> currentStandardTypes, boolean isFastStop) {
 		Set<String> visitedTypes = new HashSet<>();
 		visitedTypes.add(type);
 		String res = roleMap.get(type);
@@ -182,10 +219,7 @@ public class TaggedPDFRoleMapHelper {
 		return null;
 	}
 
-	public Boolean circularMappingExist(String type) {
-		if (type == null) {
-			return null;
-		}
+	private static boolean isCircular(Map<String, String> roleMap, String type) {
 		Set<String> visitedTypes = new HashSet<>();
 		visitedTypes.add(type);
 		String res = roleMap.get(type);
@@ -198,4 +232,16 @@ public class TaggedPDFRoleMapHelper {
 		}
 		return false;
 	}
+
+	private static final class Resolution {
+		private final String standardType;
+		private final boolean isCircular;
+		private final boolean isRemappedStandardType;
+
+		Resolution(String standardType, boolean isCircular, boolean isRemappedStandardType) {
+			this.standardType = standardType;
+			this.isCircular = isCircular;
+			this.isRemappedStandardType = isRemappedStandardType;
+		}
+	}
 }
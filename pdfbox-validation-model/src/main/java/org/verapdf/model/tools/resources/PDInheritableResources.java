@@ -33,6 +33,9 @@ import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
 import org.apache.pdfbox.pdmodel.graphics.shading.PDShading;
 import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
 
+import org.verapdf.model.tools.resources.ResolvedResources.Resolution;
+import org.verapdf.model.tools.resources.ResolvedResources.Resolver;
+
 import java.io.IOException;
 import java.util.*;
 
@@ -52,11 +55,17 @@ public class PDInheritableResources {
 	private Set<COSName> undefinedResourceNames = new HashSet<>();
 	private Set<COSName> inheritedResourceNames = new HashSet<>();
 
-	private final HashMap<COSName, PDFont> fontCache = new HashMap<>();
+	private final ResolvedResources resolved;
 
 	protected PDInheritableResources(PDResources inheritedResources, PDResources currentResources) {
+		this(inheritedResources, currentResources, new ResolvedResources());
+	}
+
+	private PDInheritableResources(PDResources inheritedResources, PDResources currentResources,
+			ResolvedResources resolved) {
 		this.inheritedResources = inheritedResources;
 		this.currentResources = currentResources;
+		this.resolved = resolved;
 	}
 
 	/**
@@ -74,117 +83,132 @@ public class PDInheritableResources {
 	}
 
 	public PDInheritableResources getExtendedResources(PDResources resources) {
-		return getInstance(this.currentResources, resources);
+		PDResources currentResourcesDictionary = resources != null ? resources : EMPTY_RESOURCES;
+		return new PDInheritableResources(this.currentResources, currentResourcesDictionary,
+				this.resolved.getExtended(currentResourcesDictionary));
 	}
 
-	public PDFont getFont(COSName name) throws IOException {
-		PDFont ret = fontCache.get(name);
-		if (ret == null) {
+	public PDFont getFont(final COSName name) throws IOException {
+		return (PDFont) resolve(this.resolved.fonts, name, () -> {
 			PDFont font = this.currentResources.getFont(name);
-			if (font == null) {
-				font = this.inheritedResources.getFont(name);
-				if (font != null) {
-					font.setInherited(true);
-					inheritedResourceNames.add(name);
-				}
+			if (font != null) {
+				return new Resolution(font, false);
 			}
-			fontCache.put(name, font);
-			ret = font;
-		}
-		if (ret == null) {
-			undefinedResourceNames.add(name);
-		}
-		return ret;
-	}
-
-	public PDColorSpace getColorSpace(COSName name) throws IOException {
-		try {
-			/*
-			 * if name is name of device depended color space and default color
-			 * space defined only in page resource dictionary that wee need to
-			 * get it from page resource dictionary
-			 */
-			if (this.isDefaultColorSpaceUsed(name)) {
-				PDColorSpace colorSpace = this.inheritedResources.getColorSpace(name);
-				if (colorSpace == null) {
-					undefinedResourceNames.add(name);
+			font = this.inheritedResources.getFont(name);
+			if (font != null) {
+				font.setInherited(true);
+				return new Resolution(font, true);
+			}
+			return Resolution.UNDEFINED;
+		});
+	}
+
+	public PDColorSpace getColorSpace(final COSName name) throws IOException {
+		return (PDColorSpace) resolve(this.resolved.colorSpaces, name, () -> {
+			try {
+				/*
+				 * if name is name of device depended color space and default color
+				 * space defined only in page resource dictionary that wee need to
+				 * get it from page resource dictionary
+				 */
+				if (this.isDefaultColorSpaceUsed(name)) {
+					PDColorSpace colorSpace = this.inheritedResources.getColorSpace(name);
+					return colorSpace != null ? new Resolution(colorSpace, false) : Resolution.UNDEFINED;
+				}
+				PDColorSpace colorSpace = this.currentResources.getColorSpace(name);
+				if (colorSpace != null) {
+					return new Resolution(colorSpace, false);
 				}
-				return colorSpace;
+			} catch (IOException e) {
+				LOGGER.log(java.util.logging.Level.INFO, "Problems during color space obtain from current resource dictionary. "
+						+ "Trying to find it in inherited dictionary " + e.getMessage());
 			}
-			PDColorSpace colorSpace = this.currentResources.getColorSpace(name);
-			if (colorSpace != null) {
-				return colorSpace;
+			return getInheritedColorSpace(this.inheritedResources.getColorSpace(name));
+		});
+	}
+
+	public PDExtendedGraphicsState getExtGState(final COSName name) {
+		return (PDExtendedGraphicsState) resolve(this.resolved.extGStates, name, () -> {
+			PDExtendedGraphicsState state = this.currentResources.getExtGState(name);
+			if (state != null) {
+				return new Resolution(state, false);
 			}
-		} catch (IOException e) {
-			LOGGER.log(java.util.logging.Level.INFO, "Problems during color space obtain from current resource dictionary. "
-					+ "Trying to find it in inherited dictionary " + e.getMessage());
-		}
-		PDColorSpace colorSpace = this.inheritedResources.getColorSpace(name);
-		colorSpace = setInheritedColorSpace(colorSpace, name);
-		if (colorSpace == null) {
-			undefinedResourceNames.add(name);
-		}
-		return colorSpace;
+			state = this.inheritedResources.getExtGState(name);
+			if (state != null) {
+				state.setInherited(true);
+				return new Resolution(state, true);
+			}
+			return Resolution.UNDEFINED;
+		});
 	}
 
-	public PDExtendedGraphicsState getExtGState(COSName name) {
-		PDExtendedGraphicsState state = this.currentResources.getExtGState(name);
-		if (state != null) {
-			return state;
-		}
-		state = this.inheritedResources.getExtGState(name);
-		if (state != null) {
-			state.setInherited(true);
-			inheritedResourceNames.add(name);
-			return state;
-		}
-		undefinedResourceNames.add(name);
-		return null;
+	public PDShading getShading(final COSName name) throws IOException {
+		return (PDShading) resolve(this.resolved.shadings, name, () -> {
+			PDShading shading = this.currentResources.getShading(name);
+			if (shading != null) {
+				return new Resolution(shading, false);
+			}
+			shading = this.inheritedResources.getShading(name);
+			if (shading != null) {
+				shading.setInherited(true);
+				return new Resolution(shading, true);
+			}
+			return Resolution.UNDEFINED;
+		});
 	}
 
-	public PDShading getShading(COSName name) throws IOException {
-		PDShading shading = this.currentResources.getShading(name);
-		if (shading != null) {
-			return shading;
-		}
-		shading = this.inheritedResources.getShading(name);
-		if (shading != null) {
-			inheritedResourceNames.add(name);
-			shading.setInherited(true);
-			return shading;
-		}
-		undefinedResourceNames.add(name);
-		return null;
+	public PDAbstractPattern getPattern(final COSName name) throws IOException {
+		return (PDAbstractPattern) resolve(this.resolved.patterns, name, () -> {
+			PDAbstractPattern pattern = this.currentResources.getPattern(name);
+			if (pattern != null) {
+				return new Resolution(pattern, false);
+			}
+			pattern = this.inheritedResources.getPattern(name);
+			if (pattern != null) {
+				pattern.setInherited(true);
+				return new Resolution(pattern, true);
+			}
+			return Resolution.UNDEFINED;
+		});
 	}
 
-	public PDAbstractPattern getPattern(COSName name) throws IOException {
-		PDAbstractPattern pattern = this.currentResources.getPattern(name);
-		if (pattern != null) {
-			return pattern;
-		}
-		pattern = this.inheritedResources.getPattern(name);
-		if (pattern != null) {
-			inheritedResourceNames.add(name);
-			pattern.setInherited(true);
-			return pattern;
-		}
-		undefinedResourceNames.add(name);
-		return null;
+	public PDXObject getXObject(final COSName name) throws IOException {
+		return (PDXObject) resolve(this.resolved.xObjects, name, () -> {
+			PDXObject object = this.currentResources.getXObject(name);
+			if (object != null) {
+				return new Resolution(object, false);
+			}
+			object = this.inheritedResources.getXObject(name);
+			if (object != null) {
+				object.setInherited(true);
+				return new Resolution(object, true);
+			}
+			return Resolution.UNDEFINED;
+		});
 	}
 
-	public PDXObject getXObject(COSName name) throws IOException {
-		PDXObject object = this.currentResources.getXObject(name);
-		if (object != null) {
-			return object;
+	/**
+	 * Takes result of the lookup from the memo or resolves it. Failed lookups
+	 * are not memoised, so they are repeated on the next request
+	 */
+	private <E extends Exception> Object resolve(Map<COSName, Resolution> memo, COSName name, Resolver<E> resolver)
+			throws E {
+		Resolution resolution = name != null ? memo.get(name) : null;
+		if (resolution == null) {
+			resolution = resolver.resolve();
+			if (name != null) {
+				Resolution previous = memo.putIfAbsent(name, resolution);
+				if (previous != null) {
+					resolution = previous;
+				}
+			}
 		}
-		object = this.inheritedResources.getXObject(name);
-		if (object != null) {
+		if (resolution.value == null) {
+			undefinedResourceNames.add(name);
+		} else if (resolution.isInherited) {
 			inheritedResourceNames.add(name);
-			object.setInherited(true);
-			return object;
 		}
-		undefinedResourceNames.add(name);
-		return null;
+		return resolution.value;
 	}
 
 	private boolean isDefaultColorSpaceUsed(COSName name) {
@@ -205,17 +229,18 @@ public class PDInheritableResources {
 		return COSName.DEVICERGB.equals(name) || COSName.DEVICEGRAY.equals(name) || COSName.DEVICECMYK.equals(name);
 	}
 
-	private PDColorSpace setInheritedColorSpace(PDColorSpace colorSpace, COSName name) {
-		if (colorSpace == PDDeviceCMYK.INSTANCE) {
-			return PDDeviceCMYK.INHERITED_INSTANCE;
+	private static Resolution getInheritedColorSpace(PDColorSpace colorSpace) {
+		if (colorSpace == null) {
+			return Resolution.UNDEFINED;
+		} else if (colorSpace == PDDeviceCMYK.INSTANCE) {
+			return new Resolution(PDDeviceCMYK.INHERITED_INSTANCE, false);
 		} else if (colorSpace == PDDeviceRGB.INSTANCE) {
-			return PDDeviceRGB.INHERITED_INSTANCE;
+			return new Resolution(PDDeviceRGB.INHERITED_INSTANCE, false);
 		} else if (colorSpace == PDDeviceGray.INSTANCE) {
-			return PDDeviceGray.INHERITED_INSTANCE;
+			return new Resolution(PDDeviceGray.INHERITED_INSTANCE, false);
 		}
 		colorSpace.setInherited(true);
-		inheritedResourceNames.add(name);
-		return colorSpace;
+		return new Resolution(colorSpace, true);
 	}
 
 	public static PDInheritableResources getInstance(PDResources pageResources) {
@@ -223,9 +248,26 @@ public class PDInheritableResources {
 	}
 
 	public static PDInheritableResources getInstance(PDResources inheritedResources, PDResources currentResources) {
+		return getInstance(inheritedResources, currentResources, new ResolvedResources());
+	}
+
+	/**
+	 * Creates resources view that shares results of lookups with all other
+	 * views of the same dictionaries created from the given root, so
+	 * identical resource dictionaries of many pages are resolved once
+	 *
+	 * @param inheritedResources resources inherited from the page tree
+	 * @param currentResources   resources of the page
+	 * @param root               lookup results shared by the document
+	 * @return resources view
+	 */
+	public static PDInheritableResources getInstance(PDResources inheritedResources, PDResources currentResources,
+			ResolvedResources root) {
 		PDResources inheritedResourcesDictionary = inheritedResources != null ? inheritedResources : EMPTY_RESOURCES;
 		PDResources currentResourcesDictionary = currentResources != null ? currentResources : EMPTY_RESOURCES;
-		return new PDInheritableResources(inheritedResourcesDictionary, currentResourcesDictionary);
+		ResolvedResources resolved = root.getExtended(inheritedResourcesDictionary)
+				.getExtended(currentResourcesDictionary);
+		return new PDInheritableResources(inheritedResourcesDictionary, currentResourcesDictionary, resolved);
 	}
 
 	public Set<COSName> getUndefinedResourceNames() {
@@ -0,0 +1,90 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools.resources;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDResources;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Results of resource lookups made through {@link PDInheritableResources}
+ * for one pair of inherited and current resource dictionaries. Every
+ * category is memoised by resource name, including names that are not
+ * defined, so each name is resolved once. Views of the same pair of
+ * dictionaries share one instance: views extended with the resources of a
+ * form, pattern or Type3 font are reached through {@link #getExtended}, which
+ * keys them by identity of the new current dictionary.
+ */
+public final class ResolvedResources {
+
+	final Map<COSName, Resolution> fonts = new ConcurrentHashMap<>();
+	final Map<COSName, Resolution> colorSpaces = new ConcurrentHashMap<>();
+	final Map<COSName, Resolution> extGStates = new ConcurrentHashMap<>();
+	final Map<COSName, Resolution> shadings = new ConcurrentHashMap<>();
+	final Map<COSName, Resolution> patterns = new ConcurrentHashMap<>();
+	final Map<COSName, Resolution> xObjects = new ConcurrentHashMap<>();
+
+	private final Map<COSBase, ResolvedResources> extended = new IdentityHashMap<>();
+
+	/**
+	 * @param currentResources resources that extend the current resources of
+	 *                         this view and inherit them
+	 * @return shared results of lookups in the extended view
+	 */
+	synchronized ResolvedResources getExtended(PDResources currentResources) {
+		COSBase key = currentResources.getCOSObject();
+		ResolvedResources result = this.extended.get(key);
+		if (result == null) {
+			result = new ResolvedResources();
+			this.extended.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Result of a single lookup
+	 */
+	static final class Resolution {
+		static final Resolution UNDEFINED = new Resolution(null, false);
+
+		final Object value;
+		final boolean isInherited;
+
+		Resolution(Object value, boolean isInherited) {
+			this.value = value;
+			this.isInherited = isInherited;
+		}
+	}
+
+	/**
+	 * Lookup of a resource
+	 *
+	 * @param <E> exception thrown by the lookup, {@link RuntimeException} for
+	 *            lookups that do not read streams
+	 */
+	interface Resolver<E extends Exception> {
+		Resolution resolve() throws E;
+	}
+}
@@ -51,6 +51,36 @@ public class TransparencyBehaviour {
 	private boolean isColorSpaceCheck = false;
 	private boolean isFontCheck = false;
 
+	private static final ContentChecker MODEL_CONTENT_CHECKER = new ModelContentChecker();
+
+	/**
+	 * Checks of the content drawn by a painting operator: XObjects, tiling
+	 * patterns and glyphs of type 3 fonts. Each check is made only if the
+	 * operator draws such content.
+	 */
+	public interface ContentChecker {
+
+		/**
+		 * @param graphicState graphic state of the Do operator
+		 * @return true if the drawn XObject contains transparency
+		 */
+		boolean xObjectContainsTransparency(GraphicState graphicState);
+
+		/**
+		 * @param graphicState graphic state of the painting operator
+		 * @param isFill       true if the fill pattern is checked, false for
+		 *                     the stroke one
+		 * @return true if the used tiling pattern contains transparency
+		 */
+		boolean patternContainsTransparency(GraphicState graphicState, boolean isFill);
+
+		/**
+		 * @param graphicState graphic state of the text show operator
+		 * @return true if glyphs of the used type 3 font contain transparency
+		 */
+		boolean fontContainsTransparency(GraphicState graphicState);
+	}
+
 	private TransparencyBehaviour() {
 	}
 
@@ -146,6 +176,21 @@ public class TransparencyBehaviour {
 	 *         on created object type
 	 */
 	public boolean containsTransparency(GraphicState graphicState) {
+		return containsTransparency(graphicState, MODEL_CONTENT_CHECKER);
+	}
+
+	/**
+	 * Checks the given graphic state for the transparency depends on created
+	 * object type, the drawn content is checked by the given checker
+	 *
+	 * @param graphicState
+	 *            graphicState object for check
+	 * @param contentChecker
+	 *            checker of XObjects, patterns and fonts
+	 * @return true if the given argument object contains transparency depends
+	 *         on created object type
+	 */
+	public boolean containsTransparency(GraphicState graphicState, ContentChecker contentChecker) {
 		if (baseCheck(graphicState)) {
 			return true;
 		}
@@ -158,21 +203,28 @@ public class TransparencyBehaviour {
 			return true;
 		}
 
-		if (isXObjectCheck && xObjectContainsTransparency(graphicState.getVeraXObject())) {
+		if (isXObjectCheck && contentChecker.xObjectContainsTransparency(graphicState)) {
 			return true;
 		}
 
-		if (isColorSpaceCheck && colorSpaceCheck(graphicState)) {
+		if (isColorSpaceCheck && colorSpaceCheck(graphicState, contentChecker)) {
 			return true;
 		}
 
-		if (isFontCheck && fontCheck(graphicState)) {
+		if (isFontCheck && contentChecker.fontContainsTransparency(graphicState)) {
 			return true;
 		}
 
 		return false;
 	}
 
+	private boolean colorSpaceCheck(GraphicState graphicState, ContentChecker contentChecker) {
+		if (isFillCheck && contentChecker.patternContainsTransparency(graphicState, true)) {
+			return true;
+		}
+		return isStrokeCheck && contentChecker.patternContainsTransparency(graphicState, false);
+	}
+
 	private static boolean fontCheck(GraphicState graphicState) {
 		PBoxPDFont font = graphicState.getVeraFont();
 		if (font instanceof PBoxPDType3Font) {
@@ -194,20 +246,8 @@ public class TransparencyBehaviour {
 		return false;
 	}
 
-	private boolean colorSpaceCheck(GraphicState graphicState) {
-		if (isFillCheck) {
-			PBoxPDColorSpace fillCS = graphicState.getVeraFillColorSpace();
-			if (fillCS instanceof PBoxPDTilingPattern && ((PBoxPDTilingPattern) fillCS).isContainsTransparency()) {
-				return true;
-			}
-		}
-		if (isStrokeCheck) {
-			PBoxPDColorSpace strokeCS = graphicState.getVeraStrokeColorSpace();
-			if (strokeCS instanceof PBoxPDTilingPattern && ((PBoxPDTilingPattern) strokeCS).isContainsTransparency()) {
-				return true;
-			}
-		}
-		return false;
+	private static boolean patternCheck(PBoxPDColorSpace colorSpace) {
+		return colorSpace instanceof PBoxPDTilingPattern && ((PBoxPDTilingPattern) colorSpace).isContainsTransparency();
 	}
 
 	private static boolean baseCheck(GraphicState graphicState) {
@@ -245,4 +285,26 @@ public class TransparencyBehaviour {
 		}
 		return false;
 	}
+
+	/**
+	 * Checks content by the objects of veraPDF model that operators have set
+	 * to the graphic state
+	 */
+	private static final class ModelContentChecker implements ContentChecker {
+
+		@Override
+		public boolean xObjectContainsTransparency(GraphicState graphicState) {
+			return TransparencyBehaviour.xObjectContainsTransparency(graphicState.getVeraXObject());
+		}
+
+		@Override
+		public boolean patternContainsTransparency(GraphicState graphicState, boolean isFill) {
+			return patternCheck(isFill ? graphicState.getVeraFillColorSpace() : graphicState.getVeraStrokeColorSpace());
+		}
+
+		@Override
+		public boolean fontContainsTransparency(GraphicState graphicState) {
+			return fontCheck(graphicState);
+		}
+	}
 }
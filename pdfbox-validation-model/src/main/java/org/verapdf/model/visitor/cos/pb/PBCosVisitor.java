@@ -33,6 +33,7 @@ import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.cos.COSString;
 import org.apache.pdfbox.cos.ICOSVisitor;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosArray;
 import org.verapdf.model.impl.pb.cos.PBCosBool;
 import org.verapdf.model.impl.pb.cos.PBCosDict;
@@ -58,14 +59,16 @@ public final class PBCosVisitor implements ICOSVisitor {
 
     private final PDDocument document;
     private final PDFAFlavour flavour;
+    private final ValidationContext context;
 
-    private PBCosVisitor(PDDocument document, PDFAFlavour flavour) {
+    private PBCosVisitor(PDDocument document, PDFAFlavour flavour, ValidationContext context) {
         this.document = document;
         this.flavour = flavour;
+        this.context = context;
     }
 
-    public static PBCosVisitor getInstance(PDDocument document, PDFAFlavour flavour) {
-        return new PBCosVisitor(document, flavour);
+    public static PBCosVisitor getInstance(PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+        return new PBCosVisitor(document, flavour, context);
     }
 
     /** {@inheritDoc} Create a PBCosArray for corresponding COSArray.
@@ -74,7 +77,7 @@ public final class PBCosVisitor implements ICOSVisitor {
      */
     @Override
     public Object visitFromArray(COSArray obj) {
-        return new PBCosArray(obj, document, flavour);
+        return new PBCosArray(obj, document, flavour, context);
     }
 
     /** {@inheritDoc} Create a PBCosBool for corresponding COSBoolean.
@@ -97,7 +100,8 @@ public final class PBCosVisitor implements ICOSVisitor {
     public Object visitFromDictionary(COSDictionary obj) {
 		COSName type = obj.getCOSName(COSName.TYPE);
 		boolean isFileSpec = type != null && COSName.FILESPEC.equals(type);
-		return isFileSpec ? new PBCosFileSpecification(obj, document, flavour) : new PBCosDict(obj, document, flavour);
+		return isFileSpec ? new PBCosFileSpecification(obj, document, flavour, context) : new PBCosDict(obj, document, flavour,
+				context);
     }
 
     /** {@inheritDoc} Create a PBCosDocument for corresponding COSDocument.
@@ -106,7 +110,7 @@ public final class PBCosVisitor implements ICOSVisitor {
      */
     @Override
     public Object visitFromDocument(COSDocument obj) {
-        return new PBCosDocument(obj, flavour);
+        return new PBCosDocument(obj, flavour, context);
     }
 
     /** {@inheritDoc} Create a PBCosReal for corresponding COSFloat.
@@ -151,7 +155,7 @@ public final class PBCosVisitor implements ICOSVisitor {
      */
     @Override
     public Object visitFromStream(COSStream obj) {
-        return new PBCosStream(obj, document, flavour);
+        return new PBCosStream(obj, document, flavour, context);
     }
 
     /** {@inheritDoc} Create a PBCosString for corresponding COSString.
@@ -170,7 +174,7 @@ public final class PBCosVisitor implements ICOSVisitor {
      * @see PBCosIndirect
      * @see COSObject#accept(ICOSVisitor)
      */
-    public static Object visitFromObject(COSObject obj, PDDocument document, PDFAFlavour flavour) {
-        return new PBCosIndirect(obj, document, flavour);
+    public static Object visitFromObject(COSObject obj, PDDocument document, PDFAFlavour flavour, ValidationContext context) {
+        return new PBCosIndirect(obj, document, flavour, context);
     }
 }
\ No newline at end of file
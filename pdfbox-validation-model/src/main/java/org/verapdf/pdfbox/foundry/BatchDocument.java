@@ -0,0 +1,96 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pdfbox.foundry;
+
+import org.verapdf.core.EncryptedPdfException;
+import org.verapdf.core.ModelParsingException;
+import org.verapdf.pdfa.PDFAParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Document submitted to {@link BatchValidator}, either a file or an input
+ * stream. Streams are closed by the batch once their document is processed.
+ */
+public final class BatchDocument {
+
+	/** Size of a document which size is not known */
+	public static final long UNKNOWN_SIZE = -1;
+
+	private final String name;
+	private final File file;
+	private final InputStream stream;
+	private final long size;
+
+	private BatchDocument(String name, File file, InputStream stream, long size) {
+		this.name = name;
+		this.file = file;
+		this.stream = stream;
+		this.size = size;
+	}
+
+	public static BatchDocument fromFile(File file) {
+		return new BatchDocument(file.getPath(), file, null, file.length());
+	}
+
+	public static BatchDocument fromStream(String name, InputStream stream) {
+		return fromStream(name, stream, UNKNOWN_SIZE);
+	}
+
+	/**
+	 * @param name   name of the document reported with its result
+	 * @param stream document stream
+	 * @param size   size of the document in bytes or {@link #UNKNOWN_SIZE}
+	 * @return new batch document
+	 */
+	public static BatchDocument fromStream(String name, InputStream stream, long size) {
+		return new BatchDocument(name, null, stream, size);
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * @return size of the document in bytes or {@link #UNKNOWN_SIZE}
+	 */
+	public long getSize() {
+		return this.size;
+	}
+
+	PDFAParser createParser(PdfBoxFoundry foundry, BatchValidationConfig config)
+			throws ModelParsingException, EncryptedPdfException {
+		if (this.file != null) {
+			return foundry.createParser(this.file, config.getFlavour(), config.getDefaultFlavour(),
+					config.getParserConfig());
+		}
+		return foundry.createParser(this.stream, config.getFlavour(), config.getDefaultFlavour(),
+				config.getParserConfig());
+	}
+
+	void close() throws IOException {
+		if (this.stream != null) {
+			this.stream.close();
+		}
+	}
+}
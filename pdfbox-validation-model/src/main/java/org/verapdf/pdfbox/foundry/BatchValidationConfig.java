@@ -0,0 +1,250 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pdfbox.foundry;
+
+import org.verapdf.features.FeatureExtractorConfig;
+import org.verapdf.model.ModelParserConfig;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+/**
+ * Settings of {@link BatchValidator}. Instances are immutable and created with
+ * {@link Builder}.
+ */
+public final class BatchValidationConfig {
+
+	/** Default size assumed for stream documents without size estimate, 64 MB */
+	public static final long DEFAULT_UNKNOWN_DOCUMENT_SIZE = 64L * 1024 * 1024;
+
+	private final int workers;
+	private final boolean virtualThreads;
+	private final int queueCapacity;
+	private final long documentTimeoutMillis;
+	private final long memoryBudget;
+	private final long unknownDocumentSize;
+	private final PDFAFlavour flavour;
+	private final PDFAFlavour defaultFlavour;
+	private final boolean logPassedChecks;
+	private final int maxFailedChecks;
+	private final ModelParserConfig parserConfig;
+	private final FeatureExtractorConfig featureExtractorConfig;
+
+	private BatchValidationConfig(Builder builder) {
+		this.workers = builder.workers;
+		this.virtualThreads = builder.virtualThreads;
+		this.queueCapacity = builder.queueCapacity;
+		this.documentTimeoutMillis = builder.documentTimeoutMillis;
+		this.memoryBudget = builder.memoryBudget;
+		this.unknownDocumentSize = builder.unknownDocumentSize;
+		this.flavour = builder.flavour;
+		this.defaultFlavour = builder.defaultFlavour;
+		this.logPassedChecks = builder.logPassedChecks;
+		this.maxFailedChecks = builder.maxFailedChecks;
+		this.parserConfig = builder.parserConfig;
+		this.featureExtractorConfig = builder.featureExtractorConfig;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @return number of documents validated at the same time
+	 */
+	public int getWorkers() {
+		return this.workers;
+	}
+
+	/**
+	 * @return true if each document is processed on its own virtual thread,
+	 *         the number of documents processed at the same time is still
+	 *         limited by {@link #getWorkers()}
+	 */
+	public boolean isVirtualThreads() {
+		return this.virtualThreads;
+	}
+
+	/**
+	 * @return number of documents waiting for a free worker, submission of
+	 *         further documents blocks until one of them is taken
+	 */
+	public int getQueueCapacity() {
+		return this.queueCapacity;
+	}
+
+	/**
+	 * @return validation time limit of a single document in milliseconds,
+	 *         {@code 0} if there is no limit
+	 */
+	public long getDocumentTimeoutMillis() {
+		return this.documentTimeoutMillis;
+	}
+
+	/**
+	 * @return sum of sizes of documents admitted for validation at the same
+	 *         time. A document bigger than the budget is admitted only when
+	 *         no other document is validated.
+	 */
+	public long getMemoryBudget() {
+		return this.memoryBudget;
+	}
+
+	/**
+	 * @return size assumed for documents with unknown size
+	 */
+	public long getUnknownDocumentSize() {
+		return this.unknownDocumentSize;
+	}
+
+	public PDFAFlavour getFlavour() {
+		return this.flavour;
+	}
+
+	public PDFAFlavour getDefaultFlavour() {
+		return this.defaultFlavour;
+	}
+
+	public boolean isLogPassedChecks() {
+		return this.logPassedChecks;
+	}
+
+	public int getMaxFailedChecks() {
+		return this.maxFailedChecks;
+	}
+
+	public ModelParserConfig getParserConfig() {
+		return this.parserConfig;
+	}
+
+	/**
+	 * @return configuration of feature extraction performed after validation,
+	 *         {@code null} if features are not extracted
+	 */
+	public FeatureExtractorConfig getFeatureExtractorConfig() {
+		return this.featureExtractorConfig;
+	}
+
+	public static final class Builder {
+		private int workers = Runtime.getRuntime().availableProcessors();
+		private boolean virtualThreads = false;
+		private int queueCapacity = Runtime.getRuntime().availableProcessors();
+		private long documentTimeoutMillis = 0;
+		private long memoryBudget = Runtime.getRuntime().maxMemory() / 4;
+		private long unknownDocumentSize = DEFAULT_UNKNOWN_DOCUMENT_SIZE;
+		private PDFAFlavour flavour = PDFAFlavour.NO_FLAVOUR;
+		private PDFAFlavour defaultFlavour = PDFAFlavour.NO_FLAVOUR;
+		private boolean logPassedChecks = false;
+		private int maxFailedChecks = -1;
+		private ModelParserConfig parserConfig = ModelParserConfig.defaultConfig();
+		private FeatureExtractorConfig featureExtractorConfig = null;
+
+		private Builder() {
+		}
+
+		public BatchValidationConfig build() {
+			return new BatchValidationConfig(this);
+		}
+
+		public Builder setWorkers(int workers) {
+			if (workers < 1) {
+				throw new IllegalArgumentException("Number of workers should be positive");
+			}
+			this.workers = workers;
+			return this;
+		}
+
+		/**
+		 * Runs each document on its own virtual thread. Requires Java 21 or
+		 * later, see {@link BatchValidator#isVirtualThreadsSupported()}.
+		 *
+		 * @param virtualThreads true to use virtual threads
+		 * @return this builder
+		 */
+		public Builder setVirtualThreads(boolean virtualThreads) {
+			if (virtualThreads && !BatchValidator.isVirtualThreadsSupported()) {
+				throw new IllegalStateException("Virtual threads are not supported by this Java runtime");
+			}
+			this.virtualThreads = virtualThreads;
+			return this;
+		}
+
+		public Builder setQueueCapacity(int queueCapacity) {
+			if (queueCapacity < 0) {
+				throw new IllegalArgumentException("Queue capacity can not be negative");
+			}
+			this.queueCapacity = queueCapacity;
+			return this;
+		}
+
+		public Builder setDocumentTimeoutMillis(long documentTimeoutMillis) {
+			if (documentTimeoutMillis < 0) {
+				throw new IllegalArgumentException("Document timeout can not be negative");
+			}
+			this.documentTimeoutMillis = documentTimeoutMillis;
+			return this;
+		}
+
+		public Builder setMemoryBudget(long memoryBudget) {
+			if (memoryBudget < 1) {
+				throw new IllegalArgumentException("Memory budget should be positive");
+			}
+			this.memoryBudget = memoryBudget;
+			return this;
+		}
+
+		public Builder setUnknownDocumentSize(long unknownDocumentSize) {
+			if (unknownDocumentSize < 0) {
+				throw new IllegalArgumentException("Document size can not be negative");
+			}
+			this.unknownDocumentSize = unknownDocumentSize;
+			return this;
+		}
+
+		public Builder setFlavour(PDFAFlavour flavour) {
+			this.flavour = flavour;
+			return this;
+		}
+
+		public Builder setDefaultFlavour(PDFAFlavour defaultFlavour) {
+			this.defaultFlavour = defaultFlavour;
+			return this;
+		}
+
+		public Builder setLogPassedChecks(boolean logPassedChecks) {
+			this.logPassedChecks = logPassedChecks;
+			return this;
+		}
+
+		public Builder setMaxFailedChecks(int maxFailedChecks) {
+			this.maxFailedChecks = maxFailedChecks;
+			return this;
+		}
+
+		public Builder setParserConfig(ModelParserConfig parserConfig) {
+			this.parserConfig = parserConfig;
+			return this;
+		}
+
+		public Builder setFeatureExtractorConfig(FeatureExtractorConfig featureExtractorConfig) {
+			this.featureExtractorConfig = featureExtractorConfig;
+			return this;
+		}
+	}
+}
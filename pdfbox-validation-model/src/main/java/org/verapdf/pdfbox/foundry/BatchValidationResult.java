@@ -0,0 +1,112 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pdfbox.foundry;
+
+import org.verapdf.features.FeatureExtractionResult;
+import org.verapdf.pdfa.results.ValidationResult;
+
+/**
+ * Outcome of validation of a single {@link BatchDocument}.
+ */
+public final class BatchValidationResult {
+
+	public enum Status {
+		/** Document is validated, result is available */
+		VALIDATED,
+		/** Document could not be parsed or validated */
+		FAILED,
+		/** Validation did not finish in configured time */
+		TIMED_OUT
+	}
+
+	private final String name;
+	private final Status status;
+	private final ValidationResult validationResult;
+	private final FeatureExtractionResult featuresResult;
+	private final Throwable exception;
+	private final long durationMillis;
+
+	private BatchValidationResult(String name, Status status, ValidationResult validationResult,
+								  FeatureExtractionResult featuresResult, Throwable exception, long durationMillis) {
+		this.name = name;
+		this.status = status;
+		this.validationResult = validationResult;
+		this.featuresResult = featuresResult;
+		this.exception = exception;
+		this.durationMillis = durationMillis;
+	}
+
+	static BatchValidationResult validated(String name, ValidationResult validationResult,
+										   FeatureExtractionResult featuresResult, long durationMillis) {
+		return new BatchValidationResult(name, Status.VALIDATED, validationResult, featuresResult, null,
+				durationMillis);
+	}
+
+	static BatchValidationResult failed(String name, Throwable exception, long durationMillis) {
+		return new BatchValidationResult(name, Status.FAILED, null, null, exception, durationMillis);
+	}
+
+	static BatchValidationResult timedOut(String name, long durationMillis) {
+		return new BatchValidationResult(name, Status.TIMED_OUT, null, null, null, durationMillis);
+	}
+
+	/**
+	 * @return name of the validated document
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	public Status getStatus() {
+		return this.status;
+	}
+
+	/**
+	 * @return validation result or {@code null} if status is not
+	 *         {@link Status#VALIDATED}
+	 */
+	public ValidationResult getValidationResult() {
+		return this.validationResult;
+	}
+
+	/**
+	 * @return extracted features or {@code null} if feature extraction is
+	 *         not configured or status is not {@link Status#VALIDATED}
+	 */
+	public FeatureExtractionResult getFeaturesResult() {
+		return this.featuresResult;
+	}
+
+	/**
+	 * @return cause of failure or {@code null} if status is not
+	 *         {@link Status#FAILED}
+	 */
+	public Throwable getException() {
+		return this.exception;
+	}
+
+	/**
+	 * @return time from the start of document processing to its result
+	 */
+	public long getDurationMillis() {
+		return this.durationMillis;
+	}
+}
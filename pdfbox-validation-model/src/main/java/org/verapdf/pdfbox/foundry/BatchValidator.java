@@ -0,0 +1,402 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pdfbox.foundry;
+
+import org.verapdf.features.FeatureExtractionResult;
+import org.verapdf.model.ModelParser;
+import org.verapdf.pdfa.PDFAParser;
+import org.verapdf.pdfa.PDFAValidator;
+import org.verapdf.pdfa.results.ValidationResult;
+import org.verapdf.pdfa.validation.validators.ValidatorFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Validates many documents on a fixed pool of workers.
+ * <p>
+ * Documents are taken from the supplied stream only when there is room for
+ * them: at most {@link BatchValidationConfig#getWorkers()} documents are
+ * validated and at most {@link BatchValidationConfig#getQueueCapacity()}
+ * documents wait for a worker, and the sum of sizes of admitted documents
+ * stays within {@link BatchValidationConfig#getMemoryBudget()}. Results are
+ * passed to the consumer as soon as documents are processed, one at a time,
+ * so the consumer does not need to be thread safe. A failure of a single
+ * document is reported in its result and does not stop the batch.
+ * <p>
+ * With {@link BatchValidationConfig#isVirtualThreads()} every document is
+ * parsed, validated and, if configured, has its features extracted on its own
+ * virtual thread. Threads blocked on reading a document then do not hold
+ * a platform thread, which pays off for many small documents on slow storage.
+ * Core state of a document is set from its parser whenever the parser is
+ * entered, see {@link ModelParser}, so a virtual thread may move between
+ * carrier threads and documents do not depend on which thread runs them.
+ * <p>
+ * A document exceeding the timeout is reported as timed out and its worker
+ * is interrupted. The interrupted validation may take time to stop and still
+ * uses its memory, so the place and memory admission of the document are
+ * given to the next document only when its worker returns. Meanwhile a spare
+ * worker takes documents already waiting in the queue, but there are never
+ * more spare workers than {@link BatchValidationConfig#getWorkers()}.
+ * <p>
+ * An {@link Error} thrown while processing a document, like
+ * {@link OutOfMemoryError}, leaves the validator in unknown state, so no
+ * more documents are taken and the error is rethrown by
+ * {@link #validate(Stream, Consumer)} once running documents finish.
+ * Documents left in the stream are closed without validation.
+ */
+public final class BatchValidator implements AutoCloseable {
+
+	private static final Logger LOGGER = Logger.getLogger(BatchValidator.class.getCanonicalName());
+
+	private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = getVirtualThreadExecutorFactory();
+
+	private final PdfBoxFoundry foundry;
+	private final BatchValidationConfig config;
+	private final ExecutorService workers;
+	// null for virtual threads, which are not pooled
+	private final ThreadPoolExecutor pool;
+	private final ScheduledExecutorService timer;
+	private final Semaphore slots;
+	private final MemoryBudget memoryBudget;
+	// guarded by this
+	private int spareWorkers = 0;
+
+	BatchValidator(PdfBoxFoundry foundry, BatchValidationConfig config) {
+		this.foundry = foundry;
+		this.config = config;
+		this.pool = config.isVirtualThreads() ? null : new ThreadPoolExecutor(config.getWorkers(),
+				config.getWorkers(), 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+				daemonThreads("verapdf-batch-worker-"));
+		this.workers = this.pool != null ? this.pool : newVirtualThreadExecutor();
+		this.timer = config.getDocumentTimeoutMillis() > 0 ?
+				Executors.newSingleThreadScheduledExecutor(daemonThreads("verapdf-batch-timer-")) : null;
+		// virtual threads start at once, so there is no queue of waiting documents
+		this.slots = new Semaphore(config.isVirtualThreads() ? config.getWorkers() :
+				config.getWorkers() + config.getQueueCapacity());
+		this.memoryBudget = new MemoryBudget(config.getMemoryBudget());
+	}
+
+	/**
+	 * Creates batch validator using PDFBox foundry.
+	 *
+	 * @param config batch settings
+	 * @return new batch validator, should be closed after use
+	 */
+	public static BatchValidator create(BatchValidationConfig config) {
+		return PdfBoxFoundry.getPdfBoxInstance().createBatchValidator(config);
+	}
+
+	/**
+	 * @return true if the Java runtime supports virtual threads
+	 */
+	public static boolean isVirtualThreadsSupported() {
+		return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+	}
+
+	/**
+	 * Validates the given files.
+	 *
+	 * @see #validate(Stream, Consumer)
+	 */
+	public void validateFiles(Stream<File> files, Consumer<BatchValidationResult> consumer)
+			throws InterruptedException {
+		validate(files.map(BatchDocument::fromFile), consumer);
+	}
+
+	/**
+	 * Validates the given documents, blocking until results of all of them
+	 * are passed to the consumer.
+	 *
+	 * @param documents documents to validate, consumed lazily
+	 * @param consumer  receiver of results in order of completion
+	 * @throws InterruptedException if the calling thread is interrupted while
+	 *                              waiting for free worker or results
+	 * @throws Error                thrown while processing one of the documents
+	 */
+	public void validate(Stream<BatchDocument> documents, Consumer<BatchValidationResult> consumer)
+			throws InterruptedException {
+		Phaser pending = new Phaser(1);
+		Object deliveryLock = new Object();
+		AtomicReference<Error> failure = new AtomicReference<>();
+		Iterator<BatchDocument> iterator = documents.iterator();
+		while (failure.get() == null && iterator.hasNext()) {
+			BatchDocument document = iterator.next();
+			long size = document.getSize() == BatchDocument.UNKNOWN_SIZE ?
+					this.config.getUnknownDocumentSize() : document.getSize();
+			try {
+				this.slots.acquire();
+				try {
+					this.memoryBudget.acquire(size);
+				} catch (InterruptedException e) {
+					this.slots.release();
+					throw e;
+				}
+			} catch (InterruptedException e) {
+				closeDocument(document);
+				throw e;
+			}
+			if (failure.get() != null) {
+				// a worker failed while waiting for its place
+				this.memoryBudget.release(size);
+				this.slots.release();
+				closeDocument(document);
+				break;
+			}
+			pending.register();
+			Job job = new Job(document, size, pending, failure, result -> {
+				synchronized (deliveryLock) {
+					consumer.accept(result);
+				}
+			});
+			try {
+				this.workers.execute(job);
+			} catch (RejectedExecutionException e) {
+				job.release();
+				closeDocument(document);
+				throw e;
+			}
+		}
+		pending.awaitAdvanceInterruptibly(pending.arrive());
+		Error error = failure.get();
+		if (error != null) {
+			// documents not taken are still owned by the batch
+			while (iterator.hasNext()) {
+				closeDocument(iterator.next());
+			}
+			throw error;
+		}
+	}
+
+	/**
+	 * Stops workers. Documents being validated are interrupted.
+	 */
+	@Override
+	public void close() {
+		this.workers.shutdownNow();
+		if (this.timer != null) {
+			this.timer.shutdownNow();
+		}
+	}
+
+	private BatchValidationResult process(BatchDocument document, long start) {
+		try (PDFAParser parser = document.createParser(this.foundry, this.config)) {
+			PDFAValidator validator = ValidatorFactory.createValidator(parser.getFlavour(),
+					this.config.isLogPassedChecks(), this.config.getMaxFailedChecks());
+			ValidationResult validationResult = validator.validate(parser);
+			FeatureExtractionResult featuresResult = this.config.getFeatureExtractorConfig() != null ?
+					parser.getFeatures(this.config.getFeatureExtractorConfig()) : null;
+			return BatchValidationResult.validated(document.getName(), validationResult, featuresResult,
+					System.currentTimeMillis() - start);
+		} catch (Exception e) {
+			return BatchValidationResult.failed(document.getName(), e, System.currentTimeMillis() - start);
+		} finally {
+			closeDocument(document);
+		}
+	}
+
+	private static void closeDocument(BatchDocument document) {
+		try {
+			document.close();
+		} catch (IOException e) {
+			LOGGER.log(Level.INFO, "Problems with closing batch document " + document.getName() + ". "
+					+ e.getMessage());
+		}
+	}
+
+	/**
+	 * Adds a pooled worker taking queued documents while a timed out
+	 * validation is stopping, unless the limit of spare workers is reached.
+	 *
+	 * @return true if the worker is added
+	 */
+	private synchronized boolean addSpareWorker() {
+		if (this.pool == null || this.pool.isShutdown() || this.spareWorkers >= this.config.getWorkers()) {
+			return false;
+		}
+		this.spareWorkers++;
+		int workers = this.pool.getCorePoolSize() + 1;
+		this.pool.setMaximumPoolSize(workers);
+		this.pool.setCorePoolSize(workers);
+		return true;
+	}
+
+	private synchronized void removeSpareWorker() {
+		this.spareWorkers--;
+		if (this.pool.isShutdown()) {
+			return;
+		}
+		int workers = this.pool.getCorePoolSize() - 1;
+		this.pool.setCorePoolSize(workers);
+		this.pool.setMaximumPoolSize(workers);
+	}
+
+	private final class Job implements Runnable {
+		private final BatchDocument document;
+		private final long size;
+		private final Phaser pending;
+		private final AtomicReference<Error> failure;
+		private final Consumer<BatchValidationResult> consumer;
+		private final AtomicBoolean completed = new AtomicBoolean(false);
+		private final AtomicBoolean released = new AtomicBoolean(false);
+
+		private Thread worker;
+		private boolean hasSpareWorker = false;
+		private long start;
+
+		private Job(BatchDocument document, long size, Phaser pending, AtomicReference<Error> failure,
+					Consumer<BatchValidationResult> consumer) {
+			this.document = document;
+			this.size = size;
+			this.pending = pending;
+			this.failure = failure;
+			this.consumer = consumer;
+		}
+
+		@Override
+		public void run() {
+			ScheduledFuture<?> timeout = null;
+			synchronized (this) {
+				this.worker = Thread.currentThread();
+				this.start = System.currentTimeMillis();
+			}
+			try {
+				if (BatchValidator.this.timer != null) {
+					timeout = BatchValidator.this.timer.schedule(this::timeOut,
+							BatchValidator.this.config.getDocumentTimeoutMillis(), TimeUnit.MILLISECONDS);
+				}
+				complete(process(this.document, this.start));
+			} catch (Error e) {
+				this.failure.compareAndSet(null, e);
+			} finally {
+				if (timeout != null) {
+					timeout.cancel(false);
+				}
+				boolean removeSpareWorker;
+				synchronized (this) {
+					this.worker = null;
+					removeSpareWorker = this.hasSpareWorker;
+				}
+				if (removeSpareWorker) {
+					removeSpareWorker();
+				}
+				// the place and memory are held until the worker really stops
+				release();
+			}
+		}
+
+		private void timeOut() {
+			if (complete(BatchValidationResult.timedOut(this.document.getName(),
+					System.currentTimeMillis() - this.start))) {
+				synchronized (this) {
+					if (this.worker != null) {
+						this.worker.interrupt();
+						this.hasSpareWorker = addSpareWorker();
+					}
+				}
+			}
+		}
+
+		private boolean complete(BatchValidationResult result) {
+			if (!this.completed.compareAndSet(false, true)) {
+				return false;
+			}
+			try {
+				this.consumer.accept(result);
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.WARNING, "Problems with processing result of " + result.getName() + ". "
+						+ e.getMessage());
+			} finally {
+				this.pending.arriveAndDeregister();
+			}
+			return true;
+		}
+
+		private void release() {
+			if (this.completed.compareAndSet(false, true)) {
+				this.pending.arriveAndDeregister();
+			}
+			if (this.released.compareAndSet(false, true)) {
+				BatchValidator.this.memoryBudget.release(this.size);
+				BatchValidator.this.slots.release();
+			}
+		}
+	}
+
+	private static final class MemoryBudget {
+		private final long limit;
+		private long used = 0;
+
+		private MemoryBudget(long limit) {
+			this.limit = limit;
+		}
+
+		private synchronized void acquire(long amount) throws InterruptedException {
+			while (this.used > 0 && this.used + amount > this.limit) {
+				wait();
+			}
+			this.used += amount;
+		}
+
+		private synchronized void release(long amount) {
+			this.used -= amount;
+			notifyAll();
+		}
+	}
+
+	private static Method getVirtualThreadExecutorFactory() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	private static ExecutorService newVirtualThreadExecutor() {
+		if (NEW_VIRTUAL_THREAD_EXECUTOR == null) {
+			throw new IllegalStateException("Virtual threads are not supported by this Java runtime");
+		}
+		try {
+			return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Unable to create virtual thread executor", e);
+		}
+	}
+
+	private static ThreadFactory daemonThreads(String prefix) {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
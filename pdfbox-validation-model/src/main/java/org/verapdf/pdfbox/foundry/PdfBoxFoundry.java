@@ -30,6 +30,7 @@ import org.verapdf.core.EncryptedPdfException;
 import org.verapdf.core.ModelParsingException;
 import org.verapdf.metadata.fixer.PBoxMetadataFixerImpl;
 import org.verapdf.model.ModelParser;
+import org.verapdf.model.ModelParserConfig;
 import org.verapdf.pdfa.AbstractFoundry;
 import org.verapdf.pdfa.VeraPDFFoundry;
 import org.verapdf.pdfa.PDFAParser;
@@ -133,6 +134,29 @@ class PdfBoxFoundry extends AbstractFoundry {
 		return ModelParser.createModelWithFlavour(file, pdfaFlavour, defaultFlavour);
 	}
 
+	/**
+	 * Creates parser of the given stream using the given parser configuration.
+	 */
+	PDFAParser createParser(InputStream pdfStream, PDFAFlavour flavour, PDFAFlavour defaultFlavour,
+							ModelParserConfig config) throws ModelParsingException, EncryptedPdfException {
+		return ModelParser.createModelWithFlavour(pdfStream, flavour, defaultFlavour, config);
+	}
+
+	/**
+	 * Creates parser of the given file using the given parser configuration.
+	 */
+	PDFAParser createParser(File file, PDFAFlavour pdfaFlavour, PDFAFlavour defaultFlavour,
+							ModelParserConfig config) throws ModelParsingException, EncryptedPdfException {
+		return ModelParser.createModelWithFlavour(file, pdfaFlavour, defaultFlavour, config);
+	}
+
+	/**
+	 * Creates validator of document batches using parsers of this foundry.
+	 */
+	BatchValidator createBatchValidator(BatchValidationConfig config) {
+		return new BatchValidator(this, config);
+	}
+
 	/**
 	 * @see org.verapdf.pdfa.VeraPDFFoundry#newMetadataFixer(org.verapdf.metadata.fixer.utils.FixerConfig)
 	 */
@@ -154,6 +178,10 @@ class PdfBoxFoundry extends AbstractFoundry {
 		return instance;
 	}
 
+	static PdfBoxFoundry getPdfBoxInstance() {
+		return instance;
+	}
+
 	@Override
 	public void close() {
 		// TODO Auto-generated method stub
@@ -0,0 +1,100 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model;
+
+import org.verapdf.model.baselayer.Object;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Text description of a model tree, its objects with their simple
+ * properties and links, used by tests to compare models built in different
+ * ways.
+ */
+final class ModelDescription {
+
+	private static final int MAX_DEPTH = 64;
+
+	private static final Set<Class<?>> PROPERTY_TYPES = new HashSet<>(Arrays.<Class<?>>asList(
+			String.class, Boolean.class, Long.class, Double.class));
+	private static final Set<String> IGNORED_PROPERTIES = new HashSet<>(Arrays.asList(
+			"getID", "getObjectType", "getContext", "getExtraContext"));
+
+	private ModelDescription() {
+	}
+
+	static String describe(Object root) {
+		StringBuilder builder = new StringBuilder();
+		describe(root, 0, new HashSet<String>(), builder);
+		return builder.toString();
+	}
+
+	private static void describe(Object object, int depth, Set<String> visitedIDs, StringBuilder builder) {
+		builder.append(object.getObjectType());
+		String id = object.getID();
+		if (id != null) {
+			builder.append('[').append(id).append(']');
+			if (!visitedIDs.add(id)) {
+				builder.append('\n');
+				return;
+			}
+		}
+		appendProperties(object, builder);
+		builder.append('\n');
+		if (depth == MAX_DEPTH) {
+			return;
+		}
+		for (String link : ModelHelper.getListOfLinks(object.getObjectType())) {
+			for (Object child : object.getLinkedObjects(link)) {
+				builder.append(depth).append(' ').append(link).append(": ");
+				if (child == null) {
+					builder.append("null\n");
+				} else {
+					describe(child, depth + 1, visitedIDs, builder);
+				}
+			}
+		}
+	}
+
+	private static void appendProperties(Object object, StringBuilder builder) {
+		Method[] methods = object.getClass().getMethods();
+		Arrays.sort(methods, Comparator.comparing(Method::getName));
+		for (Method method : methods) {
+			if (method.getParameterCount() == 0 && method.getName().startsWith("get")
+					&& PROPERTY_TYPES.contains(method.getReturnType())
+					&& !IGNORED_PROPERTIES.contains(method.getName())) {
+				builder.append(' ').append(method.getName()).append('=');
+				try {
+					builder.append(method.invoke(object));
+				} catch (InvocationTargetException e) {
+					builder.append(e.getCause().getClass().getName());
+				} catch (IllegalAccessException e) {
+					builder.append("inaccessible");
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,197 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
+import org.verapdf.pdfa.PDFAParser;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+import org.verapdf.pdfa.results.ValidationResult;
+import org.verapdf.pdfa.validation.validators.ValidatorFactory;
+
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Checks that documents validated at the same time on different threads,
+ * in turns on one thread or on another thread than the one which created
+ * their parsers give the same results as on a single thread.
+ */
+public class ModelParserConcurrencyTest {
+
+	private static final String BASE_FOLDER = "model/impl/pb/";
+
+	private static final String[] FILES = {
+			"cos/documentTest.pdf",
+			"cos/veraPDF test suite 6-1-2-t02-fail-a.pdf",
+			"operator/Operators.pdf",
+			"pd/ColorSpaces.pdf",
+			"pd/Fonts.pdf",
+			"pd/InteractiveObjects.pdf"
+	};
+
+	private static final PDFAFlavour[] FLAVOURS = {
+			PDFAFlavour.PDFA_1_B, PDFAFlavour.PDFA_2_B, PDFAFlavour.PDFA_3_A
+	};
+
+	private static final int THREADS = 8;
+	private static final int ROUNDS = 4;
+
+	private static final Map<String, ValidationResult> expectedResults = new HashMap<>();
+
+	@BeforeClass
+	public static void setUp() throws Exception {
+		for (String file : FILES) {
+			for (PDFAFlavour flavour : FLAVOURS) {
+				expectedResults.put(getKey(file, flavour), validateFile(file, flavour));
+			}
+		}
+	}
+
+	@Test
+	public void testConcurrentValidationMatchesSingleThreaded() throws Exception {
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int round = 0; round < ROUNDS; ++round) {
+			for (final String file : FILES) {
+				for (final PDFAFlavour flavour : FLAVOURS) {
+					tasks.add(() -> {
+						assertSameResult(getKey(file, flavour), expectedResults.get(getKey(file, flavour)),
+								validateFile(file, flavour));
+						return null;
+					});
+				}
+			}
+		}
+		Collections.shuffle(tasks, new Random(THREADS));
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			for (Future<Void> future : executor.invokeAll(tasks)) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof AssertionError) {
+						throw (AssertionError) e.getCause();
+					}
+					throw e;
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testContextIsReleasedOnClose() throws Exception {
+		String file = FILES[0];
+		ModelParser parser;
+		try (InputStream stream = getResource(file)) {
+			parser = ModelParser.createModelWithFlavour(stream, PDFAFlavour.PDFA_1_B);
+			try {
+				parser.getRoot();
+				ValidationContext context = parser.getValidationContext();
+				Assert.assertNotNull(context);
+				Assert.assertSame(parser.getDocument(), context.getDocument());
+				parser.getRoot();
+				Assert.assertNotSame(context, parser.getValidationContext());
+			} finally {
+				parser.close();
+			}
+		}
+		Assert.assertNull(parser.getValidationContext());
+	}
+
+	@Test
+	public void testInterleavedDocumentsOnOneThread() throws Exception {
+		List<ModelParser> parsers = new ArrayList<>();
+		List<String> keys = new ArrayList<>();
+		try {
+			// every parser is created before any is validated, so core
+			// containers of the thread are left by the last one
+			for (String file : FILES) {
+				for (PDFAFlavour flavour : FLAVOURS) {
+					try (InputStream stream = getResource(file)) {
+						parsers.add(ModelParser.createModelWithFlavour(stream, flavour));
+					}
+					keys.add(getKey(file, flavour));
+				}
+			}
+			for (int i = parsers.size() - 1; i >= 0; --i) {
+				assertSameResult(keys.get(i), expectedResults.get(keys.get(i)), validate(parsers.get(i)));
+			}
+		} finally {
+			for (ModelParser parser : parsers) {
+				parser.close();
+			}
+		}
+	}
+
+	@Test
+	public void testDocumentHandedOverToAnotherThread() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			for (String file : FILES) {
+				for (PDFAFlavour flavour : FLAVOURS) {
+					PDFAFlavour otherFlavour = flavour == FLAVOURS[0] ? FLAVOURS[1] : FLAVOURS[0];
+					try (InputStream stream = getResource(file);
+						 ModelParser parser = ModelParser.createModelWithFlavour(stream, flavour)) {
+						// the other thread validates another document before
+						// it takes over the parser
+						executor.submit(() -> validateFile(file, otherFlavour)).get();
+						assertSameResult(getKey(file, flavour), expectedResults.get(getKey(file, flavour)),
+								executor.submit(() -> validate(parser)).get());
+					}
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void assertSameResult(String key, ValidationResult expectedResult, ValidationResult result) {
+		Assert.assertEquals("Compliance differs for " + key, expectedResult.isCompliant(), result.isCompliant());
+		Assert.assertEquals("Failed rules differ for " + key,
+				expectedResult.getFailedChecks(), result.getFailedChecks());
+		Assert.assertEquals("Assertions differ for " + key,
+				expectedResult.getTestAssertions(), result.getTestAssertions());
+	}
+
+	private static ValidationResult validateFile(String file, PDFAFlavour flavour) throws Exception {
+		try (InputStream stream = getResource(file);
+			 PDFAParser parser = ModelParser.createModelWithFlavour(stream, flavour)) {
+			return ValidatorFactory.createValidator(flavour, true, -1).validate(parser);
+		}
+	}
+
+	private static ValidationResult validate(PDFAParser parser) throws Exception {
+		return ValidatorFactory.createValidator(parser.getFlavour(), true, -1).validate(parser);
+	}
+
+	private static String getKey(String file, PDFAFlavour flavour) {
+		return file + " " + flavour;
+	}
+
+	private static InputStream getResource(String file) {
+		return ModelParserConcurrencyTest.class.getClassLoader().getResourceAsStream(BASE_FOLDER + file);
+	}
+}
@@ -0,0 +1,131 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+/**
+ * Checks that documents parsed with a memory budget give the same models
+ * as documents loaded by default, and that the content over the budget is
+ * kept in the scratch directory only while the document is open.
+ */
+public class ModelParserMemoryBudgetTest {
+
+	private static final String BASE_FOLDER = "model/impl/pb/";
+
+	private static final String[] FILES = {
+			"cos/documentTest.pdf",
+			"cos/veraPDF test suite 6-1-2-t02-fail-a.pdf",
+			"operator/Operators.pdf",
+			"pd/ColorSpaces.pdf",
+			"pd/Fonts.pdf",
+			"pd/InteractiveObjects.pdf"
+	};
+
+	private static final PDFAFlavour[] FLAVOURS = {
+			PDFAFlavour.PDFA_1_B, PDFAFlavour.PDFA_2_B, PDFAFlavour.PDFA_3_A
+	};
+
+	// the smallest budget, one page of the scratch file
+	private static final long SMALL_BUDGET = 4096;
+	// document larger than the small budget
+	private static final String LARGE_FILE = "cos/documentTest.pdf";
+
+	private File scratchDirectory;
+
+	@Before
+	public void setUp() throws IOException {
+		this.scratchDirectory = Files.createTempDirectory("scratch").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		this.scratchDirectory.delete();
+	}
+
+	@Test
+	public void testParsedSourceMatchesLoadedDocument() throws Exception {
+		ModelParserConfig config = ModelParserConfig.builder().setMemoryBudget(Long.MAX_VALUE / 2).build();
+		for (String file : FILES) {
+			File pdfFile = new File(ModelParserMemoryBudgetTest.class.getClassLoader()
+					.getResource(BASE_FOLDER + file).toURI());
+			for (PDFAFlavour flavour : FLAVOURS) {
+				try (ModelParser loaded = ModelParser.createModelWithFlavour(pdfFile, flavour);
+					 ModelParser parsed = ModelParser.createModelWithFlavour(pdfFile, flavour,
+							 PDFAFlavour.NO_FLAVOUR, config)) {
+					Assert.assertEquals("Model differs for " + file + " " + flavour,
+							ModelDescription.describe(loaded.getRoot()), ModelDescription.describe(parsed.getRoot()));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testMemoryBudgetSpillsToScratchDirectory() throws Exception {
+		ModelParserConfig config = ModelParserConfig.builder()
+				.setMemoryBudget(SMALL_BUDGET).setScratchDirectory(this.scratchDirectory).build();
+		for (String file : FILES) {
+			for (PDFAFlavour flavour : FLAVOURS) {
+				try (InputStream loadedStream = getResource(file);
+					 InputStream parsedStream = getResource(file);
+					 ModelParser loaded = ModelParser.createModelWithFlavour(loadedStream, flavour);
+					 ModelParser parsed = ModelParser.createModelWithFlavour(parsedStream, flavour,
+							 PDFAFlavour.NO_FLAVOUR, config)) {
+					Assert.assertEquals("Model differs for " + file + " " + flavour,
+							ModelDescription.describe(loaded.getRoot()), ModelDescription.describe(parsed.getRoot()));
+				}
+				Assert.assertArrayEquals(new String[0], this.scratchDirectory.list());
+			}
+		}
+	}
+
+	@Test
+	public void testScratchFileIsKeptWhileDocumentIsOpen() throws Exception {
+		ModelParserConfig config = ModelParserConfig.builder()
+				.setMemoryBudget(SMALL_BUDGET).setScratchDirectory(this.scratchDirectory).build();
+		try (InputStream stream = getResource(LARGE_FILE)) {
+			ModelParser parser = ModelParser.createModelWithFlavour(stream, PDFAFlavour.PDFA_1_B,
+					PDFAFlavour.NO_FLAVOUR, config);
+			try {
+				parser.getRoot();
+				String[] scratchFiles = this.scratchDirectory.list();
+				Assert.assertNotNull(scratchFiles);
+				Assert.assertTrue(scratchFiles.length > 0);
+			} finally {
+				parser.close();
+			}
+		}
+		Assert.assertArrayEquals(new String[0], this.scratchDirectory.list());
+	}
+
+	private static InputStream getResource(String file) {
+		return ModelParserMemoryBudgetTest.class.getClassLoader().getResourceAsStream(BASE_FOLDER + file);
+	}
+}
@@ -0,0 +1,69 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.File;
+import java.io.InputStream;
+
+/**
+ * Checks that models of documents read through memory mapped files match
+ * the ones of documents read from streams.
+ */
+public class ModelParserMemoryMappedTest {
+
+	private static final String BASE_FOLDER = "model/impl/pb/";
+
+	private static final String[] FILES = {
+			"cos/documentTest.pdf",
+			"cos/veraPDF test suite 6-1-2-t02-fail-a.pdf",
+			"operator/Operators.pdf",
+			"pd/ColorSpaces.pdf",
+			"pd/Fonts.pdf",
+			"pd/InteractiveObjects.pdf"
+	};
+
+	private static final PDFAFlavour[] FLAVOURS = {
+			PDFAFlavour.PDFA_1_B, PDFAFlavour.PDFA_2_B, PDFAFlavour.PDFA_3_A
+	};
+
+	@Test
+	public void testMemoryMappedFilesMatchStreams() throws Exception {
+		ModelParserConfig config = ModelParserConfig.builder().setMemoryMappedFiles(true).build();
+		for (String file : FILES) {
+			File pdfFile = new File(ModelParserMemoryMappedTest.class.getClassLoader()
+					.getResource(BASE_FOLDER + file).toURI());
+			for (PDFAFlavour flavour : FLAVOURS) {
+				try (InputStream stream = ModelParserMemoryMappedTest.class.getClassLoader()
+						.getResourceAsStream(BASE_FOLDER + file);
+					 ModelParser loaded = ModelParser.createModelWithFlavour(stream, flavour);
+					 ModelParser mapped = ModelParser.createModelWithFlavour(pdfFile, flavour,
+							 PDFAFlavour.NO_FLAVOUR, config)) {
+					Assert.assertEquals("Model differs for " + file + " " + flavour,
+							ModelDescription.describe(loaded.getRoot()), ModelDescription.describe(mapped.getRoot()));
+				}
+			}
+		}
+	}
+}
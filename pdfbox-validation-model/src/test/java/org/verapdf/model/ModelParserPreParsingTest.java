@@ -0,0 +1,151 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.verapdf.pdfa.PDFAParser;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+import org.verapdf.pdfa.results.ValidationResult;
+import org.verapdf.pdfa.validation.validators.ValidatorFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Checks that page content streams tokenized in background give the same
+ * models and validation results as content streams parsed on demand.
+ */
+public class ModelParserPreParsingTest {
+
+	private static final String BASE_FOLDER = "model/impl/pb/";
+
+	private static final String[] FILES = {
+			"cos/documentTest.pdf",
+			"cos/veraPDF test suite 6-1-2-t02-fail-a.pdf",
+			"operator/Operators.pdf",
+			"pd/ColorSpaces.pdf",
+			"pd/Fonts.pdf",
+			"pd/InteractiveObjects.pdf"
+	};
+
+	private static final PDFAFlavour[] FLAVOURS = {
+			PDFAFlavour.PDFA_1_B, PDFAFlavour.PDFA_2_B, PDFAFlavour.PDFA_3_A
+	};
+
+	private static final int THREADS = 8;
+
+	private static ForkJoinPool pool;
+
+	@BeforeClass
+	public static void setUp() {
+		pool = new ForkJoinPool(THREADS);
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void testPreParsedPagesMatchOnDemandParsing() throws Exception {
+		ModelParserConfig config = ModelParserConfig.builder()
+				.setPagesParsedAhead(2).setContentStreamParsingPool(pool).build();
+		for (String file : FILES) {
+			for (PDFAFlavour flavour : FLAVOURS) {
+				try (InputStream loadedStream = getResource(file);
+					 InputStream preParsedStream = getResource(file);
+					 ModelParser loaded = ModelParser.createModelWithFlavour(loadedStream, flavour);
+					 PDFAParser preParsed = ModelParser.createModelWithFlavour(preParsedStream, flavour,
+							 PDFAFlavour.NO_FLAVOUR, config)) {
+					Assert.assertEquals("Model differs for " + file + " " + flavour,
+							ModelDescription.describe(loaded.getRoot()),
+							ModelDescription.describe(preParsed.getRoot()));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPreParsedPagesGiveSameValidationResult() throws Exception {
+		byte[] document = mergeFiles();
+		ModelParserConfig onDemand = ModelParserConfig.builder().build();
+		ModelParserConfig preParsed = ModelParserConfig.builder()
+				.setPagesParsedAhead(2).setContentStreamParsingPool(pool).build();
+		// only the requested page is parsed in background
+		ModelParserConfig bytesLimited = ModelParserConfig.builder()
+				.setPagesParsedAhead(2).setBytesParsedAhead(1).setContentStreamParsingPool(pool).build();
+		for (PDFAFlavour flavour : FLAVOURS) {
+			ValidationResult expectedResult = validate(document, flavour, onDemand);
+			Assert.assertEquals("Validation result differs for " + flavour,
+					expectedResult, validate(document, flavour, preParsed));
+			Assert.assertEquals("Validation result differs for " + flavour + " with bytes limit",
+					expectedResult, validate(document, flavour, bytesLimited));
+		}
+	}
+
+	private static ValidationResult validate(byte[] document, PDFAFlavour flavour, ModelParserConfig config)
+			throws Exception {
+		try (PDFAParser parser = ModelParser.createModelWithFlavour(new ByteArrayInputStream(document),
+				flavour, PDFAFlavour.NO_FLAVOUR, config)) {
+			return ValidatorFactory.createValidator(flavour, true, -1).validate(parser);
+		}
+	}
+
+	/**
+	 * Joins pages of all test files into one document, so pages are
+	 * tokenized ahead while others are validated
+	 */
+	private static byte[] mergeFiles() throws IOException {
+		List<PDDocument> sources = new ArrayList<>();
+		try (PDDocument merged = new PDDocument()) {
+			for (String file : FILES) {
+				try (InputStream stream = getResource(file)) {
+					PDDocument source = PDDocument.load(stream, false, true);
+					sources.add(source);
+					for (PDPage page : source.getPages()) {
+						merged.importPage(page);
+					}
+				}
+			}
+			ByteArrayOutputStream result = new ByteArrayOutputStream();
+			merged.save(result);
+			return result.toByteArray();
+		} finally {
+			for (PDDocument source : sources) {
+				source.close();
+			}
+		}
+	}
+
+	private static InputStream getResource(String file) {
+		return ModelParserPreParsingTest.class.getClassLoader().getResourceAsStream(BASE_FOLDER + file);
+	}
+}
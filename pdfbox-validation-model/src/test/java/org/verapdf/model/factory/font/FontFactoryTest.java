@@ -24,14 +24,17 @@ import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.pdlayer.PDTrueTypeFont;
 import org.verapdf.model.pdlayer.PDType0Font;
 import org.verapdf.model.pdlayer.PDType1Font;
 import org.verapdf.model.pdlayer.PDType3Font;
+import org.verapdf.model.tools.resources.PDInheritableResources;
 
 import java.io.File;
 import java.io.IOException;
@@ -49,47 +52,80 @@ public class FontFactoryTest {
 
 	private static PDResources resources;
 	private static PDDocument document;
+	private static ValidationContext context;
 
 	@BeforeClass
 	public static void setUp() throws URISyntaxException, IOException {
 		document = PDDocument.load(FontFactoryTest.class.getClassLoader().getResourceAsStream(FILE_RELATIVE_PATH), false, true);
 		resources = document.getPage(0).getResources();
+		context = new ValidationContext(document);
 	}
 
 	@Test
 	public void testType0CID0Generating() throws IOException {
 		PDFont font = resources.getFont(COSName.getPDFName("C0_0"));
-		org.verapdf.model.pdlayer.PDFont convertedFont = FontFactory.parseFont(font, document, null);
+		org.verapdf.model.pdlayer.PDFont convertedFont = FontFactory.parseFont(font, document, null, context);
 		Assert.assertTrue(convertedFont instanceof PDType0Font);
 	}
 
 	@Test
 	public void testType0CID2Generating() throws IOException {
 		PDFont font = resources.getFont(COSName.getPDFName("C2_0"));
-		Assert.assertTrue(FontFactory.parseFont(font, document, null) instanceof PDType0Font);
+		Assert.assertTrue(FontFactory.parseFont(font, document, null, context) instanceof PDType0Font);
 	}
 
 	@Test
 	public void testType1Generating() throws IOException {
 		PDFont font = resources.getFont(COSName.getPDFName("T1_0"));
-		Assert.assertTrue(FontFactory.parseFont(font, document, null) instanceof PDType1Font);
+		Assert.assertTrue(FontFactory.parseFont(font, document, null, context) instanceof PDType1Font);
 	}
 
 	@Test
 	public void testType3Generating() throws IOException {
 		PDFont font = resources.getFont(COSName.getPDFName("T3_0"));
-		Assert.assertTrue(FontFactory.parseFont(font, document, null) instanceof PDType3Font);
+		Assert.assertTrue(FontFactory.parseFont(font, document, null, context) instanceof PDType3Font);
 	}
 
 	@Test
 	public void testTrueTypeGenerating() throws IOException {
 		PDFont font = resources.getFont(COSName.getPDFName("TT0"));
-		Assert.assertTrue(FontFactory.parseFont(font, document, null) instanceof PDTrueTypeFont);
+		Assert.assertTrue(FontFactory.parseFont(font, document, null, context) instanceof PDTrueTypeFont);
+	}
+
+	@Test
+	public void testFontsAreCachedPerDocument() throws IOException {
+		PDFont font = resources.getFont(COSName.getPDFName("T1_0"));
+		org.verapdf.model.pdlayer.PDFont first = FontFactory.parseFont(font, document, null, context);
+		Assert.assertSame(first, FontFactory.parseFont(font, document, null, context));
+		Assert.assertNotSame(first, FontFactory.parseFont(font, document, null, new ValidationContext(document)));
+		org.verapdf.model.pdlayer.PDFont stroked = FontFactory.parseFont(font, RenderingMode.STROKE,
+				PDInheritableResources.EMPTY_EXTENDED_RESOURCES, document, null, context);
+		Assert.assertNotSame(first, stroked);
+		Assert.assertEquals(Long.valueOf(RenderingMode.STROKE.intValue()), stroked.getrenderingMode());
+	}
+
+	@Test
+	public void testType3FontsAreCachedPerResources() throws IOException {
+		PDFont font = resources.getFont(COSName.getPDFName("T3_0"));
+		PDResources firstInherited = new PDResources();
+		PDResources secondInherited = new PDResources();
+		org.verapdf.model.pdlayer.PDFont first = FontFactory.parseFont(font, RenderingMode.FILL,
+				PDInheritableResources.getInstance(firstInherited, resources), document, null, context);
+		Assert.assertSame(first, FontFactory.parseFont(font, RenderingMode.FILL,
+				PDInheritableResources.getInstance(firstInherited, resources), document, null, context));
+		Assert.assertNotSame(first, FontFactory.parseFont(font, RenderingMode.FILL,
+				PDInheritableResources.getInstance(secondInherited, resources), document, null, context));
+		// streams without own resources differ by the resources they inherit
+		org.verapdf.model.pdlayer.PDFont withoutCurrent = FontFactory.parseFont(font, RenderingMode.FILL,
+				PDInheritableResources.getInstance(firstInherited, null), document, null, context);
+		Assert.assertNotSame(withoutCurrent, FontFactory.parseFont(font, RenderingMode.FILL,
+				PDInheritableResources.getInstance(secondInherited, null), document, null, context));
 	}
 
 	@AfterClass
 	public static void tearDown() throws IOException {
 		resources = null;
+		context = null;
 		document.close();
 		document = null;
 	}
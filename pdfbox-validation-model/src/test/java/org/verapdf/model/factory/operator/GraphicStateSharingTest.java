@@ -0,0 +1,79 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.factory.operator;
+
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
+import org.verapdf.model.tools.constants.Operators;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class GraphicStateSharingTest {
+
+	private final OperatorParser parser = new OperatorParser(null, null, new ValidationContext(null));
+	private final List<org.verapdf.model.operator.Operator> operators = new ArrayList<>();
+
+	@Test
+	public void testStateIsSharedUntilChanged() throws Exception {
+		GraphicState first = this.parser.getGraphicState();
+		parse(Operators.W_LINE_WIDTH, COSInteger.ONE);
+		parse(Operators.M_MOVE_TO, COSInteger.ZERO, COSInteger.ZERO);
+		Assert.assertSame(first, this.parser.getGraphicState());
+
+		parse(Operators.TR, COSInteger.ONE);
+		GraphicState second = this.parser.getGraphicState();
+		Assert.assertNotSame(first, second);
+		Assert.assertEquals(RenderingMode.FILL, first.getRenderingMode());
+		Assert.assertEquals(RenderingMode.STROKE, second.getRenderingMode());
+	}
+
+	@Test
+	public void testSaveAndRestoreDoNotCopyState() throws Exception {
+		parse(Operators.TF, COSName.getPDFName("F1"), COSInteger.ONE);
+		GraphicState saved = this.parser.getGraphicState();
+		parse(Operators.Q_GSAVE);
+		Assert.assertSame(saved, this.parser.getGraphicState());
+
+		parse(Operators.TF, COSName.getPDFName("F2"), COSInteger.ONE);
+		Assert.assertEquals(COSName.getPDFName("F2"), this.parser.getGraphicState().getFontName());
+		Assert.assertEquals(COSName.getPDFName("F1"), saved.getFontName());
+
+		parse(Operators.Q_GRESTORE);
+		Assert.assertSame(saved, this.parser.getGraphicState());
+		parse(Operators.TF, COSName.getPDFName("F3"), COSInteger.ONE);
+		Assert.assertEquals(COSName.getPDFName("F1"), saved.getFontName());
+	}
+
+	private void parse(String operator, COSBase... arguments) throws CloneNotSupportedException, IOException {
+		List<COSBase> list = new ArrayList<>(arguments.length);
+		Collections.addAll(list, arguments);
+		this.parser.parseOperator(this.operators, Operator.getOperator(operator), null, list);
+	}
+}
@@ -0,0 +1,69 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.factory.operator;
+
+import org.apache.pdfbox.cos.COSObjectKey;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
+import org.verapdf.model.operator.Operator;
+import org.verapdf.model.tools.resources.PDInheritableResources;
+
+import java.io.IOException;
+import java.util.List;
+
+public class OperatorStreamingTest {
+
+	private static final String FILE_PATH = "/model/impl/pb/operator/Operators.pdf";
+	private static final COSObjectKey KEY = new COSObjectKey(15, 0);
+
+	@Test
+	public void testStreamedOperatorsMatchTokenList() throws IOException {
+		try (PDDocument document = PDDocument.load(
+				OperatorStreamingTest.class.getResourceAsStream(FILE_PATH), false, true)) {
+			COSStream stream = (COSStream) document.getDocument().getObjectFromPool(KEY).getObject();
+			PDResources resources = document.getPage(0).getResources();
+			PDInheritableResources inheritableResources = PDInheritableResources.getInstance(resources);
+
+			PDFStreamParser tokenizer = new PDFStreamParser(stream, true);
+			tokenizer.parse();
+			OperatorFactory listFactory = new OperatorFactory();
+			List<Operator> expected = listFactory.operatorsFromTokens(tokenizer.getTokens(),
+					inheritableResources, document, null, new ValidationContext(document));
+
+			OperatorFactory streamFactory = new OperatorFactory();
+			List<Operator> actual = streamFactory.operatorsFromStream(new PDFStreamParser(stream, true),
+					inheritableResources, document, null, new ValidationContext(document));
+
+			Assert.assertFalse(expected.isEmpty());
+			Assert.assertEquals(expected.size(), actual.size());
+			for (int i = 0; i < expected.size(); ++i) {
+				Assert.assertEquals(expected.get(i).getObjectType(), actual.get(i).getObjectType());
+			}
+			Assert.assertEquals(listFactory.isLastParsedContainsTransparency(),
+					streamFactory.isLastParsedContainsTransparency());
+		}
+	}
+}
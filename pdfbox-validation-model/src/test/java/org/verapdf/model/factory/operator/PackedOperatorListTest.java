@@ -0,0 +1,113 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.factory.operator;
+
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.*;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.coslayer.CosNumber;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
+import org.verapdf.model.impl.pb.operator.pathconstruction.PBOp_l;
+import org.verapdf.model.impl.pb.operator.pathconstruction.PBOp_m_moveto;
+import org.verapdf.model.impl.pb.operator.specialgs.PBOp_Q_grestore;
+import org.verapdf.model.impl.pb.operator.specialgs.PBOp_q_gsave;
+import org.verapdf.model.tools.constants.Operators;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class PackedOperatorListTest {
+
+	private final List<Object> tokens = new ArrayList<>();
+
+	@Test
+	public void testOperatorsKeepOrderAndType() throws IOException {
+		add(Operators.Q_GSAVE);
+		add(Operators.M_MOVE_TO, COSInteger.get(10), new COSFloat("0.5"));
+		add(Operators.L_LINE_TO, new COSFloat("-2.25"), COSInteger.get(Long.MAX_VALUE));
+		add(Operators.Q_GRESTORE);
+
+		List<org.verapdf.model.operator.Operator> operators = parse();
+		Assert.assertEquals(4, operators.size());
+		Assert.assertEquals(PBOp_q_gsave.OP_Q_GSAVE_TYPE, operators.get(0).getObjectType());
+		Assert.assertEquals(PBOp_m_moveto.OP_M_MOVETO_TYPE, operators.get(1).getObjectType());
+		Assert.assertEquals(PBOp_l.OP_L_TYPE, operators.get(2).getObjectType());
+		Assert.assertEquals(PBOp_Q_grestore.OP_Q_GRESTORE_TYPE, operators.get(3).getObjectType());
+	}
+
+	@Test
+	public void testPackedArgumentsAreRestored() throws IOException {
+		List<COSBase> arguments = new ArrayList<>();
+		arguments.add(new COSFloat("12.345"));
+		arguments.add(COSInteger.get(-7));
+		assertArgumentsAreRestored(arguments);
+	}
+
+	@Test
+	public void testRealsBeyondFloatPrecisionAreRestored() throws IOException {
+		List<COSBase> arguments = new ArrayList<>();
+		arguments.add(new COSFloat("0.123456789012345"));
+		arguments.add(new COSFloat("-16777217.5"));
+		assertArgumentsAreRestored(arguments);
+	}
+
+	private void assertArgumentsAreRestored(List<COSBase> arguments) {
+		add(Operators.M_MOVE_TO, arguments.toArray(new COSBase[arguments.size()]));
+
+		List<? extends org.verapdf.model.baselayer.Object> expected =
+				new PBOp_m_moveto(arguments).getLinkedObjects(PBOp_m_moveto.POINT);
+		List<? extends org.verapdf.model.baselayer.Object> actual =
+				parse().get(0).getLinkedObjects(PBOp_m_moveto.POINT);
+		Assert.assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); ++i) {
+			CosNumber expectedNumber = (CosNumber) expected.get(i);
+			CosNumber actualNumber = (CosNumber) actual.get(i);
+			Assert.assertEquals(expectedNumber.getObjectType(), actualNumber.getObjectType());
+			Assert.assertEquals(expectedNumber.getintValue(), actualNumber.getintValue());
+			Assert.assertEquals(expectedNumber.getrealValue(), actualNumber.getrealValue());
+		}
+	}
+
+	@Test
+	public void testOnlyStateIndependentOperatorsArePacked() {
+		COSName intent = COSName.getPDFName("Perceptual");
+		add(Operators.RI, intent);
+		PackedOperatorList list = new PackedOperatorList();
+		List<COSBase> arguments = new ArrayList<>();
+		arguments.add(intent);
+		Assert.assertTrue(list.addPacked(Operators.RI, arguments));
+		Assert.assertFalse(list.addPacked(Operators.Q_GSAVE, Collections.<COSBase>emptyList()));
+		Assert.assertEquals(1, list.size());
+		Assert.assertEquals(parse().get(0).getObjectType(), list.get(0).getObjectType());
+	}
+
+	private void add(String operator, COSBase... arguments) {
+		Collections.addAll(this.tokens, (Object[]) arguments);
+		this.tokens.add(Operator.getOperator(operator));
+	}
+
+	private List<org.verapdf.model.operator.Operator> parse() {
+		return new OperatorFactory().operatorsFromTokens(this.tokens, null, null, null, new ValidationContext(null));
+	}
+}
@@ -0,0 +1,275 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.factory.operator;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
+import org.verapdf.model.tools.resources.PDInheritableResources;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+public class TransparencyScannerTest {
+
+	private static final String[] FILES = {
+			"/model/impl/pb/cos/veraPDF test suite 6-1-2-t02-fail-a.pdf",
+			"/model/impl/pb/operator/Operators.pdf",
+			"/model/impl/pb/pd/ColorSpaces.pdf",
+			"/model/impl/pb/pd/Fonts.pdf",
+			"/model/impl/pb/pd/InteractiveObjects.pdf"
+	};
+
+	@Test
+	public void testScannerMatchesOperatorFactory() throws IOException {
+		for (String file : FILES) {
+			try (PDDocument document = PDDocument.load(
+					TransparencyScannerTest.class.getResourceAsStream(file), false, true)) {
+				for (PDPage page : document.getPages()) {
+					COSStream stream = page.getContentStream();
+					if (stream == null) {
+						continue;
+					}
+					OperatorFactory factory = new OperatorFactory();
+					factory.operatorsFromStream(new PDFStreamParser(stream, true),
+							getResources(page), document, null, new ValidationContext(document));
+					boolean scanned = TransparencyScanner.containsTransparency(stream,
+							getResources(page), new ValidationContext(document), false);
+					Assert.assertEquals(file, factory.isLastParsedContainsTransparency(), scanned);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testExtGStateTransparency() throws IOException {
+		COSDictionary extGStates = new COSDictionary();
+		extGStates.setItem("Fill", alpha(COSName.CA_NS, 0.5f));
+		extGStates.setItem("Stroke", alpha(COSName.CA, 0.5f));
+		COSDictionary multiply = new COSDictionary();
+		multiply.setName(COSName.BM, "Multiply");
+		extGStates.setItem("Multiply", multiply);
+		COSDictionary normal = new COSDictionary();
+		normal.setName(COSName.BM, "Normal");
+		extGStates.setItem("Normal", normal);
+		COSDictionary sMask = new COSDictionary();
+		COSDictionary mask = new COSDictionary();
+		mask.setName(COSName.S, "Luminosity");
+		sMask.setItem(COSName.SMASK, mask);
+		extGStates.setItem("SMask", sMask);
+		COSDictionary resources = new COSDictionary();
+		resources.setItem(COSName.EXT_G_STATE, extGStates);
+
+		assertTransparency(true, "/Fill gs 0 0 10 10 re f", resources);
+		assertTransparency(true, "/Stroke gs 0 0 10 10 re S", resources);
+		assertTransparency(true, "/Multiply gs 0 0 10 10 re n 0 0 10 10 re f", resources);
+		assertTransparency(true, "/SMask gs 0 0 10 10 re B", resources);
+		// fill alpha does not apply to stroking and nothing is painted by n
+		assertTransparency(false, "/Fill gs 0 0 10 10 re S", resources);
+		assertTransparency(false, "/Fill gs 0 0 10 10 re n", resources);
+		assertTransparency(false, "/Normal gs 0 0 10 10 re f", resources);
+		// the state is restored before painting
+		assertTransparency(false, "q /Multiply gs Q 0 0 10 10 re f", resources);
+	}
+
+	@Test
+	public void testXObjectTransparency() throws IOException {
+		COSDictionary group = new COSDictionary();
+		group.setItem(COSName.S, COSName.TRANSPARENCY);
+		COSStream groupForm = form("0 0 1 1 re f", null);
+		groupForm.setItem(COSName.GROUP, group);
+
+		COSDictionary extGStates = new COSDictionary();
+		extGStates.setItem("Fill", alpha(COSName.CA_NS, 0.5f));
+		COSDictionary formResources = new COSDictionary();
+		formResources.setItem(COSName.EXT_G_STATE, extGStates);
+		COSStream transparentForm = form("/Fill gs 0 0 1 1 re f", formResources);
+		COSStream opaqueForm = form("0 0 1 1 re f", null);
+
+		COSStream image = createStream(new COSDictionary(), "\000");
+		image.setItem(COSName.TYPE, COSName.XOBJECT);
+		image.setItem(COSName.SUBTYPE, COSName.IMAGE);
+		image.setInt(COSName.WIDTH, 1);
+		image.setInt(COSName.HEIGHT, 1);
+		image.setInt(COSName.BITS_PER_COMPONENT, 8);
+		image.setItem(COSName.COLORSPACE, COSName.DEVICEGRAY);
+		image.setItem(COSName.SMASK, createStream(new COSDictionary(), "\000"));
+
+		COSDictionary xObjects = new COSDictionary();
+		xObjects.setItem("Group", groupForm);
+		xObjects.setItem("Transparent", transparentForm);
+		xObjects.setItem("Opaque", opaqueForm);
+		xObjects.setItem("Image", image);
+		COSDictionary resources = new COSDictionary();
+		resources.setItem(COSName.XOBJECT, xObjects);
+
+		assertTransparency(true, "/Group Do", resources);
+		assertTransparency(true, "/Opaque Do /Transparent Do", resources);
+		assertTransparency(true, "/Image Do", resources);
+		assertTransparency(false, "/Opaque Do", resources);
+	}
+
+	@Test
+	public void testTilingPatternTransparency() throws IOException {
+		COSDictionary extGStates = new COSDictionary();
+		extGStates.setItem("Fill", alpha(COSName.CA_NS, 0.5f));
+		COSDictionary patternResources = new COSDictionary();
+		patternResources.setItem(COSName.EXT_G_STATE, extGStates);
+
+		COSDictionary patterns = new COSDictionary();
+		patterns.setItem("Transparent", tilingPattern("/Fill gs 0 0 5 5 re f", patternResources));
+		patterns.setItem("Opaque", tilingPattern("0 0 5 5 re f", null));
+		COSDictionary resources = new COSDictionary();
+		resources.setItem(COSName.PATTERN, patterns);
+
+		assertTransparency(true, "/Pattern cs /Transparent scn 0 0 10 10 re f", resources);
+		assertTransparency(true, "/Pattern CS /Transparent SCN 0 0 10 10 re S", resources);
+		assertTransparency(true, "/Pattern cs /Transparent scn BT /F1 12 Tf (a) Tj ET", resources);
+		assertTransparency(false, "/Pattern cs /Opaque scn 0 0 10 10 re f", resources);
+		// the pattern is not used for stroking and is replaced by a gray color
+		assertTransparency(false, "/Pattern cs /Transparent scn 0 0 10 10 re S", resources);
+		assertTransparency(false, "/Pattern cs /Transparent scn 0 g 0 0 10 10 re f", resources);
+		assertTransparency(false, "q /Pattern cs /Transparent scn Q 0 0 10 10 re f", resources);
+	}
+
+	@Test
+	public void testFormCutByCycleIsNotCached() throws IOException {
+		COSDictionary extGStates = new COSDictionary();
+		extGStates.setItem("Fill", alpha(COSName.CA_NS, 0.5f));
+		COSDictionary firstResources = new COSDictionary();
+		firstResources.setItem(COSName.EXT_G_STATE, extGStates);
+		COSStream first = form("/Second Do /Fill gs 0 0 1 1 re f", firstResources);
+		COSDictionary secondResources = new COSDictionary();
+		COSStream second = form("/First Do", secondResources);
+		COSDictionary firstXObjects = new COSDictionary();
+		firstXObjects.setItem("Second", second);
+		firstResources.setItem(COSName.XOBJECT, firstXObjects);
+		COSDictionary secondXObjects = new COSDictionary();
+		secondXObjects.setItem("First", first);
+		secondResources.setItem(COSName.XOBJECT, secondXObjects);
+
+		ByteArrayOutputStream saved = new ByteArrayOutputStream();
+		try (PDDocument document = new PDDocument()) {
+			PDPage page = new PDPage();
+			COSDictionary xObjects = new COSDictionary();
+			xObjects.setItem("First", first);
+			COSDictionary pageResources = new COSDictionary();
+			pageResources.setItem(COSName.XOBJECT, xObjects);
+			page.setResources(new PDResources(pageResources));
+			page.getCOSObject().setItem(COSName.CONTENTS, createStream(new COSDictionary(), "/First Do"));
+			document.addPage(page);
+			document.save(saved);
+		}
+
+		// streams loaded from a file have keys, so the results are cached
+		try (PDDocument document = PDDocument.load(new ByteArrayInputStream(saved.toByteArray()), false, true)) {
+			ValidationContext context = new ValidationContext(document);
+			PDPage page = document.getPage(0);
+			Assert.assertTrue(TransparencyScanner.containsTransparency(page.getContentStream(),
+					getResources(page), context, false));
+
+			PDFormXObject firstForm = (PDFormXObject) page.getResources().getXObject(COSName.getPDFName("First"));
+			PDFormXObject secondForm = (PDFormXObject) firstForm.getResources()
+					.getXObject(COSName.getPDFName("Second"));
+			// the second form was scanned inside the first one, which it
+			// draws back, so its result is not final there
+			Assert.assertTrue(TransparencyScanner.containsTransparency(secondForm.getCOSStream(),
+					PDInheritableResources.getInstance(firstForm.getResources(), secondForm.getResources()),
+					context, true));
+		}
+	}
+
+	private static void assertTransparency(boolean expected, String content, COSDictionary resources)
+			throws IOException {
+		try (PDDocument document = new PDDocument()) {
+			COSStream stream = createStream(new COSDictionary(), content);
+			PDInheritableResources inheritableResources = PDInheritableResources.getInstance(
+					new PDResources(resources));
+			OperatorFactory factory = new OperatorFactory();
+			factory.operatorsFromStream(new PDFStreamParser(stream, true), inheritableResources, document, null,
+					new ValidationContext(document));
+			Assert.assertEquals(content, Boolean.valueOf(expected),
+					Boolean.valueOf(factory.isLastParsedContainsTransparency()));
+			Assert.assertEquals(content, Boolean.valueOf(expected), Boolean.valueOf(TransparencyScanner
+					.containsTransparency(stream, inheritableResources, new ValidationContext(document), false)));
+			// tokens of pages parsed in background are scanned the same way
+			PDFStreamParser tokenizer = new PDFStreamParser(stream, true);
+			tokenizer.parse();
+			Assert.assertEquals(content, Boolean.valueOf(expected), Boolean.valueOf(TransparencyScanner
+					.containsTransparency(tokenizer.getTokens(), inheritableResources,
+							new ValidationContext(document))));
+		}
+	}
+
+	private static COSDictionary alpha(COSName key, float value) {
+		COSDictionary extGState = new COSDictionary();
+		extGState.setFloat(key, value);
+		return extGState;
+	}
+
+	private static COSStream form(String content, COSDictionary resources) throws IOException {
+		COSStream form = createStream(new COSDictionary(), content);
+		form.setItem(COSName.TYPE, COSName.XOBJECT);
+		form.setItem(COSName.SUBTYPE, COSName.FORM);
+		form.setItem(COSName.BBOX, new PDRectangle(10, 10).getCOSArray());
+		if (resources != null) {
+			form.setItem(COSName.RESOURCES, resources);
+		}
+		return form;
+	}
+
+	private static COSStream tilingPattern(String content, COSDictionary resources) throws IOException {
+		COSStream pattern = createStream(new COSDictionary(), content);
+		pattern.setItem(COSName.TYPE, COSName.PATTERN);
+		pattern.setInt(COSName.PATTERN_TYPE, 1);
+		pattern.setInt(COSName.PAINT_TYPE, 1);
+		pattern.setInt(COSName.TILING_TYPE, 1);
+		pattern.setItem(COSName.BBOX, new PDRectangle(5, 5).getCOSArray());
+		pattern.setInt(COSName.X_STEP, 5);
+		pattern.setInt(COSName.Y_STEP, 5);
+		pattern.setItem(COSName.RESOURCES, resources != null ? resources : new COSDictionary());
+		return pattern;
+	}
+
+	private static COSStream createStream(COSDictionary dictionary, String content) throws IOException {
+		COSStream stream = new COSStream(dictionary);
+		try (OutputStream output = stream.createUnfilteredStream()) {
+			output.write(content.getBytes(StandardCharsets.ISO_8859_1));
+		}
+		return stream;
+	}
+
+	private static PDInheritableResources getResources(PDPage page) {
+		return PDInheritableResources.getInstance(page.getInheritedResources(), page.getPageResources());
+	}
+}
@@ -0,0 +1,77 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.containers;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.pdmodel.graphics.color.PDCalGray;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.impl.pb.pd.colors.PBoxPDCalGray;
+import org.verapdf.model.pdlayer.PDColorSpace;
+
+public class ColorSpaceCacheTest {
+
+	@Test
+	public void testDirectArraysWithSameContentShareColorSpace() {
+		COSObject reference = new COSObject(new COSDictionary());
+		PDCalGray first = createCalGray(reference);
+		PDCalGray second = createCalGray(reference);
+
+		ColorSpaceCache cache = new ColorSpaceCache();
+		Assert.assertNull(cache.get(first, 0, false));
+		PDColorSpace stored = cache.put(first, 0, false, new PBoxPDCalGray(first));
+		Assert.assertSame(stored, cache.get(second, 0, false));
+		Assert.assertEquals(1, cache.getHits());
+		Assert.assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void testOverprintParametersArePartOfKey() {
+		PDCalGray colorSpace = createCalGray(new COSObject(new COSDictionary()));
+		ColorSpaceCache cache = new ColorSpaceCache();
+		cache.put(colorSpace, 0, false, new PBoxPDCalGray(colorSpace));
+		Assert.assertNull(cache.get(colorSpace, 1, false));
+		Assert.assertNull(cache.get(colorSpace, 0, true));
+		Assert.assertNotNull(cache.get(colorSpace, 0, false));
+	}
+
+	@Test
+	public void testArraysWithDirectDictionariesAreNotShared() {
+		COSDictionary dictionary = new COSDictionary();
+		PDCalGray first = createCalGray(dictionary);
+		PDCalGray second = createCalGray(dictionary);
+		ColorSpaceCache cache = new ColorSpaceCache();
+		cache.put(first, 0, false, new PBoxPDCalGray(first));
+		Assert.assertNull(cache.get(second, 0, false));
+		Assert.assertNotNull(cache.get(first, 0, false));
+	}
+
+	private static PDCalGray createCalGray(COSBase dictionary) {
+		COSArray array = new COSArray();
+		array.add(COSName.CALGRAY);
+		array.add(dictionary);
+		return new PDCalGray(array);
+	}
+}
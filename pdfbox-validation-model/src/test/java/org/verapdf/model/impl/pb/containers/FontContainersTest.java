@@ -0,0 +1,75 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.containers;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDFontLike;
+import org.apache.pdfbox.preflight.font.container.FontContainer;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.verapdf.model.tools.FontHelper;
+
+import java.io.IOException;
+
+public class FontContainersTest {
+
+	private static final String FILE_RELATIVE_PATH = "model/impl/pb/pd/Fonts.pdf";
+
+	private static PDDocument document;
+
+	@BeforeClass
+	public static void setUp() throws IOException {
+		document = PDDocument.load(FontContainersTest.class.getClassLoader()
+				.getResourceAsStream(FILE_RELATIVE_PATH), false, true);
+	}
+
+	@Test
+	public void testContainerIsBuiltOncePerFont() throws IOException {
+		FontContainers containers = new FontContainers();
+		PDFont font = document.getPage(0).getResources().getFont(COSName.getPDFName("TT0"));
+		FontContainers.Entry entry = containers.get(font);
+		Assert.assertNotNull(entry);
+		Assert.assertSame(entry, containers.get(font));
+		Assert.assertNull(containers.get(null));
+	}
+
+	@Test
+	public void testGlyphPresenceMatchesContainer() throws IOException {
+		FontContainers containers = new FontContainers();
+		PDFont font = document.getPage(0).getResources().getFont(COSName.getPDFName("TT0"));
+		FontContainers.Entry entry = containers.get(font);
+		FontContainer<? extends PDFontLike> expected = FontHelper.getFontContainer(font);
+		for (int code = 0; code < 256; ++code) {
+			Assert.assertEquals(expected.hasGlyph(code), entry.hasGlyph(code));
+			Assert.assertEquals(expected.hasGlyph(code), entry.hasGlyph(code));
+		}
+	}
+
+	@AfterClass
+	public static void tearDown() throws IOException {
+		document.close();
+		document = null;
+	}
+}
@@ -0,0 +1,83 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.containers;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.ModelParserConfig;
+import org.verapdf.model.tools.ContentStreamPreParser;
+import org.verapdf.model.tools.ParentTreeIndex;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+
+public class ValidationContextTest {
+
+	@Test
+	public void testContextsOfDocumentAreSeparate() throws IOException {
+		try (PDDocument document = new PDDocument()) {
+			ValidationContext first = new ValidationContext(document);
+			ValidationContext second = new ValidationContext(document, ModelParserConfig.defaultConfig());
+			Assert.assertSame(document, first.getDocument());
+			Assert.assertSame(document, second.getDocument());
+			Assert.assertNotSame(first.getColorSpaceCache(), second.getColorSpaceCache());
+			Assert.assertNotSame(first.getParsedFonts(), second.getParsedFonts());
+			Assert.assertNotSame(first.getParsedContentStreams(), second.getParsedContentStreams());
+		}
+	}
+
+	@Test
+	public void testParentTreeIndexIsBuiltOnce() throws IOException {
+		try (PDDocument document = new PDDocument()) {
+			ValidationContext context = new ValidationContext(document);
+			ParentTreeIndex index = context.getParentTreeIndex();
+			Assert.assertNotNull(index);
+			Assert.assertSame(index, context.getParentTreeIndex());
+		}
+	}
+
+	@Test
+	public void testReleaseStopsContentStreamPreParser() throws IOException {
+		final COSStream content = new COSStream(new COSDictionary());
+		try (OutputStream output = content.createUnfilteredStream()) {
+			output.write("0 0 m 10 10 l S".getBytes(StandardCharsets.US_ASCII));
+		}
+		ForkJoinPool pool = new ForkJoinPool(1);
+		try (PDDocument document = new PDDocument()) {
+			ValidationContext context = new ValidationContext(document);
+			ContentStreamPreParser preParser = new ContentStreamPreParser(
+					Collections.<ContentStreamPreParser.PageContent>singletonList(() -> content), 1, Long.MAX_VALUE, pool);
+			context.setContentStreamPreParser(preParser);
+			preParser.start();
+			context.release();
+			Assert.assertNull(preParser.getTokens(0));
+		} finally {
+			pool.shutdown();
+			content.close();
+		}
+	}
+}
@@ -30,6 +30,7 @@ import org.verapdf.model.coslayer.CosDict;
 import org.verapdf.model.coslayer.CosIndirect;
 import org.verapdf.model.coslayer.CosInteger;
 import org.verapdf.model.impl.BaseTest;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 
 import java.io.IOException;
 import java.util.List;
@@ -58,7 +59,7 @@ public class PBCosArrayTest extends BaseTest {
         array.add(object);
         array.add(null);
 
-        actual = new PBCosArray(array, document, null);
+        actual = new PBCosArray(array, document, null, new ValidationContext(document));
     }
 
     @Test
@@ -32,6 +32,7 @@ import org.verapdf.model.coslayer.CosInteger;
 import org.verapdf.model.coslayer.CosName;
 import org.verapdf.model.coslayer.CosStream;
 import org.verapdf.model.impl.BaseTest;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 
 import java.io.IOException;
 import java.util.List;
@@ -64,7 +65,7 @@ public class PBCosDictTest extends BaseTest {
         
         expectedLength = dictionary.size();
 
-        actual = new PBCosDict(dictionary, document, null);
+        actual = new PBCosDict(dictionary, document, null, new ValidationContext(document));
     }
 
     @Test
@@ -20,6 +20,7 @@
  */
 package org.verapdf.model.impl.pb.cos;
 
+import org.apache.pdfbox.cos.COSObject;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -29,6 +30,7 @@ import org.verapdf.model.coslayer.CosDocument;
 import org.verapdf.model.coslayer.CosTrailer;
 import org.verapdf.model.coslayer.CosXRef;
 import org.verapdf.model.impl.BaseTest;
+import org.verapdf.model.tools.IDGenerator;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.File;
@@ -159,6 +161,21 @@ public class PBCosDocumentTest extends BaseTest {
         }
     }
 
+    @Test
+    public void testIndirectObjectsInDocumentOrder() throws IOException {
+        try (PDDocument doc = PDDocument.load(PBCosDocumentTest.class.getClassLoader().getResourceAsStream(FILE_RELATIVE_PATH), false, true)) {
+            List<? extends Object> indirects = new PBCosDocument(doc, PDFAFlavour.PDFA_1_B)
+                    .getLinkedObjects(PBCosDocument.INDIRECT_OBJECTS);
+            List<COSObject> objects = doc.getDocument().getObjects();
+            Assert.assertEquals(objects.size(), indirects.size());
+            // positions of objects in reports do not depend on the list
+            for (int i = 0; i < objects.size(); ++i) {
+                Assert.assertEquals(IDGenerator.generateID(objects.get(i)), indirects.get(i).getID());
+            }
+            Assert.assertSame(indirects.get(0), indirects.get(0));
+        }
+    }
+
     @Test
     public void testDocumentLink() {
         List<? extends Object> doc = actual.getLinkedObjects(PBCosDocument.DOCUMENT);
@@ -28,6 +28,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.impl.BaseTest;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 
 import java.util.List;
 
@@ -45,7 +46,7 @@ public class PBCosFileSpecificationTest extends BaseTest {
         COSDictionary specification = new COSDictionary();
         specification.setItem(COSName.EF, new COSDictionary());
 
-        actual = new PBCosFileSpecification(specification, document, null);
+        actual = new PBCosFileSpecification(specification, document, null, new ValidationContext(document));
     }
 
     @Test
@@ -32,6 +32,7 @@ import org.verapdf.model.coslayer.CosDict;
 import org.verapdf.model.coslayer.CosIndirect;
 import org.verapdf.model.coslayer.CosNull;
 import org.verapdf.model.impl.BaseTest;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 
 import java.io.IOException;
 import java.util.List;
@@ -51,8 +52,9 @@ public class PBCosIndirectTest extends BaseTest {
         expectedType = TYPES.contains(PBCosIndirect.COS_INDIRECT_TYPE) ? PBCosIndirect.COS_INDIRECT_TYPE : null;
         expectedID = String.valueOf(objectNumber) + " " + String.valueOf(generationNumber);
 
-        actual = new PBCosIndirect(createObject(null, Boolean.TRUE), document, null);
-        secondActual = new PBCosIndirect(createObject(new COSDictionary(), Boolean.FALSE), document, null);
+        actual = new PBCosIndirect(createObject(null, Boolean.TRUE), document, null, new ValidationContext(document));
+        secondActual = new PBCosIndirect(createObject(new COSDictionary(), Boolean.FALSE), document, null,
+                new ValidationContext(document));
     }
 
     private static COSObject createObject(COSBase base, Boolean spacings) throws IOException {
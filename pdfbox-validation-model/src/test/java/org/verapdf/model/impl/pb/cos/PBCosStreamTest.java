@@ -26,6 +26,7 @@ import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosFilter;
 import org.verapdf.model.coslayer.CosStream;
 import org.verapdf.model.impl.BaseTest;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 
 import java.io.IOException;
 import java.util.List;
@@ -46,7 +47,7 @@ public class PBCosStreamTest extends BaseTest {
 
         COSStream stream = getCosStream();
 
-        actual = new PBCosStream(stream, document, null);
+        actual = new PBCosStream(stream, document, null, new ValidationContext(document));
     }
 
     private static COSStream getCosStream() throws IOException {
@@ -31,6 +31,7 @@ import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosIndirect;
 import org.verapdf.model.coslayer.CosTrailer;
 import org.verapdf.model.impl.BaseTest;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.pdlayer.PDEncryption;
 
 import java.io.IOException;
@@ -52,7 +53,7 @@ public class PBCosTrailerTest extends BaseTest {
         trailer.setItem(COSName.ROOT, root);
         trailer.setItem(COSName.ENCRYPT, root);
 
-        actual = new PBCosTrailer(trailer, document, null);
+        actual = new PBCosTrailer(trailer, document, null, new ValidationContext(document));
     }
 
     @Test
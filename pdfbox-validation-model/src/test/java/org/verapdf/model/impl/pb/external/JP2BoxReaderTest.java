@@ -0,0 +1,170 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.external;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+public class JP2BoxReaderTest {
+
+	private static final int XML = 0x786D6C20;
+	private static final int CODESTREAM = 0x6A703263;
+
+	@Test
+	public void testHeaderBoxesAreParsed() throws IOException {
+		CountingInputStream stream = new CountingInputStream(createImage());
+		PBoxJPEG2000 jpeg2000 = PBoxJPEG2000.fromStream(stream, null, null, new ValidationContext(null));
+		Assert.assertEquals(Long.valueOf(3), jpeg2000.getnrColorChannels());
+		Assert.assertEquals(Long.valueOf(8), jpeg2000.getbitDepth());
+		Assert.assertEquals(Boolean.TRUE, jpeg2000.getbpccBoxPresent());
+		Assert.assertEquals(Long.valueOf(1), jpeg2000.getnrColorSpaceSpecs());
+		Assert.assertEquals(Long.valueOf(1), jpeg2000.getcolrMethod());
+		Assert.assertEquals(Long.valueOf(99), jpeg2000.getcolrEnumCS());
+		Assert.assertEquals("Skipped boxes should not be read", 0, stream.readInSkippedArea);
+	}
+
+	@Test
+	public void testBoxesAreSkipped() throws IOException {
+		CountingInputStream stream = new CountingInputStream(createImage());
+		JP2BoxReader reader = new JP2BoxReader(stream);
+		Assert.assertTrue(reader.readSignature());
+		Assert.assertTrue(reader.nextBox());
+		Assert.assertEquals(XML, reader.getType());
+		Assert.assertEquals(1000, reader.getContentLength());
+		Assert.assertTrue(reader.nextBox());
+		Assert.assertEquals(JP2BoxReader.HEADER, reader.getType());
+		Assert.assertTrue(reader.nextBox());
+		Assert.assertEquals(CODESTREAM, reader.getType());
+		Assert.assertEquals(JP2BoxReader.TO_END, reader.getContentLength());
+		Assert.assertFalse(reader.nextBox());
+		Assert.assertEquals(0, stream.readInSkippedArea);
+	}
+
+	@Test
+	public void testTruncatedContent() throws IOException {
+		byte[] image = createImage();
+		byte[] truncated = new byte[12 + 8 + 10];
+		System.arraycopy(image, 0, truncated, 0, truncated.length);
+		JP2BoxReader reader = new JP2BoxReader(new ByteArrayInputStream(truncated));
+		Assert.assertTrue(reader.readSignature());
+		Assert.assertTrue(reader.nextBox());
+		Assert.assertNull(reader.readContent(20));
+		Assert.assertFalse(reader.nextBox());
+	}
+
+	@Test
+	public void testWrongSignature() throws IOException {
+		byte[] image = createImage();
+		image[4] = 0;
+		JP2BoxReader reader = new JP2BoxReader(new ByteArrayInputStream(image));
+		Assert.assertFalse(reader.readSignature());
+	}
+
+	private static byte[] createImage() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		writeBox(out, JP2BoxReader.SIGNATURE, new byte[] { 0x0D, 0x0A, -0x79, 0x0A });
+		writeBox(out, XML, new byte[1000]);
+
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		ByteBuffer ihdr = ByteBuffer.allocate(14);
+		ihdr.putInt(64).putInt(32).putShort((short) 3).put((byte) 7).put((byte) 7).put((byte) 0).put((byte) 0);
+		writeBox(header, JP2BoxReader.IHDR, ihdr.array());
+		writeBox(header, JP2BoxReader.BPCC, new byte[] { 7, 7, 7 });
+		ByteBuffer colr = ByteBuffer.allocate(7);
+		colr.put((byte) 1).put((byte) 0).put((byte) 0).putInt(99);
+		writeBox(header, JP2BoxReader.COLR, colr.array());
+		writeBox(out, JP2BoxReader.HEADER, header.toByteArray());
+
+		// codestream box extending to the end of the file
+		ByteBuffer codestream = ByteBuffer.allocate(8 + 2000);
+		codestream.putInt(0).putInt(CODESTREAM);
+		out.write(codestream.array(), 0, codestream.capacity());
+		return out.toByteArray();
+	}
+
+	private static void writeBox(ByteArrayOutputStream out, int type, byte[] content) {
+		ByteBuffer box = ByteBuffer.allocate(8 + content.length);
+		box.putInt(box.capacity()).putInt(type).put(content);
+		out.write(box.array(), 0, box.capacity());
+	}
+
+	/**
+	 * Records reads of the bytes of the xml box content and of the codestream
+	 */
+	private static class CountingInputStream extends InputStream {
+
+		private static final int XML_CONTENT_START = 12 + 8;
+		private static final int XML_CONTENT_END = XML_CONTENT_START + 1000;
+
+		private final byte[] data;
+		private final int codestreamContentStart;
+		private int position;
+		int readInSkippedArea;
+
+		CountingInputStream(byte[] data) {
+			this.data = data;
+			this.codestreamContentStart = data.length - 2000;
+		}
+
+		@Override
+		public int read() {
+			if (this.position >= this.data.length) {
+				return -1;
+			}
+			count(this.position, 1);
+			return this.data[this.position++] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (this.position >= this.data.length) {
+				return -1;
+			}
+			int read = Math.min(len, this.data.length - this.position);
+			System.arraycopy(this.data, this.position, b, off, read);
+			count(this.position, read);
+			this.position += read;
+			return read;
+		}
+
+		@Override
+		public long skip(long n) {
+			long skipped = Math.max(0, Math.min(n, this.data.length - this.position));
+			this.position += (int) skipped;
+			return skipped;
+		}
+
+		private void count(int from, int length) {
+			for (int i = from; i < from + length; ++i) {
+				if ((i >= XML_CONTENT_START && i < XML_CONTENT_END) || i >= this.codestreamContentStart) {
+					++this.readInSkippedArea;
+				}
+			}
+		}
+	}
+}
@@ -36,6 +36,7 @@ import org.verapdf.model.coslayer.CosInteger;
 import org.verapdf.model.coslayer.CosReal;
 import org.verapdf.model.factory.operator.OperatorFactory;
 import org.verapdf.model.impl.BaseTest;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosInteger;
 import org.verapdf.model.impl.pb.cos.PBCosReal;
 import org.verapdf.model.operator.Operator;
@@ -63,7 +64,7 @@ public abstract class PBOperatorTest extends BaseTest {
 		parser.parse();
 
 		List<Operator> operators = new OperatorFactory().operatorsFromTokens(parser.getTokens(),
-				PDInheritableResources.getInstance(resources), document, null);
+				PDInheritableResources.getInstance(resources), document, null, new ValidationContext(document));
 		actual = getActual(operators, expectedType);
 
 		operators.clear();
@@ -20,10 +20,25 @@
  */
 package org.verapdf.model.impl.pb.operator.textshow;
 
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSString;
+import org.junit.Assert;
 import org.junit.BeforeClass;
+import org.junit.Test;
+import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.factory.operator.OperatorFactory;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
+import org.verapdf.model.tools.constants.Operators;
+import org.verapdf.model.tools.resources.PDInheritableResources;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author Evgeniy Muravitskiy
@@ -41,4 +56,41 @@ public class PBOp_TjTest extends PBOpStringTextShowTest {
 		return 11;
 	}
 
+	@Test
+	public void testUsedGlyphsAreShared() {
+		ValidationContext context = new ValidationContext(document);
+		List<Object> tokens = new ArrayList<>();
+		Collections.addAll(tokens, Operator.getOperator(Operators.BT),
+				COSName.getPDFName("F1"), COSInteger.get(12), Operator.getOperator(Operators.TF),
+				text(), Operator.getOperator(Operators.TJ_SHOW),
+				text(), Operator.getOperator(Operators.TJ_SHOW),
+				COSInteger.get(1), Operator.getOperator(Operators.TR),
+				text(), Operator.getOperator(Operators.TJ_SHOW),
+				Operator.getOperator(Operators.ET));
+		List<org.verapdf.model.operator.Operator> textShows = new ArrayList<>();
+		for (org.verapdf.model.operator.Operator operator : new OperatorFactory().operatorsFromTokens(tokens,
+				PDInheritableResources.getInstance(document.getPage(0).getResources()), document, null, context)) {
+			if (PBOp_Tj.OP_TJ_TYPE.equals(operator.getObjectType())) {
+				textShows.add(operator);
+			}
+		}
+		Assert.assertEquals(3, textShows.size());
+		Assert.assertNotSame(textShows.get(0), textShows.get(1));
+
+		List<? extends Object> first = textShows.get(0).getLinkedObjects(PBOpTextShow.USED_GLYPHS);
+		List<? extends Object> second = textShows.get(1).getLinkedObjects(PBOpTextShow.USED_GLYPHS);
+		List<? extends Object> stroked = textShows.get(2).getLinkedObjects(PBOpTextShow.USED_GLYPHS);
+		Assert.assertFalse(first.isEmpty());
+		Assert.assertEquals(first.size(), second.size());
+		Assert.assertEquals(first.size(), stroked.size());
+		for (int i = 0; i < first.size(); ++i) {
+			Assert.assertSame(first.get(i), second.get(i));
+			Assert.assertNotSame(first.get(i), stroked.get(i));
+		}
+	}
+
+	private static COSString text() {
+		return new COSString("Hello".getBytes(StandardCharsets.US_ASCII));
+	}
+
 }
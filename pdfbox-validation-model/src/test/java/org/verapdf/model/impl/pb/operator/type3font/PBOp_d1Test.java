@@ -29,6 +29,7 @@ import org.apache.pdfbox.cos.COSInteger;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.model.factory.operator.OperatorFactory;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosInteger;
 import org.verapdf.model.impl.pb.operator.base.PBOperatorTest;
 
@@ -46,7 +47,8 @@ public class PBOp_d1Test extends PBOperatorTest {
 			objects.add(COSInteger.get(random.nextInt()));
 		}
 		objects.add(Operator.getOperator("d1"));
-		actual = new OperatorFactory().operatorsFromTokens(objects, null, document, null).get(0);
+		actual = new OperatorFactory().operatorsFromTokens(objects, null, document, null,
+				new ValidationContext(document)).get(0);
 	}
 
 	@Test
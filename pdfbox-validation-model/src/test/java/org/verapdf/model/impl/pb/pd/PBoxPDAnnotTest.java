@@ -26,6 +26,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.impl.BaseTest;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosReal;
 import org.verapdf.model.impl.pb.pd.actions.PBoxPDAction;
 import org.verapdf.model.impl.pb.pd.actions.PBoxPDGoToAction;
@@ -53,7 +54,8 @@ public class PBoxPDAnnotTest extends BaseTest {
 		setUp(FILE_RELATIVE_PATH);
 		List<PDAnnotation> annotations = document.getPage(0).getAnnotations();
 		PDAnnotation annot = annotations.get(annotations.size() - 1);
-		actual = new PBoxPDAnnot(annot, document.getPage(0).getResources(), document, null, document.getPage(0));
+		actual = new PBoxPDAnnot(annot, document.getPage(0).getResources(), document, null,
+				new ValidationContext(document), document.getPage(0));
 	}
 
 	@Test
@@ -26,6 +26,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.impl.BaseTest;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.operator.base.PBOperator;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 
@@ -50,7 +51,8 @@ public class PBoxPDContentStreamTest extends BaseTest {
 
 		setUp(FILE_RELATIVE_PATH);
 		PDPage page = document.getPage(0);
-		actual = new PBoxPDContentStream(page, PDInheritableResources.getInstance(page.getResources()), document, null);
+		actual = new PBoxPDContentStream(page, PDInheritableResources.getInstance(page.getResources()), document, null,
+				new ValidationContext(document));
 	}
 
 	@Test
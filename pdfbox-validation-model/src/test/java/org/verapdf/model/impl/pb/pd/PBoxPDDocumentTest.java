@@ -25,6 +25,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.impl.BaseTest;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.actions.PBoxPDAction;
 import org.verapdf.model.impl.pb.pd.actions.PBoxPDNamedAction;
 
@@ -45,7 +46,7 @@ public class PBoxPDDocumentTest extends BaseTest{
 		expectedID = null;
 
 		setUp(FILE_RELATIVE_PATH);
-		actual = new PBoxPDDocument(document, null);
+		actual = new PBoxPDDocument(document, null, new ValidationContext(document));
 	}
 
 	@Test
@@ -28,6 +28,7 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.model.impl.BaseTest;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.pdlayer.PDColorSpace;
 
 import java.io.IOException;
@@ -48,7 +49,8 @@ public class PBoxPDGroupTest extends BaseTest {
 
 		setUp(FILE_RELATIVE_PATH);
 		COSBase groupDictionary = document.getPage(0).getCOSObject().getDictionaryObject(COSName.GROUP);
-		actual = new PBoxPDGroup(new PDGroup((COSDictionary) groupDictionary), document, null);
+		actual = new PBoxPDGroup(new PDGroup((COSDictionary) groupDictionary), document, null,
+				new ValidationContext(document));
 	}
 
 	@Test
@@ -26,6 +26,7 @@ import org.junit.Test;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.impl.BaseTest;
 import org.verapdf.model.impl.axl.AXLMainXMPPackage;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.cos.PBCosStream;
 import org.verapdf.model.pdlayer.PDMetadata;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -47,7 +48,8 @@ public class PBoxPDMetadataTest extends BaseTest {
 		expectedID = "5 0 obj PDMetadata";
 
 		setUp(FILE_RELATIVE_PATH);
-		actual = new PBoxPDMetadata(document.getDocumentCatalog().getMetadata(), Boolean.TRUE, document, PDFAFlavour.PDFA_1_B);
+		actual = new PBoxPDMetadata(document.getDocumentCatalog().getMetadata(), Boolean.TRUE, document,
+				PDFAFlavour.PDFA_1_B, new ValidationContext(document));
 	}
 
 	@Test
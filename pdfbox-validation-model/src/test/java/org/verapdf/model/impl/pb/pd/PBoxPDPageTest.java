@@ -25,6 +25,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.impl.BaseTest;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.actions.PBoxPDAdditionalActions;
 import org.verapdf.model.pdlayer.PDPage;
 
@@ -45,7 +46,7 @@ public class PBoxPDPageTest extends BaseTest {
 		expectedID = "8 0 obj PDPage";
 
 		setUp(FILE_RELATIVE_PATH);
-		actual = new PBoxPDPage(document.getPage(0), document, null);
+		actual = new PBoxPDPage(document.getPage(0), document, null, new ValidationContext(document));
 	}
 
 	@Test
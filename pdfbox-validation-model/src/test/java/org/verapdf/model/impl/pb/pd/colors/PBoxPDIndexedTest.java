@@ -27,6 +27,7 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -46,7 +47,7 @@ public class PBoxPDIndexedTest extends PBoxPDColorSpaceTest {
 
 		setUp(FILE_RELATIVE_PATH);
 		PDColorSpace indexed = document.getPage(0).getResources().getColorSpace(COSName.getPDFName(COLOR_SPACE_NAME));
-		actual = new PBoxPDIndexed((PDIndexed) indexed, document, null);
+		actual = new PBoxPDIndexed((PDIndexed) indexed, document, null, new ValidationContext(document));
 	}
 
 	@Test
@@ -26,6 +26,7 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDContentStream;
 import org.verapdf.model.pdlayer.PDType3Font;
 import org.verapdf.model.tools.resources.PDInheritableResources;
@@ -58,7 +59,8 @@ public class PBoxPDType3FontTest extends PBoxPDSimpleFontTest {
 				(org.apache.pdfbox.pdmodel.font.PDType3Font)
 						pageResources.getFont(COSName.getPDFName(TYPE3_FONT_NAME));
 		PDInheritableResources resources = PDInheritableResources.getInstance(pageResources, type3Font.getResources());
-		actual = new PBoxPDType3Font(type3Font, defaultRenderingMode, resources, document, null);
+		actual = new PBoxPDType3Font(type3Font, defaultRenderingMode, resources, document, null,
+				new ValidationContext(document));
 
 		expectedID = type3Font.getCOSObject().hashCode() + " null";
 	}
@@ -33,6 +33,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosIIFilter;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 
 /**
  * @author Evgeniy Muravitskiy
@@ -47,7 +48,7 @@ public class PBoxPDInlineImageTest extends PBoxPDXImageTest {
 
 		final COSDictionary parameters = getParameters();
 		PDInlineImage image = new PDInlineImage(parameters, new byte[0], new PDResources(new COSDictionary()));
-		actual = new PBoxPDInlineImage(image, document, null);
+		actual = new PBoxPDInlineImage(image, document, null, new ValidationContext(document));
 	}
 
 	private static COSDictionary getParameters() {
@@ -27,6 +27,7 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.impl.pb.pd.PBoxPDContentStream;
 import org.verapdf.model.pdlayer.PDXForm;
 import org.verapdf.model.tools.resources.PDInheritableResources;
@@ -51,7 +52,8 @@ public class PBoxPDXFormTest extends PBoxPDAbstractXObjectTest {
 		setUp(FILE_RELATIVE_PATH);
 		PDResources pageResources = document.getPage(0).getResources();
 		PDFormXObject xObject = (PDFormXObject) pageResources.getXObject(COSName.getPDFName(FORM_NAME));
-		actual = new PBoxPDXForm(xObject, PDInheritableResources.getInstance(pageResources, xObject.getResources()), document, null);
+		actual = new PBoxPDXForm(xObject, PDInheritableResources.getInstance(pageResources, xObject.getResources()), document,
+				null, new ValidationContext(document));
 	}
 
 	@Override
@@ -80,4 +82,28 @@ public class PBoxPDXFormTest extends PBoxPDAbstractXObjectTest {
 		}
 	}
 
+	@Test
+	public void testContentStreamParseIsShared() throws IOException {
+		ValidationContext context = new ValidationContext(document);
+		List<? extends Object> first = getOperators(document.getPage(0).getResources(), context);
+		List<? extends Object> second = getOperators(document.getPage(0).getResources(), context);
+		List<? extends Object> withoutInherited = getOperators(null, context);
+		List<? extends Object> otherContext = getOperators(document.getPage(0).getResources(),
+				new ValidationContext(document));
+		Assert.assertSame(first, second);
+		Assert.assertNotSame(first, withoutInherited);
+		Assert.assertNotSame(first, otherContext);
+		Assert.assertEquals(first.size(), withoutInherited.size());
+	}
+
+	private static List<? extends Object> getOperators(PDResources pageResources, ValidationContext context)
+			throws IOException {
+		PDFormXObject xObject = (PDFormXObject) document.getPage(0).getResources()
+				.getXObject(COSName.getPDFName(FORM_NAME));
+		PBoxPDXForm form = new PBoxPDXForm(xObject,
+				PDInheritableResources.getInstance(pageResources, xObject.getResources()), document, null, context);
+		Object contentStream = form.getLinkedObjects(PBoxPDXForm.CONTENT_STREAM).get(0);
+		return contentStream.getLinkedObjects(PBoxPDContentStream.OPERATORS);
+	}
+
 }
@@ -27,6 +27,7 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.model.pdlayer.PDXImage;
 import org.verapdf.model.tools.resources.PDInheritableResources;
@@ -52,7 +53,8 @@ public class PBoxPDXImageTest extends PBoxPDAbstractXObjectTest {
 		PDXObject xObject = document.getPage(0).getResources().getXObject(COSName.getPDFName(IMAGE_NAME));
 		PDInheritableResources inheritableResources =
 				PDInheritableResources.getInstance(document.getPage(0).getResources());
-		actual = new PBoxPDXImage((PDImageXObjectProxy) xObject, inheritableResources, document, null);
+		actual = new PBoxPDXImage((PDImageXObjectProxy) xObject, inheritableResources, document, null,
+				new ValidationContext(document));
 	}
 
 	@Override
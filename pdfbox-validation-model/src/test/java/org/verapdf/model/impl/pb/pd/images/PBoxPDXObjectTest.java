@@ -24,6 +24,7 @@ import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.graphics.PDXObject;
 import org.junit.Assert;
 import org.junit.BeforeClass;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -43,7 +44,7 @@ public class PBoxPDXObjectTest extends PBoxPDAbstractXObjectTest {
 
 		setUp(FILE_RELATIVE_PATH);
 		PDXObject xObject = document.getPage(0).getResources().getXObject(COSName.getPDFName(POST_SCRIPT_NAME));
-		actual = new PBoxPDXObject(xObject, document, null);
+		actual = new PBoxPDXObject(xObject, document, null, new ValidationContext(document));
 	}
 
 	@Override
@@ -0,0 +1,150 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.pd.pboxse;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.tools.TaggedPDFRoleMapHelper;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.util.Collections;
+
+public class PBoxSETableTest {
+
+    private static final TaggedPDFRoleMapHelper HELPER =
+            new TaggedPDFRoleMapHelper(Collections.<String, String>emptyMap(), PDFAFlavour.PDFA_2_B, null);
+
+    @Test
+    public void testRegularTable() {
+        COSDictionary head = structElem("THead", structElem("TR", th("a"), th("b"), th("c")));
+        COSDictionary first = structElem("TR", cell("TD", 2, 1), cell("TD", 1, 2));
+        COSDictionary second = structElem("TR", cell("TD", 1, 1), cell("TD", 1, 1));
+        PBoxSETable table = new PBoxSETable(structElem("Table", head, structElem("TBody", first, second)), HELPER);
+
+        Assert.assertTrue(table.getisRegular());
+        Assert.assertEquals(Long.valueOf(3), table.getcolumnSpan());
+        Assert.assertEquals(Long.valueOf(3), table.getrowSpan());
+        Assert.assertNull(table.getnumberOfRowWithWrongColumnSpan());
+        Assert.assertNull(table.getwrongColumnSpan());
+        Assert.assertNull(table.getnumberOfColumnWithWrongRowSpan());
+        Assert.assertTrue(table.getuseHeadersAndIdOrScope());
+    }
+
+    @Test
+    public void testIrregularTable() {
+        COSDictionary first = structElem("TR", cell("TH", 1, 1), cell("TH", 1, 1), cell("TH", 1, 1));
+        COSDictionary second = structElem("TR", cell("TD", 1, 2));
+        COSDictionary third = structElem("TR", cell("TD", 1, 1), cell("TD", 1, 1), cell("TD", 1, 1));
+        PBoxSETable table = new PBoxSETable(structElem("Table", first, second, third), HELPER);
+
+        Assert.assertFalse(table.getisRegular());
+        Assert.assertEquals(Long.valueOf(3), table.getcolumnSpan());
+        Assert.assertEquals(Long.valueOf(2), table.getnumberOfRowWithWrongColumnSpan());
+        Assert.assertEquals(Long.valueOf(2), table.getwrongColumnSpan());
+        Assert.assertEquals(Long.valueOf(3), table.getrowSpan());
+        Assert.assertEquals(Long.valueOf(3), table.getnumberOfColumnWithWrongRowSpan());
+        Assert.assertFalse(table.getuseHeadersAndIdOrScope());
+    }
+
+    @Test(timeout = 10000)
+    public void testOversizedSpansAreCut() {
+        COSDictionary first = structElem("TR", cell("TD", Integer.MAX_VALUE, 1), cell("TD", 1, Integer.MAX_VALUE));
+        COSDictionary second = structElem("TR", cell("TD", 1, 1));
+        PBoxSETable table = new PBoxSETable(structElem("Table", first, second), HELPER);
+
+        Assert.assertFalse(table.getisRegular());
+        Assert.assertEquals(Long.valueOf(2), table.getrowSpan());
+        Assert.assertEquals(Long.valueOf(2), table.getnumberOfRowWithWrongColumnSpan());
+    }
+
+    @Test
+    public void testSpanIntoRepeatedRowIsCut() {
+        COSDictionary row = structElem("TR", cell("TD", 2, 1), cell("TD", 1, 1));
+        // the row is laid out once, so the table has a single row
+        PBoxSETable table = new PBoxSETable(structElem("Table", row, row), HELPER);
+
+        Assert.assertFalse(table.getisRegular());
+        Assert.assertEquals(Long.valueOf(2), table.getcolumnSpan());
+        Assert.assertEquals(Long.valueOf(1), table.getrowSpan());
+        Assert.assertNull(table.getnumberOfColumnWithWrongRowSpan());
+    }
+
+    @Test
+    public void testTableWithoutRows() {
+        PBoxSETable table = new PBoxSETable(structElem("Table"), HELPER);
+        Assert.assertTrue(table.getisRegular());
+        Assert.assertNull(table.getcolumnSpan());
+        Assert.assertNull(table.getrowSpan());
+        Assert.assertNull(table.getnumberOfColumnWithWrongRowSpan());
+    }
+
+    @Test
+    public void testEmptyLastRow() {
+        PBoxSETable table = new PBoxSETable(structElem("Table",
+                structElem("TR", cell("TD", 1, 1)), structElem("TR")), HELPER);
+        Assert.assertFalse(table.getisRegular());
+        Assert.assertEquals(Long.valueOf(1), table.getcolumnSpan());
+        Assert.assertEquals(Long.valueOf(1), table.getrowSpan());
+        Assert.assertEquals(Long.valueOf(2), table.getnumberOfRowWithWrongColumnSpan());
+        Assert.assertEquals(Long.valueOf(0), table.getwrongColumnSpan());
+    }
+
+    @Test
+    public void testSingleEmptyRow() {
+        PBoxSETable table = new PBoxSETable(structElem("Table", structElem("TR")), HELPER);
+        Assert.assertTrue(table.getisRegular());
+        Assert.assertEquals(Long.valueOf(0), table.getcolumnSpan());
+        Assert.assertEquals(Long.valueOf(0), table.getrowSpan());
+        Assert.assertNull(table.getnumberOfRowWithWrongColumnSpan());
+        Assert.assertNull(table.getnumberOfColumnWithWrongRowSpan());
+    }
+
+    private static COSDictionary th(String id) {
+        COSDictionary th = cell("TH", 1, 1);
+        th.setString(COSName.ID, id);
+        ((COSDictionary) th.getDictionaryObject(COSName.A)).setName("Scope", "Column");
+        return th;
+    }
+
+    private static COSDictionary cell(String type, int rowSpan, int colSpan) {
+        COSDictionary attributes = new COSDictionary();
+        attributes.setItem(COSName.O, COSName.getPDFName("Table"));
+        attributes.setInt(COSName.getPDFName("RowSpan"), rowSpan);
+        attributes.setInt(COSName.getPDFName("ColSpan"), colSpan);
+        COSDictionary cell = structElem(type);
+        cell.setItem(COSName.A, attributes);
+        return cell;
+    }
+
+    private static COSDictionary structElem(String type, COSDictionary... kids) {
+        COSDictionary dictionary = new COSDictionary();
+        dictionary.setItem(COSName.S, COSName.getPDFName(type));
+        COSArray array = new COSArray();
+        for (COSDictionary kid : kids) {
+            array.add(kid);
+        }
+        dictionary.setItem(COSName.K, array);
+        return dictionary;
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+public class MappedFileRandomAccessReadTest {
+
+	private static final int CHUNK_SIZE = 16;
+
+	private File file;
+	private byte[] content;
+
+	@Before
+	public void setUp() throws IOException {
+		this.content = new byte[CHUNK_SIZE * 3 + 5];
+		new Random(CHUNK_SIZE).nextBytes(this.content);
+		this.file = File.createTempFile("mapped", ".bin");
+		Files.write(this.file.toPath(), this.content);
+	}
+
+	@After
+	public void tearDown() {
+		this.file.delete();
+	}
+
+	@Test
+	public void testSequentialRead() throws IOException {
+		try (MappedFileRandomAccessRead source = new MappedFileRandomAccessRead(this.file, CHUNK_SIZE)) {
+			Assert.assertEquals(this.content.length, source.length());
+			for (byte expected : this.content) {
+				Assert.assertEquals(expected & 0xFF, source.read());
+			}
+			Assert.assertTrue(source.isEOF());
+			Assert.assertEquals(-1, source.read());
+		}
+	}
+
+	@Test
+	public void testReadAcrossChunks() throws IOException {
+		try (MappedFileRandomAccessRead source = new MappedFileRandomAccessRead(this.file, CHUNK_SIZE)) {
+			source.seek(CHUNK_SIZE - 3);
+			byte[] buffer = new byte[CHUNK_SIZE * 2];
+			Assert.assertEquals(buffer.length, source.read(buffer));
+			for (int i = 0; i < buffer.length; ++i) {
+				Assert.assertEquals(this.content[CHUNK_SIZE - 3 + i], buffer[i]);
+			}
+			Assert.assertEquals(CHUNK_SIZE * 3 - 3, source.getPosition());
+
+			byte[] tail = new byte[CHUNK_SIZE];
+			Assert.assertEquals(8, source.read(tail));
+			Assert.assertEquals(-1, source.read(tail));
+		}
+	}
+
+	@Test
+	public void testMixedReadsInOneChunk() throws IOException {
+		try (MappedFileRandomAccessRead source = new MappedFileRandomAccessRead(this.file, CHUNK_SIZE)) {
+			byte[] buffer = new byte[4];
+			source.seek(8);
+			Assert.assertEquals(buffer.length, source.read(buffer));
+			Assert.assertEquals(this.content[12] & 0xFF, source.read());
+			// bulk reads start from the reader position, not from the last one
+			source.seek(2);
+			Assert.assertEquals(buffer.length, source.read(buffer));
+			for (int i = 0; i < buffer.length; ++i) {
+				Assert.assertEquals(this.content[2 + i], buffer[i]);
+			}
+			Assert.assertEquals(this.content[6] & 0xFF, source.read());
+		}
+	}
+
+	@Test
+	public void testPeekAndRewind() throws IOException {
+		try (MappedFileRandomAccessRead source = new MappedFileRandomAccessRead(this.file, CHUNK_SIZE)) {
+			source.seek(CHUNK_SIZE);
+			Assert.assertEquals(this.content[CHUNK_SIZE] & 0xFF, source.peek());
+			Assert.assertEquals(CHUNK_SIZE, source.getPosition());
+			source.read();
+			source.rewind(2);
+			Assert.assertEquals(this.content[CHUNK_SIZE - 1] & 0xFF, source.read());
+			Assert.assertEquals(this.content.length - CHUNK_SIZE, source.available());
+		}
+	}
+
+	@Test(expected = EOFException.class)
+	public void testReadFullyAfterEnd() throws IOException {
+		try (MappedFileRandomAccessRead source = new MappedFileRandomAccessRead(this.file, CHUNK_SIZE)) {
+			source.seek(this.content.length - 1);
+			source.readFully(2);
+		}
+	}
+}
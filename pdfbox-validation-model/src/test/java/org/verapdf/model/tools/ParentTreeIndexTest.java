@@ -0,0 +1,154 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.documentinterchange.logicalstructure.PDStructureTreeRoot;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.ValidationContext;
+import org.verapdf.model.impl.pb.operator.markedcontent.PBOp_BDC;
+import org.verapdf.model.impl.pb.pd.PBoxPDContentStream;
+import org.verapdf.model.impl.pb.pd.images.PBoxPDXForm;
+import org.verapdf.model.tools.resources.PDInheritableResources;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class ParentTreeIndexTest {
+
+	@Test
+	public void testParentTreeIsFlattened() {
+		COSDictionary paragraph = structElem("P");
+		COSDictionary link = structElem("Link");
+		COSDictionary figure = structElem("Figure");
+		COSDictionary duplicate = structElem("Span");
+
+		COSArray markedContent = new COSArray();
+		markedContent.add(paragraph);
+		markedContent.add(figure);
+		COSDictionary firstKid = numbers(0, markedContent, 7, link);
+		COSDictionary secondKid = numbers(-3, figure, 7, duplicate);
+
+		COSDictionary root = new COSDictionary();
+		COSArray kids = new COSArray();
+		kids.add(firstKid);
+		kids.add(secondKid);
+		kids.add(root);
+		root.setItem(COSName.KIDS, kids);
+
+		ParentTreeIndex index = ParentTreeIndex.build(root);
+		Assert.assertEquals(3, index.size());
+		Assert.assertSame(link, index.getStructParent(7));
+		Assert.assertSame(figure, index.getStructParent(-3));
+		Assert.assertNull(index.getStructParent(0));
+		Assert.assertNull(index.getStructParent(5));
+		Assert.assertSame(paragraph, index.getMarkedContentParent(0, 0));
+		Assert.assertSame(figure, index.getMarkedContentParent(0, 1));
+		Assert.assertNull(index.getMarkedContentParent(0, 2));
+		Assert.assertNull(index.getMarkedContentParent(7, 0));
+	}
+
+	@Test
+	public void testMarkedContentAndFormsAreResolved() throws IOException {
+		COSDictionary paragraph = structElem("P");
+		COSDictionary figure = structElem("Figure");
+		COSDictionary formElement = structElem("Form");
+		COSArray markedContent = new COSArray();
+		markedContent.add(paragraph);
+		markedContent.add(figure);
+
+		try (PDDocument document = new PDDocument()) {
+			PDStructureTreeRoot structTreeRoot = new PDStructureTreeRoot();
+			structTreeRoot.getCOSObject().setItem(COSName.PARENT_TREE, numbers(0, markedContent, 1, formElement));
+			document.getDocumentCatalog().setStructureTreeRoot(structTreeRoot);
+
+			COSStream form = createStream(new COSDictionary(), "0 0 1 1 re f");
+			form.setItem(COSName.TYPE, COSName.XOBJECT);
+			form.setItem(COSName.SUBTYPE, COSName.FORM);
+			form.setItem(COSName.BBOX, new PDRectangle(10, 10).getCOSArray());
+			form.setInt(COSName.getPDFName("StructParent"), 1);
+			COSDictionary xObjects = new COSDictionary();
+			xObjects.setItem("Fm0", form);
+			COSDictionary resources = new COSDictionary();
+			resources.setItem(COSName.XOBJECT, xObjects);
+
+			PDPage page = new PDPage();
+			page.setResources(new PDResources(resources));
+			page.getCOSObject().setInt(COSName.STRUCT_PARENTS, 0);
+			page.getCOSObject().setItem(COSName.CONTENTS,
+					createStream(new COSDictionary(), "/Figure <</MCID 1>> BDC /Fm0 Do EMC"));
+			document.addPage(page);
+
+			ValidationContext context = new ValidationContext(document);
+			PBoxPDContentStream contentStream = new PBoxPDContentStream(page,
+					PDInheritableResources.getInstance(page.getResources()), document, null, context);
+			List<? extends Object> operators = contentStream.getLinkedObjects(PBoxPDContentStream.OPERATORS);
+			PBOp_BDC bdc = (PBOp_BDC) operators.get(0);
+			Assert.assertEquals(Integer.valueOf(1), bdc.getMCID());
+			Assert.assertSame(figure, bdc.getStructParent());
+
+			PDFormXObject xObject = (PDFormXObject) page.getResources().getXObject(COSName.getPDFName("Fm0"));
+			PBoxPDXForm xForm = new PBoxPDXForm(xObject,
+					PDInheritableResources.getInstance(page.getResources(), xObject.getResources()), document, null,
+					context);
+			Assert.assertSame(formElement, xForm.getStructParent());
+		}
+	}
+
+	private static COSDictionary numbers(int firstKey, COSBase firstValue, int secondKey, COSBase secondValue) {
+		COSArray nums = new COSArray();
+		nums.add(COSInteger.get(firstKey));
+		nums.add(firstValue);
+		nums.add(COSInteger.get(secondKey));
+		nums.add(secondValue);
+		COSDictionary node = new COSDictionary();
+		node.setItem(COSName.NUMS, nums);
+		return node;
+	}
+
+	private static COSStream createStream(COSDictionary dictionary, String content) throws IOException {
+		COSStream stream = new COSStream(dictionary);
+		try (OutputStream output = stream.createUnfilteredStream()) {
+			output.write(content.getBytes(StandardCharsets.ISO_8859_1));
+		}
+		return stream;
+	}
+
+	private static COSDictionary structElem(String type) {
+		COSDictionary dictionary = new COSDictionary();
+		dictionary.setItem(COSName.S, COSName.getPDFName(type));
+		return dictionary;
+	}
+}
@@ -0,0 +1,131 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.util.Collections;
+
+public class StructureTreeIndexTest {
+
+	@Test
+	public void testTreeIsFlattened() {
+		COSDictionary root = new COSDictionary();
+		COSDictionary table = structElem("Table");
+		COSDictionary row = structElem("TR");
+		COSDictionary cell = structElem("Custom");
+		COSDictionary header = structElem("TH");
+		COSDictionary annotation = new COSDictionary();
+		annotation.setItem(COSName.TYPE, COSName.getPDFName("OBJR"));
+		root.setItem(COSName.K, table);
+		table.setItem(COSName.K, row);
+		COSArray cells = new COSArray();
+		cells.add(header);
+		cells.add(annotation);
+		cells.add(cell);
+		row.setItem(COSName.K, cells);
+
+		StructureTreeIndex index = StructureTreeIndex.build(root, helper());
+		Assert.assertEquals(5, index.size());
+		int tableNode = index.getFirstChild(StructureTreeIndex.ROOT);
+		Assert.assertSame(table, index.getDictionary(tableNode));
+		Assert.assertEquals(StructureTreeIndex.ROOT, index.getParent(tableNode));
+		Assert.assertEquals(StructureTreeIndex.NONE, index.getNextSibling(tableNode));
+		int rowNode = index.getNode(row);
+		Assert.assertEquals(tableNode, index.getParent(rowNode));
+		Assert.assertEquals("TR", index.getStandardType(rowNode));
+		int headerNode = index.getFirstChild(rowNode);
+		Assert.assertEquals("TH", index.getStandardType(headerNode));
+		int cellNode = index.getNextSibling(headerNode);
+		Assert.assertSame(cell, index.getDictionary(cellNode));
+		Assert.assertEquals("TD", index.getStandardType(cellNode));
+		Assert.assertEquals("TH&TD", index.getKidsStandardTypes(rowNode));
+		Assert.assertEquals("", index.getKidsStandardTypes(cellNode));
+		Assert.assertEquals(StructureTreeIndex.NONE, index.getNode(annotation));
+	}
+
+	@Test
+	public void testLoopedTreeIsFinite() {
+		COSDictionary root = new COSDictionary();
+		COSDictionary first = structElem("Div");
+		COSDictionary second = structElem("P");
+		root.setItem(COSName.K, first);
+		first.setItem(COSName.K, second);
+		second.setItem(COSName.K, first);
+
+		StructureTreeIndex index = StructureTreeIndex.build(root, helper());
+		Assert.assertEquals(4, index.size());
+		int secondNode = index.getNode(second);
+		int loopNode = index.getFirstChild(secondNode);
+		Assert.assertSame(first, index.getDictionary(loopNode));
+		Assert.assertEquals(index.getNode(first), index.getNode(index.getDictionary(loopNode)));
+		Assert.assertEquals(secondNode, index.getFirstChild(loopNode));
+		Assert.assertEquals("P", index.getKidsStandardTypes(loopNode));
+	}
+
+	@Test
+	public void testParentLangIsInherited() {
+		COSDictionary root = new COSDictionary();
+		root.setItem(COSName.TYPE, COSName.getPDFName("StructTreeRoot"));
+		COSDictionary document = structElem("Document");
+		COSDictionary section = structElem("Sect");
+		COSDictionary paragraph = structElem("P");
+		COSDictionary orphan = structElem("Span");
+		root.setItem(COSName.K, document);
+		document.setItem(COSName.K, section);
+		COSArray kids = new COSArray();
+		kids.add(paragraph);
+		kids.add(orphan);
+		section.setItem(COSName.K, kids);
+		document.setItem(COSName.P, root);
+		section.setItem(COSName.P, document);
+		paragraph.setItem(COSName.P, section);
+		orphan.setItem(COSName.P, document);
+		document.setString(COSName.LANG, "en-US");
+
+		StructureTreeIndex index = StructureTreeIndex.build(root, helper());
+		int documentNode = index.getNode(document);
+		Assert.assertTrue(index.isParentLangResolved(documentNode));
+		Assert.assertNull(index.getParentLang(documentNode));
+		Assert.assertEquals("en-US", index.getParentLang(index.getNode(section)));
+		Assert.assertEquals("en-US", index.getParentLang(index.getNode(paragraph)));
+		Assert.assertFalse(index.isParentLangResolved(index.getNode(orphan)));
+
+		section.setString(COSName.LANG, "de");
+		index = StructureTreeIndex.build(root, helper());
+		Assert.assertEquals("de", index.getParentLang(index.getNode(paragraph)));
+	}
+
+	private static TaggedPDFRoleMapHelper helper() {
+		return new TaggedPDFRoleMapHelper(Collections.singletonMap("Custom", "TD"), PDFAFlavour.PDFA_2_B, null);
+	}
+
+	private static COSDictionary structElem(String type) {
+		COSDictionary dictionary = new COSDictionary();
+		dictionary.setItem(COSName.S, COSName.getPDFName(type));
+		return dictionary;
+	}
+}
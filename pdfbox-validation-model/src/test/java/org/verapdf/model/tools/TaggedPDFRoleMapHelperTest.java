@@ -0,0 +1,67 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class TaggedPDFRoleMapHelperTest {
+
+	@Test
+	public void testRoleMapChains() {
+		Map<String, String> roleMap = new HashMap<>();
+		roleMap.put("Chapter", "Section");
+		roleMap.put("Section", "Sect");
+		roleMap.put("Loop1", "Loop2");
+		roleMap.put("Loop2", "Loop1");
+		roleMap.put("P", "Span");
+		TaggedPDFRoleMapHelper helper = new TaggedPDFRoleMapHelper(roleMap, PDFAFlavour.PDFA_2_B, null);
+
+		Assert.assertEquals("Sect", helper.getStandardType("Chapter"));
+		Assert.assertEquals("Sect", helper.getStandardType("Sect"));
+		Assert.assertNull(helper.getStandardType("Unknown"));
+		Assert.assertNull(helper.getStandardType("Loop1"));
+		Assert.assertNull(helper.getStandardType(null));
+
+		Assert.assertTrue(helper.circularMappingExist("Loop2"));
+		Assert.assertFalse(helper.circularMappingExist("Chapter"));
+		Assert.assertFalse(helper.circularMappingExist("Div"));
+
+		Assert.assertTrue(helper.isRemappedStandardType("P"));
+		Assert.assertFalse(helper.isRemappedStandardType("Chapter"));
+		Assert.assertFalse(helper.isRemappedStandardType("Div"));
+	}
+
+	@Test
+	public void testStandardTypeIsKeptForPDFA1() {
+		Map<String, String> roleMap = new HashMap<>();
+		roleMap.put("P", "Span");
+		roleMap.put("Ruby", "Span");
+		TaggedPDFRoleMapHelper helper = new TaggedPDFRoleMapHelper(roleMap, PDFAFlavour.PDFA_1_B, null);
+		Assert.assertEquals("P", helper.getStandardType("P"));
+		Assert.assertEquals("Span", helper.getStandardType("Ruby"));
+		Assert.assertNull(helper.getStandardType("THead"));
+	}
+}
@@ -0,0 +1,79 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools.resources;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PDInheritableResourcesTest {
+
+	private static final COSName DEFINED = COSName.getPDFName("GS0");
+	private static final COSName UNDEFINED = COSName.getPDFName("GS1");
+
+	@Test
+	public void testLookupIsMemoised() {
+		PDInheritableResources resources = PDInheritableResources.getInstance(createResources(), new PDResources());
+		PDExtendedGraphicsState state = resources.getExtGState(DEFINED);
+		Assert.assertNotNull(state);
+		Assert.assertSame(state, resources.getExtGState(DEFINED));
+		Assert.assertTrue(resources.getInheritedResourceNames().contains(DEFINED));
+
+		Assert.assertNull(resources.getExtGState(UNDEFINED));
+		Assert.assertNull(resources.getExtGState(UNDEFINED));
+		Assert.assertTrue(resources.getUndefinedResourceNames().contains(UNDEFINED));
+	}
+
+	@Test
+	public void testViewsOfSameDictionariesShareLookups() {
+		ResolvedResources root = new ResolvedResources();
+		PDResources inherited = createResources();
+		COSDictionary current = new COSDictionary();
+		PDInheritableResources first = PDInheritableResources.getInstance(inherited,
+				new PDResources(current), root);
+		PDInheritableResources second = PDInheritableResources.getInstance(new PDResources(inherited.getCOSObject()),
+				new PDResources(current), root);
+
+		Assert.assertSame(first.getExtGState(DEFINED), second.getExtGState(DEFINED));
+		// used names are still collected by every view separately
+		Assert.assertNull(first.getExtGState(UNDEFINED));
+		Assert.assertTrue(first.getUndefinedResourceNames().contains(UNDEFINED));
+		Assert.assertFalse(second.getUndefinedResourceNames().contains(UNDEFINED));
+		Assert.assertTrue(second.getInheritedResourceNames().contains(DEFINED));
+
+		PDInheritableResources other = PDInheritableResources.getInstance(inherited,
+				new PDResources(new COSDictionary()), root);
+		Assert.assertNotSame(first.getExtGState(DEFINED), other.getExtGState(DEFINED));
+	}
+
+	private static PDResources createResources() {
+		COSDictionary state = new COSDictionary();
+		state.setItem(COSName.TYPE, COSName.EXT_G_STATE);
+		COSDictionary states = new COSDictionary();
+		states.setItem(DEFINED, state);
+		COSDictionary resources = new COSDictionary();
+		resources.setItem(COSName.EXT_G_STATE, states);
+		return new PDResources(resources);
+	}
+}
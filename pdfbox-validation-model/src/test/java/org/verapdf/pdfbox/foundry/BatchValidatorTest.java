@@ -0,0 +1,352 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pdfbox.foundry;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BatchValidatorTest {
+
+	private static final String BASE_FOLDER = "model/impl/pb/";
+
+	private static final String[] FILES = {
+			"cos/documentTest.pdf",
+			"operator/Operators.pdf",
+			"pd/ColorSpaces.pdf",
+			"pd/Fonts.pdf",
+			"pd/InteractiveObjects.pdf"
+	};
+
+	private static final String BROKEN_DOCUMENT = "broken";
+	private static final String BLOCKING_DOCUMENT = "blocking";
+
+	@Test
+	public void testAllDocumentsAreReported() throws Exception {
+		BatchValidationConfig config = BatchValidationConfig.builder()
+				.setWorkers(2).setQueueCapacity(1).setFlavour(PDFAFlavour.PDFA_1_B).build();
+		Map<String, BatchValidationResult> results = validate(config);
+
+		Assert.assertEquals(FILES.length + 1, results.size());
+		for (String file : FILES) {
+			BatchValidationResult result = results.get(file);
+			Assert.assertEquals(BatchValidationResult.Status.VALIDATED, result.getStatus());
+			Assert.assertNotNull(result.getValidationResult());
+		}
+		BatchValidationResult broken = results.get(BROKEN_DOCUMENT);
+		Assert.assertEquals(BatchValidationResult.Status.FAILED, broken.getStatus());
+		Assert.assertNotNull(broken.getException());
+	}
+
+	@Test
+	public void testDocumentsOverMemoryBudgetAreValidatedOneByOne() throws Exception {
+		BatchValidationConfig config = BatchValidationConfig.builder()
+				.setWorkers(4).setMemoryBudget(1).setFlavour(PDFAFlavour.PDFA_1_B).build();
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		List<BatchDocument> documents = new ArrayList<>();
+		for (String file : FILES) {
+			documents.add(BatchDocument.fromStream(file, new TrackingInputStream(getResource(file), active, maxActive)));
+		}
+		Map<String, BatchValidationResult> results = validate(config, documents);
+
+		Assert.assertEquals(FILES.length, results.size());
+		for (String file : FILES) {
+			Assert.assertEquals(BatchValidationResult.Status.VALIDATED, results.get(file).getStatus());
+		}
+		Assert.assertEquals(1, maxActive.get());
+	}
+
+	@Test(timeout = 60000)
+	public void testTimedOutDocumentKeepsItsPlaceUntilStopped() throws Exception {
+		BatchValidationConfig config = BatchValidationConfig.builder()
+				.setWorkers(1).setQueueCapacity(0).setMemoryBudget(1).setUnknownDocumentSize(1)
+				.setDocumentTimeoutMillis(200).setFlavour(PDFAFlavour.PDFA_1_B).build();
+		CountDownLatch unblock = new CountDownLatch(1);
+		List<BatchDocument> documents = new ArrayList<>();
+		documents.add(BatchDocument.fromStream(BLOCKING_DOCUMENT, new BlockingInputStream(unblock)));
+		documents.add(BatchDocument.fromStream(FILES[0], getResource(FILES[0])));
+		assertNextDocumentWaitsForBlocked(config, documents, unblock, 1);
+	}
+
+	@Test(timeout = 60000)
+	public void testQueuedDocumentIsTakenBySpareWorker() throws Exception {
+		BatchValidationConfig config = BatchValidationConfig.builder()
+				.setWorkers(1).setQueueCapacity(1)
+				.setDocumentTimeoutMillis(200).setFlavour(PDFAFlavour.PDFA_1_B).build();
+		CountDownLatch unblock = new CountDownLatch(1);
+		List<BatchDocument> documents = new ArrayList<>();
+		documents.add(BatchDocument.fromStream(BLOCKING_DOCUMENT, new BlockingInputStream(unblock)));
+		documents.add(BatchDocument.fromStream(FILES[0], getResource(FILES[0])));
+		try {
+			// the blocking document does not stop on interrupt, so the queued
+			// one is validated only by a spare worker
+			Map<String, BatchValidationResult> results = validate(config, documents);
+
+			Assert.assertEquals(2, results.size());
+			Assert.assertEquals(BatchValidationResult.Status.TIMED_OUT,
+					results.get(BLOCKING_DOCUMENT).getStatus());
+			Assert.assertEquals(BatchValidationResult.Status.VALIDATED, results.get(FILES[0]).getStatus());
+		} finally {
+			unblock.countDown();
+		}
+	}
+
+	@Test(timeout = 60000)
+	public void testSpareWorkersAreLimited() throws Exception {
+		BatchValidationConfig config = BatchValidationConfig.builder()
+				.setWorkers(1).setQueueCapacity(2)
+				.setDocumentTimeoutMillis(200).setFlavour(PDFAFlavour.PDFA_1_B).build();
+		CountDownLatch unblock = new CountDownLatch(1);
+		List<BatchDocument> documents = new ArrayList<>();
+		documents.add(BatchDocument.fromStream(BLOCKING_DOCUMENT, new BlockingInputStream(unblock)));
+		documents.add(BatchDocument.fromStream(BLOCKING_DOCUMENT + 2, new BlockingInputStream(unblock)));
+		documents.add(BatchDocument.fromStream(FILES[0], getResource(FILES[0])));
+		// the second blocking document takes the only spare worker allowed
+		// for one worker, so no worker is left for the last document
+		assertNextDocumentWaitsForBlocked(config, documents, unblock, 2);
+	}
+
+	@Test(timeout = 60000)
+	public void testDocumentsLeftAfterErrorAreClosed() throws Exception {
+		BatchValidationConfig config = BatchValidationConfig.builder()
+				.setWorkers(1).setQueueCapacity(0).setFlavour(PDFAFlavour.PDFA_1_B).build();
+		AtomicInteger closed = new AtomicInteger();
+		List<BatchDocument> documents = new ArrayList<>();
+		documents.add(BatchDocument.fromStream(BROKEN_DOCUMENT, new FailingInputStream(closed)));
+		for (String file : FILES) {
+			documents.add(BatchDocument.fromStream(file, new ClosingInputStream(getResource(file), closed)));
+		}
+		Map<String, BatchValidationResult> results = new HashMap<>();
+		try (BatchValidator validator = BatchValidator.create(config)) {
+			validator.validate(documents.stream(), result -> results.put(result.getName(), result));
+			Assert.fail("Error of the broken document is not rethrown");
+		} catch (TestError e) {
+			// expected
+		}
+		Assert.assertTrue(results.isEmpty());
+		Assert.assertEquals(documents.size(), closed.get());
+	}
+
+	/**
+	 * Checks that the last of the documents is validated only after the
+	 * given number of blocking documents before it time out and stop.
+	 */
+	private static void assertNextDocumentWaitsForBlocked(BatchValidationConfig config,
+														  List<BatchDocument> documents,
+														  CountDownLatch unblock, int blocked) throws Exception {
+		String last = documents.get(documents.size() - 1).getName();
+		Map<String, BatchValidationResult> results = new ConcurrentHashMap<>();
+		CountDownLatch timedOut = new CountDownLatch(blocked);
+		ExecutorService caller = Executors.newSingleThreadExecutor();
+		try (BatchValidator validator = BatchValidator.create(config)) {
+			Future<?> validation = caller.submit(() -> {
+				validator.validate(documents.stream(), result -> {
+					results.put(result.getName(), result);
+					if (result.getStatus() == BatchValidationResult.Status.TIMED_OUT) {
+						timedOut.countDown();
+					}
+				});
+				return null;
+			});
+			try {
+				timedOut.await();
+				Thread.sleep(500);
+				Assert.assertFalse(results.containsKey(last));
+			} finally {
+				unblock.countDown();
+			}
+			validation.get();
+		} finally {
+			caller.shutdownNow();
+		}
+		Assert.assertEquals(blocked + 1, results.size());
+		Assert.assertEquals(BatchValidationResult.Status.VALIDATED, results.get(last).getStatus());
+	}
+
+	@Test
+	public void testVirtualThreads() throws Exception {
+		Assume.assumeTrue(BatchValidator.isVirtualThreadsSupported());
+		BatchValidationConfig config = BatchValidationConfig.builder()
+				.setWorkers(2).setVirtualThreads(true).setFlavour(PDFAFlavour.PDFA_1_B).build();
+		Map<String, BatchValidationResult> results = validate(config);
+
+		Assert.assertEquals(FILES.length + 1, results.size());
+		for (String file : FILES) {
+			Assert.assertEquals(BatchValidationResult.Status.VALIDATED, results.get(file).getStatus());
+		}
+		Assert.assertEquals(BatchValidationResult.Status.FAILED, results.get(BROKEN_DOCUMENT).getStatus());
+	}
+
+	private static Map<String, BatchValidationResult> validate(BatchValidationConfig config) throws Exception {
+		List<BatchDocument> documents = new ArrayList<>();
+		for (String file : FILES) {
+			documents.add(BatchDocument.fromStream(file, getResource(file)));
+		}
+		documents.add(BatchDocument.fromStream(BROKEN_DOCUMENT,
+				new ByteArrayInputStream("not a pdf".getBytes(StandardCharsets.US_ASCII))));
+		return validate(config, documents);
+	}
+
+	private static Map<String, BatchValidationResult> validate(BatchValidationConfig config,
+															   List<BatchDocument> documents) throws Exception {
+		Map<String, BatchValidationResult> results = new HashMap<>();
+		try (BatchValidator validator = BatchValidator.create(config)) {
+			validator.validate(documents.stream(), result -> results.put(result.getName(), result));
+		}
+		return results;
+	}
+
+	private static InputStream getResource(String file) {
+		return BatchValidatorTest.class.getClassLoader().getResourceAsStream(BASE_FOLDER + file);
+	}
+
+	private static final class TestError extends Error {
+		private static final long serialVersionUID = 1L;
+	}
+
+	/**
+	 * Counts closed documents
+	 */
+	private static class ClosingInputStream extends FilterInputStream {
+		private final AtomicInteger closed;
+
+		private ClosingInputStream(InputStream stream, AtomicInteger closed) {
+			super(stream);
+			this.closed = closed;
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.closed.incrementAndGet();
+			super.close();
+		}
+	}
+
+	/**
+	 * Throws error on the first read, like a document running out of memory
+	 */
+	private static final class FailingInputStream extends ClosingInputStream {
+
+		private FailingInputStream(AtomicInteger closed) {
+			super(new ByteArrayInputStream(new byte[0]), closed);
+		}
+
+		@Override
+		public int read() {
+			throw new TestError();
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			throw new TestError();
+		}
+	}
+
+	/**
+	 * Counts documents being read at the same time, from the first read of
+	 * the document until it is closed by the batch
+	 */
+	private static final class TrackingInputStream extends FilterInputStream {
+		private final AtomicInteger active;
+		private final AtomicInteger maxActive;
+		private boolean started = false;
+
+		private TrackingInputStream(InputStream stream, AtomicInteger active, AtomicInteger maxActive) {
+			super(stream);
+			this.active = active;
+			this.maxActive = maxActive;
+		}
+
+		@Override
+		public int read() throws IOException {
+			start();
+			return super.read();
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			start();
+			return super.read(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			synchronized (this) {
+				if (this.started) {
+					this.started = false;
+					this.active.decrementAndGet();
+				}
+			}
+			super.close();
+		}
+
+		private synchronized void start() {
+			if (!this.started) {
+				this.started = true;
+				int current = this.active.incrementAndGet();
+				this.maxActive.accumulateAndGet(current, Math::max);
+			}
+		}
+	}
+
+	/**
+	 * Stream which blocks on read until released, ignoring interrupts
+	 */
+	private static final class BlockingInputStream extends InputStream {
+		private final CountDownLatch unblock;
+
+		private BlockingInputStream(CountDownLatch unblock) {
+			this.unblock = unblock;
+		}
+
+		@Override
+		public int read() {
+			boolean interrupted = false;
+			while (true) {
+				try {
+					this.unblock.await();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+			return -1;
+		}
+	}
+}